@@ -163,6 +163,12 @@ public class ARXAnonymizer { // NO_UCD
     /** The maximal number of QIs that can be processed. */
     private int         maxQuasiIdentifiers  = Integer.MAX_VALUE;
 
+    /** The maximal number of bytes occupied by snapshots. */
+    private long        snapshotMemoryBudget = Long.MAX_VALUE;
+
+    /** Whether snapshots are stored outside of the heap. */
+    private boolean     snapshotsOffHeap     = false;
+
 
     /**
      * Creates a new anonymizer with the default configuration.
@@ -252,6 +258,24 @@ public class ARXAnonymizer { // NO_UCD
         return snapshotSizeSnapshot;
     }
 
+    /**
+     * Returns the maximal number of bytes occupied by snapshots in the history.
+     *
+     * @return The budget in bytes
+     */
+    public long getSnapshotMemoryBudget() {
+        return snapshotMemoryBudget;
+    }
+
+    /**
+     * Returns whether snapshots are stored in direct buffers outside of the heap.
+     *
+     * @return
+     */
+    public boolean isSnapshotsOffHeap() {
+        return snapshotsOffHeap;
+    }
+
     /**
      * Returns the maximal number of quasi-identifiers.
      * @return
@@ -303,6 +327,28 @@ public class ARXAnonymizer { // NO_UCD
         this.snapshotSizeSnapshot = snapshotSizeSnapshot;
     }
 
+    /**
+     * Sets the maximal number of bytes occupied by snapshots in the history. Snapshots are
+     * only compressed if they do not fit into the budget otherwise. If a compressed snapshot
+     * does not fit either, the snapshots with the lowest benefit per byte are evicted.
+     * By default, the budget is unlimited.
+     *
+     * @param snapshotMemoryBudget The budget in bytes
+     */
+    public void setSnapshotMemoryBudget(final long snapshotMemoryBudget) {
+        if (snapshotMemoryBudget < 0) { throw new IllegalArgumentException("Snapshot memory budget must be positive or 0"); }
+        this.snapshotMemoryBudget = snapshotMemoryBudget;
+    }
+
+    /**
+     * Sets whether snapshots are stored in direct buffers outside of the heap.
+     *
+     * @param snapshotsOffHeap
+     */
+    public void setSnapshotsOffHeap(final boolean snapshotsOffHeap) {
+        this.snapshotsOffHeap = snapshotsOffHeap;
+    }
+
     /**
      * Sets the maximal number of quasi-identifiers. Set to Integer.MAX_VALUE to disable the
      * restriction. By default, the restriction is disabled.
@@ -760,6 +806,8 @@ public class ARXAnonymizer { // NO_UCD
                                                                         snapshotSizeDataset,
                                                                         snapshotSizeSnapshot,
                                                                         solutionSpace);
+        checker.getHistory().setMemoryBudget(snapshotMemoryBudget);
+        checker.getHistory().setOffHeap(snapshotsOffHeap);
 
         // Create an algorithm instance
         AbstractAlgorithm algorithm = getAlgorithm(config,
@@ -790,5 +838,7 @@ public class ARXAnonymizer { // NO_UCD
         this.snapshotSizeDataset = anonymizer.snapshotSizeDataset;
         this.snapshotSizeSnapshot = anonymizer.snapshotSizeSnapshot;
         this.maxQuasiIdentifiers = anonymizer.maxQuasiIdentifiers;
+        this.snapshotMemoryBudget = anonymizer.snapshotMemoryBudget;
+        this.snapshotsOffHeap = anonymizer.snapshotsOffHeap;
     }
 }
@@ -246,6 +246,33 @@ public class ARXConfiguration implements Serializable, Cloneable {
             return config.isUseHeuristicSearchForSampleBasedCriteria();
         }
 
+        /**
+         * Returns the number of threads used for transforming and grouping records.
+         *
+         * @return
+         */
+        public int getNumberOfThreads() {
+            return config.getNumberOfThreads();
+        }
+
+        /**
+         * Returns whether generalized records are buffered outside of the heap.
+         *
+         * @return
+         */
+        public boolean isUseOffHeapBuffer() {
+            return config.isUseOffHeapBuffer();
+        }
+
+        /**
+         * Returns whether generalized records are bit-packed on the heap.
+         *
+         * @return
+         */
+        public boolean isUsePackedBuffer() {
+            return config.isUsePackedBuffer();
+        }
+
         /**
          * Convenience method for checking the requirements.
          *
@@ -434,6 +461,15 @@ public class ARXConfiguration implements Serializable, Cloneable {
     /** The algorithm to use */
     private AnonymizationAlgorithm             algorithm                             = AnonymizationAlgorithm.OPTIMAL;
 
+    /** Number of threads used for transforming and grouping records */
+    private Integer                            numberOfThreads                       = 1;
+
+    /** Whether generalized records are buffered outside of the heap */
+    private Boolean                            offHeapBuffer                         = false;
+
+    /** Whether generalized records are bit-packed on the heap */
+    private Boolean                            packedBuffer                          = false;
+
 	
     /**
      * Creates a new configuration without tuple suppression.
@@ -575,6 +611,9 @@ public class ARXConfiguration implements Serializable, Cloneable {
 		result.geneticAlgorithmProductionFraction = this.geneticAlgorithmProductionFraction;
         result.geneticAlgorithmIterations = this.geneticAlgorithmIterations;
         result.algorithm = this.algorithm;
+        result.numberOfThreads = this.numberOfThreads;
+        result.offHeapBuffer = this.offHeapBuffer;
+        result.packedBuffer = this.packedBuffer;
         if (this.attributeWeights != null) {
             result.attributeWeights = new HashMap<String, Double>(this.attributeWeights);
         } else {
@@ -824,6 +863,42 @@ public class ARXConfiguration implements Serializable, Cloneable {
         }
         return this.heuristicSearchTimeLimit;
     }
+
+    /**
+     * Returns the number of threads used for transforming and grouping records.
+     * The default is 1.
+     * @return
+     */
+    public int getNumberOfThreads() {
+        if (this.numberOfThreads == null) {
+            this.numberOfThreads = 1;
+        }
+        return this.numberOfThreads;
+    }
+
+    /**
+     * Returns whether generalized records are buffered outside of the heap.
+     * The default is false.
+     * @return
+     */
+    public boolean isUseOffHeapBuffer() {
+        if (this.offHeapBuffer == null) {
+            this.offHeapBuffer = false;
+        }
+        return this.offHeapBuffer;
+    }
+
+    /**
+     * Returns whether generalized records are bit-packed on the heap.
+     * The default is false.
+     * @return
+     */
+    public boolean isUsePackedBuffer() {
+        if (this.packedBuffer == null) {
+            this.packedBuffer = false;
+        }
+        return this.packedBuffer;
+    }
     
     /**
      * Returns the maximum number of allowed outliers.
@@ -1272,6 +1347,39 @@ public class ARXConfiguration implements Serializable, Cloneable {
         this.heuristicSearchTimeLimit = timeInMillis;
     }
 
+	/**
+     * Sets the number of threads used for transforming and grouping records. With more than
+     * one thread, the records are split into partitions that are processed concurrently and
+     * merged in their original order, which yields the same result as a single thread.
+     * Configurations which require distributions of sensitive values are always processed
+     * by a single thread. The default is 1.
+     * @param threads
+     */
+    public void setNumberOfThreads(int threads) {
+        if (threads <= 0) { throw new IllegalArgumentException("Parameter must be > 0"); }
+        this.numberOfThreads = threads;
+    }
+
+    /**
+     * Sets whether generalized records are buffered outside of the heap. The records are then
+     * bit-packed into direct buffers, which keeps large datasets from filling the heap.
+     * The default is false.
+     * @param value
+     */
+    public void setUseOffHeapBuffer(boolean value) {
+        this.offHeapBuffer = value;
+    }
+
+    /**
+     * Sets whether generalized records are bit-packed on the heap if the values of a row fit
+     * into two 64-bit words, which reduces the memory bandwidth needed for grouping.
+     * The default is false.
+     * @param value
+     */
+    public void setUsePackedBuffer(boolean value) {
+        this.packedBuffer = value;
+    }
+
 	/**
      * Allows for a certain percentage of outliers and thus
      * triggers tuple suppression.
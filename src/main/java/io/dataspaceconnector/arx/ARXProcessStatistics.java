@@ -25,6 +25,7 @@ import java.util.Map;
 
 import io.dataspaceconnector.arx.ARXAnonymizer.Result;
 import io.dataspaceconnector.arx.ARXLattice.ARXNode;
+import io.dataspaceconnector.arx.framework.check.history.History;
 import io.dataspaceconnector.arx.framework.lattice.ObjectIterator;
 import io.dataspaceconnector.arx.framework.lattice.Transformation;
 import io.dataspaceconnector.arx.metric.InformationLoss;
@@ -273,6 +274,15 @@ public class ARXProcessStatistics implements Serializable {
     /** Duration */
     private long              duration;
 
+    /** Number of snapshot lookups in the history */
+    private long              snapshotLookups;
+
+    /** Number of snapshots examined by the lookups */
+    private long              snapshotLookupCandidates;
+
+    /** Number of lookups which returned a snapshot */
+    private long              snapshotHits;
+
     /**
      * Clone constructor
      * @param other
@@ -283,6 +293,9 @@ public class ARXProcessStatistics implements Serializable {
         this.transformationsTotalLargeLattice = other.transformationsTotalLargeLattice;
         this.duration = other.duration;
         this.initialNumberOfRecords = other.initialNumberOfRecords;
+        this.snapshotLookups = other.snapshotLookups;
+        this.snapshotLookupCandidates = other.snapshotLookupCandidates;
+        this.snapshotHits = other.snapshotHits;
         this.steps = new ArrayList<>();
         for (Step step : other.steps) {
             this.steps.add(step.clone());
@@ -355,6 +368,7 @@ public class ARXProcessStatistics implements Serializable {
         this.transformationsTotalLargeLattice = this.transformationsTotalLargeLattice.add(result.solutionSpace.getSize());
         this.transformationsTotal += result.solutionSpace.getSize().longValue();
         this.duration += duration;
+        this.setSnapshotStatistics(result.checker.getHistory());
         
         // Collect number of checked transformations
         for (ObjectIterator<?> iterator = result.solutionSpace.getMaterializedTransformations(); iterator.hasNext();) {
@@ -415,6 +429,38 @@ public class ARXProcessStatistics implements Serializable {
         return this.steps;
     }
 
+    /**
+     * Returns the fraction of snapshot lookups which returned a snapshot
+     * @return
+     */
+    public double getSnapshotHitRate() {
+        return this.snapshotLookups == 0 ? 0d : (double) this.snapshotHits / (double) this.snapshotLookups;
+    }
+
+    /**
+     * Returns the number of snapshot lookups which returned a snapshot
+     * @return
+     */
+    public long getSnapshotHits() {
+        return this.snapshotHits;
+    }
+
+    /**
+     * Returns the number of snapshots examined by all lookups, a measure for the lookup cost
+     * @return
+     */
+    public long getSnapshotLookupCandidates() {
+        return this.snapshotLookupCandidates;
+    }
+
+    /**
+     * Returns the number of snapshot lookups in the history
+     * @return
+     */
+    public long getSnapshotLookups() {
+        return this.snapshotLookups;
+    }
+
     /**
      * Returns the number of transformations available in this process
      * @return
@@ -457,6 +503,16 @@ public class ARXProcessStatistics implements Serializable {
         return result;
     }
 
+    /**
+     * Collects the snapshot counters of the history
+     * @param history
+     */
+    protected void setSnapshotStatistics(History history) {
+        this.snapshotLookups = history.getLookups();
+        this.snapshotLookupCandidates = history.getLookupCandidates();
+        this.snapshotHits = history.getHits();
+    }
+
     /**
      * Merges this instance with the other instance
      * @param stats
@@ -486,5 +542,8 @@ public class ARXProcessStatistics implements Serializable {
         this.transformationsTotal += stats.transformationsTotal;
         this.transformationsChecked += stats.transformationsChecked;
         this.duration += stats.duration;
+        this.snapshotLookups += stats.snapshotLookups;
+        this.snapshotLookupCandidates += stats.snapshotLookupCandidates;
+        this.snapshotHits += stats.snapshotHits;
     }
 }
\ No newline at end of file
@@ -202,6 +202,7 @@ public class ARXResult {
         this.solutionSpace = solutionSpace;
         this.optimumFound = optimumFound;
         this.statistics = new ARXProcessStatistics(lattice, optimalTransformation, optimumFound, duration);
+        this.statistics.setSnapshotStatistics(checker.getHistory());
     }
 
     /**
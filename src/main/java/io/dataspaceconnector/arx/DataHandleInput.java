@@ -27,6 +27,7 @@ import io.dataspaceconnector.arx.DataHandleInternal.InterruptHandler;
 import io.dataspaceconnector.arx.aggregates.StatisticsBuilder;
 import io.dataspaceconnector.arx.framework.data.DataMatrix;
 import io.dataspaceconnector.arx.framework.data.Dictionary;
+import io.dataspaceconnector.arx.io.ImportAdapterCSVParallel;
 
 /**
  * An implementation of the DataHandle interface for input data.
@@ -79,11 +80,19 @@ public class DataHandleInput extends DataHandle {
         String[] columns = iterator.next();
         super.setHeader(Arrays.copyOf(columns, columns.length));
 
-        // Init dictionary
-        this.dictionary = new Dictionary(header.length);
-        
+        // Data which has been encoded in parallel during import
+        if (iterator instanceof ImportAdapterCSVParallel) {
+            
+            // Adopt data and dictionary
+            ImportAdapterCSVParallel adapter = (ImportAdapterCSVParallel) iterator;
+            this.dictionary = adapter.getDictionary();
+            this.data = adapter.getData();
+
         // Optimized code-path, if the number of records is known
-        if (data.getLength() != null && data.getLength() > 0) {
+        } else if (data.getLength() != null && data.getLength() > 0) {
+            
+            // Init dictionary
+            this.dictionary = new Dictionary(header.length);
             
             // Records
             int records = data.getLength();
@@ -113,6 +122,9 @@ public class DataHandleInput extends DataHandle {
             }
 
         } else { 
+            
+            // Init dictionary
+            this.dictionary = new Dictionary(header.length);
     
             // Encode data
             List<int[]> vals = new ArrayList<int[]>();
@@ -17,6 +17,16 @@
 
 package io.dataspaceconnector.arx.framework.check;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.dataspaceconnector.arx.ARXConfiguration;
 import io.dataspaceconnector.arx.ARXConfiguration.ARXConfigurationInternal;
 import io.dataspaceconnector.arx.framework.check.TransformationCheckerStateMachine.TransitionType;
 import io.dataspaceconnector.arx.framework.check.distribution.IntArrayDictionary;
@@ -40,6 +50,9 @@ import io.dataspaceconnector.arx.framework.check.transformer.Transformer14;
 import io.dataspaceconnector.arx.framework.check.transformer.Transformer15;
 import io.dataspaceconnector.arx.framework.check.transformer.TransformerAll;
 import io.dataspaceconnector.arx.framework.data.DataMatrix;
+import io.dataspaceconnector.arx.framework.data.DataMatrixLayout;
+import io.dataspaceconnector.arx.framework.data.DataMatrixOffHeap;
+import io.dataspaceconnector.arx.framework.data.DataMatrixPacked;
 import io.dataspaceconnector.arx.framework.data.GeneralizationHierarchy;
 
 /**
@@ -50,6 +63,12 @@ import io.dataspaceconnector.arx.framework.data.GeneralizationHierarchy;
  */
 public class Transformer {
 
+    /** Minimal number of rows or snapshot entries per partition. */
+    private static final int                  MIN_PARTITION_SIZE = 10000;
+
+    /** Maximal number of words per row for which the buffer is bit-packed. */
+    private static final int                  MAX_PACKED_WORDS   = 2;
+
     /** The config. */
     protected final ARXConfigurationInternal  config;
 
@@ -80,6 +99,21 @@ public class Transformer {
     /** Number of columns to analyze */
     protected final int                       dataAnalyzedNumberOfColumns;
 
+    /** The number of partitions processed concurrently. */
+    protected final int                       threads;
+
+    /** The executor for partitions, created on first use. */
+    private ExecutorService                   executor;
+
+    /** The instances by partition, created on first use. */
+    private AbstractTransformer[][]           partitionInstances;
+
+    /** The views on the buffer by partition. */
+    private DataMatrix[]                      partitionBuffers;
+
+    /** The partial groupify operators by partition. */
+    private HashGroupify[]                    partitionGroupifies;
+
     /**
      * Instantiates a new transformer.
      *
@@ -104,15 +138,25 @@ public class Transformer {
         this.dataAnalyzedNumberOfColumns = dataAnalyzedNumberOfColumns;
         this.hierarchies = hierarchies;
         this.instances = new AbstractTransformer[16];
-        this.outputGeneralized = new DataMatrix(inputGeneralized.getNumRows(), 
-                                                inputGeneralized.getNumColumns());
+        this.outputGeneralized = createBuffer(inputGeneralized.getNumRows(),
+                                              inputGeneralized.getNumColumns(),
+                                              hierarchies,
+                                              config.isUseOffHeapBuffer(),
+                                              config.isUsePackedBuffer());
 
         this.dimensions = inputGeneralized.getNumColumns();
         this.dictionarySensValue = dictionarySensValue;
         this.dictionarySensFreq = dictionarySensFreq;
         this.inputAnalyzed = inputAnalyzed;
 
-        buildTransformers();
+        // Sensitive value distributions cannot be merged without changing their layout
+        if ((config.getRequirements() & ARXConfiguration.REQUIREMENT_DISTRIBUTION) != 0) {
+            this.threads = 1;
+        } else {
+            this.threads = config.getNumberOfThreads();
+        }
+
+        buildTransformers(inputGeneralized, instances);
     }
 
     /**
@@ -145,6 +189,7 @@ public class Transformer {
         this.dimensions = inputGeneralized.getNumColumns();
         this.dictionarySensValue = null;
         this.dictionarySensFreq = null;
+        this.threads = 1;
 
         // Build just one applicator
         this.instances = new AbstractTransformer[1];
@@ -232,8 +277,11 @@ public class Transformer {
 
     /**
      * Builds the applicators.
+     * 
+     * @param inputGeneralized the data
+     * @param instances the array to fill
      */
-    private void buildTransformers() {
+    private void buildTransformers(final DataMatrix inputGeneralized, final AbstractTransformer[] instances) {
         instances[15] = new Transformer15(inputGeneralized,
                                           hierarchies,
                                           inputAnalyzed,
@@ -387,6 +435,11 @@ public class Transformer {
             break;
         }
 
+        if (threads > 1 && transition != TransitionType.ROLLUP && 
+            stopIndex - startIndex >= 2 * MIN_PARTITION_SIZE) {
+            return applyPartitioned(projection, state, target, snapshot, transition, stopIndex - startIndex);
+        }
+
         AbstractTransformer transformer = null;
 
         transformer = getTransformer(projection);
@@ -405,6 +458,45 @@ public class Transformer {
         return transformer.call();
     }
 
+    /**
+     * Creates the buffer. If a packed buffer is requested and the generalized values of all
+     * columns fit into few words, the rows are bit-packed, which reduces the memory bandwidth
+     * needed for grouping. If an off-heap buffer is requested, the rows are always bit-packed
+     * into direct buffers.
+     *
+     * @param rows
+     * @param columns
+     * @param hierarchies
+     * @param offHeap
+     * @param packed
+     * @return
+     */
+    private static DataMatrix createBuffer(final int rows,
+                                           final int columns,
+                                           final GeneralizationHierarchy[] hierarchies,
+                                           final boolean offHeap,
+                                           final boolean packed) {
+        if ((!offHeap && !packed) || hierarchies.length != columns) {
+            return new DataMatrix(rows, columns);
+        }
+        final int[] cardinalities = new int[columns];
+        for (int column = 0; column < columns; column++) {
+            for (final int[] values : hierarchies[column].getArray()) {
+                for (final int value : values) {
+                    cardinalities[column] = Math.max(cardinalities[column], value + 1);
+                }
+            }
+        }
+        final DataMatrixLayout layout = new DataMatrixLayout(cardinalities, true);
+        if (offHeap) {
+            return new DataMatrixOffHeap(rows, layout);
+        }
+        if (layout.getNumWords() > MAX_PACKED_WORDS) {
+            return new DataMatrix(rows, columns);
+        }
+        return new DataMatrixPacked(rows, layout);
+    }
+
     /**
      * Gets the applicator.
      * 
@@ -412,6 +504,17 @@ public class Transformer {
      * @return the applicator
      */
     protected AbstractTransformer getTransformer(final long projection) {
+        return getTransformer(instances, projection);
+    }
+
+    /**
+     * Gets the applicator from the given instances.
+     * 
+     * @param instances the instances
+     * @param projection the projection
+     * @return the applicator
+     */
+    private AbstractTransformer getTransformer(final AbstractTransformer[] instances, final long projection) {
         final int index = dimensions - Long.bitCount(projection);
         if (index > (instances.length - 1)) {
             return instances[0];
@@ -419,4 +522,114 @@ public class Transformer {
             return instances[index];
         }
     }
+
+    /**
+     * Splits the rows or snapshot entries into consecutive partitions, which are transformed
+     * and grouped concurrently. The partial results are merged in the order of the partitions,
+     * which yields the same equivalence classes, in the same order and with the same 
+     * representatives, as processing all rows at once.
+     * 
+     * @param projection the projection
+     * @param state the state
+     * @param target the target
+     * @param snapshot the snapshot
+     * @param transition the transition
+     * @param size the number of rows or snapshot entries
+     * @return the hash groupify
+     */
+    private HashGroupify applyPartitioned(final long projection,
+                                          final int[] state,
+                                          final HashGroupify target,
+                                          final int[] snapshot,
+                                          final TransitionType transition,
+                                          final int size) {
+
+        final int partitions = Math.min(threads, size / MIN_PARTITION_SIZE);
+        initializePartitions(target);
+
+        // Prepare
+        final List<AbstractTransformer> transformers = new ArrayList<AbstractTransformer>();
+        for (int partition = 0; partition < partitions; partition++) {
+            final int startIndex = (int) ((long) size * partition / partitions);
+            final int stopIndex = (int) ((long) size * (partition + 1) / partitions);
+            final AbstractTransformer transformer = getTransformer(partitionInstances[partition], projection);
+            transformer.init(projection,
+                             state,
+                             partitionGroupifies[partition],
+                             null,
+                             snapshot,
+                             transition,
+                             startIndex,
+                             stopIndex,
+                             null,
+                             partitionBuffers[partition]);
+            transformers.add(transformer);
+        }
+
+        // Process, the first partition in the calling thread
+        final List<Future<HashGroupify>> futures = new ArrayList<Future<HashGroupify>>();
+        for (int partition = 1; partition < partitions; partition++) {
+            futures.add(executor.submit(transformers.get(partition)));
+        }
+        transformers.get(0).call();
+        try {
+            for (Future<HashGroupify> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            for (Future<HashGroupify> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while transforming data", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+
+        // Merge
+        target.stateClear();
+        for (int partition = 0; partition < partitions; partition++) {
+            target.addFromGroupify(partitionGroupifies[partition]);
+        }
+        return target;
+    }
+
+    /**
+     * Creates the instances, buffers and groupify operators of all partitions.
+     * 
+     * @param target a groupify operator to copy the configuration from
+     */
+    private void initializePartitions(final HashGroupify target) {
+        if (partitionInstances != null) {
+            return;
+        }
+
+        final int capacity = (int) (inputGeneralized.getNumRows() * 0.01d / threads);
+        partitionInstances = new AbstractTransformer[threads][];
+        partitionBuffers = new DataMatrix[threads];
+        partitionGroupifies = new HashGroupify[threads];
+        for (int partition = 0; partition < threads; partition++) {
+            partitionInstances[partition] = new AbstractTransformer[16];
+            buildTransformers(inputGeneralized.view(), partitionInstances[partition]);
+            partitionBuffers[partition] = outputGeneralized.view();
+            partitionGroupifies[partition] = target.createEmptyCopy(capacity);
+        }
+
+        // Idle threads terminate, so the executor needs no explicit shutdown
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads - 1,
+                                                               threads - 1,
+                                                               1,
+                                                               TimeUnit.SECONDS,
+                                                               new LinkedBlockingQueue<Runnable>(),
+                                                               runnable -> {
+                                                                   Thread thread = new Thread(runnable, "arx-transformer");
+                                                                   thread.setDaemon(true);
+                                                                   return thread;
+                                                               });
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
 }
@@ -46,6 +46,9 @@ public class HashGroupify {
     /** Criteria. */
     private final PrivacyCriterion[]     classBasedCriteria;
 
+    /** The config. */
+    private final ARXConfigurationInternal config;
+
     /** The current number of outliers. */
     private int                          currentNumOutliers;
 
@@ -132,6 +135,7 @@ public class HashGroupify {
                         int[] suppressedCodes) {
         
         // Store
+        this.config = config;
         this.dataInput = input;
         this.dataOutput = output;
         this.dataAnalyzed = analyzed;
@@ -240,6 +244,19 @@ public class HashGroupify {
         }
     }
     
+    /**
+     * Adds all classes from another groupify operator in their original order. The other
+     * operator must group rows of the same output data.
+     * @param other
+     */
+    public void addFromGroupify(HashGroupify other) {
+        HashGroupifyEntry entry = other.hashTableFirstEntry;
+        while (entry != null) {
+            addFromGroupify(entry.row, entry.distributions, entry.representative, entry.count, entry.pcount);
+            entry = entry.nextOrdered;
+        }
+    }
+    
     /**
      * Adds a class from a snapshot
      * @param generalized
@@ -275,6 +292,15 @@ public class HashGroupify {
         }
     }
     
+    /**
+     * Returns a new, empty operator with the same configuration and data
+     * @param capacity
+     * @return
+     */
+    public HashGroupify createEmptyCopy(int capacity) {
+        return new HashGroupify(capacity, config, dataAnalyzedNumberOfColumns, dataInput, dataOutput, dataAnalyzed, suppressedCodes);
+    }
+    
     /**
      * Returns the entry for the given tuple
      * @param tuple
@@ -17,7 +17,6 @@
 
 package io.dataspaceconnector.arx.framework.check.history;
 
-import java.util.HashMap;
 import java.util.Iterator;
 
 import io.dataspaceconnector.arx.ARXConfiguration;
@@ -59,8 +58,23 @@ public class History {
     /** The dictionary for values of the distributions. */
     private final IntArrayDictionary        dictionarySensValue;
 
-    /** A map from nodes to snapshots. */
-    private HashMap<Object, int[]>          nodeToSnapshot                = null;
+    /** The compressed snapshots of the nodes. */
+    private final SnapshotStore             snapshots;
+
+    /** Maximal number of bytes occupied by snapshots. */
+    private long                            memoryBudget                  = Long.MAX_VALUE;
+
+    /** The number of rows. */
+    private final int                       rowCount;
+
+    /** Index over the cached snapshots. */
+    private final SnapshotIndex             index                         = new SnapshotIndex();
+
+    /** Number of lookups. */
+    private long                            lookups                       = 0;
+
+    /** Number of lookups which returned a snapshot. */
+    private long                            hits                          = 0;
 
     /** The current requirements. */
     private final int                       requirements;
@@ -123,7 +137,8 @@ public class History {
         this.snapshotSizeDataset = (long) (rowCount * snapshotSizeDataset);
         this.snapshotSizeSnapshot = snapshotSizeSnapshot;
         this.cache = new MRUCache<MRUCacheEntryMetadata>(size);
-        this.nodeToSnapshot = new HashMap<Object, int[]>(size);
+        this.snapshots = new SnapshotStore(config.getSnapshotLength());
+        this.rowCount = rowCount;
         this.size = size;
         this.dictionarySensFreq = dictionarySensFreq;
         this.dictionarySensValue = dictionarySensValue;
@@ -141,25 +156,14 @@ public class History {
      */
     public int[] get(final int[] transformation) {
 
-        // Init
-        int[] resultSnapshot = null;
-        MRUCacheEntryMetadata resultMetadata = null;
-        int level = solutionSpace.getLevel(transformation);
-
         // Search
-        MRUCacheEntry<MRUCacheEntryMetadata> entry = cache.getHead();
-        while (entry != null) {
-            MRUCacheEntryMetadata currentMetadata = entry.data;
-            if (currentMetadata.level < level) {
-                final int[] currentSnapshot = nodeToSnapshot.get(currentMetadata.id);
-                if ((resultMetadata == null) || (currentSnapshot.length < resultSnapshot.length)) {
-                    if (solutionSpace.isParentChildOrEqual(transformation, currentMetadata.transformation)) {
-                        resultMetadata = currentMetadata;
-                        resultSnapshot = currentSnapshot;
-                    }
-                }
-            }
-            entry = entry.next;
+        lookups++;
+        MRUCacheEntryMetadata resultMetadata = index.find(transformation, solutionSpace.getLevel(transformation));
+        int[] resultSnapshot = null;
+        if (resultMetadata != null) {
+            resultSnapshot = snapshots.get(resultMetadata.id);
+            snapshots.use(resultMetadata.id);
+            hits++;
         }
 
         // Manager
@@ -190,6 +194,33 @@ public class History {
         return dictionarySensValue;
     }
 
+    /**
+     * Returns the number of lookups which returned a snapshot.
+     *
+     * @return
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of cached snapshots examined by lookups.
+     *
+     * @return
+     */
+    public long getLookupCandidates() {
+        return index.getExamined();
+    }
+
+    /**
+     * Returns the number of lookups.
+     *
+     * @return
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
     /**
      * Returns the current storage strategy.
      *
@@ -217,12 +248,42 @@ public class History {
      */
     public void reset() {
         this.cache.clear();
-        this.nodeToSnapshot.clear();
+        this.index.clear();
+        this.snapshots.clear();
         this.dictionarySensFreq.clear();
         this.dictionarySensValue.clear();
         this.resultMetadata = null;
     }
 
+    /**
+     * Returns the number of bytes occupied by snapshots.
+     *
+     * @return
+     */
+    public long getMemoryUsed() {
+        return snapshots.getBytes();
+    }
+
+    /**
+     * Sets the maximal number of bytes occupied by snapshots. A new snapshot is compressed if
+     * it does not fit, and the snapshots with the lowest benefit per byte are evicted if it
+     * still does not fit.
+     *
+     * @param memoryBudget
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Sets whether snapshots are stored in direct buffers outside of the heap.
+     *
+     * @param offHeap
+     */
+    public void setOffHeap(boolean offHeap) {
+        this.snapshots.setOffHeap(offHeap);
+    }
+
     /**
      * Sets the size of this history.
      *
@@ -282,9 +343,31 @@ public class History {
         // Create the snapshot
         final int[] data = createSnapshot(groupify);
 
-        // Assign snapshot and keep reference for cache
-        nodeToSnapshot.put(transformation.getIdentifier(), data);
-        cache.append(new MRUCacheEntryMetadata(transformation));
+        // Only compress the snapshot, if it does not fit into the budget as it is
+        if (!snapshots.isOffHeap() && snapshots.getBytes() + SnapshotStore.getSize(data) <= memoryBudget) {
+            snapshots.put(transformation.getIdentifier(), data);
+        } else {
+            final byte[] encoded = snapshots.encode(data);
+
+            // Abort if the snapshot exceeds the budget on its own
+            if (encoded.length > memoryBudget) {
+                releaseSnapshot(data);
+                return false;
+            }
+
+            // Perform cost-benefit eviction, until the snapshot fits into the budget
+            while (snapshots.getBytes() + encoded.length > memoryBudget && cache.size() > 0) {
+                final MRUCacheEntryMetadata victim = getEvictionCandidate();
+                cache.remove(victim);
+                removeHistoryEntry(victim);
+            }
+            snapshots.put(transformation.getIdentifier(), encoded, data.length);
+        }
+
+        // Keep reference for cache
+        final MRUCacheEntryMetadata metadata = new MRUCacheEntryMetadata(transformation);
+        cache.append(metadata);
+        index.add(metadata, data.length);
 
         // Success
         return true;
@@ -357,14 +440,43 @@ public class History {
         return data;
     }
 
+    /**
+     * Returns the snapshot with the lowest benefit per byte. Ties are broken in favor of the
+     * least recently used snapshot.
+     *
+     * @return
+     */
+    private final MRUCacheEntryMetadata getEvictionCandidate() {
+        MRUCacheEntryMetadata result = null;
+        double resultScore = Double.MAX_VALUE;
+        final Iterator<MRUCacheEntryMetadata> metadata = cache.iterator();
+        while (metadata.hasNext()) {
+            final MRUCacheEntryMetadata current = metadata.next();
+            final double score = snapshots.getBenefitPerByte(current.id, rowCount);
+            if (result == null || score < resultScore) {
+                result = current;
+                resultScore = score;
+            }
+        }
+        return result;
+    }
+
     /**
      * Removes a snapshot.
      *
      * @param metadata
      */
     private final void removeHistoryEntry(final MRUCacheEntryMetadata metadata) {
-        final int[] snapshot = nodeToSnapshot.remove(metadata.id);
+        index.remove(metadata);
+        releaseSnapshot(snapshots.remove(metadata.id));
+    }
 
+    /**
+     * Releases the dictionary entries referenced by a snapshot.
+     *
+     * @param snapshot
+     */
+    private final void releaseSnapshot(final int[] snapshot) {
         switch (requirements) {
         case ARXConfiguration.REQUIREMENT_COUNTER | ARXConfiguration.REQUIREMENT_SECONDARY_COUNTER | ARXConfiguration.REQUIREMENT_DISTRIBUTION:
             for (int i = 0; i < snapshot.length; i += config.getSnapshotLength()) {
@@ -37,8 +37,18 @@ public class MRUCacheEntryMetadata {
      * @param transformation
      */
     public MRUCacheEntryMetadata(Transformation<?> transformation) {
-        this.transformation = transformation.getGeneralization().clone();
-        this.level = transformation.getLevel();
-        this.id = transformation.getIdentifier();
+        this(transformation.getGeneralization().clone(), transformation.getLevel(), transformation.getIdentifier());
+    }
+
+    /**
+     * Creates a new instance
+     * @param transformation
+     * @param level
+     * @param id
+     */
+    MRUCacheEntryMetadata(int[] transformation, int level, Object id) {
+        this.transformation = transformation;
+        this.level = level;
+        this.id = id;
     }
 }
@@ -0,0 +1,222 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.check.history;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Index over the snapshots stored in the history. Snapshots are bucketed by the lattice level
+ * of their transformation. Each bucket is ordered by snapshot size and knows the minimal
+ * generalization per dimension of its transformations, so that buckets which cannot contain
+ * an ancestor of a transformation are skipped and the smallest ancestor of a bucket is the
+ * first one found.
+ */
+class SnapshotIndex {
+
+    /**
+     * An indexed snapshot
+     */
+    private static class Entry {
+
+        /** Metadata of the cache entry */
+        private final MRUCacheEntryMetadata metadata;
+
+        /** Size of the snapshot */
+        private final int                   size;
+
+        /** Insertion order, to break ties between snapshots of equal size */
+        private final long                  sequence;
+
+        /**
+         * Creates a new instance
+         * @param metadata
+         * @param size
+         * @param sequence
+         */
+        private Entry(MRUCacheEntryMetadata metadata, int size, long sequence) {
+            this.metadata = metadata;
+            this.size = size;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * All snapshots of one lattice level
+     */
+    private static class Bucket {
+
+        /** Snapshots, smallest first */
+        private final TreeSet<Entry> entries = new TreeSet<Entry>(ORDER);
+
+        /** Minimal generalization per dimension, null if it must be recomputed */
+        private int[]                minimum = null;
+
+        /**
+         * Returns whether the bucket may contain an ancestor of the transformation
+         * @param transformation
+         * @return
+         */
+        private boolean mayContainAncestorOf(int[] transformation) {
+            if (entries.isEmpty()) {
+                return false;
+            }
+            if (minimum == null) {
+                minimum = entries.first().metadata.transformation.clone();
+                for (Entry entry : entries) {
+                    updateMinimum(entry.metadata.transformation);
+                }
+            }
+            return isAncestorOrEqual(minimum, transformation);
+        }
+
+        /**
+         * Includes a transformation in the minimum
+         * @param transformation
+         */
+        private void updateMinimum(int[] transformation) {
+            for (int i = 0; i < minimum.length; i++) {
+                minimum[i] = Math.min(minimum[i], transformation[i]);
+            }
+        }
+    }
+
+    /** Orders entries by snapshot size and insertion */
+    private static final Comparator<Entry>                ORDER    = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry o1, Entry o2) {
+            int result = Integer.compare(o1.size, o2.size);
+            return result != 0 ? result : Long.compare(o1.sequence, o2.sequence);
+        }
+    };
+
+    /** Buckets by lattice level */
+    private final List<Bucket>                            buckets  = new ArrayList<Bucket>();
+
+    /** Entries by metadata */
+    private final Map<MRUCacheEntryMetadata, Entry>       entries  = new IdentityHashMap<MRUCacheEntryMetadata, Entry>();
+
+    /** Number of entries inserted so far */
+    private long                                          sequence = 0;
+
+    /** Number of entries examined by lookups */
+    private long                                          examined = 0;
+
+    /**
+     * Returns whether the first transformation is a generalization ancestor of,
+     * or equal to, the second one
+     * @param ancestor
+     * @param transformation
+     * @return
+     */
+    private static boolean isAncestorOrEqual(int[] ancestor, int[] transformation) {
+        for (int i = 0; i < ancestor.length; i++) {
+            if (ancestor[i] > transformation[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a snapshot
+     * @param metadata
+     * @param size
+     */
+    public void add(MRUCacheEntryMetadata metadata, int size) {
+        while (buckets.size() <= metadata.level) {
+            buckets.add(new Bucket());
+        }
+        Entry entry = new Entry(metadata, size, sequence++);
+        Bucket bucket = buckets.get(metadata.level);
+        bucket.entries.add(entry);
+        if (bucket.minimum != null) {
+            bucket.updateMinimum(metadata.transformation);
+        }
+        entries.put(metadata, entry);
+    }
+
+    /**
+     * Removes all snapshots
+     */
+    public void clear() {
+        buckets.clear();
+        entries.clear();
+    }
+
+    /**
+     * Returns the metadata of the smallest snapshot of an ancestor of the transformation
+     * on a lower level, or null if there is none.
+     * @param transformation
+     * @param level
+     * @return
+     */
+    public MRUCacheEntryMetadata find(int[] transformation, int level) {
+        Entry result = null;
+        int levels = Math.min(level, buckets.size());
+        for (int i = 0; i < levels; i++) {
+            Bucket bucket = buckets.get(i);
+            if (!bucket.mayContainAncestorOf(transformation)) {
+                continue;
+            }
+            for (Entry entry : bucket.entries) {
+                examined++;
+                if (result != null && ORDER.compare(entry, result) >= 0) {
+                    break;
+                }
+                if (isAncestorOrEqual(entry.metadata.transformation, transformation)) {
+                    result = entry;
+                    break;
+                }
+            }
+        }
+        return result == null ? null : result.metadata;
+    }
+
+    /**
+     * Returns the number of entries examined by lookups
+     * @return
+     */
+    public long getExamined() {
+        return examined;
+    }
+
+    /**
+     * Removes a snapshot
+     * @param metadata
+     */
+    public void remove(MRUCacheEntryMetadata metadata) {
+        Entry entry = entries.remove(metadata);
+        if (entry != null) {
+            Bucket bucket = buckets.get(metadata.level);
+            bucket.entries.remove(entry);
+            bucket.minimum = null;
+        }
+    }
+
+    /**
+     * Returns the number of snapshots
+     * @return
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.check.history;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+/**
+ * Stores the snapshots of the history and keeps track of the memory they occupy. Snapshots
+ * consist of records of a fixed number of ints and are stored either as they are or in
+ * compressed form. For compression, the first int of a record, the representative, is
+ * delta-encoded against the previous record, all ints are zigzag- and varint-encoded. The
+ * encoded bytes can be kept on the heap or in direct (off-heap) buffers.
+ */
+class SnapshotStore {
+
+    /**
+     * A stored snapshot
+     */
+    private static class Entry {
+
+        /** The snapshot, if it is not compressed */
+        private final int[]      snapshot;
+
+        /** The encoded snapshot, if it is compressed */
+        private final ByteBuffer data;
+
+        /** The number of ints of the decoded snapshot */
+        private final int        length;
+
+        /** The number of bytes occupied by the snapshot */
+        private final long       size;
+
+        /** How often the snapshot has been used */
+        private long             uses = 0;
+
+        /**
+         * Creates a new instance
+         * @param snapshot
+         * @param data
+         * @param length
+         * @param size
+         */
+        private Entry(int[] snapshot, ByteBuffer data, int length, long size) {
+            this.snapshot = snapshot;
+            this.data = data;
+            this.length = length;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Returns the number of bytes occupied by an uncompressed snapshot
+     * @param snapshot
+     * @return
+     */
+    static long getSize(int[] snapshot) {
+        return (long) snapshot.length * Integer.BYTES;
+    }
+
+    /** Number of ints per record */
+    private final int                    recordLength;
+
+    /** The stored snapshots */
+    private final HashMap<Object, Entry> entries = new HashMap<Object, Entry>();
+
+    /** Bytes occupied by the stored snapshots */
+    private long                         bytes   = 0;
+
+    /** Whether to store snapshots in direct buffers */
+    private boolean                      offHeap = false;
+
+    /**
+     * Creates a new instance
+     * @param recordLength
+     */
+    SnapshotStore(int recordLength) {
+        this.recordLength = recordLength;
+    }
+
+    /**
+     * Encodes a snapshot. The size is computed first, so that no memory is needed besides the
+     * encoded bytes.
+     * @param snapshot
+     * @return the encoded bytes
+     */
+    public byte[] encode(int[] snapshot) {
+        final byte[] result = new byte[getEncodedSize(snapshot)];
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            int value = snapshot[i];
+            if (i % recordLength == 0) {
+                value -= previous;
+                previous = snapshot[i];
+            }
+            int zigzag = (value << 1) ^ (value >> 31);
+            while ((zigzag & ~0x7F) != 0) {
+                result[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            result[position++] = (byte) zigzag;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of bytes of an encoded snapshot
+     * @param snapshot
+     * @return
+     */
+    public int getEncodedSize(int[] snapshot) {
+        int size = 0;
+        int previous = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            int value = snapshot[i];
+            if (i % recordLength == 0) {
+                value -= previous;
+                previous = snapshot[i];
+            }
+            int zigzag = (value << 1) ^ (value >> 31);
+            // Every byte holds seven bits, at least one byte is written
+            size += zigzag == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(zigzag)) / 7;
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot
+     * @param id
+     * @return the decoded snapshot, or null
+     */
+    public int[] get(Object id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : decode(entry);
+    }
+
+    /**
+     * Returns the number of bytes occupied by the stored snapshots
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the benefit per byte of a snapshot. The benefit of a snapshot are the rows it
+     * saves for every check it has been and may be used for.
+     * @param id
+     * @param rows the number of rows of the dataset
+     * @return
+     */
+    public double getBenefitPerByte(Object id, int rows) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return 0d;
+        }
+        final int classes = entry.length / recordLength;
+        final double benefit = (double) (entry.uses + 1) * (rows - classes);
+        return benefit / Math.max(1L, entry.size);
+    }
+
+    /**
+     * Returns the number of ints of the decoded snapshot, or -1
+     * @param id
+     * @return
+     */
+    public int getLength(Object id) {
+        Entry entry = entries.get(id);
+        return entry == null ? -1 : entry.length;
+    }
+
+    /**
+     * Returns the number of bytes of a stored snapshot, or -1
+     * @param id
+     * @return
+     */
+    public long getSize(Object id) {
+        Entry entry = entries.get(id);
+        return entry == null ? -1 : entry.size;
+    }
+
+    /**
+     * Returns how often a snapshot has been used
+     * @param id
+     * @return
+     */
+    public long getUses(Object id) {
+        Entry entry = entries.get(id);
+        return entry == null ? 0 : entry.uses;
+    }
+
+    /**
+     * Returns whether snapshots are stored off-heap
+     * @return
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Stores an encoded snapshot
+     * @param id
+     * @param encoded
+     * @param length the number of ints of the snapshot
+     */
+    public void put(Object id, byte[] encoded, int length) {
+        ByteBuffer data;
+        if (offHeap) {
+            data = ByteBuffer.allocateDirect(encoded.length);
+            data.put(encoded);
+            data.flip();
+        } else {
+            data = ByteBuffer.wrap(encoded);
+        }
+        put(id, new Entry(null, data, length, encoded.length));
+    }
+
+    /**
+     * Stores a snapshot without compressing it
+     * @param id
+     * @param snapshot
+     */
+    public void put(Object id, int[] snapshot) {
+        put(id, new Entry(snapshot, null, snapshot.length, getSize(snapshot)));
+    }
+
+    /**
+     * Removes all snapshots
+     */
+    public void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Removes a snapshot
+     * @param id
+     * @return the decoded snapshot, or null
+     */
+    public int[] remove(Object id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        bytes -= entry.size;
+        return decode(entry);
+    }
+
+    /**
+     * Sets whether new snapshots are stored off-heap
+     * @param offHeap
+     */
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Registers the use of a snapshot
+     * @param id
+     */
+    public void use(Object id) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            entry.uses++;
+        }
+    }
+
+    /**
+     * Stores an entry
+     * @param id
+     * @param entry
+     */
+    private void put(Object id, Entry entry) {
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += entry.size;
+    }
+
+    /**
+     * Decodes a snapshot
+     * @param entry
+     * @return
+     */
+    private int[] decode(Entry entry) {
+        if (entry.snapshot != null) {
+            return entry.snapshot;
+        }
+        ByteBuffer data = entry.data.duplicate();
+        int[] snapshot = new int[entry.length];
+        int previous = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            int zigzag = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data.get();
+                zigzag |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            int value = (zigzag >>> 1) ^ -(zigzag & 1);
+            if (i % recordLength == 0) {
+                value += previous;
+                previous = value;
+            }
+            snapshot[i] = value;
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dataspaceconnector.arx.framework.data;
+
+/**
+ * Base class for data matrices which store rows bit-packed into 64-bit words according to a
+ * {@link DataMatrixLayout}. Rows never share words, so rows are compared and hashed word by
+ * word. Rows of one or two words, which covers most sets of quasi-identifiers, take fast
+ * paths without loops.
+ */
+public abstract class AbstractDataMatrixPacked extends DataMatrix {
+
+    /** SVUID */
+    private static final long        serialVersionUID = 4160347787014958151L;
+
+    /** Multiplier for mixing the bits of a word */
+    private static final long        MIX              = 0x9E3779B97F4A7C15L;
+
+    /** The layout */
+    protected final DataMatrixLayout layout;
+
+    /** The number of rows */
+    protected final int              rows;
+
+    /** The number of columns */
+    protected final int              columns;
+
+    /** The number of words per row */
+    protected final int              words;
+
+    /** Iterate */
+    private int                      iteratorI        = 0;
+
+    /** Iterate */
+    private int                      iteratorRow      = 0;
+
+    /** Iterate */
+    private int                      baseRow          = 0;
+
+    /**
+     * Combines a hash code with a word
+     * @param result
+     * @param word
+     * @return
+     */
+    private static int hash(int result, long word) {
+        long mixed = word * MIX;
+        return (37 * result) + (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Creates a new instance
+     * @param rows
+     * @param layout
+     */
+    protected AbstractDataMatrixPacked(final int rows, final DataMatrixLayout layout) {
+        super(0, 0);
+        this.rows = rows;
+        this.layout = layout;
+        this.columns = layout.getNumColumns();
+        this.words = layout.getNumWords();
+    }
+
+    @Override
+    public void and(int row, int value) {
+        set(row, 0, get(row, 0) & value);
+    }
+
+    @Override
+    public DataMatrix clone() {
+        return clone(this.rows, null);
+    }
+
+    @Override
+    public void copyFrom(int row, DataMatrix sourceMatrix, int sourceRow) {
+        if (sourceMatrix instanceof AbstractDataMatrixPacked && ((AbstractDataMatrixPacked) sourceMatrix).layout == this.layout) {
+            AbstractDataMatrixPacked source = (AbstractDataMatrixPacked) sourceMatrix;
+            for (int word = 0; word < words; word++) {
+                setWord(row, word, source.getWord(sourceRow, word));
+            }
+        } else {
+            for (int column = 0; column < columns; column++) {
+                set(row, column, sourceMatrix.get(sourceRow, column));
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final int row1, final int row2) {
+        return equals(row1, row2, ~0L);
+    }
+
+    @Override
+    public boolean equals(int row, int[] data) {
+        for (int column = 0; column < columns; column++) {
+            if (get(row, column) != data[column]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equalsIgnore(int row1, int row2, int ignore) {
+        if (ignore < 0 || ignore >= columns) {
+            return equals(row1, row2, ~0L);
+        }
+        int ignoreWord = layout.getWord(ignore);
+        long ignoreMask = ~layout.getColumnMask(ignore);
+        switch (words) {
+        case 1:
+            return ((getWord(row1, 0) ^ getWord(row2, 0)) & ignoreMask) == 0L;
+        case 2:
+            long mask0 = ignoreWord == 0 ? ignoreMask : ~0L;
+            long mask1 = ignoreWord == 1 ? ignoreMask : ~0L;
+            return ((getWord(row1, 0) ^ getWord(row2, 0)) & mask0) == 0L &&
+                   ((getWord(row1, 1) ^ getWord(row2, 1)) & mask1) == 0L;
+        default:
+            for (int word = 0; word < words; word++) {
+                long mask = word == ignoreWord ? ignoreMask : ~0L;
+                if (((getWord(row1, word) ^ getWord(row2, word)) & mask) != 0L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean equalsIgnoringOutliers(int row1, int row2) {
+        return equals(row1, row2, ~layout.getFlagMask());
+    }
+
+    @Override
+    public int get(final int row, final int col) {
+        return layout.get(getWord(row, layout.getWord(col)), col);
+    }
+
+    /**
+     * Returns the layout
+     * @return
+     */
+    public DataMatrixLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public int getNumColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getNumRows() {
+        return rows;
+    }
+
+    @Override
+    public int getValueAtColumn(int column) {
+        return get(baseRow, column);
+    }
+
+    @Override
+    public int hashCode(final int row) {
+        switch (words) {
+        case 0:
+            return 23;
+        case 1:
+            return hash(23, getWord(row, 0));
+        case 2:
+            return hash(hash(23, getWord(row, 0)), getWord(row, 1));
+        default:
+            int result = 23;
+            for (int word = 0; word < words; word++) {
+                result = hash(result, getWord(row, word));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Computes a hashcode for a tuple, which is consistent with {@link #hashCode(int)}.
+     *
+     * @param array
+     * @return the hashcode
+     */
+    @Override
+    public int hashCode(final int[] array) {
+        int result = 23;
+        int word = 0;
+        long packed = 0L;
+        for (int column = 0; column < columns; column++) {
+            if (layout.getWord(column) != word) {
+                result = hash(result, packed);
+                packed = 0L;
+                word++;
+            }
+            packed = layout.pack(packed, column, array[column]);
+        }
+        return words == 0 ? result : hash(result, packed);
+    }
+
+    @Override
+    public int hashCodeIgnore(final int row, final int ignore) {
+        int ignoreWord = ignore >= 0 && ignore < columns ? layout.getWord(ignore) : -1;
+        long ignoreMask = ignoreWord != -1 ? ~layout.getColumnMask(ignore) : ~0L;
+        int result = 23;
+        for (int word = 0; word < words; word++) {
+            result = hash(result, word == ignoreWord ? getWord(row, word) & ignoreMask : getWord(row, word));
+        }
+        return result;
+    }
+
+    @Override
+    public void iterator(int row) {
+        iteratorRow = row;
+        iteratorI = 0;
+    }
+
+    @Override
+    public boolean iterator_hasNext() {
+        return iteratorI < columns;
+    }
+
+    @Override
+    public int iterator_next() {
+        return get(iteratorRow, iteratorI++);
+    }
+
+    @Override
+    public void iterator_write(int value) {
+        set(iteratorRow, iteratorI++, value);
+    }
+
+    @Override
+    public void or(int row, int value) {
+        set(row, 0, get(row, 0) | value);
+    }
+
+    @Override
+    public void set(int row, int column, int value) {
+        int word = layout.getWord(column);
+        setWord(row, word, layout.set(getWord(row, word), column, value));
+    }
+
+    @Override
+    public void setRow(int row) {
+        this.baseRow = row;
+    }
+
+    @Override
+    public void setRow(int row, int[] data) {
+        for (int column = 0; column < data.length; column++) {
+            set(row, column, data[column]);
+        }
+    }
+
+    @Override
+    public void setValueAtColumn(int column, int value) {
+        set(baseRow, column, value);
+    }
+
+    @Override
+    public void swap(int row1, int row2) {
+        for (int word = 0; word < words; word++) {
+            long temp = getWord(row1, word);
+            setWord(row1, word, getWord(row2, word));
+            setWord(row2, word, temp);
+        }
+    }
+
+    @Override
+    protected DataMatrix clone(int[] subset) {
+        return clone(subset.length, subset);
+    }
+
+    /**
+     * Creates an empty matrix of the same kind with the same layout
+     * @param rows
+     * @return
+     */
+    protected abstract AbstractDataMatrixPacked create(int rows);
+
+    /**
+     * Returns a word
+     * @param row
+     * @param word
+     * @return
+     */
+    protected abstract long getWord(int row, int word);
+
+    /**
+     * Sets a word
+     * @param row
+     * @param word
+     * @param value
+     */
+    protected abstract void setWord(int row, int word, long value);
+
+    /**
+     * Clones the given rows, or all rows
+     * @param rows
+     * @param subset the rows, or null
+     * @return
+     */
+    private DataMatrix clone(int rows, int[] subset) {
+        AbstractDataMatrixPacked result = create(rows);
+        for (int row = 0; row < rows; row++) {
+            result.copyFrom(row, this, subset == null ? row : subset[row]);
+        }
+        return result;
+    }
+
+    /**
+     * Compares two rows word by word, the first word is masked with the given flag
+     * @param row1
+     * @param row2
+     * @param flag
+     * @return
+     */
+    private boolean equals(int row1, int row2, long flag) {
+        switch (words) {
+        case 0:
+            return true;
+        case 1:
+            return ((getWord(row1, 0) ^ getWord(row2, 0)) & flag) == 0L;
+        case 2:
+            return ((getWord(row1, 0) ^ getWord(row2, 0)) & flag) == 0L &&
+                   getWord(row1, 1) == getWord(row2, 1);
+        default:
+            if (((getWord(row1, 0) ^ getWord(row2, 0)) & flag) != 0L) {
+                return false;
+            }
+            for (int word = 1; word < words; word++) {
+                if (getWord(row1, word) != getWord(row2, word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
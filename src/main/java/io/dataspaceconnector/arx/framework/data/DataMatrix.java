@@ -65,6 +65,17 @@ public class DataMatrix implements Serializable {
         }
     }
 
+    /**
+     * Instantiates a view on the given matrix.
+     *
+     * @param source the matrix
+     */
+    private DataMatrix(final DataMatrix source) {
+        this.columns = source.columns;
+        this.rows = source.rows;
+        this.array = source.array;
+    }
+
     /**
      * ANDs the first value of the row with the given value
      * @param row
@@ -292,7 +303,7 @@ public class DataMatrix implements Serializable {
      * @param array
      * @return the hashcode
      */
-    public final int hashCode(final int[] array) {
+    public int hashCode(final int[] array) {
         final int len = array.length;
         int result = 23;
         int i = 0;
@@ -411,6 +422,15 @@ public class DataMatrix implements Serializable {
         this.array[baseOffset + column] = value;
     }
 
+    /**
+     * Returns a matrix backed by the data of this matrix, with its own row and iterator
+     * state. Views allow multiple threads to access disjoint rows concurrently.
+     * @return
+     */
+    public DataMatrix view() {
+        return new DataMatrix(this);
+    }
+
     /**
      * Swaps the data in both rows
      * @param row1
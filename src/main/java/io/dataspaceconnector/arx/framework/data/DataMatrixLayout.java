@@ -0,0 +1,202 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dataspaceconnector.arx.framework.data;
+
+import java.io.Serializable;
+
+/**
+ * Describes how the columns of a matrix are bit-packed into 64-bit words. Each column is
+ * assigned as many bits as are needed to represent the codes of its dictionary. Columns
+ * never span two words. If requested, the first column reserves an additional bit for
+ * the outlier flag, so that values with {@link Data#OUTLIER_MASK} set can be stored.
+ */
+public class DataMatrixLayout implements Serializable {
+
+    /** SVUID */
+    private static final long serialVersionUID = -3326415011837401473L;
+
+    /** Number of bits per word */
+    private static final int  BITS_PER_WORD    = 64;
+
+    /** The number of columns */
+    private final int         columns;
+
+    /** The number of words per row */
+    private final int         words;
+
+    /** The word of each column */
+    private final int[]       word;
+
+    /** The offset of each column within its word */
+    private final int[]       shift;
+
+    /** The mask of each column, not shifted */
+    private final long[]      mask;
+
+    /** The outlier flag of the first column, not shifted, or 0 */
+    private final long        flag;
+
+    /**
+     * Creates a layout for the given dictionary
+     * @param dictionary a finalized dictionary
+     * @param flags whether the first column must be able to store the outlier flag
+     * @return
+     */
+    public static DataMatrixLayout create(Dictionary dictionary, boolean flags) {
+        String[][] mapping = dictionary.getMapping();
+        int[] cardinalities = new int[mapping.length];
+        for (int column = 0; column < mapping.length; column++) {
+            cardinalities[column] = mapping[column].length;
+        }
+        return new DataMatrixLayout(cardinalities, flags);
+    }
+
+    /**
+     * Returns the number of bits needed to represent the codes 0 to cardinality-1
+     * @param cardinality
+     * @return
+     */
+    private static int getBits(int cardinality) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(cardinality, 1) - 1));
+    }
+
+    /**
+     * Creates a new layout
+     * @param cardinalities the number of distinct codes of each column
+     * @param flags whether the first column must be able to store the outlier flag
+     */
+    public DataMatrixLayout(int[] cardinalities, boolean flags) {
+        this.columns = cardinalities.length;
+        this.word = new int[columns];
+        this.shift = new int[columns];
+        this.mask = new long[columns];
+        int currentWord = 0;
+        int currentBit = 0;
+        for (int column = 0; column < columns; column++) {
+            int bits = getBits(cardinalities[column]) + (column == 0 && flags ? 1 : 0);
+            if (currentBit + bits > BITS_PER_WORD) {
+                currentWord++;
+                currentBit = 0;
+            }
+            word[column] = currentWord;
+            shift[column] = currentBit;
+            mask[column] = (1L << bits) - 1L;
+            currentBit += bits;
+        }
+        this.words = columns == 0 ? 0 : currentWord + 1;
+        this.flag = columns != 0 && flags ? (mask[0] >>> 1) + 1L : 0L;
+    }
+
+    /**
+     * Returns the value of the given column from the word which contains it
+     * @param word
+     * @param column
+     * @return
+     */
+    public final int get(long word, int column) {
+        long field = (word >>> shift[column]) & mask[column];
+        if (column == 0 && flag != 0L) {
+            return (field & flag) != 0L ? (int) (field & ~flag) | Data.OUTLIER_MASK : (int) field;
+        }
+        return (int) field;
+    }
+
+    /**
+     * Returns the bits occupied by the given column within its word
+     * @param column
+     * @return
+     */
+    public final long getColumnMask(int column) {
+        return mask[column] << shift[column];
+    }
+
+    /**
+     * Returns the bit which stores the outlier flag within the first word, or 0
+     * @return
+     */
+    public final long getFlagMask() {
+        return columns == 0 ? 0L : flag << shift[0];
+    }
+
+    /**
+     * Returns the number of columns
+     * @return
+     */
+    public int getNumColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of words per row
+     * @return
+     */
+    public int getNumWords() {
+        return words;
+    }
+
+    /**
+     * Returns the word which contains the given column
+     * @param column
+     * @return
+     */
+    public final int getWord(int column) {
+        return word[column];
+    }
+
+    /**
+     * Returns the given word with the value of the given column replaced. In contrast to
+     * {@link #set(long, int, int)}, values which exceed the width of the column are truncated.
+     * This is used for hashing tuples which may not be representable in the matrix.
+     * @param word
+     * @param column
+     * @param value
+     * @return
+     */
+    public final long pack(long word, int column, int value) {
+        long field;
+        if (column == 0 && flag != 0L) {
+            field = (value & (flag - 1L)) | (value < 0 ? flag : 0L);
+        } else {
+            field = value & mask[column];
+        }
+        return (word & ~(mask[column] << shift[column])) | (field << shift[column]);
+    }
+
+    /**
+     * Returns the given word with the value of the given column replaced
+     * @param word
+     * @param column
+     * @param value
+     * @return
+     */
+    public final long set(long word, int column, int value) {
+        long field = value & 0xFFFFFFFFL;
+        long limit = mask[column];
+        if (column == 0 && flag != 0L) {
+            field = value & Data.REMOVE_OUTLIER_MASK;
+            limit = flag - 1L;
+        }
+        if (field > limit) {
+            throw new IllegalArgumentException("Value " + value + " exceeds the width of column " + column);
+        }
+        if (column == 0 && value < 0 && flag != 0L) {
+            field |= flag;
+        }
+        return (word & ~(mask[column] << shift[column])) | (field << shift[column]);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dataspaceconnector.arx.framework.data;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A data matrix which stores bit-packed rows outside of the heap, either in direct buffers
+ * or in a memory-mapped file. Rows are split into segments of at most 1 GB, so the number of
+ * cells is not limited to 2^31-1 as for heap matrices. Rows are still addressed with int
+ * indices, like in all other matrices.
+ */
+public class DataMatrixOffHeap extends AbstractDataMatrixPacked {
+
+    /** SVUID */
+    private static final long  serialVersionUID = -5404914585186093227L;
+
+    /** Maximal number of bytes per segment */
+    private static final int   SEGMENT_SIZE     = 1 << 30;
+
+    /** Number of bytes per word */
+    private static final int   WORD_SIZE        = Long.BYTES;
+
+    /** The segments */
+    private final ByteBuffer[] segments;
+
+    /** The number of bytes per row */
+    private final int          rowSize;
+
+    /** The number of rows per segment */
+    private final int          rowsPerSegment;
+
+    /**
+     * Returns the number of bytes per row
+     * @param layout
+     * @return
+     */
+    private static int getRowSize(DataMatrixLayout layout) {
+        return Math.max(1, layout.getNumWords()) * WORD_SIZE;
+    }
+
+    /**
+     * Returns the number of rows per segment
+     * @param layout
+     * @return
+     */
+    private static int getRowsPerSegment(DataMatrixLayout layout) {
+        return Math.max(1, SEGMENT_SIZE / getRowSize(layout));
+    }
+
+    /**
+     * Returns the number of bytes of the given segment
+     * @param rows
+     * @param layout
+     * @param segment
+     * @return
+     */
+    private static int getSegmentSize(int rows, DataMatrixLayout layout, int segment) {
+        int rowsPerSegment = getRowsPerSegment(layout);
+        return Math.min(rowsPerSegment, rows - segment * rowsPerSegment) * getRowSize(layout);
+    }
+
+    /**
+     * Returns the number of segments
+     * @param rows
+     * @param layout
+     * @return
+     */
+    private static int getNumSegments(int rows, DataMatrixLayout layout) {
+        int rowsPerSegment = getRowsPerSegment(layout);
+        return (rows + rowsPerSegment - 1) / rowsPerSegment;
+    }
+
+    /**
+     * Allocates direct buffers
+     * @param rows
+     * @param layout
+     * @return
+     */
+    private static ByteBuffer[] allocate(int rows, DataMatrixLayout layout) {
+        ByteBuffer[] segments = new ByteBuffer[getNumSegments(rows, layout)];
+        for (int segment = 0; segment < segments.length; segment++) {
+            segments[segment] = ByteBuffer.allocateDirect(getSegmentSize(rows, layout, segment))
+                                          .order(ByteOrder.nativeOrder());
+        }
+        return segments;
+    }
+
+    /**
+     * Maps a file into memory
+     * @param file
+     * @param rows
+     * @param layout
+     * @return
+     * @throws IOException
+     */
+    private static ByteBuffer[] map(Path file, int rows, DataMatrixLayout layout) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[getNumSegments(rows, layout)];
+        long segmentSize = (long) getRowsPerSegment(layout) * getRowSize(layout);
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            for (int segment = 0; segment < segments.length; segment++) {
+                segments[segment] = channel.map(MapMode.READ_WRITE,
+                                                segment * segmentSize,
+                                                getSegmentSize(rows, layout, segment))
+                                           .order(ByteOrder.nativeOrder());
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Creates a new matrix backed by direct buffers
+     *
+     * @param rows the num rows
+     * @param layout the layout of the columns
+     */
+    public DataMatrixOffHeap(final int rows, final DataMatrixLayout layout) {
+        this(rows, layout, allocate(rows, layout));
+    }
+
+    /**
+     * Creates a new matrix backed by the given file, which is created or truncated
+     *
+     * @param file the file
+     * @param rows the num rows
+     * @param layout the layout of the columns
+     * @throws IOException
+     */
+    public DataMatrixOffHeap(final Path file, final int rows, final DataMatrixLayout layout) throws IOException {
+        this(rows, layout, map(file, rows, layout));
+    }
+
+    /**
+     * Instantiates a view on the given matrix.
+     *
+     * @param source the matrix
+     */
+    private DataMatrixOffHeap(final DataMatrixOffHeap source) {
+        this(source.rows, source.layout, source.segments);
+    }
+
+    /**
+     * Creates a new instance
+     * @param rows
+     * @param layout
+     * @param segments
+     */
+    private DataMatrixOffHeap(final int rows, final DataMatrixLayout layout, final ByteBuffer[] segments) {
+        super(rows, layout);
+        this.segments = segments;
+        this.rowSize = getRowSize(layout);
+        this.rowsPerSegment = getRowsPerSegment(layout);
+    }
+
+    @Override
+    public DataMatrix clone() {
+        DataMatrixOffHeap result = new DataMatrixOffHeap(this.rows, this.layout);
+        for (int segment = 0; segment < segments.length; segment++) {
+            ByteBuffer source = segments[segment].duplicate();
+            source.clear();
+            result.segments[segment].duplicate().put(source);
+        }
+        return result;
+    }
+
+    @Override
+    public DataMatrix view() {
+        return new DataMatrixOffHeap(this);
+    }
+
+    @Override
+    protected AbstractDataMatrixPacked create(int rows) {
+        return new DataMatrixOffHeap(rows, this.layout);
+    }
+
+    @Override
+    protected long getWord(int row, int word) {
+        return segments[row / rowsPerSegment].getLong((row % rowsPerSegment) * rowSize + word * WORD_SIZE);
+    }
+
+    @Override
+    protected void setWord(int row, int word, long value) {
+        segments[row / rowsPerSegment].putLong((row % rowsPerSegment) * rowSize + word * WORD_SIZE, value);
+    }
+
+    /**
+     * Off-heap buffers cannot be serialized, the matrix is replaced with a packed heap matrix
+     * @return
+     * @throws ObjectStreamException
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        DataMatrixPacked result = new DataMatrixPacked(rows, layout);
+        for (int row = 0; row < rows; row++) {
+            result.copyFrom(row, this, row);
+        }
+        return result;
+    }
+}
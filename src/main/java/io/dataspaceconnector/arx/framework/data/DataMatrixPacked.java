@@ -0,0 +1,82 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dataspaceconnector.arx.framework.data;
+
+/**
+ * A data matrix which stores bit-packed rows in an array of longs on the heap.
+ */
+public class DataMatrixPacked extends AbstractDataMatrixPacked {
+
+    /** SVUID */
+    private static final long serialVersionUID = 7906528946392183390L;
+
+    /** Backing array */
+    private final long[]      array;
+
+    /**
+     * Creates a new matrix
+     *
+     * @param rows the num rows
+     * @param layout the layout of the columns
+     */
+    public DataMatrixPacked(final int rows, final DataMatrixLayout layout) {
+        super(rows, layout);
+        try {
+            this.array = new long[Math.multiplyExact(rows, layout.getNumWords())];
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Not more then 2^31-1 words supported");
+        }
+    }
+
+    /**
+     * Instantiates a view on the given matrix.
+     *
+     * @param source the matrix
+     */
+    private DataMatrixPacked(final DataMatrixPacked source) {
+        super(source.rows, source.layout);
+        this.array = source.array;
+    }
+
+    @Override
+    public DataMatrix clone() {
+        DataMatrixPacked result = new DataMatrixPacked(this.rows, this.layout);
+        System.arraycopy(this.array, 0, result.array, 0, this.array.length);
+        return result;
+    }
+
+    @Override
+    public DataMatrix view() {
+        return new DataMatrixPacked(this);
+    }
+
+    @Override
+    protected AbstractDataMatrixPacked create(int rows) {
+        return new DataMatrixPacked(rows, this.layout);
+    }
+
+    @Override
+    protected long getWord(int row, int word) {
+        return array[row * words + word];
+    }
+
+    @Override
+    protected void setWord(int row, int word, long value) {
+        array[row * words + word] = value;
+    }
+}
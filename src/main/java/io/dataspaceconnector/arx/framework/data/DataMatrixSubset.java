@@ -93,6 +93,11 @@ public class DataMatrixSubset extends DataMatrix {
         return matrix.hashCode(subset[row]);
     }
 
+    @Override
+    public int hashCode(int[] array) {
+        return (matrix == null) ? super.hashCode(array) : matrix.hashCode(array);
+    }
+
     @Override
     public void iterator(int row) {
         matrix.iterator(subset[row]);
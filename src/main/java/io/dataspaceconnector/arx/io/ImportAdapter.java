@@ -51,7 +51,11 @@ abstract public class ImportAdapter implements Iterator<String[]> {
     public static ImportAdapter create(ImportConfiguration config) throws IOException {
 
         if (config instanceof ImportConfigurationCSV) {
-            return new ImportAdapterCSV((ImportConfigurationCSV) config);
+            ImportConfigurationCSV configCSV = (ImportConfigurationCSV) config;
+            if (configCSV.getThreads() > 1 && ImportAdapterCSVParallel.isSupported(configCSV)) {
+                return new ImportAdapterCSVParallel(configCSV);
+            }
+            return new ImportAdapterCSV(configCSV);
         } else if (config instanceof ImportConfigurationExcel) {
             return new ImportAdapterExcel((ImportConfigurationExcel) config);
         } else if (config instanceof ImportConfigurationJDBC) {
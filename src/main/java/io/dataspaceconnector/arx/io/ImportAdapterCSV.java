@@ -109,8 +109,8 @@ public class ImportAdapterCSV extends ImportAdapter {
         /* Used to keep track of progress */
         cin = new CountingInputStream(new FileInputStream(new File(config.getFileLocation())));
 
-        /* Determine length*/
-        if (config.isOptimizedLoading()) {
+        /* Determine length, the parallel import counts records itself */
+        if (config.isOptimizedLoading() && config.getThreads() <= 1) {
             records = getLength(new FileInputStream(new File(config.getFileLocation())), config.getCharset(), config.getDelimiter(), config.getQuote(), config.getEscape(), config.getLinebreak(), config.getMaxColumns());
         }
         
@@ -237,22 +237,7 @@ public class ImportAdapterCSV extends ImportAdapter {
         }
 
         /* Create regular row */
-        String[] result;
-        try {
-            result = new String[indexes.length];
-            for (int i = 0; i < indexes.length; i++) {
-                result[i] = row[indexes[i]];
-                if (!dataTypes[i].isValid(result[i])) {
-                    if (config.columns.get(i).isCleansing()) {
-                        result[i] = DataType.NULL_VALUE;
-                    } else {
-                        throw new IllegalArgumentException("Data value (" + result[i] + ") does not match data type");
-                    }
-                }
-            }
-        } catch (ArrayIndexOutOfBoundsException e) {
-            throw new IllegalArgumentException("Inconsistent length of header and records");
-        }
+        String[] result = project(row, dataTypes);
 
         /* Fetches the next row, which will be used in next iteration */
         if (it.hasNext()) {
@@ -273,6 +258,47 @@ public class ImportAdapterCSV extends ImportAdapter {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException
+     */
+    protected void close() throws IOException {
+        in.close();
+        row = null;
+    }
+
+    /**
+     * Selects the columns to import from a record and checks their values
+     * 
+     * Values which do not match the data type of their column are replaced by
+     * {@link DataType#NULL_VALUE}, if the column is configured for cleansing.
+     * Data types are passed in, because they are not thread-safe.
+     *
+     * @param record
+     * @param dataTypes
+     * @return
+     */
+    protected String[] project(String[] record, DataType<?>[] dataTypes) {
+        String[] result;
+        try {
+            result = new String[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                result[i] = record[indexes[i]];
+                if (!dataTypes[i].isValid(result[i])) {
+                    if (config.columns.get(i).isCleansing()) {
+                        result[i] = DataType.NULL_VALUE;
+                    } else {
+                        throw new IllegalArgumentException("Data value (" + result[i] + ") does not match data type");
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Inconsistent length of header and records");
+        }
+        return result;
+    }
+
     /**
      * Creates the header row
      * 
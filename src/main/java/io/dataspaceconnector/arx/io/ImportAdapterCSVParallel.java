@@ -0,0 +1,489 @@
+/*
+ * ARX: Powerful Data Anonymization
+ * Copyright 2012 - 2021 Fabian Prasser and contributors
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dataspaceconnector.arx.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.dataspaceconnector.arx.DataType;
+import io.dataspaceconnector.arx.framework.data.DataMatrix;
+import io.dataspaceconnector.arx.framework.data.Dictionary;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+/**
+ * Parallel import adapter for CSV files
+ * 
+ * The file is memory-mapped and split into chunks at record boundaries. Chunks
+ * are parsed, checked against the data types and encoded with local dictionaries
+ * concurrently. The local dictionaries are then merged into a global
+ * {@link Dictionary} in the order of the chunks, which assigns the same codes as a
+ * sequential import, and the local codes are remapped concurrently.
+ * 
+ * The result is consumed directly by the input handle via {@link #getData()} and
+ * {@link #getDictionary()}. Iterating over this adapter decodes the records again.
+ * The import is performed on first access, its progress is reported by
+ * {@link #getProgress()}.
+ */
+public class ImportAdapterCSVParallel extends ImportAdapterCSV {
+
+    /**
+     * A chunk of the file
+     */
+    private class Chunk {
+
+        /** The mapped bytes */
+        private final ByteBuffer   buffer;
+
+        /** Whether the chunk starts with the header */
+        private final boolean      header;
+
+        /** The local dictionary */
+        private final Dictionary   dictionary;
+
+        /** The local codes, row by row */
+        private final IntArrayList codes = new IntArrayList();
+
+        /** The first row in the global matrix */
+        private int                offset;
+
+        /** Column, local code -> global code */
+        private int[][]            remap;
+
+        /**
+         * Creates a new instance
+         * @param buffer
+         * @param header
+         */
+        private Chunk(ByteBuffer buffer, boolean header) {
+            this.buffer = buffer;
+            this.header = header;
+            this.dictionary = new Dictionary(indexes.length);
+        }
+
+        /**
+         * Writes the global codes into the given matrix
+         * @param matrix
+         */
+        private void encode(DataMatrix matrix) {
+            int columns = remap.length;
+            int[] tuple = new int[columns];
+            int rows = getNumRows();
+            int index = 0;
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    tuple[column] = remap[column][codes.get(index++)];
+                }
+                matrix.setRow(offset + row, tuple);
+            }
+            progress.addAndGet(buffer.capacity());
+        }
+
+        /**
+         * Returns the number of rows
+         * @return
+         */
+        private int getNumRows() {
+            return codes.size() / indexes.length;
+        }
+
+        /**
+         * Parses the chunk
+         * @return
+         * @throws IOException
+         */
+        private Chunk parse() throws IOException {
+
+            // Data types are not thread-safe
+            DataType<?>[] types = new DataType<?>[dataTypes.length];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = dataTypes[i].clone();
+            }
+
+            // Parse
+            CSVDataInput input = new CSVDataInput(new InputStreamReader(new ByteBufferInputStream(buffer.duplicate()), config.getCharset()),
+                                                  config.getDelimiter(),
+                                                  config.getQuote(),
+                                                  config.getEscape(),
+                                                  config.getLinebreak(),
+                                                  null,
+                                                  new CSVOptions(config.getMaxColumns()));
+            try {
+                Iterator<String[]> records = input.iterator(false);
+                if (header && records.hasNext()) {
+                    records.next();
+                }
+                while (records.hasNext()) {
+                    String[] record = project(records.next(), types);
+                    for (int column = 0; column < record.length; column++) {
+                        codes.add(dictionary.register(column, record[column]));
+                    }
+                }
+            } finally {
+                input.close();
+            }
+            dictionary.finalizeAll();
+            progress.addAndGet(buffer.capacity());
+            return this;
+        }
+    }
+
+    /**
+     * An input stream reading from a byte buffer
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        /** The buffer */
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates a new instance
+         * @param buffer
+         */
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            length = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, length);
+            return length;
+        }
+    }
+
+    /** Minimal size of a chunk in bytes */
+    private static final long            MIN_CHUNK_SIZE    = 1L << 22;
+
+    /** Maximal size of a chunk in bytes */
+    private static final long            MAX_CHUNK_SIZE    = 1L << 26;
+
+    /** Number of chunks per thread, for balancing the load */
+    private static final int             CHUNKS_PER_THREAD = 4;
+
+    /** Size of the window in which chunk boundaries are searched */
+    private static final int             WINDOW_SIZE       = 1 << 26;
+
+    /** The configuration describing the CSV file being used. */
+    private final ImportConfigurationCSV config;
+
+    /** The size of the CSV file. */
+    private final long                   bytesTotal;
+
+    /** Bytes parsed plus bytes encoded */
+    private final AtomicLong             progress          = new AtomicLong();
+
+    /** The encoded data */
+    private DataMatrix                   data;
+
+    /** The dictionary */
+    private Dictionary                   dictionary;
+
+    /** Column, code -> value */
+    private String[][]                   values;
+
+    /** Indicates whether the header has already been returned */
+    private boolean                      headerReturned    = false;
+
+    /** The next row to return */
+    private int                          next              = 0;
+
+    /**
+     * Returns whether the given configuration can be imported in parallel. Chunk
+     * boundaries are searched on bytes, which requires that the syntax characters
+     * are ASCII and never occur within the encoding of other characters.
+     *
+     * @param config
+     * @return
+     */
+    public static boolean isSupported(ImportConfigurationCSV config) {
+        Charset charset = config.getCharset();
+        if (!charset.equals(StandardCharsets.UTF_8) && (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1f)) {
+            return false;
+        }
+        boolean ascii = config.getDelimiter() < 0x80 && config.getQuote() < 0x80 && config.getEscape() < 0x80;
+        for (char c : config.getLinebreak()) {
+            ascii &= c < 0x80;
+        }
+        return ascii;
+    }
+
+    /**
+     * Creates a new instance of this object with given configuration.
+     *
+     * @param config
+     * @throws IOException In case file doesn't contain actual data
+     */
+    protected ImportAdapterCSVParallel(ImportConfigurationCSV config) throws IOException {
+        super(config);
+        this.config = config;
+        this.bytesTotal = Math.max(1L, new File(config.getFileLocation()).length());
+        
+        // The header has been read, the remainder is read in parallel
+        close();
+    }
+
+    /**
+     * Returns the encoded data, importing it if necessary
+     * @return
+     */
+    public DataMatrix getData() {
+        load();
+        return data;
+    }
+
+    /**
+     * Returns the dictionary, importing the data if necessary. The dictionary
+     * is not finalized.
+     * @return
+     */
+    public Dictionary getDictionary() {
+        load();
+        return dictionary;
+    }
+
+    @Override
+    public Integer getLength() {
+        return data == null ? null : data.getNumRows();
+    }
+
+    /**
+     * Returns the percentage of data that has already been imported, counting
+     * parsing and encoding as one half each.
+     *
+     * @return
+     */
+    @Override
+    public int getProgress() {
+        return (int) ((double) progress.get() / (double) (2L * bytesTotal) * 100d);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!headerReturned) {
+            return true;
+        }
+        load();
+        return next < data.getNumRows();
+    }
+
+    @Override
+    public String[] next() {
+        if (!headerReturned) {
+            headerReturned = true;
+            return header;
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String[] result = new String[values.length];
+        for (int column = 0; column < result.length; column++) {
+            result[column] = values[column][data.get(next, column)];
+        }
+        next++;
+        return result;
+    }
+
+    /**
+     * Finds the chunk boundaries. This scans the file once, tracking quoted fields,
+     * so that linebreaks within quotes do not split records.
+     *
+     * @param channel
+     * @return
+     * @throws IOException
+     */
+    private long[] getBoundaries(FileChannel channel) throws IOException {
+
+        // Prepare
+        long size = channel.size();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (config.getThreads() * CHUNKS_PER_THREAD)));
+        char[] linebreaks = config.getLinebreak();
+        byte linebreak = (byte) linebreaks[linebreaks.length - 1];
+        byte delimiter = (byte) config.getDelimiter();
+        byte quote = (byte) config.getQuote();
+        byte escape = (byte) config.getEscape();
+        LongArrayList boundaries = new LongArrayList();
+        boundaries.add(0L);
+
+        // Scan
+        boolean fieldStart = true;
+        boolean quoted = false;
+        boolean escaped = false;
+        boolean closing = false;
+        long target = chunkSize;
+        for (long position = 0; position < size; position += WINDOW_SIZE) {
+            ByteBuffer window = channel.map(MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+            for (int i = 0; i < window.limit(); i++) {
+                byte current = window.get(i);
+                if (escaped) {
+                    escaped = false;
+                    continue;
+                }
+                if (closing) {
+                    // A quote within quotes either escapes the next quote or ends the field
+                    closing = false;
+                    if (current == quote) {
+                        continue;
+                    }
+                    quoted = false;
+                }
+                if (quoted) {
+                    if (current == quote) {
+                        closing = escape == quote;
+                        quoted = closing;
+                    } else if (current == escape) {
+                        escaped = true;
+                    }
+                    continue;
+                }
+                if (current == quote && fieldStart) {
+                    quoted = true;
+                } else if (current == linebreak && position + i + 1 >= target) {
+                    boundaries.add(position + i + 1);
+                    target = position + i + 1 + chunkSize;
+                }
+                fieldStart = current == delimiter || current == linebreak;
+            }
+        }
+
+        // Last boundary
+        if (boundaries.get(boundaries.size() - 1) != size) {
+            boundaries.add(size);
+        }
+        return boundaries.toArray();
+    }
+
+    /**
+     * Imports the data
+     */
+    private synchronized void load() {
+
+        // Check
+        if (data != null) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        try (FileChannel channel = FileChannel.open(Paths.get(config.getFileLocation()), StandardOpenOption.READ)) {
+
+            // Parse chunks
+            long[] boundaries = getBoundaries(channel);
+            List<Future<Chunk>> parsing = new ArrayList<>();
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                ByteBuffer buffer = channel.map(MapMode.READ_ONLY, boundaries[i], boundaries[i + 1] - boundaries[i]);
+                Chunk chunk = new Chunk(buffer, i == 0 && config.getContainsHeader());
+                parsing.add(executor.submit(chunk::parse));
+            }
+            List<Chunk> chunks = new ArrayList<>();
+            for (Future<Chunk> future : parsing) {
+                chunks.add(future.get());
+            }
+
+            // Merge dictionaries in the order of the chunks
+            Dictionary dictionary = new Dictionary(indexes.length);
+            int rows = 0;
+            for (Chunk chunk : chunks) {
+                chunk.offset = rows;
+                chunk.remap = new int[indexes.length][];
+                for (int column = 0; column < indexes.length; column++) {
+                    String[] local = chunk.dictionary.getMapping()[column];
+                    chunk.remap[column] = new int[local.length];
+                    for (int code = 0; code < local.length; code++) {
+                        chunk.remap[column][code] = dictionary.register(column, local[code]);
+                    }
+                }
+                rows += chunk.getNumRows();
+            }
+
+            // Remap codes
+            DataMatrix matrix = new DataMatrix(rows, indexes.length);
+            List<Future<?>> encoding = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                encoding.add(executor.submit(() -> chunk.encode(matrix)));
+            }
+            for (Future<?> future : encoding) {
+                future.get();
+            }
+
+            // Store
+            this.values = getValues(dictionary);
+            this.dictionary = dictionary;
+            this.data = matrix;
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Error while importing CSV file", e.getCause());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while importing CSV file", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing CSV file", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the values of an unfinalized dictionary ordered by their codes
+     * @param dictionary
+     * @return
+     */
+    private String[][] getValues(Dictionary dictionary) {
+        String[][] result = new String[indexes.length][];
+        for (int column = 0; column < result.length; column++) {
+            ObjectIntOpenHashMap<String> map = dictionary.getUnfinalizedValues(column);
+            result[column] = new String[map.size()];
+            for (int i = 0; i < map.allocated.length; i++) {
+                if (map.allocated[i]) {
+                    result[column][map.values[i]] = (String) map.keys[i];
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -52,6 +52,9 @@ public class ImportConfigurationCSV extends ImportConfigurationFile implements I
     /** The charset of the CSV file */
     private final Charset charset;
 
+    /** Number of threads used for importing the file */
+    private int           threads = 1;
+
     /**
      * Creates a new instance of this object.
      *
@@ -270,6 +273,14 @@ public class ImportConfigurationCSV extends ImportConfigurationFile implements I
         return maxColumns;
     }
 
+    /**
+     * Returns the number of threads used for importing the file
+     * @return
+     */
+    public int getThreads() {
+        return threads;
+    }
+
     /**
      * Gets the quote.
      *
@@ -289,6 +300,20 @@ public class ImportConfigurationCSV extends ImportConfigurationFile implements I
         this.containsHeader = containsHeader;
     }
 
+    /**
+     * Sets the number of threads used for importing the file. With more than one thread,
+     * the file is split into chunks, which are parsed and dictionary-encoded concurrently.
+     * This is only supported for charsets which encode the syntax characters as single bytes.
+     *
+     * @param threads
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive");
+        }
+        this.threads = threads;
+    }
+
     /**
      * Sets the indexes based on the header.
      *
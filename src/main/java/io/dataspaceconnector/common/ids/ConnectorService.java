@@ -25,14 +25,17 @@ import de.fraunhofer.iais.eis.util.ConstraintViolationException;
 import de.fraunhofer.ids.messaging.core.config.ConfigContainer;
 import de.fraunhofer.ids.messaging.core.config.ConfigUpdateException;
 import de.fraunhofer.ids.messaging.core.config.ssl.keystore.KeyStoreManager;
-import de.fraunhofer.ids.messaging.core.daps.ConnectorMissingCertExtensionException;
-import de.fraunhofer.ids.messaging.core.daps.DapsConnectionException;
-import de.fraunhofer.ids.messaging.core.daps.DapsEmptyResponseException;
-import de.fraunhofer.ids.messaging.core.daps.DapsTokenProvider;
 import io.dataspaceconnector.common.ids.mapping.FromIdsObjectMapper;
+import io.dataspaceconnector.common.net.EndpointUtils;
+import io.dataspaceconnector.common.util.UUIDUtils;
+import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.configuration.ConnectorStatus;
 import io.dataspaceconnector.model.configuration.DeployMode;
+import io.dataspaceconnector.model.contract.Contract;
+import io.dataspaceconnector.model.representation.Representation;
 import io.dataspaceconnector.model.resource.OfferedResource;
+import io.dataspaceconnector.model.rule.ContractRule;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
 import io.dataspaceconnector.service.resource.ids.builder.IdsCatalogBuilder;
 import io.dataspaceconnector.service.resource.ids.builder.IdsResourceBuilder;
 import io.dataspaceconnector.service.resource.type.CatalogService;
@@ -40,14 +43,21 @@ import io.dataspaceconnector.service.resource.type.OfferedResourceService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -65,9 +75,9 @@ public class ConnectorService {
     private final @NonNull ConfigContainer configContainer;
 
     /**
-     * The token provider.
+     * The cache of the connector's DAT.
      */
-    private final @NonNull DapsTokenProvider tokenProvider;
+    private final @NonNull DapsTokenCache tokenCache;
 
     /**
      * Service for persisted catalogs.
@@ -89,6 +99,38 @@ public class ConnectorService {
      */
     private final @NonNull OfferedResourceService offeredResourceService;
 
+    /**
+     * The maximum number of built ids resources kept in memory.
+     */
+    private static final int MAX_CACHED_RESOURCES = 128;
+
+    /**
+     * The load factor of the resource cache.
+     */
+    private static final float CACHE_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The most recently used ids resources by offered resource id.
+     */
+    private final Map<UUID, Resource> resourceCache =
+            new LinkedHashMap<>(MAX_CACHED_RESOURCES, CACHE_LOAD_FACTOR, true) {
+                /**
+                 * Serial version uid.
+                 */
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<UUID, Resource> eldest) {
+                    return size() > MAX_CACHED_RESOURCES;
+                }
+            };
+
+    /**
+     * The number of invalidations of the resource cache. Resources built while the cache has been
+     * invalidated are not cached.
+     */
+    private final AtomicLong resourceCacheGeneration = new AtomicLong();
+
     /**
      * Get keystore manager from ids messaging services.
      * @return The keystore manager.
@@ -157,25 +199,7 @@ public class ConnectorService {
      * @return The connector's DAT.
      */
     public DynamicAttributeToken getCurrentDat() {
-        try {
-            return tokenProvider.getDAT();
-        } catch (ConnectorMissingCertExtensionException e) {
-            if (log.isWarnEnabled()) {
-                log.warn("Connector certificate is missing aki/ski extensions."
-                        + " [exception=({})]", e.getMessage());
-            }
-        } catch (DapsConnectionException e) {
-            if (log.isWarnEnabled()) {
-                log.warn("Connection to DAPS could not be established. "
-                        + "[exception=({})]", e.getMessage());
-            }
-        } catch (DapsEmptyResponseException e) {
-            if (log.isWarnEnabled()) {
-                log.warn("Received empty response from DAPS. [exception=({})]", e.getMessage());
-            }
-        }
-
-        return null;
+        return tokenCache.getDat();
     }
 
     /**
@@ -252,11 +276,77 @@ public class ConnectorService {
      * @return The ids resource.
      */
     public Optional<Resource> getOfferedResourceById(final URI resourceId) {
-        final var resource = offeredResourceService.getAll(Pageable.unpaged())
-                .stream()
-                .filter(x -> resourceId.toString().contains(x.getId().toString()))
-                .findAny();
+        final var uuids = UUIDUtils.findUuids(resourceId.toString());
+        for (var i = uuids.size() - 1; i >= 0; i--) {
+            final var resource = getOfferedResource(UUID.fromString(uuids.get(i)));
+            if (resource.isPresent()) {
+                return resource;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Remove the ids resources affected by a change of an entity from the cache.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void handleEntityChange(final EntityChangeEvent event) {
+        if (!event.isOfAnyType(OfferedResource.class, Representation.class, Artifact.class,
+                Contract.class, ContractRule.class)) {
+            return;
+        }
+
+        invalidateResource(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The cache may be filled again before the change is committed.
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(final int status) {
+                            invalidateResource(event);
+                        }
+                    });
+        }
+    }
+
+    private Optional<Resource> getOfferedResource(final UUID resourceId) {
+        synchronized (resourceCache) {
+            final var cached = resourceCache.get(resourceId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        final var generation = resourceCacheGeneration.get();
+        // Cached resources are shared by all requests, so their links must not depend on the
+        // host of the request that built them.
+        final var resource = EndpointUtils.withoutRequestContext(
+                () -> offeredResourceService.findWithRepresentations(resourceId)
+                        .map(resourceBuilder::create));
 
-        return resource.map(resourceBuilder::create);
+        resource.ifPresent(x -> {
+            synchronized (resourceCache) {
+                if (generation == resourceCacheGeneration.get()) {
+                    resourceCache.put(resourceId, x);
+                }
+            }
+        });
+
+        return resource;
+    }
+
+    private void invalidateResource(final EntityChangeEvent event) {
+        synchronized (resourceCache) {
+            resourceCacheGeneration.incrementAndGet();
+            if (event.isOfType(OfferedResource.class)) {
+                resourceCache.remove(event.getEntityId());
+            } else {
+                // Representations, artifacts, contracts and rules may be part of any resource.
+                resourceCache.clear();
+            }
+        }
     }
 }
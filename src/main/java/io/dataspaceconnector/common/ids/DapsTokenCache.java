@@ -0,0 +1,351 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fraunhofer.iais.eis.DynamicAttributeToken;
+import de.fraunhofer.ids.messaging.core.daps.ConnectorMissingCertExtensionException;
+import de.fraunhofer.ids.messaging.core.daps.DapsConnectionException;
+import de.fraunhofer.ids.messaging.core.daps.DapsEmptyResponseException;
+import de.fraunhofer.ids.messaging.core.daps.DapsTokenProvider;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the connector's DAT and fetches a new one in the background shortly before it expires.
+ * Callers only wait if there is no valid token. Callers that need a token while one is fetched
+ * wait for that fetch instead of starting their own.
+ */
+@Log4j2
+@Component
+public class DapsTokenCache {
+
+    /**
+     * The time in milliseconds a token has to be valid at least to be handed out.
+     */
+    private static final long MIN_VALIDITY = 5000;
+
+    /**
+     * The time in milliseconds after which a failed background fetch is repeated.
+     */
+    private static final long RETRY_INTERVAL = 5000;
+
+    /**
+     * Reads the claims of a token.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The token provider.
+     */
+    private final DapsTokenProvider tokenProvider;
+
+    /**
+     * The time in milliseconds before the expiration of a token at which a new one is fetched.
+     */
+    private final long refreshMargin;
+
+    /**
+     * The thread fetching tokens in the background.
+     */
+    private final ScheduledExecutorService refresher;
+
+    /**
+     * The current token, null if there is none.
+     */
+    private volatile CachedToken current;
+
+    /**
+     * The fetch in progress, null if there is none.
+     */
+    private CompletableFuture<CachedToken> inFlight;
+
+    /**
+     * The scheduled background fetch, null if there is none.
+     */
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * The number of calls served from the cache.
+     */
+    @Getter
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of calls that had to wait for a token.
+     */
+    @Getter
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The number of calls that waited for a fetch started by another call.
+     */
+    @Getter
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * The number of fetches.
+     */
+    @Getter
+    private final LongAdder fetches = new LongAdder();
+
+    /**
+     * The number of fetches that did not return a token.
+     */
+    @Getter
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * The total time in milliseconds spent fetching tokens.
+     */
+    @Getter
+    private final LongAdder fetchTime = new LongAdder();
+
+    /**
+     * The longest time in milliseconds spent fetching a token.
+     */
+    @Getter
+    private final LongAccumulator maxFetchTime = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor.
+     *
+     * @param provider The token provider.
+     * @param margin   The time in milliseconds before the expiration of a token at which a new
+     *                 one is fetched.
+     */
+    public DapsTokenCache(final @NonNull DapsTokenProvider provider,
+                          @Value("${daps.token.refresh-margin:60000}") final long margin) {
+        this.tokenProvider = provider;
+        this.refreshMargin = margin;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "dat-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the connector's DAT. The cached token is returned while it is valid. Otherwise, the
+     * caller waits for a new token.
+     *
+     * @return The DAT, null if none could be fetched.
+     */
+    public DynamicAttributeToken getDat() {
+        final var token = current;
+        if (token != null && token.isValid(System.currentTimeMillis() + MIN_VALIDITY)) {
+            hits.increment();
+            return token.getToken();
+        }
+
+        misses.increment();
+        final var result = fetch(false).join();
+        return result == null ? null : result.getToken();
+    }
+
+    /**
+     * Get the expiration time of the cached token.
+     *
+     * @return The expiration time in milliseconds since the epoch, 0 if no token is cached.
+     */
+    public long getExpiration() {
+        final var token = current;
+        return token == null ? 0 : token.getExpiration();
+    }
+
+    /**
+     * Stop fetching tokens in the background.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private CompletableFuture<CachedToken> fetch(final boolean background) {
+        final CompletableFuture<CachedToken> future;
+        synchronized (this) {
+            if (inFlight != null) {
+                if (!background) {
+                    coalesced.increment();
+                }
+                return inFlight;
+            }
+
+            future = new CompletableFuture<>();
+            inFlight = future;
+        }
+
+        CachedToken token = null;
+        try {
+            token = load();
+        } finally {
+            synchronized (this) {
+                inFlight = null;
+                if (token != null) {
+                    current = token;
+                    scheduleRefresh(getRefreshTime(token));
+                } else if (current != null && current.isValid(System.currentTimeMillis())) {
+                    // Keep trying while the cached token is still valid.
+                    scheduleRefresh(System.currentTimeMillis() + RETRY_INTERVAL);
+                }
+            }
+            future.complete(token);
+        }
+
+        return future;
+    }
+
+    private CachedToken load() {
+        fetches.increment();
+        final var start = System.nanoTime();
+        try {
+            final var dat = tokenProvider.getDAT();
+            if (dat == null) {
+                failures.increment();
+                return null;
+            }
+
+            return new CachedToken(dat, readExpiration(dat));
+        } catch (ConnectorMissingCertExtensionException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Connector certificate is missing aki/ski extensions."
+                        + " [exception=({})]", e.getMessage());
+            }
+        } catch (DapsConnectionException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Connection to DAPS could not be established. "
+                        + "[exception=({})]", e.getMessage());
+            }
+        } catch (DapsEmptyResponseException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Received empty response from DAPS. [exception=({})]", e.getMessage());
+            }
+        } finally {
+            final var duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            fetchTime.add(duration);
+            maxFetchTime.accumulate(duration);
+        }
+
+        failures.increment();
+        return null;
+    }
+
+    private long getRefreshTime(final CachedToken token) {
+        if (token.getExpiration() == 0) {
+            return 0;
+        }
+
+        // The token provider may hand out the same token until it has expired. In that case the
+        // next attempt is made at its expiration.
+        final var now = System.currentTimeMillis();
+        final var next = token.getExpiration() - refreshMargin;
+        return next > now ? next : Math.max(token.getExpiration(), now + RETRY_INTERVAL);
+    }
+
+    private void scheduleRefresh(final long time) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+
+        if (time == 0) {
+            return;
+        }
+
+        try {
+            final var delay = Math.max(0, time - System.currentTimeMillis());
+            scheduledRefresh = refresher.schedule(() -> fetch(true), delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // The cache has been shut down.
+        }
+    }
+
+    /**
+     * Read the expiration time from the claims of a JWT.
+     *
+     * @param dat The token.
+     * @return The expiration time in milliseconds since the epoch, 0 if the token cannot be read
+     *         or has no expiration time.
+     */
+    private static long readExpiration(final DynamicAttributeToken dat) {
+        final var value = dat.getTokenValue();
+        if (value == null) {
+            return 0;
+        }
+
+        final var parts = value.split("\\.");
+        if (parts.length < 2) {
+            return 0;
+        }
+
+        try {
+            final var claims = MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            return TimeUnit.SECONDS.toMillis(claims.path("exp").asLong(0));
+        } catch (IOException | IllegalArgumentException exception) {
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to read expiration of DAT. [exception=({})]",
+                        exception.getMessage());
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * A token and its expiration time.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class CachedToken {
+        /**
+         * The token.
+         */
+        private final DynamicAttributeToken token;
+
+        /**
+         * The expiration time in milliseconds since the epoch, 0 if unknown.
+         */
+        private final long expiration;
+
+        /**
+         * Check whether the token is valid at the given time. Tokens without an expiration time
+         * are not cached, so they are never valid.
+         *
+         * @param time The time in milliseconds since the epoch.
+         * @return True if the token is valid.
+         */
+        boolean isValid(final long time) {
+            return time < expiration;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids;
+
+import de.fraunhofer.iais.eis.BaseConnector;
+import de.fraunhofer.iais.eis.ResourceCatalog;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A version of the connector's self-description with all offered resources.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class SelfDescription {
+
+    /**
+     * The version, increased whenever the content changes.
+     */
+    private final long version;
+
+    /**
+     * The catalogs with the offered resources.
+     */
+    private final List<ResourceCatalog> catalogs;
+
+    /**
+     * The self-description serialized as JSON-LD.
+     */
+    private final String rdf;
+
+    /**
+     * The entity tag of the serialized self-description.
+     */
+    private final String etag;
+
+    /**
+     * The connector the self-description was built for.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final BaseConnector connector;
+
+    /**
+     * The number of changes included.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final long changes;
+}
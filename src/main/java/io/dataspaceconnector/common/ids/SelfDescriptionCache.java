@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids;
+
+import de.fraunhofer.iais.eis.BaseConnectorImpl;
+import de.fraunhofer.iais.eis.ResourceCatalog;
+import de.fraunhofer.iais.eis.util.ConstraintViolationException;
+import de.fraunhofer.ids.messaging.core.config.ConfigContainer;
+import io.dataspaceconnector.common.exception.ResourceNotFoundException;
+import io.dataspaceconnector.common.ids.mapping.RdfConverter;
+import io.dataspaceconnector.common.net.EndpointUtils;
+import io.dataspaceconnector.model.artifact.Artifact;
+import io.dataspaceconnector.model.catalog.Catalog;
+import io.dataspaceconnector.model.contract.Contract;
+import io.dataspaceconnector.model.representation.Representation;
+import io.dataspaceconnector.model.resource.OfferedResource;
+import io.dataspaceconnector.model.rule.ContractRule;
+import io.dataspaceconnector.repository.CatalogRepository;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
+import io.dataspaceconnector.service.resource.ids.builder.IdsCatalogBuilder;
+import io.dataspaceconnector.service.resource.type.CatalogService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the connector's self-description with all offered resources, both as ids objects and
+ * serialized. Changes of catalogs, offered resources, representations, artifacts, contracts and
+ * rules mark the affected catalogs. Only these are built again on the next request.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class SelfDescriptionCache {
+
+    /**
+     * The current connector configuration.
+     */
+    private final @NonNull ConfigContainer configContainer;
+
+    /**
+     * Service for catalogs.
+     */
+    private final @NonNull CatalogService catalogService;
+
+    /**
+     * Repository for finding the catalogs affected by a change.
+     */
+    private final @NonNull CatalogRepository catalogRepository;
+
+    /**
+     * Builder for ids catalogs.
+     */
+    private final @NonNull IdsCatalogBuilder catalogBuilder;
+
+    /**
+     * The catalogs changed since the last build.
+     */
+    private final Set<UUID> changedCatalogs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether all catalogs have to be built again.
+     */
+    private final AtomicBoolean allChanged = new AtomicBoolean(true);
+
+    /**
+     * The number of changes so far.
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * The ids catalogs of the last build by catalog id. Null values mark catalogs that could
+     * not be built.
+     */
+    private Map<UUID, ResourceCatalog> catalogs = new LinkedHashMap<>();
+
+    /**
+     * The current self-description, null before the first build.
+     */
+    private volatile SelfDescription current;
+
+    /**
+     * Get the self-description. It is built again if anything changed since the last call.
+     *
+     * @return The self-description.
+     * @throws ConstraintViolationException if the self-description cannot be built.
+     */
+    public SelfDescription get() throws ConstraintViolationException {
+        final var description = current;
+        if (isUpToDate(description)) {
+            return description;
+        }
+
+        synchronized (this) {
+            return isUpToDate(current) ? current : build();
+        }
+    }
+
+    /**
+     * Mark the catalogs affected by a change of an entity.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void handleEntityChange(final EntityChangeEvent event) {
+        if (!isRelevant(event)) {
+            return;
+        }
+
+        final var affected = findAffectedCatalogs(event);
+        markChanged(affected);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The change may be read by another thread before it is committed.
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(final int status) {
+                            markChanged(affected);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Build all catalogs again on the next request.
+     */
+    public void invalidate() {
+        markChanged(null);
+    }
+
+    private boolean isUpToDate(final SelfDescription description) {
+        return description != null
+                && description.getChanges() == changes.get()
+                && description.getConnector() == configContainer.getConnector();
+    }
+
+    private SelfDescription build() throws ConstraintViolationException {
+        final var includedChanges = changes.get();
+        final var rebuildAll = allChanged.getAndSet(false);
+        final var changed = new HashSet<UUID>();
+        for (final var iterator = changedCatalogs.iterator(); iterator.hasNext();) {
+            changed.add(iterator.next());
+            iterator.remove();
+        }
+
+        try {
+            final var next = new LinkedHashMap<UUID, ResourceCatalog>();
+            for (final var catalogId : catalogRepository.findAllIds()) {
+                if (!rebuildAll && !changed.contains(catalogId)
+                        && catalogs.containsKey(catalogId)) {
+                    next.put(catalogId, catalogs.get(catalogId));
+                } else {
+                    next.put(catalogId, buildCatalog(catalogId));
+                }
+            }
+
+            final var list = new ArrayList<ResourceCatalog>(next.size());
+            for (final var catalog : next.values()) {
+                if (catalog != null) {
+                    list.add(catalog);
+                }
+            }
+
+            final var connector = configContainer.getConnector();
+            ((BaseConnectorImpl) connector).setResourceCatalog(list);
+            final var rdf = RdfConverter.toRdf(connector);
+            final var etag = createEtag(rdf);
+
+            final var previous = current;
+            var version = 1L;
+            if (previous != null) {
+                version = etag.equals(previous.getEtag())
+                        ? previous.getVersion() : previous.getVersion() + 1;
+            }
+
+            catalogs = next;
+            current = new SelfDescription(version, List.copyOf(list), rdf, etag, connector,
+                    includedChanges);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Built self-description. [version=({}), catalogs=({}), rebuilt=({})]",
+                        version, next.size(), rebuildAll ? next.size() : changed.size());
+            }
+
+            return current;
+        } catch (RuntimeException exception) {
+            allChanged.set(true);
+            throw exception;
+        }
+    }
+
+    private ResourceCatalog buildCatalog(final UUID catalogId) {
+        try {
+            // The self-description is shared by all requests, so its links must not depend on
+            // the host of the request that triggered the build.
+            return EndpointUtils.withoutRequestContext(
+                    () -> catalogBuilder.create(catalogService.get(catalogId), 0));
+        } catch (ResourceNotFoundException exception) {
+            // The catalog has been deleted in the meantime.
+            return null;
+        }
+    }
+
+    private void markChanged(final Collection<UUID> catalogIds) {
+        if (catalogIds == null) {
+            allChanged.set(true);
+        } else {
+            changedCatalogs.addAll(catalogIds);
+        }
+        changes.incrementAndGet();
+    }
+
+    private static boolean isRelevant(final EntityChangeEvent event) {
+        return event.isOfAnyType(Catalog.class, OfferedResource.class, Representation.class,
+                Artifact.class, Contract.class, ContractRule.class);
+    }
+
+    /**
+     * Find the catalogs affected by a change.
+     *
+     * @param event The change.
+     * @return The ids of the catalogs, null if all catalogs may be affected.
+     */
+    private List<UUID> findAffectedCatalogs(final EntityChangeEvent event) {
+        final var id = event.getEntityId();
+        if (event.isOfType(Catalog.class)) {
+            return List.of(id);
+        } else if (event.isDeleted()) {
+            // The relations of deleted entities cannot be followed anymore.
+            return null;
+        } else if (event.isOfType(OfferedResource.class)) {
+            return catalogRepository.findIdsByOfferedResource(id);
+        } else if (event.isOfType(Representation.class)) {
+            return catalogRepository.findIdsByRepresentation(id);
+        } else if (event.isOfType(Artifact.class)) {
+            return catalogRepository.findIdsByArtifact(id);
+        } else if (event.isOfType(Contract.class)) {
+            return catalogRepository.findIdsByContract(id);
+        } else {
+            return catalogRepository.findIdsByRule(id);
+        }
+    }
+
+    private static String createEtag(final String rdf) {
+        try {
+            final var hash = MessageDigest.getInstance("SHA-256")
+                    .digest(rdf.getBytes(StandardCharsets.UTF_8));
+            final var builder = new StringBuilder(2 + hash.length);
+            builder.append('"');
+            for (var i = 0; i < 16; i++) {
+                builder.append(Character.forDigit((hash[i] >> 4) & 0xF, 16))
+                        .append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return builder.append('"').toString();
+        } catch (NoSuchAlgorithmException exception) {
+            // Every java platform is required to support SHA-256.
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids.message;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of the messages waiting to be sent to the clearing house. Messages are written
+ * to segment files of limited size. A segment is deleted as soon as all of its messages have been
+ * sent, so messages that are left after a restart are sent again. Written messages are forced
+ * to the storage device either before {@link #append(URI, String)} returns or, if a sync
+ * interval is set, in the background once per interval. Messages written since the last sync
+ * may be lost if the machine fails.
+ */
+@Log4j2
+@Component
+public class ClearingHouseJournal {
+
+    /**
+     * Segment files are named by their position in the log.
+     */
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("segment-(\\d{1,18})\\.log");
+
+    /**
+     * Separates the destination from the message in a line.
+     */
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * The directory containing the segments.
+     */
+    private final Path directory;
+
+    /**
+     * The size in bytes after which a new segment is started. Lines are ASCII, so their length
+     * equals their size.
+     */
+    private final long segmentSize;
+
+    /**
+     * Forces written messages to the storage device in the background, null if every message is
+     * forced before it is acknowledged.
+     */
+    private final ScheduledExecutorService syncScheduler;
+
+    /**
+     * The segment that messages are appended to.
+     */
+    private Segment active;
+
+    /**
+     * The file of the active segment.
+     */
+    private FileChannel channel;
+
+    /**
+     * Writes to the active segment.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Whether messages have been written since the last sync.
+     */
+    private boolean unsynced;
+
+    /**
+     * The number of the next segment.
+     */
+    private long nextSegment;
+
+    /**
+     * Constructor.
+     *
+     * @param path         The directory containing the segments.
+     * @param maxSegment   The size in bytes after which a new segment is started.
+     * @param syncInterval The interval in milliseconds for forcing written messages to the
+     *                     storage device. Zero forces every message before it is acknowledged.
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public ClearingHouseJournal(
+            @Value("${clearing.house.queue.path:./data/clearinghouse}") final String path,
+            @Value("${clearing.house.queue.segment-size:16777216}") final long maxSegment,
+            @Value("${clearing.house.queue.sync-interval:0}") final long syncInterval) {
+        this.directory = Path.of(path).toAbsolutePath().normalize();
+        this.segmentSize = maxSegment;
+
+        if (syncInterval > 0) {
+            final var factory = new CustomizableThreadFactory("clearing-house-sync-");
+            factory.setDaemon(true);
+            this.syncScheduler = Executors.newSingleThreadScheduledExecutor(factory);
+            this.syncScheduler.scheduleWithFixedDelay(this::sync, syncInterval, syncInterval,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.syncScheduler = null;
+        }
+    }
+
+    /**
+     * Read the messages left from a previous run, oldest first. Must be called before the first
+     * message is appended. Lines that cannot be read, e.g.
+     * because the connector stopped while writing them, are skipped.
+     *
+     * @return The messages.
+     * @throws IOException if the segments cannot be read.
+     */
+    public synchronized List<Entry> recover() throws IOException {
+        final var entries = new ArrayList<Entry>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+
+        final List<Path> files;
+        try (var stream = Files.list(directory)) {
+            files = stream.filter(x -> SEGMENT_PATTERN.matcher(x.getFileName().toString())
+                            .matches())
+                    .sorted(Comparator.comparingLong(ClearingHouseJournal::getNumber))
+                    .collect(Collectors.toList());
+        }
+
+        for (final var file : files) {
+            final var segment = new Segment(file);
+            for (final var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                final var entry = parse(segment, line);
+                if (entry != null) {
+                    segment.outstanding++;
+                    entries.add(entry);
+                }
+            }
+
+            if (segment.outstanding == 0) {
+                Files.deleteIfExists(file);
+            }
+            nextSegment = Math.max(nextSegment, getNumber(file) + 1);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Append a message to the log.
+     *
+     * @param destination The url the message is sent to.
+     * @param payload     The message.
+     * @return The entry, to be passed to {@link #complete(Entry)} once the message is sent.
+     * @throws IOException if the message cannot be written.
+     */
+    public synchronized Entry append(final URI destination, final String payload)
+            throws IOException {
+        if (active == null || active.size >= segmentSize) {
+            roll();
+        }
+
+        final var line = destination.toASCIIString() + SEPARATOR
+                + Base64.getEncoder().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + SEPARATOR + '\n';
+        writer.write(line);
+        writer.flush();
+        if (syncScheduler == null) {
+            channel.force(false);
+        } else {
+            unsynced = true;
+        }
+
+        active.size += line.length();
+        active.outstanding++;
+        return new Entry(active, destination, payload);
+    }
+
+    /**
+     * Mark a message as sent. The segment containing it is deleted when it is complete.
+     *
+     * @param entry The message.
+     */
+    public synchronized void complete(final Entry entry) {
+        final var segment = entry.segment;
+        segment.outstanding--;
+        if (segment.outstanding == 0 && segment != active) {
+            delete(segment);
+        }
+    }
+
+    /**
+     * Force the messages written since the last sync to the storage device.
+     */
+    public synchronized void sync() {
+        if (writer == null || !unsynced) {
+            return;
+        }
+
+        try {
+            channel.force(false);
+            unsynced = false;
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to sync clearing house log. [exception=({})]",
+                        exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop syncing in the background and close the active segment.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (syncScheduler != null) {
+            syncScheduler.shutdownNow();
+        }
+        close();
+    }
+
+    /**
+     * Close the active segment. It is deleted if all of its messages have been sent.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+
+        sync();
+        try {
+            writer.close();
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to close clearing house log. [exception=({})]",
+                        exception.getMessage());
+            }
+        }
+
+        if (active.outstanding == 0) {
+            delete(active);
+        }
+
+        writer = null;
+        channel = null;
+        active = null;
+    }
+
+    private void roll() throws IOException {
+        close();
+
+        Files.createDirectories(directory);
+        final var file = directory.resolve("segment-" + nextSegment + ".log");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        active = new Segment(file);
+        nextSegment++;
+    }
+
+    private static Entry parse(final Segment segment, final String line) {
+        // Complete lines end with a separator, a line cut off while writing does not.
+        final var index = line.indexOf(SEPARATOR);
+        if (index > 0 && index < line.length() - 1
+                && line.charAt(line.length() - 1) == SEPARATOR) {
+            try {
+                final var destination = URI.create(line.substring(0, index));
+                final var payload = new String(Base64.getDecoder().decode(
+                        line.substring(index + 1, line.length() - 1)), StandardCharsets.UTF_8);
+                return new Entry(segment, destination, payload);
+            } catch (IllegalArgumentException ignored) {
+                // Handled below.
+            }
+        }
+
+        if (log.isWarnEnabled()) {
+            log.warn("Skipping unreadable clearing house log entry. [file=({})]",
+                    segment.file.getFileName());
+        }
+        return null;
+    }
+
+    private static void delete(final Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to delete clearing house log segment. [file=({}), "
+                        + "exception=({})]", segment.file.getFileName(), exception.getMessage());
+            }
+        }
+    }
+
+    private static long getNumber(final Path file) {
+        final var matcher = SEGMENT_PATTERN.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * A message in the log.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Entry {
+        /**
+         * The segment containing the message.
+         */
+        @Getter(AccessLevel.NONE)
+        private final Segment segment;
+
+        /**
+         * The url the message is sent to.
+         */
+        private final URI destination;
+
+        /**
+         * The message.
+         */
+        private final String payload;
+    }
+
+    /**
+     * A file of the log.
+     */
+    @RequiredArgsConstructor
+    private static final class Segment {
+        /**
+         * The file.
+         */
+        private final Path file;
+
+        /**
+         * The number of bytes written.
+         */
+        private long size;
+
+        /**
+         * The number of messages not yet sent.
+         */
+        private int outstanding;
+    }
+}
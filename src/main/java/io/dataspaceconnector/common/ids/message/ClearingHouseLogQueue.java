@@ -0,0 +1,403 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids.message;
+
+import io.dataspaceconnector.service.message.builder.type.LogMessageService;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends log messages to the clearing house in the background. Messages are written to the
+ * {@link ClearingHouseJournal} first, so they are sent after a restart if the connector stops
+ * before. Messages for the same destination, i.e. the same transfer contract, are sent in order
+ * and in batches by one thread at a time. If sending fails, the destination is retried with
+ * exponential backoff.
+ */
+@Log4j2
+@Component
+public class ClearingHouseLogQueue {
+
+    /**
+     * The retry delay doubles at most this many times.
+     */
+    private static final int MAX_BACKOFF_EXPONENT = 6;
+
+    /**
+     * The log of waiting messages.
+     */
+    private final ClearingHouseJournal journal;
+
+    /**
+     * Service for ids log messages.
+     */
+    private final LogMessageService logMessageSvc;
+
+    /**
+     * The threads sending messages.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The thread scheduling retries.
+     */
+    private final ScheduledExecutorService retryScheduler;
+
+    /**
+     * The waiting messages by destination.
+     */
+    private final Map<URI, Destination> destinations = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of messages sent by a thread before other destinations are served.
+     */
+    private final int batchSize;
+
+    /**
+     * The maximum number of waiting messages.
+     */
+    private final int maxPending;
+
+    /**
+     * The maximum number of attempts per message.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay in milliseconds before the first retry.
+     */
+    private final long retryDelay;
+
+    /**
+     * The number of waiting messages.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The number of sent messages.
+     */
+    @Getter
+    private final LongAdder sent = new LongAdder();
+
+    /**
+     * The number of messages given up after the last attempt.
+     */
+    @Getter
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * The number of retries.
+     */
+    @Getter
+    private final LongAdder retried = new LongAdder();
+
+    /**
+     * The number of messages not queued because too many were waiting.
+     */
+    @Getter
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * The total time in milliseconds spent sending messages successfully.
+     */
+    @Getter
+    private final LongAdder sendTime = new LongAdder();
+
+    /**
+     * The longest time in milliseconds spent sending a message successfully.
+     */
+    @Getter
+    private final LongAccumulator maxSendTime = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor. Messages left from a previous run are queued again.
+     *
+     * @param messageJournal The log of waiting messages.
+     * @param messageService The service for ids log messages.
+     * @param poolSize       The number of threads sending messages.
+     * @param batch          The number of messages sent to a destination at once.
+     * @param pendingLimit   The maximum number of waiting messages.
+     * @param attempts       The maximum number of attempts per message.
+     * @param delay          The delay in milliseconds before the first retry.
+     * @throws IOException if the messages left from a previous run cannot be read.
+     */
+    public ClearingHouseLogQueue(
+            final @NonNull ClearingHouseJournal messageJournal,
+            final @NonNull LogMessageService messageService,
+            @Value("${clearing.house.queue.pool-size:2}") final int poolSize,
+            @Value("${clearing.house.queue.batch-size:50}") final int batch,
+            @Value("${clearing.house.queue.max-pending:10000}") final int pendingLimit,
+            @Value("${clearing.house.queue.retry.max-attempts:10}") final int attempts,
+            @Value("${clearing.house.queue.retry.initial-delay:1000}") final long delay)
+            throws IOException {
+        this.journal = messageJournal;
+        this.logMessageSvc = messageService;
+        this.executor = Executors.newFixedThreadPool(poolSize,
+                createThreadFactory("clearing-house-send-"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                createThreadFactory("clearing-house-retry-"));
+        this.batchSize = Math.max(1, batch);
+        this.maxPending = pendingLimit;
+        this.maxAttempts = attempts;
+        this.retryDelay = delay;
+
+        final var recovered = journal.recover();
+        if (!recovered.isEmpty() && log.isInfoEnabled()) {
+            log.info("Sending clearing house log messages left from last run. [count=({})]",
+                    recovered.size());
+        }
+
+        pending.addAndGet(recovered.size());
+        recovered.forEach(this::enqueue);
+    }
+
+    /**
+     * Queue a message. The message is written to disk before this method returns.
+     *
+     * @param destination The url the message is sent to.
+     * @param payload     The message.
+     * @return True if the message has been queued, false if too many messages are waiting or
+     *         the message cannot be written to disk.
+     */
+    public boolean offer(final URI destination, final String payload) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        final ClearingHouseJournal.Entry entry;
+        try {
+            entry = journal.append(destination, payload);
+        } catch (IOException exception) {
+            pending.decrementAndGet();
+            rejected.increment();
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to write clearing house log message. [exception=({})]",
+                        exception.getMessage());
+            }
+            return false;
+        }
+
+        enqueue(entry);
+        return true;
+    }
+
+    /**
+     * Get the number of messages waiting to be sent.
+     *
+     * @return The number of messages.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Get the number of waiting messages by destination. Destinations without waiting messages
+     * are left out.
+     *
+     * @return The queue depths.
+     */
+    public Map<URI, Integer> getQueueDepths() {
+        final var depths = new HashMap<URI, Integer>();
+        for (final var entry : destinations.entrySet()) {
+            final var depth = entry.getValue().size();
+            if (depth > 0) {
+                depths.put(entry.getKey(), depth);
+            }
+        }
+
+        return depths;
+    }
+
+    /**
+     * Stop sending messages. Waiting messages stay on disk and are sent after the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static CustomizableThreadFactory createThreadFactory(final String prefix) {
+        final var factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private void enqueue(final ClearingHouseJournal.Entry entry) {
+        final var destination = destinations.computeIfAbsent(entry.getDestination(),
+                x -> new Destination());
+        synchronized (destination) {
+            destination.entries.addLast(entry);
+            if (destination.running) {
+                return;
+            }
+            destination.running = true;
+        }
+
+        execute(destination);
+    }
+
+    private void execute(final Destination destination) {
+        try {
+            executor.execute(() -> drain(destination));
+        } catch (RejectedExecutionException exception) {
+            synchronized (destination) {
+                destination.running = false;
+            }
+        }
+    }
+
+    private void drain(final Destination destination) {
+        while (true) {
+            final var batch = new ArrayList<ClearingHouseJournal.Entry>(batchSize);
+            synchronized (destination) {
+                while (batch.size() < batchSize && !destination.entries.isEmpty()) {
+                    batch.add(destination.entries.pollFirst());
+                }
+
+                if (batch.isEmpty()) {
+                    destination.running = false;
+                    return;
+                }
+            }
+
+            final var sentCount = send(batch);
+            if (sentCount < batch.size()) {
+                retry(destination, batch.subList(sentCount, batch.size()), sentCount > 0);
+                return;
+            }
+
+            synchronized (destination) {
+                destination.attempts = 0;
+            }
+        }
+    }
+
+    private int send(final List<ClearingHouseJournal.Entry> batch) {
+        var count = 0;
+        for (final var entry : batch) {
+            final var start = System.nanoTime();
+            try {
+                logMessageSvc.sendMessage(entry.getDestination(), entry.getPayload());
+            } catch (RuntimeException exception) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to send clearing house log message. [url=({}), "
+                            + "exception=({})]", entry.getDestination(), exception.getMessage());
+                }
+                return count;
+            }
+
+            final var duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            sendTime.add(duration);
+            maxSendTime.accumulate(duration);
+            sent.increment();
+            pending.decrementAndGet();
+            journal.complete(entry);
+            count++;
+        }
+
+        return count;
+    }
+
+    private void retry(final Destination destination,
+                       final List<ClearingHouseJournal.Entry> remaining, final boolean progress) {
+        final int attempt;
+        ClearingHouseJournal.Entry dropped = null;
+        synchronized (destination) {
+            // Attempts are counted for the first message that has not been sent.
+            destination.attempts = progress ? 1 : destination.attempts + 1;
+            attempt = destination.attempts;
+            for (var i = remaining.size() - 1; i >= 0; i--) {
+                destination.entries.addFirst(remaining.get(i));
+            }
+
+            if (attempt >= maxAttempts) {
+                // Give up on the message that keeps failing, the ones behind it are tried next.
+                dropped = destination.entries.pollFirst();
+                destination.attempts = 0;
+            }
+        }
+
+        if (dropped != null) {
+            failed.increment();
+            pending.decrementAndGet();
+            journal.complete(dropped);
+            if (log.isWarnEnabled()) {
+                log.warn("Could not send clearing house log message. [url=({}), attempts=({})]",
+                        dropped.getDestination(), attempt);
+            }
+        } else {
+            retried.increment();
+        }
+
+        final var delay = retryDelay << Math.min(attempt - 1, MAX_BACKOFF_EXPONENT);
+        try {
+            retryScheduler.schedule(() -> execute(destination), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            synchronized (destination) {
+                destination.running = false;
+            }
+        }
+    }
+
+    /**
+     * The waiting messages for one destination.
+     */
+    private static final class Destination {
+        /**
+         * The messages, oldest first.
+         */
+        private final Deque<ClearingHouseJournal.Entry> entries = new ArrayDeque<>();
+
+        /**
+         * Whether a thread is sending or a retry is scheduled.
+         */
+        private boolean running;
+
+        /**
+         * The number of failed attempts of the first message.
+         */
+        private int attempts;
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -74,6 +74,11 @@ public class ClearingHouseService {
      */
     private final @NonNull ProcessCreationRequestService requestService;
 
+    /**
+     * Queue for sending log messages in the background.
+     */
+    private final @NonNull ClearingHouseLogQueue logQueue;
+
     /**
      * Object mapper for mapping to JSON.
      */
@@ -93,7 +98,8 @@ public class ClearingHouseService {
     }
 
     /**
-     * Creates a LogMessage with the IDS message as payload, then sends to the Clearing House.
+     * Creates a LogMessage with the IDS message as payload, then sends to the Clearing House. The
+     * message is sent in the background, unless too many messages are waiting already.
      *
      * @param idsMessage the message that should be logged.
      */
@@ -103,7 +109,11 @@ public class ClearingHouseService {
                 final var transferContractId =
                                     UUIDUtils.uuidFromUri(idsMessage.getTransferContract());
                 final var url = buildDestination(URI.create(transferContractId.toString()));
-                logMessageSvc.sendMessage(url, idsMessage.toRdf());
+                final var payload = idsMessage.toRdf();
+                if (!logQueue.offer(url, payload)) {
+                    // The queue is full, the caller waits for the clearing house instead.
+                    logMessageSvc.sendMessage(url, payload);
+                }
             } catch (UUIDFormatException | PolicyExecutionException exception) {
                 if (log.isWarnEnabled()) {
                     log.warn("Failed to log message to clearing house. [exception=({})]",
@@ -30,10 +30,14 @@ import io.dataspaceconnector.common.exception.MessageRequestException;
 import io.dataspaceconnector.common.exception.VersionNotSupportedException;
 import io.dataspaceconnector.common.util.Utils;
 import okhttp3.MultipartBody;
+import org.apache.commons.codec.binary.Base64InputStream;
+import org.apache.commons.io.input.CharSequenceInputStream;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -234,6 +238,32 @@ public final class MessageUtils {
         return message.get("payload");
     }
 
+    /**
+     * Base64 encode data while it is read, for sending it as ids payload.
+     *
+     * @param data The data.
+     * @return The encoded data.
+     * @throws IllegalArgumentException if the data is null.
+     */
+    public static InputStream encodePayload(final InputStream data) {
+        Utils.requireNonNull(data, ErrorMessage.MISSING_PAYLOAD);
+        return new Base64InputStream(data, true, 0, null);
+    }
+
+    /**
+     * Decode a Base64 encoded ids payload while it is read. The payload is not copied, so
+     * decoding needs only a small, fixed amount of memory besides the payload itself.
+     *
+     * @param payload The encoded payload.
+     * @return The decoded data.
+     * @throws IllegalArgumentException if the payload is null.
+     */
+    public static InputStream decodePayload(final String payload) {
+        Utils.requireNonNull(payload, ErrorMessage.MISSING_PAYLOAD);
+        return Base64.getMimeDecoder().wrap(
+                new CharSequenceInputStream(payload, StandardCharsets.ISO_8859_1));
+    }
+
     /**
      * Read string from stream. TODO Handle null payloads.
      *
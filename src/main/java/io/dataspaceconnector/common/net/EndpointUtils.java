@@ -17,10 +17,12 @@ package io.dataspaceconnector.common.net;
 
 import io.dataspaceconnector.common.util.UUIDUtils;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Contains utility methods for processing path and entity IDs.
@@ -83,6 +85,24 @@ public final class EndpointUtils {
         return ServletUriComponentsBuilder.fromCurrentRequest();
     }
 
+    /**
+     * Run an action without the current request context. Links created by the action are built
+     * from the configured base url instead of the host of the current request.
+     *
+     * @param action The action.
+     * @param <T>    The type of the result.
+     * @return The result of the action.
+     */
+    public static <T> T withoutRequestContext(final Supplier<T> action) {
+        final var attributes = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.resetRequestAttributes();
+        try {
+            return action.get();
+        } finally {
+            RequestContextHolder.setRequestAttributes(attributes);
+        }
+    }
+
     /**
      * Extract uuid from path url.
      *
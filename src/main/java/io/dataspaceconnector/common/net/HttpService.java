@@ -27,9 +27,12 @@ import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -159,22 +162,50 @@ public class HttpService {
 
         final var targetUrl = urlBuilder.build();
 
-        final var body = RequestBody.create(data.readAllBytes(),
-                MediaType.get("application/octet-stream"));
-        final var request = new Request.Builder().url(targetUrl).post(body).build();
+        final var request = new Request.Builder().url(targetUrl).post(toRequestBody(data))
+                .build();
 
         final var response = httpSvc.send(request);
 
         final var output = new Response();
         output.setCode(response.code());
-        output.setBody(getBody(response));
+        output.setBody(readBody(response));
         response.close();
 
         return output;
     }
 
     /**
-     * Perform a get request.
+     * Create a request body that streams the data to the recipient instead of loading it into
+     * memory first. The body can only be written once.
+     *
+     * @param data The data that should be sent.
+     * @return The request body.
+     */
+    private static RequestBody toRequestBody(final InputStream data) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MediaType.get("application/octet-stream");
+            }
+
+            @Override
+            public boolean isOneShot() {
+                return true;
+            }
+
+            @Override
+            public void writeTo(final BufferedSink sink) throws IOException {
+                try (var source = Okio.source(data)) {
+                    sink.writeAll(source);
+                }
+            }
+        };
+    }
+
+    /**
+     * Perform a get request. The body of the response is streamed from the recipient and has
+     * to be closed by the caller to release the underlying connection.
      *
      * @param target The recipient of the request.
      * @param args   The request arguments.
@@ -215,12 +246,37 @@ public class HttpService {
         final var output = new Response();
         output.setCode(response.code());
         output.setBody(getBody(response));
-        response.close();
 
         return output;
     }
 
-    private InputStream getBody(final okhttp3.Response response) throws IOException {
+    /**
+     * Get the response body as stream. The data is not buffered, closing the stream will release
+     * the response.
+     *
+     * @param response The response.
+     * @return The response body.
+     */
+    private InputStream getBody(final okhttp3.Response response) {
+        final var body = response.body();
+        if (body != null) {
+            return new FilterInputStream(body.byteStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        response.close();
+                    }
+                }
+            };
+        }
+
+        response.close();
+        return InputStream.nullInputStream();
+    }
+
+    private InputStream readBody(final okhttp3.Response response) throws IOException {
         final var body = response.body();
         if (body != null) {
             final var tmp = body.bytes();
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a region of a file. Transfers to another stream are delegated to
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, so the data
+ * is not copied through the java heap where the platform supports it.
+ */
+public class BlobInputStream extends InputStream {
+
+    /**
+     * The file channel.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The current position in the file.
+     */
+    private long position;
+
+    /**
+     * The position after the last byte of the region.
+     */
+    private final long end;
+
+    /**
+     * Constructor.
+     *
+     * @param fileChannel The channel to read from. Will be closed with this stream.
+     * @param offset      The position of the first byte.
+     * @param length      The maximum number of bytes.
+     * @throws IOException if the size of the file cannot be determined.
+     */
+    public BlobInputStream(final FileChannel fileChannel, final long offset, final long length)
+            throws IOException {
+        super();
+        this.channel = fileChannel;
+        this.position = Math.min(Math.max(offset, 0), fileChannel.size());
+        this.end = length < 0 || Long.MAX_VALUE - position < length
+                ? fileChannel.size() : Math.min(fileChannel.size(), position + length);
+    }
+
+    /**
+     * Get the number of bytes that remain to be read.
+     *
+     * @return The number of remaining bytes.
+     */
+    public long remaining() {
+        return end - position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        final var buffer = new byte[1];
+        return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] bytes, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (remaining() <= 0) {
+            return -1;
+        }
+
+        final var buffer = ByteBuffer.wrap(bytes, off, (int) Math.min(len, remaining()));
+        final var read = channel.read(buffer, position);
+        if (read > 0) {
+            position += read;
+        }
+
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long n) {
+        final var skipped = Math.max(0, Math.min(n, remaining()));
+        position += skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, remaining());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long transferTo(final OutputStream out) throws IOException {
+        return transferTo(out, remaining());
+    }
+
+    /**
+     * Transfer at most the given number of bytes to the output stream.
+     *
+     * @param out      The output stream.
+     * @param maxBytes The maximum number of bytes.
+     * @return The number of transferred bytes.
+     * @throws IOException if the data could not be transferred.
+     */
+    public long transferTo(final OutputStream out, final long maxBytes) throws IOException {
+        final var target = Channels.newChannel(out);
+        final var start = position;
+        final var stop = position + Math.max(0, Math.min(maxBytes, remaining()));
+        while (position < stop) {
+            final var transferred = channel.transferTo(position, stop - position, target);
+            if (transferred <= 0) {
+                break;
+            }
+
+            position += transferred;
+        }
+
+        return position - start;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stores binary data outside of the database. Data is addressed by its content, so storing
+ * identical data twice results in the same key and only one stored copy.
+ */
+public interface BlobStore {
+
+    /**
+     * Store the data. The data is consumed but not closed.
+     *
+     * @param data The data.
+     * @return Information about the stored data.
+     * @throws IOException if the data could not be stored.
+     */
+    StoredBlob store(InputStream data) throws IOException;
+
+    /**
+     * Write the data without making it available yet. This allows callers to commit the data and
+     * record a reference to it in one step. The data is consumed but not closed.
+     *
+     * @param data The data.
+     * @return The written data, which has to be committed or closed.
+     * @throws IOException if the data could not be written.
+     */
+    StagedBlob stage(InputStream data) throws IOException;
+
+    /**
+     * Open the data stored under a key.
+     *
+     * @param key The key of the data.
+     * @return The data.
+     * @throws IOException if the data could not be read.
+     */
+    BlobInputStream open(String key) throws IOException;
+
+    /**
+     * Open a range of the data stored under a key.
+     *
+     * @param key    The key of the data.
+     * @param offset The position of the first byte.
+     * @param length The maximum number of bytes.
+     * @return The data.
+     * @throws IOException if the data could not be read.
+     */
+    BlobInputStream open(String key, long offset, long length) throws IOException;
+
+    /**
+     * Remove the data stored under a key. Removing unknown keys has no effect.
+     *
+     * @param key The key of the data.
+     * @throws IOException if the data could not be removed.
+     */
+    void remove(String key) throws IOException;
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.storage;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+/**
+ * Stores data in the file system. Files are named by the SHA-256 hash of their content and
+ * distributed over subdirectories named by the first two characters of the hash.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(value = "storage.blob.enabled", havingValue = "true")
+public class FileBlobStore implements BlobStore {
+
+    /**
+     * The hash algorithm used for generating keys.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Valid keys are lowercase hex encoded SHA-256 hashes.
+     */
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * The size of the buffer used for writing data.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The directory containing all data.
+     */
+    private final Path root;
+
+    /**
+     * Constructor.
+     *
+     * @param path The directory containing all data.
+     * @throws IOException if the directory cannot be created.
+     */
+    @SuppressFBWarnings("PATH_TRAVERSAL_IN")
+    public FileBlobStore(@Value("${storage.blob.path:./data/blobs}") final String path)
+            throws IOException {
+        this.root = Files.createDirectories(Path.of(path).toAbsolutePath().normalize());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredBlob store(final InputStream data) throws IOException {
+        try (var staged = stage(data)) {
+            return staged.commit();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StagedBlob stage(final InputStream data) throws IOException {
+        final var digest = createDigest();
+        final var tmp = Files.createTempFile(root, "upload", ".tmp");
+        try {
+            long size = 0;
+            final var bytes = new byte[BUFFER_SIZE];
+            try (var channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = data.read(bytes)) != -1) {
+                    digest.update(bytes, 0, read);
+                    final var buffer = ByteBuffer.wrap(bytes, 0, read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    size += read;
+                }
+                channel.force(true);
+            }
+
+            return new FileStagedBlob(tmp, toHex(digest.digest()), size);
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(tmp);
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BlobInputStream open(final String key) throws IOException {
+        return open(key, 0, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BlobInputStream open(final String key, final long offset, final long length)
+            throws IOException {
+        final var channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+        try {
+            return new BlobInputStream(channel, offset, length);
+        } catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(final String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    /**
+     * Data written to a temporary file of the store.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private final class FileStagedBlob implements StagedBlob {
+        /**
+         * The temporary file.
+         */
+        private final Path file;
+
+        /**
+         * The key of the data.
+         */
+        private final String key;
+
+        /**
+         * The number of bytes.
+         */
+        private final long size;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public StoredBlob commit() throws IOException {
+            final var target = resolve(key);
+            if (Files.exists(target)) {
+                // Identical content is already stored, keep the existing file.
+                if (log.isDebugEnabled()) {
+                    log.debug("Data already stored. [key=({})]", key);
+                }
+                Files.deleteIfExists(file);
+            } else {
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            return new StoredBlob(key, size);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Path resolve(final String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid storage key.");
+        }
+
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            // Every java platform is required to support SHA-256.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final var builder = new StringBuilder(bytes.length * 2);
+        for (final var b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Data that has been written to a blob store but is not visible under its key yet. Closing a
+ * staged blob that has not been committed discards the data.
+ */
+public interface StagedBlob extends Closeable {
+
+    /**
+     * Get the key under which the data will be stored.
+     *
+     * @return The key.
+     */
+    String getKey();
+
+    /**
+     * Get the number of written bytes.
+     *
+     * @return The size.
+     */
+    long getSize();
+
+    /**
+     * Make the data available under its key. If identical data is already stored, the existing
+     * data is kept.
+     *
+     * @return Information about the stored data.
+     * @throws IOException if the data could not be stored.
+     */
+    StoredBlob commit() throws IOException;
+}
@@ -16,6 +16,7 @@
 package io.dataspaceconnector.controller;
 
 import io.dataspaceconnector.common.ids.ConnectorService;
+import io.dataspaceconnector.common.ids.SelfDescriptionCache;
 import io.dataspaceconnector.config.BaseType;
 import io.dataspaceconnector.controller.resource.type.AgreementController;
 import io.dataspaceconnector.controller.resource.type.AppController;
@@ -34,6 +35,7 @@ import io.dataspaceconnector.controller.resource.type.RuleController;
 import io.dataspaceconnector.controller.resource.type.SubscriptionController;
 import io.dataspaceconnector.controller.util.ResponseCode;
 import io.dataspaceconnector.controller.util.ResponseDescription;
+import io.dataspaceconnector.controller.util.ResponseUtils;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -42,8 +44,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -63,6 +68,11 @@ public class MainController {
      */
     private final @NonNull ConnectorService connectorService;
 
+    /**
+     * The connector's current self-description with all resources.
+     */
+    private final @NonNull SelfDescriptionCache selfDescriptionCache;
+
     /**
      * Gets connector self-description without catalogs and resources.
      *
@@ -82,19 +92,33 @@ public class MainController {
     /**
      * Gets connector self-description with all resources.
      *
+     * @param ifNoneMatch The entity tags of the self-descriptions known to the client.
      * @return Self-description or error response.
      */
     @GetMapping(value = "/api/connector", produces = "application/ld+json")
     @Operation(summary = "Private IDS self-description")
     @ApiResponses(value = {
             @ApiResponse(responseCode = ResponseCode.OK, description = ResponseDescription.OK),
+            @ApiResponse(responseCode = ResponseCode.NOT_MODIFIED,
+                    description = ResponseDescription.NOT_MODIFIED),
             @ApiResponse(responseCode = ResponseCode.UNAUTHORIZED,
                     description = ResponseDescription.UNAUTHORIZED),
             @ApiResponse(responseCode = ResponseCode.INTERNAL_SERVER_ERROR,
                     description = ResponseDescription.INTERNAL_SERVER_ERROR)})
     @ResponseBody
-    public ResponseEntity<Object> getPrivateSelfDescription() {
-        return ResponseEntity.ok(connectorService.getConnectorWithOfferedResources().toRdf());
+    public ResponseEntity<Object> getPrivateSelfDescription(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            final String ifNoneMatch) {
+        final var selfDescription = selfDescriptionCache.get();
+        if (ResponseUtils.matchesETag(ifNoneMatch, selfDescription.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(selfDescription.getEtag())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(selfDescription.getEtag())
+                .body(selfDescription.getRdf());
     }
 
     /**
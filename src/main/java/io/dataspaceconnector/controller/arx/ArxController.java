@@ -1,24 +1,35 @@
 package io.dataspaceconnector.controller.arx;
 
+import io.dataspaceconnector.common.exception.InvalidInputException;
 import io.dataspaceconnector.controller.arx.util.FileInfo;
 import io.dataspaceconnector.controller.arx.util.FilesStorageService;
 import io.dataspaceconnector.controller.arx.util.ResponseMessage;
 import io.dataspaceconnector.controller.arx.util.SomeForm;
+import io.dataspaceconnector.controller.arx.util.UploadInfo;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.security.Principal;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
 @Tag(name = "Anonymize", description = "Endpoints for ARX Anonymizer")
 public class ArxController {
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private static final int MAX_ROWS = 10_000;
+
     private final FilesStorageService _storageService;
 
     @Autowired
@@ -27,11 +38,12 @@ public class ArxController {
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<ResponseMessage> uploadFile(SomeForm file) {
+    public ResponseEntity<ResponseMessage> uploadFile(SomeForm file, Principal principal,
+                                                      HttpServletRequest request) {
         String message;
         var _file = file.getMf();
         try {
-            _storageService.save(file.getMf());
+            _storageService.save(owner(principal, request), file.getMf());
             message = "Uploaded the file successfully: " + _file.getOriginalFilename();
             return ResponseEntity.status(HttpStatus.OK)
                     .body(new ResponseMessage(message));
@@ -43,16 +55,82 @@ public class ArxController {
         }
     }
 
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadInfo> startUpload(@RequestParam String filename,
+                                                  Principal principal,
+                                                  HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(_storageService.startUpload(owner(principal, request), filename));
+    }
+
+    @GetMapping("/uploads/{id}")
+    public ResponseEntity<UploadInfo> getUpload(@PathVariable UUID id, Principal principal,
+                                                HttpServletRequest request) {
+        var upload = _storageService.getUpload(owner(principal, request), id);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                .body(upload);
+    }
+
+    /**
+     * Append a chunk to an upload. The offset must match the bytes received so far, otherwise
+     * the chunk is rejected and the client can resume from the returned offset.
+     */
+    @PatchMapping(value = "/uploads/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadInfo> uploadChunk(@PathVariable UUID id,
+                                                  @RequestHeader(UPLOAD_OFFSET) long offset,
+                                                  Principal principal,
+                                                  HttpServletRequest request) throws IOException {
+        var owner = owner(principal, request);
+        try {
+            var upload = _storageService.appendChunk(owner, id, offset,
+                    request.getInputStream());
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                    .body(upload);
+        } catch (InvalidInputException e) {
+            var upload = _storageService.getUpload(owner, id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                    .body(upload);
+        }
+    }
+
+    @PostMapping("/uploads/{id}/complete")
+    public ResponseEntity<UploadInfo> completeUpload(@PathVariable UUID id, Principal principal,
+                                                     HttpServletRequest request) {
+        return ResponseEntity.ok(_storageService.completeUpload(owner(principal, request), id));
+    }
+
+    @GetMapping("/datasets/{id}/header")
+    public ResponseEntity<List<String>> getDatasetHeader(@PathVariable UUID id,
+                                                         Principal principal,
+                                                         HttpServletRequest request) {
+        return ResponseEntity.ok(_storageService.getRows(owner(principal, request), id, 0, 1));
+    }
+
+    @GetMapping("/datasets/{id}/rows")
+    public ResponseEntity<List<String>> getDatasetRows(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "1") int start,
+            @RequestParam(defaultValue = "100") int count,
+            Principal principal,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(_storageService.getRows(owner(principal, request), id, start,
+                Math.min(count, MAX_ROWS)));
+    }
+
     @GetMapping("/files")
-    public ResponseEntity<List<FileInfo>> getListFiles() {
-        var fileInfos = _storageService.loadAll().map(path -> {
-            String filename = path.getFileName().toString();
-            String url = MvcUriComponentsBuilder
-                    .fromMethodName(ArxController.class,
-                            "getFile",
-                            path.getFileName().toString()).build().toString();
-            return new FileInfo(filename, url);
-        }).collect(Collectors.toList());
+    public ResponseEntity<List<FileInfo>> getListFiles(Principal principal,
+                                                       HttpServletRequest request) {
+        var fileInfos = _storageService.getDatasets(owner(principal, request)).stream()
+                .map(dataset -> {
+                    String url = MvcUriComponentsBuilder
+                            .fromMethodName(ArxController.class,
+                                    "getFile",
+                                    dataset.getId(), null, null).build().toString();
+                    return new FileInfo(dataset.getFilename(), url);
+                }).collect(Collectors.toList());
 
         return ResponseEntity.status(HttpStatus.OK).body(fileInfos);
     }
@@ -60,15 +138,15 @@ public class ArxController {
 
     @GetMapping("/getHeaderList")
     @ResponseBody
-    public ResponseEntity<List<String>> getHeaders() {
-        var fileContent = _storageService.getLines(0);
+    public ResponseEntity<List<String>> getHeaders(Principal principal,
+                                                   HttpServletRequest request) {
+        var fileContent = _storageService.getHeaders(owner(principal, request));
         return ResponseEntity.status(HttpStatus.OK).body(fileContent);
     }
 
     @GetMapping("/getItemList")
     @ResponseBody
     public ResponseEntity<String[][]> getItems() {
-        var fileContent = _storageService.getAllItems();
       //  var interval=  _storageService.intervalBased();
     //    var orderBased = _storageService.orderBased();
         var dates = _storageService.dates();
@@ -79,19 +157,26 @@ public class ArxController {
 
     @GetMapping("/getfileContent/{count}")
     @ResponseBody
-    public ResponseEntity<List<String>> getFileContent(@PathVariable int count) {
-        var fileContent = _storageService.getLines(count);
+    public ResponseEntity<List<String>> getFileContent(@PathVariable int count,
+                                                       Principal principal,
+                                                       HttpServletRequest request) {
+        var fileContent = _storageService.getLines(owner(principal, request), count);
         return ResponseEntity.status(HttpStatus.OK).body(fileContent);
     }
 
-    @GetMapping("/files/{filename:.+}")
+    @GetMapping("/files/{id}")
     @ResponseBody
-    public ResponseEntity<Resource> getFile(@PathVariable String filename) {
-        Resource file = _storageService.load(filename);
+    public ResponseEntity<Resource> getFile(@PathVariable UUID id, Principal principal,
+                                            HttpServletRequest request) {
+        Resource file = _storageService.load(owner(principal, request), id);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFilename() + "\"").body(file);
     }
 
+    /**
+     * Datasets are kept per user: the authenticated user, or the session of anonymous ones.
+     */
+    private static String owner(Principal principal, HttpServletRequest request) {
+        return principal != null ? principal.getName() : request.getSession(true).getId();
+    }
 }
-
-
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.arx.util;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * State of a dataset uploaded in chunks.
+ */
+@Getter
+@Setter
+class DatasetUpload {
+    /**
+     * The id of the upload, also used as id of the dataset.
+     */
+    private final UUID id;
+
+    /**
+     * The user who started the upload.
+     */
+    private final String owner;
+
+    /**
+     * The original name of the uploaded file.
+     */
+    private final String filename;
+
+    /**
+     * The line index, built while the chunks are written.
+     */
+    private final LineIndex index = new LineIndex();
+
+    /**
+     * The file the chunks are written to, moved on completion.
+     */
+    private Path file;
+
+    /**
+     * The number of bytes received so far.
+     */
+    private long size;
+
+    /**
+     * Whether all chunks have been received.
+     */
+    private boolean complete;
+
+    /**
+     * The time in milliseconds the upload or dataset was last used.
+     */
+    private volatile long lastAccess;
+
+    DatasetUpload(final UUID pId, final String pOwner, final String pFilename,
+                  final Path pFile) {
+        this.id = pId;
+        this.owner = pOwner;
+        this.filename = pFilename;
+        this.file = pFile;
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Mark the upload as used.
+     */
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Describe the current state of the upload.
+     *
+     * @return The upload info.
+     */
+    synchronized UploadInfo toInfo() {
+        return new UploadInfo(id, filename, size, complete, index.getLineCount());
+    }
+}
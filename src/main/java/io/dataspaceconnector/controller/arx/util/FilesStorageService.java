@@ -1,7 +1,8 @@
 package io.dataspaceconnector.controller.arx.util;
 
-import java.nio.file.Path;
+import java.io.InputStream;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Stream;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
@@ -9,16 +10,28 @@ import org.springframework.web.multipart.MultipartFile;
 public interface FilesStorageService {
     void init();
 
-    void save(MultipartFile file);
+    void save(String owner, MultipartFile file);
 
-    Resource load(String filename);
+    UploadInfo startUpload(String owner, String filename);
+
+    UploadInfo appendChunk(String owner, UUID uploadId, long offset, InputStream data);
+
+    UploadInfo getUpload(String owner, UUID uploadId);
+
+    UploadInfo completeUpload(String owner, UUID uploadId);
+
+    List<String> getRows(String owner, UUID datasetId, int first, int count);
+
+    Resource load(String owner, UUID datasetId);
+
+    List<UploadInfo> getDatasets(String owner);
 
     void deleteAll();
 
-    List<String> getAllItems();
-    List<String> getLines(int count);
+    Stream<String> getAllItems(String owner);
+    List<String> getHeaders(String owner);
+    List<String> getLines(String owner, int count);
     String[][] orderBased();
-    Stream<Path> loadAll();
     String[][] dates();
     String[][] intervalBased();
 }
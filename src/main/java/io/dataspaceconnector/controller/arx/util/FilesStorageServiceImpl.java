@@ -6,36 +6,67 @@ import io.dataspaceconnector.arx.aggregates.HierarchyBuilderDate.Format;
 import io.dataspaceconnector.arx.aggregates.HierarchyBuilderGroupingBased;
 import io.dataspaceconnector.arx.aggregates.HierarchyBuilderIntervalBased;
 import io.dataspaceconnector.arx.aggregates.HierarchyBuilderOrderBased;
+import io.dataspaceconnector.common.exception.InvalidInputException;
+import io.dataspaceconnector.common.exception.ResourceNotFoundException;
 import lombok.SneakyThrows;
+import lombok.extern.log4j.Log4j2;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+@Log4j2
 @Service
 public class FilesStorageServiceImpl implements FilesStorageService {
-    private final Path root = Paths.get("uploads");
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
 
-    private MultipartFile _file;
+    private final Path root;
 
-    public FilesStorageServiceImpl() {
-        this._file = null;
+    private final Path partial;
+
+    /**
+     * Time in milliseconds after which unused uploads and datasets are removed.
+     */
+    private final long expiration;
+
+    /**
+     * All uploads, completed ones are the datasets.
+     */
+    private final Map<UUID, DatasetUpload> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * The dataset each user last uploaded.
+     */
+    private final Map<String, UUID> currentDatasets = new ConcurrentHashMap<>();
+
+    public FilesStorageServiceImpl(@Value("${arx.upload.path:uploads}") String path,
+                                   @Value("${arx.upload.expiration:86400000}") long expiration) {
+        this.root = Paths.get(path);
+        this.partial = root.resolve(".partial");
+        this.expiration = expiration;
     }
 
     private static String[] getExampleDateData_ori() {
@@ -63,22 +94,199 @@ public class FilesStorageServiceImpl implements FilesStorageService {
     }
 
     @Override
-    public void save(MultipartFile file) {
-        try {
-            _file = file;
-            if (!Files.exists(Path.of(_file.getOriginalFilename()))) {
-                Files.copy(file.getInputStream(), this.root.resolve(_file.getOriginalFilename()));
-            }
+    public void save(String owner, MultipartFile file) {
+        try (var data = file.getInputStream()) {
+            var upload = startUpload(owner, file.getOriginalFilename());
+            appendChunk(owner, upload.getId(), 0, data);
+            completeUpload(owner, upload.getId());
         } catch (Exception e) {
             throw new RuntimeException("Could not store the file. Error: " + e.getMessage());
         }
     }
 
     @Override
-    public Resource load(String filename) {
+    public UploadInfo startUpload(String owner, String filename) {
+        var name = filename == null ? "" : Paths.get(filename).getFileName().toString();
+        if (name.isBlank()) {
+            throw new InvalidInputException("Missing file name.");
+        }
+
         try {
-            Path file = root.resolve(filename);
-            Resource resource = new UrlResource(file.toUri());
+            Files.createDirectories(partial);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not initialize folder for upload!");
+        }
+
+        var id = UUID.randomUUID();
+        var upload = new DatasetUpload(id, owner, name, partial.resolve(id.toString()));
+        uploads.put(id, upload);
+        return upload.toInfo();
+    }
+
+    @Override
+    public UploadInfo appendChunk(String owner, UUID uploadId, long offset, InputStream data) {
+        var upload = getDatasetUpload(owner, uploadId);
+        synchronized (upload) {
+            checkNotRemoved(upload);
+            upload.touch();
+            if (upload.isComplete() || offset != upload.getSize()) {
+                throw new InvalidInputException(String.format(
+                        "Chunk offset %d does not match the upload offset %d.",
+                        offset, upload.getSize()));
+            }
+
+            // Every chunk is indexed while it is written, so the file is read only once.
+            var buffer = new byte[CHUNK_BUFFER_SIZE];
+            try (var out = Files.newOutputStream(upload.getFile(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                int read;
+                while ((read = data.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                    upload.getIndex().scan(buffer, read);
+                    upload.setSize(upload.getSize() + read);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not store the chunk. Error: " + e.getMessage());
+            }
+            return upload.toInfo();
+        }
+    }
+
+    @Override
+    public UploadInfo getUpload(String owner, UUID uploadId) {
+        return getDatasetUpload(owner, uploadId).toInfo();
+    }
+
+    @Override
+    public UploadInfo completeUpload(String owner, UUID uploadId) {
+        var upload = getDatasetUpload(owner, uploadId);
+        synchronized (upload) {
+            checkNotRemoved(upload);
+            upload.touch();
+            if (!upload.isComplete()) {
+                var target = root.resolve(uploadId + "_" + upload.getFilename());
+                try {
+                    if (Files.notExists(upload.getFile())) {
+                        Files.createFile(upload.getFile());
+                    }
+                    Files.move(upload.getFile(), target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not store the file. Error: "
+                            + e.getMessage());
+                }
+                upload.setFile(target);
+                upload.setComplete(true);
+            }
+            currentDatasets.put(owner, uploadId);
+        }
+        return upload.toInfo();
+    }
+
+    @Override
+    public List<String> getRows(String owner, UUID datasetId, int first, int count) {
+        var upload = getDatasetUpload(owner, datasetId);
+        upload.touch();
+        if (!upload.isComplete()) {
+            throw new InvalidInputException("The upload " + datasetId + " is not complete.");
+        }
+
+        try {
+            return upload.getIndex().read(upload.getFile(), first, count);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the file. Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get an upload of a user. Uploads of other users are reported as unknown.
+     */
+    private DatasetUpload getDatasetUpload(String owner, UUID uploadId) {
+        var upload = uploads.get(uploadId);
+        if (upload == null || !upload.getOwner().equals(owner)) {
+            throw new ResourceNotFoundException("Unknown upload " + uploadId + ".");
+        }
+        return upload;
+    }
+
+    private void checkNotRemoved(DatasetUpload upload) {
+        if (uploads.get(upload.getId()) != upload) {
+            throw new ResourceNotFoundException("Unknown upload " + upload.getId() + ".");
+        }
+    }
+
+    /**
+     * Remove uploads and datasets that have not been used for longer than the expiration time.
+     * Files in the partial folder that do not belong to an upload are removed as well.
+     */
+    @Scheduled(fixedDelayString = "${arx.upload.cleanup-interval:600000}")
+    public void removeExpired() {
+        var deadline = System.currentTimeMillis() - expiration;
+        for (var upload : uploads.values()) {
+            synchronized (upload) {
+                if (upload.getLastAccess() < deadline) {
+                    uploads.remove(upload.getId(), upload);
+                    currentDatasets.values().remove(upload.getId());
+                    deleteQuietly(upload.getFile());
+                }
+            }
+        }
+
+        if (!Files.isDirectory(partial)) {
+            return;
+        }
+        try (var files = Files.list(partial)) {
+            files.filter(file -> !isUploading(file))
+                    .filter(file -> isModifiedBefore(file, deadline))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not clean up partial uploads. [exception=({})]", e.getMessage());
+        }
+    }
+
+    private boolean isUploading(Path file) {
+        try {
+            var upload = uploads.get(UUID.fromString(file.getFileName().toString()));
+            return upload != null && !upload.isComplete();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean isModifiedBefore(Path file, long time) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < time;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete upload. [file=({}), exception=({})]", file,
+                    e.getMessage());
+        }
+    }
+
+    private UUID getCurrentDataset(String owner) {
+        var datasetId = currentDatasets.get(owner);
+        if (datasetId == null) {
+            throw new ResourceNotFoundException("No file has been uploaded.");
+        }
+        return datasetId;
+    }
+
+    @Override
+    public Resource load(String owner, UUID datasetId) {
+        var upload = getDatasetUpload(owner, datasetId);
+        upload.touch();
+        if (!upload.isComplete()) {
+            throw new InvalidInputException("The upload " + datasetId + " is not complete.");
+        }
+
+        try {
+            Resource resource = new UrlResource(upload.getFile().toUri());
             if (resource.exists() || resource.isReadable()) {
                 return resource;
             } else {
@@ -91,48 +299,32 @@ public class FilesStorageServiceImpl implements FilesStorageService {
 
     @Override
     public void deleteAll() {
+        uploads.clear();
+        currentDatasets.clear();
         FileSystemUtils.deleteRecursively(root.toFile());
     }
 
     @Override
-    public List<String> getAllItems() {
-        List<String> lineList = new ArrayList<>();
+    public Stream<String> getAllItems(String owner) {
+        var upload = getDatasetUpload(owner, getCurrentDataset(owner));
+        upload.touch();
         try {
-            var file = load(_file.getOriginalFilename()).getFile();
-            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    lineList.add(line);
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            // The lines are read while the stream is consumed, the caller has to close it.
+            return Files.lines(upload.getFile(), StandardCharsets.UTF_8);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new RuntimeException("Could not read the file. Error: " + e.getMessage());
         }
-        return lineList;
     }
 
     @Override
-    public List<String> getLines(int count) {
-        List<String> lineList = new ArrayList<>();
-        int lineNumber = 0;
-        try {
-            var file = load(_file.getOriginalFilename()).getFile();
-            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    lineNumber++;
-                    if (lineNumber < count)
-                        lineList.add(line);
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return lineList;
+    public List<String> getHeaders(String owner) {
+        return getRows(owner, getCurrentDataset(owner), 0, 1);
+    }
+
+    @Override
+    public List<String> getLines(String owner, int count) {
+        // Returns the lines before line number count, as before the line index existed.
+        return getRows(owner, getCurrentDataset(owner), 0, count - 1);
     }
 
     @Override
@@ -171,14 +363,12 @@ public class FilesStorageServiceImpl implements FilesStorageService {
     }
 
     @Override
-    public Stream<Path> loadAll() {
-        try {
-            return Files.walk(this.root, 1)
-                    .filter(path -> !path.equals(this.root))
-                    .map(this.root::relativize);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not load the files!");
-        }
+    public List<UploadInfo> getDatasets(String owner) {
+        return uploads.values().stream()
+                .filter(upload -> upload.getOwner().equals(owner))
+                .map(DatasetUpload::toInfo)
+                .filter(UploadInfo::isComplete)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.arx.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Byte offsets of the lines of an uploaded file. The index is fed with the bytes of the file
+ * while they are written, so reading a window of lines only touches the bytes of that window.
+ */
+public class LineIndex {
+    /**
+     * Initial number of offsets.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Size of the buffer used for reading lines.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of bytes of a single line, including the line break.
+     */
+    private static final int MAX_LINE_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Start offsets of all lines known so far. The first line starts at 0.
+     */
+    private long[] offsets = new long[INITIAL_CAPACITY];
+
+    /**
+     * Number of line starts in offsets.
+     */
+    private int starts = 1;
+
+    /**
+     * Number of bytes scanned so far.
+     */
+    private long size;
+
+    /**
+     * Scan bytes appended to the file for line breaks.
+     *
+     * @param bytes  The buffer containing the bytes.
+     * @param length The number of bytes in the buffer.
+     */
+    public synchronized void scan(final byte[] bytes, final int length) {
+        for (var i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                if (starts == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+                }
+                offsets[starts++] = size + i + 1;
+            }
+        }
+        size += length;
+    }
+
+    /**
+     * Get the number of lines, including a last line without line break.
+     *
+     * @return The number of lines.
+     */
+    public synchronized int getLineCount() {
+        return offsets[starts - 1] < size ? starts : starts - 1;
+    }
+
+    /**
+     * Read a window of lines from the indexed file. Line breaks are removed.
+     *
+     * @param file  The indexed file.
+     * @param first The index of the first line.
+     * @param count The maximum number of lines.
+     * @return The lines of the window, fewer if the file ends before.
+     * @throws IOException if the file cannot be read.
+     */
+    public List<String> read(final Path file, final int first, final int count)
+            throws IOException {
+        final long start;
+        final long[] ends;
+        synchronized (this) {
+            final var last = (int) Math.min(getLineCount(), (long) first + Math.max(count, 0));
+            if (first < 0 || first >= last) {
+                return new ArrayList<>();
+            }
+            start = offsets[first];
+            ends = new long[last - first];
+            for (var i = 0; i < ends.length; i++) {
+                ends[i] = first + i + 1 < starts ? offsets[first + i + 1] : size;
+            }
+        }
+
+        // Lines are read one after another, so only the current line is held in memory.
+        final var lines = new ArrayList<String>(ends.length);
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ);
+             var in = new BufferedInputStream(Channels.newInputStream(channel.position(start)),
+                     BUFFER_SIZE)) {
+            var lineStart = start;
+            for (final var end : ends) {
+                if (end - lineStart > MAX_LINE_LENGTH) {
+                    throw new IOException("Line exceeds the maximum length.");
+                }
+
+                final var bytes = in.readNBytes((int) (end - lineStart));
+                var length = bytes.length;
+                while (length > 0 && (bytes[length - 1] == '\n' || bytes[length - 1] == '\r')) {
+                    length--;
+                }
+                lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+                lineStart = end;
+            }
+        }
+        return lines;
+    }
+}
@@ -41,6 +41,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.ExchangeBuilder;
@@ -65,6 +66,7 @@ import java.util.UUID;
  * This controller provides the endpoint for sending a contract request message and starting the
  * metadata and data exchange.
  */
+@Log4j2
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/ids")
@@ -193,7 +195,13 @@ public class ContractRequestMessageController {
 
                 // Download data, if requested.
                 if (download) {
-                    artifactDataDownloader.download(recipient, artifacts, agreementId);
+                    final var downloads =
+                            artifactDataDownloader.download(recipient, artifacts, agreementId);
+                    if (log.isInfoEnabled()) {
+                        log.info("Downloaded artifact data. [recipient=({}), succeeded=({}), "
+                                + "failed=({})]", recipient, downloads.getSucceeded().size(),
+                                downloads.getFailedEntries());
+                    }
                 }
 
                 return respondWithCreatedAgreement(agreementId);
@@ -16,31 +16,38 @@
 package io.dataspaceconnector.controller.resource.type;
 
 import de.fraunhofer.ids.messaging.protocol.UnexpectedResponseException;
-import io.dataspaceconnector.common.exception.ResourceNotFoundException;
 import io.dataspaceconnector.common.net.QueryInput;
 import io.dataspaceconnector.common.net.RetrievalInformation;
+import io.dataspaceconnector.common.storage.BlobInputStream;
 import io.dataspaceconnector.common.util.ValidationUtils;
 import io.dataspaceconnector.config.BasePath;
 import io.dataspaceconnector.controller.resource.base.BaseResourceNotificationController;
 import io.dataspaceconnector.controller.resource.base.tag.ResourceDescription;
 import io.dataspaceconnector.controller.resource.base.tag.ResourceName;
 import io.dataspaceconnector.controller.resource.view.artifact.ArtifactView;
+import io.dataspaceconnector.controller.util.ByteRange;
 import io.dataspaceconnector.controller.util.ResponseCode;
 import io.dataspaceconnector.controller.util.ResponseDescription;
+import io.dataspaceconnector.controller.util.ResponseUtils;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.service.message.SubscriberNotificationService;
+import io.dataspaceconnector.service.resource.type.ArtifactData;
 import io.dataspaceconnector.service.resource.type.ArtifactService;
 import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -57,11 +64,12 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -95,10 +103,17 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
      */
     private final @NonNull SubscriberNotificationService subscriberNotificationSvc;
 
+    /**
+     * The size of the buffer used for copying data to the response.
+     */
+    @Value("${artifact.data.buffer-size:65536}")
+    private int bufferSize;
+
     /**
      * Returns data from the local database or a remote data source. In case of a remote data
      * source, all headers and query parameters included in this request will be used for the
-     * request to the backend.
+     * request to the backend. Data stored by the connector supports range requests and
+     * conditional requests based on the artifact's checksum.
      *
      * @param artifactId   Artifact id.
      * @param download     If the data should be forcefully downloaded.
@@ -113,8 +128,14 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
     @Operation(summary = "Get data by artifact id with query input")
     @ApiResponses(value = {
             @ApiResponse(responseCode = ResponseCode.OK, description = ResponseDescription.OK),
+            @ApiResponse(responseCode = ResponseCode.PARTIAL_CONTENT,
+                    description = ResponseDescription.PARTIAL_CONTENT),
+            @ApiResponse(responseCode = ResponseCode.NOT_MODIFIED,
+                    description = ResponseDescription.NOT_MODIFIED),
             @ApiResponse(responseCode = ResponseCode.UNAUTHORIZED,
-                    description = ResponseDescription.UNAUTHORIZED)})
+                    description = ResponseDescription.UNAUTHORIZED),
+            @ApiResponse(responseCode = ResponseCode.RANGE_NOT_SATISFIABLE,
+                    description = ResponseDescription.RANGE_NOT_SATISFIABLE)})
     public ResponseEntity<StreamingResponseBody> getData(
             @Valid @PathVariable(name = "id") final UUID artifactId,
             @RequestParam(required = false) final Boolean download,
@@ -143,13 +164,16 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
         /*
             If no agreement information has been passed the connector needs
             to check if the data access is restricted by the usage control.
+            Requests that can be answered without the data do not read it.
          */
         final var data = (agreementUri == null)
-                ? artifactSvc.getData(accessVerifier, dataReceiver, artifactId, queryInput)
+                ? artifactSvc.getData(accessVerifier, dataReceiver, artifactId, queryInput,
+                x -> isDataRequired(x, request))
                 : artifactSvc.getData(accessVerifier, dataReceiver, artifactId,
-                new RetrievalInformation(agreementUri, download, queryInput));
+                new RetrievalInformation(agreementUri, download, queryInput),
+                x -> isDataRequired(x, request));
 
-        return returnData(artifactId, data);
+        return returnData(artifactId, data, request);
     }
 
     /**
@@ -176,39 +200,163 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
             UnexpectedResponseException,
             io.dataspaceconnector.common.exception.UnexpectedResponseException {
         ValidationUtils.validateQueryInput(queryInput);
-        final var data =
-                artifactSvc.getData(accessVerifier, dataReceiver, artifactId, queryInput);
-        return returnData(artifactId, data);
+        final var data = artifactSvc.getData(accessVerifier, dataReceiver, artifactId,
+                queryInput, x -> true);
+        return returnData(artifactId, data, null);
     }
 
     private ResponseEntity<StreamingResponseBody> returnData(
-            final UUID artifactId, final InputStream data) {
-        final StreamingResponseBody body = outputStream -> {
-            final int blockSize = 1024;
-            int numBytesToWrite;
-            var buffer = new byte[blockSize];
-            while ((numBytesToWrite = data.read(buffer, 0, buffer.length)) != -1) {
-                outputStream.write(buffer, 0, numBytesToWrite);
-            }
-
-            data.close();
-        };
-
+            final UUID artifactId, final ArtifactData artifactData,
+            final HttpServletRequest request) throws IOException {
         final var outputHeader = new HttpHeaders();
         outputHeader.set("Content-Disposition", "attachment;filename=" + artifactId.toString());
 
-        final var type = getMediaTypeOfArtifact(artifactId);
+        // Headers are taken from the artifact the data has been read from.
+        final var artifact = artifactData.getArtifact();
+        final var data = artifactData.getData();
+        final var type = getMediaTypeOfArtifact(artifact);
+        if (!artifactSvc.isDataStoredLocally(artifact)) {
+            // The size of data from remote sources is unknown.
+            return ResponseEntity.ok()
+                    .headers(outputHeader)
+                    .contentType(type)
+                    .body(toResponseBody(data, 0, Long.MAX_VALUE));
+        }
+
+        final var size = artifact.getByteSize();
+        final var eTag = toETag(artifact);
+        outputHeader.setETag(eTag);
+        outputHeader.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, eTag)) {
+            close(data);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(outputHeader).build();
+        }
+
+        final var range = getRange(request, eTag, size);
+        if (range.isPresent()) {
+            if (!range.get().isSatisfiable()) {
+                close(data);
+                outputHeader.set(HttpHeaders.CONTENT_RANGE, range.get().toContentRange());
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .headers(outputHeader)
+                        .build();
+            }
+
+            outputHeader.set(HttpHeaders.CONTENT_RANGE, range.get().toContentRange());
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(outputHeader)
+                    .contentType(type)
+                    .contentLength(range.get().getLength())
+                    .body(toResponseBody(data, range.get().getFirst(), range.get().getLength()));
+        }
+
         return ResponseEntity.ok()
                 .headers(outputHeader)
                 .contentType(type)
-                .body(body);
+                .contentLength(size)
+                .body(toResponseBody(data, 0, size));
+    }
+
+    /**
+     * Checks whether a request for data stored by the connector can only be answered with the
+     * data, i.e. it is neither answered with not modified nor with range not satisfiable.
+     *
+     * @param artifact The artifact the data would be read from.
+     * @param request  The current http request. May be null.
+     * @return True if the data has to be read.
+     */
+    private boolean isDataRequired(final Artifact artifact, final HttpServletRequest request) {
+        if (request == null || !artifactSvc.isDataStoredLocally(artifact)) {
+            return true;
+        }
+
+        final var eTag = toETag(artifact);
+        return !isNotModified(request, eTag) && getRange(request, eTag, artifact.getByteSize())
+                .map(ByteRange::isSatisfiable)
+                .orElse(true);
+    }
+
+    private static boolean isNotModified(final HttpServletRequest request, final String eTag) {
+        return request != null
+                && ResponseUtils.matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag);
+    }
+
+    private static void close(final InputStream data) throws IOException {
+        if (data != null) {
+            data.close();
+        }
+    }
+
+    private StreamingResponseBody toResponseBody(final InputStream data, final long offset,
+                                                 final long length) {
+        // Pipe the data straight to the response, only one buffer is held per transfer.
+        return outputStream -> {
+            try (data) {
+                skip(data, offset);
+                if (data instanceof BlobInputStream) {
+                    ((BlobInputStream) data).transferTo(outputStream, length);
+                } else {
+                    copy(data, outputStream, length);
+                }
+            }
+        };
+    }
+
+    private void copy(final InputStream data, final OutputStream outputStream, final long length)
+            throws IOException {
+        final var buffer = new byte[bufferSize];
+        var remaining = length;
+        while (remaining > 0) {
+            final var read = data.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+
+            outputStream.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static void skip(final InputStream data, final long offset) throws IOException {
+        var remaining = offset;
+        while (remaining > 0) {
+            final var skipped = data.skip(remaining);
+            if (skipped <= 0) {
+                if (data.read() == -1) {
+                    return;
+                }
+                remaining--;
+            } else {
+                remaining -= skipped;
+            }
+        }
+    }
+
+    private static Optional<ByteRange> getRange(final HttpServletRequest request,
+                                                final String eTag, final long size) {
+        if (request == null) {
+            return Optional.empty();
+        }
+
+        // A range request for a different version of the data returns the complete data.
+        final var ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(eTag)) {
+            return Optional.empty();
+        }
+
+        return ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size);
+    }
+
+    private static String toETag(final Artifact artifact) {
+        return "\"" + Long.toHexString(artifact.getCheckSum()) + "-"
+                + Long.toHexString(artifact.getByteSize()) + "\"";
     }
 
-    private MediaType getMediaTypeOfArtifact(final UUID artifactId) {
+    private MediaType getMediaTypeOfArtifact(final Artifact artifact) {
         // Get type to set the correct content type.
         // NOTE: Assume that an artifact has only one representation.
         try {
-            final var artifact = getService().get(artifactId);
             if (artifact.getRepresentations().isEmpty()) {
                 if (log.isDebugEnabled()) {
                     log.debug("No representation found. Return data as stream.");
@@ -217,7 +365,7 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
                 final var mediaType = artifact.getRepresentations().get(0).getMediaType();
                 return MediaType.parseMediaType("application/" + mediaType);
             }
-        } catch (ResourceNotFoundException | NullPointerException | InvalidMediaTypeException e) {
+        } catch (NullPointerException | InvalidMediaTypeException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Could not resolve media type. Return data as stream. [exception=({})]",
                         e.getMessage());
@@ -227,7 +375,7 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
     }
 
     /**
-     * Replace the data of an artifact.
+     * Replace the data of an artifact. The request body is streamed and not buffered in memory.
      *
      * @param artifactId  The artifact whose data should be replaced.
      * @param inputStream The new data.
@@ -241,8 +389,13 @@ public class ArtifactController extends BaseResourceNotificationController<Artif
                     description = ResponseDescription.UNAUTHORIZED)})
     public ResponseEntity<Void> putData(
             @Valid @PathVariable(name = "id") final UUID artifactId,
-            @RequestBody final byte[] inputStream) throws IOException {
-        artifactSvc.setData(artifactId, new ByteArrayInputStream(inputStream));
+            // Spring binds the raw request stream, the annotation documents it as the body.
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The new data.", required = true,
+                    content = @Content(mediaType = "*/*",
+                            schema = @Schema(type = "string", format = "binary")))
+            final InputStream inputStream) throws IOException {
+        artifactSvc.setData(artifactId, inputStream);
 
         // Notify subscribers on update event.
         subscriberNotificationSvc.notifyOnUpdate(getService().get(artifactId));
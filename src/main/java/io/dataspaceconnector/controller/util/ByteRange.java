@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.util;
+
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A single byte range of a http range request (RFC 7233).
+ */
+@Getter
+public final class ByteRange {
+
+    /**
+     * Syntax of a single byte range: first-last, first- or -suffixLength.
+     */
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    /**
+     * The position of the first byte.
+     */
+    private final long first;
+
+    /**
+     * The position of the last byte (inclusive).
+     */
+    private final long last;
+
+    /**
+     * The size of the complete data.
+     */
+    private final long size;
+
+    private ByteRange(final long firstByte, final long lastByte, final long completeSize) {
+        this.first = firstByte;
+        this.last = lastByte;
+        this.size = completeSize;
+    }
+
+    /**
+     * Parse the value of a range header. Multiple ranges are not supported, in this case the
+     * header is ignored and the complete data should be returned.
+     *
+     * @param header The value of the range header. May be null.
+     * @param size   The size of the complete data.
+     * @return The requested range, if the header is present and valid.
+     */
+    public static Optional<ByteRange> parse(final String header, final long size) {
+        if (header == null) {
+            return Optional.empty();
+        }
+
+        final var matcher = RANGE_PATTERN.matcher(header.replace(" ", ""));
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        final var firstValue = matcher.group(1);
+        final var lastValue = matcher.group(2);
+        try {
+            if (firstValue.isEmpty()) {
+                if (lastValue.isEmpty()) {
+                    return Optional.empty();
+                }
+
+                // Suffix range: the last n bytes.
+                final var suffixLength = Long.parseLong(lastValue);
+                return Optional.of(new ByteRange(Math.max(0, size - suffixLength), size - 1,
+                        size));
+            }
+
+            final var first = Long.parseLong(firstValue);
+            if (lastValue.isEmpty()) {
+                return Optional.of(new ByteRange(first, size - 1, size));
+            }
+
+            final var last = Long.parseLong(lastValue);
+            if (last < first) {
+                // Syntactically invalid, the header has to be ignored.
+                return Optional.empty();
+            }
+
+            return Optional.of(new ByteRange(first, Math.min(last, size - 1), size));
+        } catch (NumberFormatException exception) {
+            // Values exceeding a long cannot address any data.
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Check if the range addresses any data.
+     *
+     * @return true if the range overlaps with the data.
+     */
+    public boolean isSatisfiable() {
+        return first <= last && first < size;
+    }
+
+    /**
+     * Get the number of bytes in this range.
+     *
+     * @return The number of bytes.
+     */
+    public long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * Get the value of the content range header for this range.
+     *
+     * @return The header value.
+     */
+    public String toContentRange() {
+        if (isSatisfiable()) {
+            return "bytes " + first + "-" + last + "/" + size;
+        }
+
+        return "bytes */" + size;
+    }
+}
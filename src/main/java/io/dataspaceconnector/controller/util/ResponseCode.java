@@ -40,6 +40,11 @@ public class ResponseCode {
      */
     public static final String NO_CONTENT = "204";
 
+    /**
+     * Response code is PARTIAL_CONTENT.
+     */
+    public static final String PARTIAL_CONTENT = "206";
+
     /**
      * Response code is NOT_MODIFIED.
      */
@@ -75,6 +80,11 @@ public class ResponseCode {
      */
     public static final String UNSUPPORTED_MEDIA_TYPE = "415";
 
+    /**
+     * Response code is RANGE_NOT_SATISFIABLE.
+     */
+    public static final String RANGE_NOT_SATISFIABLE = "416";
+
     /**
      * Response code is INTERNAL_SERVER_ERROR.
      */
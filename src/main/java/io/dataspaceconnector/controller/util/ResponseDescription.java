@@ -69,6 +69,16 @@ public class ResponseDescription {
      */
     public static final String NOT_MODIFIED = "Not modified";
 
+    /**
+     * Response code is PARTIAL_CONTENT.
+     */
+    public static final String PARTIAL_CONTENT = "Partial content";
+
+    /**
+     * Response code is RANGE_NOT_SATISFIABLE.
+     */
+    public static final String RANGE_NOT_SATISFIABLE = "Range not satisfiable";
+
     /**
      * Response code is CONFLICT.
      */
@@ -351,4 +351,26 @@ public final class ResponseUtils {
     private static ResponseEntity<Object> toObjectResponse(final ResponseEntity<?> response) {
         return (ResponseEntity<Object>) response;
     }
+
+    /**
+     * Checks whether the value of an If-None-Match header matches an entity tag.
+     *
+     * @param header The value of the header, may be null.
+     * @param eTag   The entity tag.
+     * @return True if the header contains the entity tag or a wildcard.
+     */
+    public static boolean matchesETag(final String header, final String eTag) {
+        if (header == null) {
+            return false;
+        }
+
+        for (final var value : header.split(",")) {
+            final var candidate = value.trim();
+            if ("*".equals(candidate) || eTag.equals(candidate.replaceFirst("^W/", ""))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -18,10 +18,12 @@ package io.dataspaceconnector.extension.idscp.processor;
 import de.fraunhofer.ids.messaging.response.ErrorResponse;
 import io.dataspaceconnector.common.routing.ParameterUtils;
 import io.dataspaceconnector.extension.idscp.processor.base.Idscp2MappingProcessor;
+import io.dataspaceconnector.service.message.handler.dto.DataResponse;
 import io.dataspaceconnector.service.message.handler.dto.Response;
 import org.apache.camel.Message;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -34,12 +36,19 @@ public class OutgoingMessageParser extends Idscp2MappingProcessor {
      * Creates an IDSCPv2 message with header and payload from a {@link Response}.
      *
      * @param in the in-message of the exchange.
+     * @throws IOException if the payload could not be read.
      */
     @Override
-    protected void processInternal(final Message in) {
+    protected void processInternal(final Message in) throws IOException {
         final var response = in.getBody(Response.class);
 
-        if (response != null) {
+        if (response instanceof DataResponse) {
+            // IDSCPv2 sends messages as a whole, so the encoded payload has to be buffered.
+            in.setHeader(ParameterUtils.IDSCP_HEADER, response.getHeader());
+            try (var data = ((DataResponse) response).getEncodedData()) {
+                in.setBody(data.readAllBytes());
+            }
+        } else if (response != null) {
             in.setHeader(ParameterUtils.IDSCP_HEADER, response.getHeader());
             in.setBody(response.getBody().getBytes(StandardCharsets.UTF_8));
         } else {
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.monitoring;
+
+import io.dataspaceconnector.common.ids.message.ClearingHouseLogQueue;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+
+/**
+ * Contributor, adding the state of the clearing house logging to the actuator info endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClearingHouseInfoContributor implements InfoContributor {
+
+    /**
+     * The queue sending the log messages.
+     */
+    private final @NonNull ClearingHouseLogQueue queue;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void contribute(final Info.Builder builder) {
+        final var sent = queue.getSent().sum();
+
+        final var info = new HashMap<String, Object>();
+        info.put("pending", queue.getPending());
+        info.put("queues", queue.getQueueDepths());
+        info.put("sent", sent);
+        info.put("failed", queue.getFailed().sum());
+        info.put("retried", queue.getRetried().sum());
+        info.put("rejected", queue.getRejected().sum());
+        info.put("averageSendTime", sent == 0 ? 0 : queue.getSendTime().sum() / sent);
+        info.put("maxSendTime", queue.getMaxSendTime().get());
+
+        builder.withDetail("clearingHouse", info);
+    }
+}
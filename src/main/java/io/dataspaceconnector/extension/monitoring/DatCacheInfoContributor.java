@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.monitoring;
+
+import io.dataspaceconnector.common.ids.DapsTokenCache;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+
+/**
+ * Contributor, adding the state of the DAT cache to the actuator info endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatCacheInfoContributor implements InfoContributor {
+
+    /**
+     * The cache of the connector's DAT.
+     */
+    private final @NonNull DapsTokenCache tokenCache;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void contribute(final Info.Builder builder) {
+        final var hits = tokenCache.getHits().sum();
+        final var misses = tokenCache.getMisses().sum();
+        final var fetches = tokenCache.getFetches().sum();
+        final var expiration = tokenCache.getExpiration();
+
+        final var info = new HashMap<String, Object>();
+        info.put("hits", hits);
+        info.put("misses", misses);
+        info.put("hitRate", hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        info.put("coalesced", tokenCache.getCoalesced().sum());
+        info.put("fetches", fetches);
+        info.put("failures", tokenCache.getFailures().sum());
+        info.put("averageFetchTime", fetches == 0 ? 0 : tokenCache.getFetchTime().sum() / fetches);
+        info.put("maxFetchTime", tokenCache.getMaxFetchTime().get());
+        info.put("expiration", expiration == 0 ? null : new Date(expiration));
+
+        builder.withDetail("datCache", info);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.monitoring;
+
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
+import io.dataspaceconnector.service.usagecontrol.DataRemovalIndex;
+import io.dataspaceconnector.service.usagecontrol.ScheduledDataRemoval;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+
+/**
+ * Contributor, adding the state of the scheduled data removal to the actuator info endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataRemovalInfoContributor implements InfoContributor {
+
+    /**
+     * The deletion dates of all agreements.
+     */
+    private final @NonNull DataRemovalIndex removalIndex;
+
+    /**
+     * The scheduled data removal.
+     */
+    private final @NonNull ScheduledDataRemoval dataRemoval;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void contribute(final Info.Builder builder) {
+        final var now = RuleUtils.getCurrentDate();
+
+        final var info = new HashMap<String, Object>();
+        info.put("indexed", removalIndex.getSize());
+        info.put("backlog", removalIndex.countDue(now));
+        info.put("lagMillis", removalIndex.getLag(now).toMillis());
+        info.put("lastRunLagMillis", dataRemoval.getLastLag().toMillis());
+
+        builder.withDetail("dataRemoval", info);
+    }
+}
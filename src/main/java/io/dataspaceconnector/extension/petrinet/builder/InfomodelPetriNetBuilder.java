@@ -87,24 +87,23 @@ public class InfomodelPetriNetBuilder {
         final var paths = PetriNetSimulator.getAllPaths(stepGraph);
         final var formulas = InfomodelPetriNetBuilder.extractPoliciesFromAppRoute(appRoute);
 
-        boolean evaluation = true;
+        final var start = stepGraph.getInitial()
+                .getNodes()
+                .stream()
+                .filter(node -> node instanceof Place && ((Place) node)
+                        .getMarkers() >= 1)
+                .findAny()
+                .get();
+        final var results = CTLEvaluator.evaluateAll(formulas, start, paths);
 
-        for (final var formula : formulas) {
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Evaluating formula: %s", formula.writeFormula()));
-            }
-            final var result = CTLEvaluator.evaluate(formula, stepGraph.getInitial()
-                    .getNodes()
-                    .stream()
-                    .filter(node -> node instanceof Place && ((Place) node)
-                            .getMarkers() >= 1)
-                    .findAny()
-                    .get(), paths);
+        boolean evaluation = true;
 
+        for (var i = 0; i < formulas.size(); i++) {
             if (log.isDebugEnabled()) {
-                log.debug(String.format("Evaluation result: %s", result));
+                log.debug(String.format("Evaluated formula: %s", formulas.get(i).writeFormula()));
+                log.debug(String.format("Evaluation result: %s", results.get(i)));
             }
-            evaluation &= result;
+            evaluation &= results.get(i);
         }
         return evaluation;
     }
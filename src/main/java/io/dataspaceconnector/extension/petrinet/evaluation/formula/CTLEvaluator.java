@@ -22,9 +22,13 @@ import io.dataspaceconnector.extension.petrinet.model.Place;
 import io.dataspaceconnector.extension.petrinet.model.Transition;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Evaluate a {@link Formula} on a given {@link Node} for a set of Paths.
+ *
+ * The paths are wrapped in {@link LabeledPaths}, so every sub-formula is evaluated at most
+ * once per node. Sub-formulas must be evaluated with {@link #evaluateLabeled} for this.
  */
 public final class CTLEvaluator {
     private CTLEvaluator() {
@@ -42,7 +46,7 @@ public final class CTLEvaluator {
                                        final Place place,
                                        final List<List<Node>> paths) {
         //base evaluation on place
-        return ctlExpression.evaluate(place, paths);
+        return LabeledPaths.of(paths).evaluate(ctlExpression, place);
     }
 
     /**
@@ -56,7 +60,7 @@ public final class CTLEvaluator {
                                              final Transition transition,
                                              final List<List<Node>> paths) {
         //base evaluation on transition
-        return ctlExpression.evaluate(transition, paths);
+        return LabeledPaths.of(paths).evaluate(ctlExpression, transition);
     }
 
     /**
@@ -81,4 +85,42 @@ public final class CTLEvaluator {
             }
     }
 
+    /**
+     * Evaluate independent formulas on the same node in parallel on the common fork-join
+     * pool. The formulas share the labels of the paths, so common sub-formulas are only
+     * evaluated once.
+     *
+     * @param ctlExpressions the {@link Formula}s to evaluate
+     * @param node a {@link Node} of a
+     *      {@link io.dataspaceconnector.extension.petrinet.model.PetriNet}
+     * @param paths possible pathes through the PetriNet
+     * @return results of the evaluations, in the order of the formulas
+     */
+    public static List<Boolean> evaluateAll(final List<? extends Formula> ctlExpressions,
+                                            final Node node,
+                                            final List<List<Node>> paths) {
+        final var labeledPaths = LabeledPaths.of(paths);
+        return ctlExpressions.parallelStream()
+                .map(ctlExpression -> evaluate(ctlExpression, node, labeledPaths))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Evaluate a sub-formula while evaluating a formula. Reuses the result of an earlier
+     * evaluation, if the paths are {@link LabeledPaths}.
+     *
+     * @param ctlExpression a {@link Formula} to evaluate
+     * @param node a {@link Node} of a
+     *      {@link io.dataspaceconnector.extension.petrinet.model.PetriNet}
+     * @param paths possible pathes through the PetriNet
+     * @return result of the evaluation of the ctlExpression
+     */
+    public static boolean evaluateLabeled(final Formula ctlExpression,
+                                          final Node node,
+                                          final List<List<Node>> paths) {
+        if (paths instanceof LabeledPaths) {
+            return ((LabeledPaths) paths).evaluate(ctlExpression, node);
+        }
+        return ctlExpression.evaluate(node, paths);
+    }
 }
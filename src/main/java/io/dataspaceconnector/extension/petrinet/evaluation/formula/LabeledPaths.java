@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.petrinet.evaluation.formula;
+
+import io.dataspaceconnector.extension.petrinet.model.Node;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only view on the possible paths through a PetriNet, which labels the nodes of the
+ * paths with the results of every formula evaluated on them. Each (sub-)formula is therefore
+ * evaluated at most once per node, as long as it is evaluated on this list of paths.
+ * The labels can be shared by threads evaluating formulas in parallel.
+ */
+public final class LabeledPaths extends AbstractList<List<Node>> {
+    /**
+     * The possible paths through the PetriNet.
+     */
+    private final List<List<Node>> paths;
+
+    /**
+     * Index of every node occurring in the paths, used as bit index for the labels.
+     */
+    private final Map<Node, Integer> nodeIndex = new HashMap<>();
+
+    /**
+     * Labels of the formulas evaluated on these paths.
+     */
+    private final Map<Formula, Label> labels = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for LabeledPaths.
+     * @param pPaths The possible paths through the PetriNet.
+     */
+    private LabeledPaths(final List<List<Node>> pPaths) {
+        this.paths = pPaths;
+        for (final var path : pPaths) {
+            for (final var node : path) {
+                nodeIndex.putIfAbsent(node, nodeIndex.size());
+            }
+        }
+    }
+
+    /**
+     * Get labeled paths for the given paths.
+     * @param paths possible paths through the PetriNet
+     * @return the given paths, if they are already labeled, or a labeled view on them
+     */
+    public static LabeledPaths of(final List<List<Node>> paths) {
+        if (paths instanceof LabeledPaths) {
+            return (LabeledPaths) paths;
+        }
+        return new LabeledPaths(paths);
+    }
+
+    /**
+     * Evaluate a formula on a node of these paths, reusing the result if the formula has
+     * already been evaluated on the node.
+     * @param formula the formula to evaluate
+     * @param node the node to evaluate the formula on
+     * @return result of the evaluation
+     */
+    public boolean evaluate(final Formula formula, final Node node) {
+        final var index = nodeIndex.get(node);
+        if (index == null) {
+            return formula.evaluate(node, this);
+        }
+
+        final var label = labels.computeIfAbsent(formula, key -> new Label());
+        synchronized (label) {
+            if (label.evaluated.get(index)) {
+                return label.satisfied.get(index);
+            }
+        }
+
+        // Evaluate outside the lock, as sub-formulas may be evaluated by other threads.
+        final var result = formula.evaluate(node, this);
+        synchronized (label) {
+            label.evaluated.set(index);
+            label.satisfied.set(index, result);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Node> get(final int index) {
+        return paths.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * The satisfaction set of a formula over the indexed nodes.
+     */
+    private static final class Label {
+        /**
+         * The nodes the formula has been evaluated on.
+         */
+        private final BitSet evaluated = new BitSet();
+
+        /**
+         * The nodes satisfying the formula.
+         */
+        private final BitSet satisfied = new BitSet();
+    }
+}
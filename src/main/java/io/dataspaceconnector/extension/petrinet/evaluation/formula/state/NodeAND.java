@@ -20,6 +20,8 @@ import lombok.AllArgsConstructor;
 
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if parameter1 and parameter2 evaluate to true.
  */
@@ -50,7 +52,7 @@ public class NodeAND implements StateFormula {
      */
     @Override
     public boolean evaluate(final Node node, final List<List<Node>> paths) {
-        return parameter1.evaluate(node, paths) && parameter2.evaluate(node, paths);
+        return evaluateLabeled(parameter1, node, paths) && evaluateLabeled(parameter2, node, paths);
     }
 
     /**
@@ -25,6 +25,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if parameter1 evaluates to true for every following
  * place and parameter2 evaluates to true
@@ -79,13 +81,13 @@ public class NodeFORALLMODAL implements StateFormula {
                 .collect(Collectors.toSet());
 
         for (final var place : followingPlaces) {
-            if (!parameter1.evaluate(place, paths)) {
+            if (!evaluateLabeled(parameter1, place, paths)) {
                 return false;
             }
         }
 
         for (final var transition : followingTransitions) {
-            if (!parameter2.evaluate(transition, paths)) {
+            if (!evaluateLabeled(parameter2, transition, paths)) {
                 return false;
             }
         }
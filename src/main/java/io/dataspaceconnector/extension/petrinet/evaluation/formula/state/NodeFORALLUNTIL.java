@@ -23,6 +23,8 @@ import lombok.AllArgsConstructor;
 import java.util.ArrayList;
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if on any possible path every place fulfills parameter1,
  * until a place fulfills parameter2.
@@ -72,8 +74,8 @@ public class NodeFORALLUNTIL implements StateFormula {
                     offset = 2;
                 }
                 for (var i = 2; i < path.size() - offset; i += 2) {
-                    final var res1 = parameter1.evaluate(path.get(i), paths);
-                    final var res2 = parameter2.evaluate(path.get(i), paths);
+                    final var res1 = evaluateLabeled(parameter1, path.get(i), paths);
+                    final var res2 = evaluateLabeled(parameter2, path.get(i), paths);
                     if (res2) {
                         continue check;
                     }
@@ -81,15 +83,15 @@ public class NodeFORALLUNTIL implements StateFormula {
                         return false;
                     }
                 }
-                if (!parameter2.evaluate(path.get(path.size() - offset), paths)) {
+                if (!evaluateLabeled(parameter2, path.get(path.size() - offset), paths)) {
                     return false;
                 }
             } else {
                 //if something on the circle fulfills param2 accept,
                 // if something does not fulfill param1 reject
                 for (var i = 2; i < path.size() - 1; i += 2) {
-                    final var res1 = parameter1.evaluate(path.get(i), paths);
-                    final var res2 = parameter2.evaluate(path.get(i), paths);
+                    final var res1 = evaluateLabeled(parameter1, path.get(i), paths);
+                    final var res2 = evaluateLabeled(parameter2, path.get(i), paths);
                     if (res2) {
                         continue check;
                     }
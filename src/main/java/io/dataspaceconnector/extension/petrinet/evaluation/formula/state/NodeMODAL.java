@@ -23,6 +23,8 @@ import lombok.AllArgsConstructor;
 
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if parameter evaluates to true for a transition directly following
  * the current place.
@@ -54,7 +56,7 @@ public class NodeMODAL implements StateFormula {
         return node instanceof Place
                 && node.getSourceArcs().stream()
                         .map(Arc::getTarget)
-                        .map(transition -> parameter.evaluate(transition, paths))
+                        .map(transition -> evaluateLabeled(parameter, transition, paths))
                         .reduce(false, (a, b) -> a || b);
     }
 
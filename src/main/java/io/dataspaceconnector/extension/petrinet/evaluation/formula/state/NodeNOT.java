@@ -20,6 +20,8 @@ import lombok.AllArgsConstructor;
 
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if given subformula evaluates to false.
  */
@@ -44,7 +46,7 @@ public class NodeNOT implements StateFormula {
      */
     @Override
     public boolean evaluate(final Node node, final List<List<Node>> paths) {
-        return !parameter.evaluate(node, paths);
+        return !evaluateLabeled(parameter, node, paths);
     }
 
     /**
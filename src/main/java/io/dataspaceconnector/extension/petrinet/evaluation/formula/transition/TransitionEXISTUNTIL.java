@@ -21,6 +21,8 @@ import lombok.AllArgsConstructor;
 
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if a path exists, where parameter1 evaluates to true for every transition,
  * until parameter2 evaluates to true.
@@ -72,8 +74,8 @@ public class TransitionEXISTUNTIL implements TransitionFormula {
                 offset = 2;
             }
             for (var i = 2; i < path.size() - offset; i += 2) {
-                final var res1 = parameter1.evaluate(path.get(i), paths);
-                final var res2 = parameter2.evaluate(path.get(i), paths);
+                final var res1 = evaluateLabeled(parameter1, path.get(i), paths);
+                final var res2 = evaluateLabeled(parameter2, path.get(i), paths);
                 if (res2) {
                     return true;
                 }
@@ -81,7 +83,7 @@ public class TransitionEXISTUNTIL implements TransitionFormula {
                     continue check;
                 }
             }
-            if (parameter2.evaluate(path.get(path.size() - offset), paths)) {
+            if (evaluateLabeled(parameter2, path.get(path.size() - offset), paths)) {
                 return true;
             }
         }
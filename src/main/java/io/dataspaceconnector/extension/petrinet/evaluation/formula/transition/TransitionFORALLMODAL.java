@@ -24,6 +24,8 @@ import lombok.AllArgsConstructor;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if parameter1 evaluates to true for every following transition
  * and parameter2 evaluates to true for every Place in between.
@@ -77,13 +79,13 @@ public class TransitionFORALLMODAL implements TransitionFormula {
                 .collect(Collectors.toSet());
 
         for (final var transition : followingTransitions) {
-            if (!parameter1.evaluate(transition, paths)) {
+            if (!evaluateLabeled(parameter1, transition, paths)) {
                 return false;
             }
         }
 
         for (final var place : followingPlaces) {
-            if (!parameter2.evaluate(place, paths)) {
+            if (!evaluateLabeled(parameter2, place, paths)) {
                 return false;
             }
         }
@@ -25,6 +25,8 @@ import lombok.extern.log4j.Log4j2;
 import java.util.ArrayList;
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if on any possible path every transition fulfills parameter1,
  * until a transition fulfills parameter2.
@@ -79,8 +81,8 @@ public class TransitionFORALLUNTIL implements TransitionFormula {
                     offset = 2;
                 }
                 for (var i = 2; i < path.size() - offset; i += 2) {
-                    final var res1 = parameter1.evaluate(path.get(i), paths);
-                    final var res2 = parameter2.evaluate(path.get(i), paths);
+                    final var res1 = evaluateLabeled(parameter1, path.get(i), paths);
+                    final var res2 = evaluateLabeled(parameter2, path.get(i), paths);
                     if (res2) {
                         continue check;
                     }
@@ -91,7 +93,7 @@ public class TransitionFORALLUNTIL implements TransitionFormula {
                         return false;
                     }
                 }
-                if (!parameter2.evaluate(path.get(path.size() - offset), paths)) {
+                if (!evaluateLabeled(parameter2, path.get(path.size() - offset), paths)) {
                     if (log.isInfoEnabled()) {
                         log.info(path.get(path.size() - offset).toString());
                     }
@@ -101,8 +103,8 @@ public class TransitionFORALLUNTIL implements TransitionFormula {
                 //if something on the circle fulfills param2 accept,
                 //if something does not fulfill param1 reject
                 for (var i = 2; i < path.size() - 1; i += 2) {
-                    final var res1 = parameter1.evaluate(path.get(i), paths);
-                    final var res2 = parameter2.evaluate(path.get(i), paths);
+                    final var res1 = evaluateLabeled(parameter1, path.get(i), paths);
+                    final var res2 = evaluateLabeled(parameter2, path.get(i), paths);
                     if (res2) {
                         continue check;
                     }
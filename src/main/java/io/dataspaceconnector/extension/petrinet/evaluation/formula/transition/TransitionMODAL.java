@@ -23,6 +23,8 @@ import lombok.AllArgsConstructor;
 
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if parameter evaluates to true for a place directly following the transition.
  */
@@ -53,7 +55,7 @@ public class TransitionMODAL implements TransitionFormula {
         return node instanceof Transition
                 && node.getSourceArcs().stream()
                         .map(Arc::getTarget)
-                        .map(place -> parameter.evaluate(place, paths))
+                        .map(place -> evaluateLabeled(parameter, place, paths))
                         .reduce(false, (a, b) -> a || b);
     }
 
@@ -20,6 +20,8 @@ import lombok.AllArgsConstructor;
 
 import java.util.List;
 
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluator.evaluateLabeled;
+
 /**
  * Evaluates to true, if at least one of the two subformulas evaluates to true.
  */
@@ -51,7 +53,7 @@ public class TransitionOR implements TransitionFormula {
      */
     @Override
     public boolean evaluate(final Node node, final List<List<Node>> paths) {
-        return parameter1.evaluate(node, paths) || parameter2.evaluate(node, paths);
+        return evaluateLabeled(parameter1, node, paths) || evaluateLabeled(parameter2, node, paths);
     }
 
     /**
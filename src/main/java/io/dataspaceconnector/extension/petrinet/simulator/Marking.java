@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.petrinet.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Immutable state of a PetriNet inside the {@link StepGraph}: the number of markers on every
+ * place, indexed like {@link StepGraph#getPlaces()}.
+ */
+public final class Marking {
+    /**
+     * The number of markers per place.
+     */
+    private final int[] markers;
+
+    /**
+     * The cached hash code of the markers.
+     */
+    private final int hash;
+
+    /**
+     * Creates a marking. The array is owned by the marking afterwards and must not be changed.
+     * @param pMarkers The number of markers per place.
+     */
+    Marking(final int[] pMarkers) {
+        this.markers = pMarkers;
+        this.hash = Arrays.hashCode(pMarkers);
+    }
+
+    /**
+     * Getter for the number of markers on a place.
+     * @param place The index of the place.
+     * @return number of markers
+     */
+    public int get(final int place) {
+        return markers[place];
+    }
+
+    /**
+     * Getter for the number of places of this marking.
+     * @return number of places
+     */
+    public int size() {
+        return markers.length;
+    }
+
+    /**
+     * Create a copy of the markers, which can be modified to build a following marking.
+     * @return a copy of the markers
+     */
+    int[] toArray() {
+        return markers.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final var marking = (Marking) o;
+        return hash == marking.hash && Arrays.equals(markers, marking.markers);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(markers);
+    }
+}
@@ -33,8 +33,11 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Class Providing static methods to simulate a PetriNet based on a given initial state,
@@ -114,101 +117,102 @@ public final class PetriNetSimulator {
     }
 
     /**
-     * For a given petriNet, find all transitions that can be taken.
-     * @param petriNet a given PetriNet
-     * @return List of Transition nodes, for which all previous nodes have markers
+     * Build a StepGraph with the given PetriNet as starting Point for executions.
+     *
+     * The reachable markings are explored breadth first: every step of the graph is expanded
+     * exactly once, and successors are looked up in the hash index of the graph, so no
+     * PetriNet is copied or compared during the exploration.
+     *
+     * @param petriNet the initial PetriNet
+     * @return the StepGraph with all reachable states of the given PetriNet
      */
-    private static List<Node> getPossibleTransitions(final PetriNet petriNet) {
-        final var possible = new ArrayList<Node>();
+    public static StepGraph buildStepGraph(final PetriNet petriNet) {
+        final var stepGraph = new StepGraph(petriNet);
+        final var places = stepGraph.getPlaces();
+        final var transitions = stepGraph.getTransitions();
 
-        for (final var node : petriNet.getNodes()) {
-            if (isPossible(node)) {
-                possible.add(node);
-            }
+        final var placeIndex = new HashMap<URI, Integer>();
+        for (var i = 0; i < places.size(); i++) {
+            placeIndex.put(places.get(i).getID(), i);
         }
 
-        return possible;
-    }
-
-    /**
-     * Given a petri net and a (transition) node: do the transition.
-     * @param petriNet a given PetriNet
-     * @param node a given Node of the PetriNet
-     */
-    private static void doTransition(final PetriNet petriNet, final Node node) {
-        if (!isPossible(node)) {
-            return;
+        final var inputs = new int[transitions.size()][];
+        final var outputs = new int[transitions.size()][];
+        for (var i = 0; i < transitions.size(); i++) {
+            final var transition = transitions.get(i);
+            inputs[i] = toPlaceIndices(transition.getTargetArcs().stream()
+                    .map(Arc::getSource), placeIndex);
+            outputs[i] = toPlaceIndices(transition.getSourceArcs().stream()
+                    .map(Arc::getTarget), placeIndex);
         }
 
-        for (final var arc : node.getTargetArcs()) {
-            final var place = (PlaceImpl) arc.getSource();
-            place.setMarkers(place.getMarkers() - 1);
+        // New steps are appended to the graph, so the unexpanded steps form the worklist.
+        for (var step = 0; step < stepGraph.getNumSteps(); step++) {
+            final var marking = stepGraph.getMarking(step);
+
+            for (var trans = 0; trans < transitions.size(); trans++) {
+                if (isPossible(marking, inputs[trans])) {
+                    final var next = doTransition(marking, inputs[trans], outputs[trans]);
+                    var target = stepGraph.indexOf(next);
+                    if (target == null) {
+                        target = stepGraph.addStep(next);
+                    }
+                    stepGraph.addArc(step, target, trans);
+                }
+            }
         }
 
-        for (final var arc : node.getSourceArcs()) {
-            final var place = (PlaceImpl) arc.getTarget();
-            place.setMarkers(place.getMarkers() + 1);
+        if (log.isDebugEnabled()) {
+            log.debug("Built step graph [steps=({}), arcs=({})]", stepGraph.getNumSteps(),
+                    stepGraph.getNumArcs());
         }
+
+        return stepGraph;
     }
 
     /**
-     * Build a StepGraph with the given PetriNet as starting Point for executions.
-     *
-     * @param petriNet the initial PetriNet
-     * @return the StepGraph with all reachable states of the given PetriNet
+     * Map the given place nodes to their index in the markings of a StepGraph.
+     * @param nodes the place nodes
+     * @param placeIndex the index of every place
+     * @return the indices of the places
      */
-    public static StepGraph buildStepGraph(final PetriNet petriNet) {
-        final var stepGraph = new StepGraph(petriNet);
-        stepGraph.getSteps().add(petriNet);
-
-        for (final var node : getPossibleTransitions(petriNet)) {
-            addStepToStepGraph(petriNet,
-                    petriNet.deepCopy(),
-                    node, stepGraph);
-        }
-
-        return stepGraph;
+    private static int[] toPlaceIndices(final Stream<Node> nodes,
+                                        final Map<URI, Integer> placeIndex) {
+        return nodes.map(Node::getID).mapToInt(placeIndex::get).toArray();
     }
 
     /**
-     * Execute a possible transition of the current PetriNet and add the result
-     * to the StepGraph.
-     *
-     * @param parent the current PetriNet
-     * @param copy a copy of the current PetriNet which will be modified
-     * @param transition the transition the PetriNet should execute
-     * @param stepGraph the stepgraph the resulting PetriNet will be added to
-     *                  (if it doesn't already contain an equal PetriNet)
+     * Check if a transition can be used in the given marking.
+     * @param marking the current marking
+     * @param inputs the places before the transition
+     * @return true if all places before the transition have markers
      */
-    private static void addStepToStepGraph(final PetriNet parent,
-                                           final PetriNet copy,
-                                           final Node transition,
-                                           final StepGraph stepGraph) {
-        Node transitionCopy = null;
-        for (final var node : copy.getNodes()) {
-            if (node.getID().equals(transition.getID())) {
-                transitionCopy = node;
+    private static boolean isPossible(final Marking marking, final int[] inputs) {
+        for (final var place : inputs) {
+            if (marking.get(place) <= 0) {
+                return false;
             }
         }
+        return true;
+    }
 
-        doTransition(copy, transitionCopy);
-
-        for (final var net : stepGraph.getSteps()) {
-            if (net.equals(copy)) {
-                stepGraph.getArcs().add(
-                        new NetArc(parent, net, transition.getID()));
-                return;
-            }
+    /**
+     * Use a transition in the given marking.
+     * @param marking the current marking
+     * @param inputs the places before the transition, losing a marker
+     * @param outputs the places after the transition, gaining a marker
+     * @return the marking after using the transition
+     */
+    private static Marking doTransition(final Marking marking, final int[] inputs,
+                                        final int[] outputs) {
+        final var markers = marking.toArray();
+        for (final var place : inputs) {
+            markers[place]--;
         }
-
-        stepGraph.getArcs().add(
-                new NetArc(parent, copy, transition.getID()));
-
-        stepGraph.getSteps().add(copy);
-
-        for (final var node : getPossibleTransitions(copy)) {
-            addStepToStepGraph(copy, copy.deepCopy(), node, stepGraph);
+        for (final var place : outputs) {
+            markers[place]++;
         }
+        return new Marking(markers);
     }
 
     /**
@@ -261,15 +265,14 @@ public final class PetriNetSimulator {
      */
     private static List<List<Node>> getPathsOfLength1(final StepGraph stepGraph) {
         final List<List<Node>> paths = new ArrayList<>();
+        final var usedTransitions = stepGraph.getUsedTransitions();
 
         for (final var node : stepGraph.getInitial().getNodes()) {
             if (node instanceof Place) {
                 final var followingTransitions = node.getSourceArcs()
                         .stream()
                         .map(Arc::getTarget)
-                        .filter(trans -> stepGraph.getArcs().stream()
-                                .map(NetArc::getUsedTransition)
-                                .anyMatch(used -> used.equals(trans.getID())))
+                        .filter(trans -> usedTransitions.contains(trans.getID()))
                         .collect(Collectors.toList());
 
                 for (final var succ : followingTransitions) {
@@ -386,12 +389,20 @@ public final class PetriNetSimulator {
      * @return List of parallel executions of transitions in the stepGraph of the given petriNet
      */
     public static List<List<Transition>> getParallelSets(final StepGraph stepGraph) {
+        final var places = stepGraph.getPlaces();
+        final var innerPlaces = new ArrayList<Integer>();
+        for (var i = 0; i < places.size(); i++) {
+            if (places.get(i) instanceof InnerPlace) {
+                innerPlaces.add(i);
+            }
+        }
+
         final List<List<Transition>> parallelSets = new ArrayList<>();
-        for (final var step : stepGraph.getSteps()) {
-            final var parallelTrans = step.getNodes().stream()
-                    .filter(node -> node instanceof InnerPlace)
-                    .filter(place -> ((InnerPlace) place).getMarkers() > 0)
-                    .map(place -> ((InnerPlace) place).getOriginalTrans())
+        for (var step = 0; step < stepGraph.getNumSteps(); step++) {
+            final var marking = stepGraph.getMarking(step);
+            final var parallelTrans = innerPlaces.stream()
+                    .filter(place -> marking.get(place) > 0)
+                    .map(place -> ((InnerPlace) places.get(place)).getOriginalTrans())
                     .distinct()
                     .collect(Collectors.toList());
             if (parallelTrans.size() >= 2) {
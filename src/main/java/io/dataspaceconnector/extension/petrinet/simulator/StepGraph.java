@@ -15,39 +15,241 @@
  */
 package io.dataspaceconnector.extension.petrinet.simulator;
 
+import io.dataspaceconnector.extension.petrinet.model.Node;
 import io.dataspaceconnector.extension.petrinet.model.PetriNet;
+import io.dataspaceconnector.extension.petrinet.model.Place;
+import io.dataspaceconnector.extension.petrinet.model.TransitionImpl;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.net.URI;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Graph containing every Step a Petri Net can make in its execution.
+ *
+ * Steps are stored as {@link Marking}s over the places of the initial PetriNet and arcs as
+ * indices into the steps, so the graph stays small even for large state spaces. PetriNet
+ * copies are only created when {@link #getSteps()} or {@link #getArcs()} are called.
  */
 @Getter
 public class StepGraph {
+    /**
+     * Number of ints stored per arc.
+     */
+    private static final int ARC_WIDTH = 3;
+
+    /**
+     * Initial capacity of the arc array.
+     */
+    private static final int INITIAL_ARC_CAPACITY = 16 * ARC_WIDTH;
+
     /**
      * The inital PetriNet.
      */
-    private PetriNet initial;
+    private final PetriNet initial;
+
+    /**
+     * The places of the initial PetriNet, ordered by id. Markings are indexed like this list.
+     */
+    private final List<Place> places;
+
+    /**
+     * The transitions of the initial PetriNet, ordered by id.
+     */
+    private final List<Node> transitions;
+
+    /**
+     * Each Step a PetriNet can make, the initial marking is the first one.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<Marking> markings = new ArrayList<>();
+
+    /**
+     * Index of each known marking into the list of markings.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Marking, Integer> index = new HashMap<>();
 
     /**
-     * Each Step a PetriNet can make is represented as a PetriNet.
+     * Arcs between steps, stored as (source step, target step, transition index) triples.
      */
-    private Set<PetriNet> steps;
+    @Getter(AccessLevel.NONE)
+    private int[] arcData = new int[INITIAL_ARC_CAPACITY];
 
     /**
-     * Arc which Steps are reachable from given Steps.
+     * The number of arcs in this graph.
      */
-    private Set<NetArc> arcs;
+    private int numArcs;
+
+    /**
+     * The steps materialized as PetriNets, created on first request.
+     */
+    @Getter(AccessLevel.NONE)
+    private List<PetriNet> materialized;
 
     /**
      * Creates a Step-Graph of the given Petrinet, containing every Step a PetriNet can make.
+     * Only the initial step is known after construction.
      * @param pInitial The initial Petrinet.
      */
     public StepGraph(final PetriNet pInitial) {
         this.initial = pInitial;
-        steps = new HashSet<>();
-        arcs = new HashSet<>();
+        this.places = pInitial.getNodes().stream()
+                .filter(node -> node instanceof Place)
+                .map(Place.class::cast)
+                .sorted(Comparator.comparing(node -> node.getID().toString()))
+                .collect(Collectors.toUnmodifiableList());
+        this.transitions = pInitial.getNodes().stream()
+                .filter(node -> node instanceof TransitionImpl)
+                .sorted(Comparator.comparing(node -> node.getID().toString()))
+                .collect(Collectors.toUnmodifiableList());
+
+        final var markers = new int[places.size()];
+        for (var i = 0; i < markers.length; i++) {
+            markers[i] = places.get(i).getMarkers();
+        }
+        addStep(new Marking(markers));
+    }
+
+    /**
+     * Getter for the number of steps in this graph.
+     * @return number of steps
+     */
+    public int getNumSteps() {
+        return markings.size();
+    }
+
+    /**
+     * Getter for the marking of a step.
+     * @param step The index of the step, 0 being the initial step.
+     * @return the marking of the step
+     */
+    public Marking getMarking(final int step) {
+        return markings.get(step);
+    }
+
+    /**
+     * Getter for the ids of all transitions used by at least one arc of this graph.
+     * @return set of transition ids
+     */
+    public Set<URI> getUsedTransitions() {
+        final var used = new HashSet<URI>();
+        for (var i = 0; i < numArcs; i++) {
+            used.add(transitions.get(arcData[ARC_WIDTH * i + 2]).getID());
+        }
+        return used;
+    }
+
+    /**
+     * Each Step a PetriNet can make represented as a PetriNet. The first step is the initial
+     * PetriNet itself, all others are copies of it with the markers of the step.
+     * @return read-only set of all steps
+     */
+    public Set<PetriNet> getSteps() {
+        final var nets = materialize();
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<PetriNet> iterator() {
+                return nets.iterator();
+            }
+
+            @Override
+            public int size() {
+                return nets.size();
+            }
+        };
+    }
+
+    /**
+     * Arcs connecting the steps returned by {@link #getSteps()}.
+     * @return read-only set of all arcs
+     */
+    public Set<NetArc> getArcs() {
+        final var nets = materialize();
+        final var arcs = new LinkedHashSet<NetArc>();
+        for (var i = 0; i < numArcs; i++) {
+            final var base = ARC_WIDTH * i;
+            arcs.add(new NetArc(nets.get(arcData[base]), nets.get(arcData[base + 1]),
+                    transitions.get(arcData[base + 2]).getID()));
+        }
+        return Collections.unmodifiableSet(arcs);
+    }
+
+    /**
+     * Find the step index of a marking.
+     * @param marking The marking.
+     * @return the index of the step or null, if the marking is not part of this graph
+     */
+    Integer indexOf(final Marking marking) {
+        return index.get(marking);
+    }
+
+    /**
+     * Add a new step to this graph.
+     * @param marking The marking of the step, must not be part of this graph yet.
+     * @return the index of the new step
+     */
+    int addStep(final Marking marking) {
+        final var step = markings.size();
+        markings.add(marking);
+        index.put(marking, step);
+        materialized = null;
+        return step;
+    }
+
+    /**
+     * Add an arc between two steps of this graph.
+     * @param source The index of the source step.
+     * @param target The index of the target step.
+     * @param transition The index of the used transition in {@link #getTransitions()}.
+     */
+    void addArc(final int source, final int target, final int transition) {
+        final var base = ARC_WIDTH * numArcs;
+        if (base + ARC_WIDTH > arcData.length) {
+            arcData = Arrays.copyOf(arcData, 2 * arcData.length);
+        }
+        arcData[base] = source;
+        arcData[base + 1] = target;
+        arcData[base + 2] = transition;
+        numArcs++;
+    }
+
+    private List<PetriNet> materialize() {
+        if (materialized == null) {
+            final var nets = new ArrayList<PetriNet>(markings.size());
+            nets.add(initial);
+            for (var step = 1; step < markings.size(); step++) {
+                nets.add(toPetriNet(markings.get(step)));
+            }
+            materialized = nets;
+        }
+        return materialized;
+    }
+
+    private PetriNet toPetriNet(final Marking marking) {
+        final var net = initial.deepCopy();
+        final var copies = new HashMap<URI, Place>();
+        for (final var node : net.getNodes()) {
+            if (node instanceof Place) {
+                copies.put(node.getID(), (Place) node);
+            }
+        }
+        for (var i = 0; i < places.size(); i++) {
+            copies.get(places.get(i).getID()).setMarkers(marking.get(i));
+        }
+        return net;
     }
 }
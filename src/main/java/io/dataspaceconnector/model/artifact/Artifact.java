@@ -74,8 +74,10 @@ public abstract class Artifact extends NamedEntity implements RemoteObject {
     private URI remoteAddress;
 
     /**
-     * The counter of how often the underlying data has been accessed.
+     * The counter of how often the underlying data has been accessed. The counter is only
+     * changed by adding accesses in the database, so entity updates never overwrite it.
      */
+    @Column(updatable = false)
     private long numAccessed;
 
     /**
@@ -27,6 +27,7 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
 
 /**
  * Creates and updates an artifact.
@@ -171,21 +172,42 @@ public final class ArtifactFactory extends AbstractNamedFactory<Artifact, Artifa
      */
     public boolean updateByteSize(final Artifact artifact, final byte[] bytes) {
         if (bytes != null) {
-            final var byteSize = bytes.length;
-            final var checkSum = calculateChecksum(bytes);
-            if (artifact.getCheckSum() != checkSum || artifact.getByteSize() != byteSize) {
-                setByteSizeAndCheckSum(artifact, byteSize, checkSum);
-                return true;
-            }
-        } else {
-            if (artifact.getByteSize() != 0 || artifact.getCheckSum() != 0) {
-                setByteSizeAndCheckSum(artifact, 0, 0);
-                return true;
-            }
+            return updateByteSize(artifact, bytes.length, calculateChecksum(bytes));
+        }
+
+        return updateByteSize(artifact, 0, 0);
+    }
+
+    /**
+     * Update the byte and checksum of an artifact with values that have been computed
+     * incrementally while the data was streamed (see {@link #createChecksum()}). This will not
+     * update the actual data.
+     *
+     * @param artifact The artifact which byte and checksum needs to be updated.
+     * @param byteSize The number of bytes of the data.
+     * @param checkSum The checksum of the data.
+     * @return true if the artifact has been modified.
+     */
+    public boolean updateByteSize(final Artifact artifact, final long byteSize,
+                                  final long checkSum) {
+        if (artifact.getCheckSum() != checkSum || artifact.getByteSize() != byteSize) {
+            setByteSizeAndCheckSum(artifact, byteSize, checkSum);
+            return true;
         }
+
         return false;
     }
 
+    /**
+     * Create the checksum used for artifact data. The checksum can be updated chunk by chunk,
+     * so the data never has to be held in memory as a whole.
+     *
+     * @return A new, empty checksum.
+     */
+    public Checksum createChecksum() {
+        return new CRC32C();
+    }
+
     private void setByteSizeAndCheckSum(
             final Artifact artifact,
             final long byteSize,
@@ -202,7 +224,7 @@ public final class ArtifactFactory extends AbstractNamedFactory<Artifact, Artifa
             return 0;
         }
 
-        final var checksum = new CRC32C();
+        final var checksum = createChecksum();
         checksum.update(bytes, 0, bytes.length);
         return checksum.getValue();
     }
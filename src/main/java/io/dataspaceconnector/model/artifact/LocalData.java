@@ -17,6 +17,7 @@ package io.dataspaceconnector.model.artifact;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
@@ -47,6 +48,13 @@ public class LocalData extends Data {
     @Lob
     private byte[] value;
 
+    /**
+     * The key of the data in the external blob store. If set, the data is not stored in the
+     * database and {@link #getValue()} returns null.
+     */
+    @Getter
+    private String storageKey;
+
     /**
      * Get the data.
      *
@@ -23,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -92,6 +93,31 @@ public interface ArtifactRepository extends RemoteEntityRepository<Artifact> {
             + "AND a.deleted = false")
     void setArtifactData(UUID artifactId, long checkSum, long size);
 
+    /**
+     * Add a number of data accesses to the access counter of an artifact.
+     *
+     * @param artifactId The artifact.
+     * @param delta      The number of accesses that should be added.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Artifact a "
+            + "SET a.numAccessed = a.numAccessed + :delta "
+            + "WHERE a.id = :artifactId")
+    void addToAccessCounter(UUID artifactId, long delta);
+
+    /**
+     * Get the stored access counter of an artifact.
+     *
+     * @param artifactId The artifact.
+     * @return The number of data accesses written to the database.
+     */
+    @Query("SELECT a.numAccessed "
+            + "FROM Artifact a "
+            + "WHERE a.id = :artifactId "
+            + "AND a.deleted = false")
+    Optional<Long> findNumAccessed(UUID artifactId);
+
     /**
      * Finds all artifacts with a specific bootstrap ID.
      *
@@ -17,8 +17,10 @@ package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.base.Entity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -28,4 +30,15 @@ import java.util.UUID;
  */
 @NoRepositoryBean
 public interface BaseEntityRepository<T extends Entity> extends JpaRepository<T, UUID> {
+
+    /**
+     * Count the entities with one of the given ids.
+     *
+     * @param entityIds The ids of the entities.
+     * @return The number of entities found.
+     */
+    @Query("SELECT COUNT(e) "
+            + "FROM #{#entityName} e "
+            + "WHERE e.id IN :entityIds")
+    long countByIdIn(Collection<UUID> entityIds);
 }
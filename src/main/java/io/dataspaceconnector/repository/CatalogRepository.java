@@ -16,11 +16,88 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.catalog.Catalog;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.UUID;
+
 /**
  * The repository containing all objects of type {@link Catalog}.
  */
 @Repository
 public interface CatalogRepository extends BaseEntityRepository<Catalog> {
+
+    /**
+     * Finds the ids of all catalogs, oldest first.
+     *
+     * @return The catalog ids.
+     */
+    @Query("SELECT c.id "
+            + "FROM Catalog c "
+            + "WHERE c.deleted = false "
+            + "ORDER BY c.creationDate, c.id")
+    List<UUID> findAllIds();
+
+    /**
+     * Finds the ids of all catalogs containing an offered resource.
+     *
+     * @param resourceId The id of the offered resource.
+     * @return The catalog ids.
+     */
+    @Query("SELECT DISTINCT c.id "
+            + "FROM Catalog c JOIN c.offeredResources o "
+            + "WHERE o.id = :resourceId "
+            + "AND c.deleted = false")
+    List<UUID> findIdsByOfferedResource(UUID resourceId);
+
+    /**
+     * Finds the ids of all catalogs offering a representation.
+     *
+     * @param representationId The id of the representation.
+     * @return The catalog ids.
+     */
+    @Query("SELECT DISTINCT c.id "
+            + "FROM Catalog c JOIN c.offeredResources o JOIN o.representations r "
+            + "WHERE r.id = :representationId "
+            + "AND c.deleted = false")
+    List<UUID> findIdsByRepresentation(UUID representationId);
+
+    /**
+     * Finds the ids of all catalogs offering an artifact.
+     *
+     * @param artifactId The id of the artifact.
+     * @return The catalog ids.
+     */
+    @Query("SELECT DISTINCT c.id "
+            + "FROM Catalog c JOIN c.offeredResources o JOIN o.representations r "
+            + "JOIN r.artifacts a "
+            + "WHERE a.id = :artifactId "
+            + "AND c.deleted = false")
+    List<UUID> findIdsByArtifact(UUID artifactId);
+
+    /**
+     * Finds the ids of all catalogs offering resources under a contract.
+     *
+     * @param contractId The id of the contract.
+     * @return The catalog ids.
+     */
+    @Query("SELECT DISTINCT c.id "
+            + "FROM Catalog c JOIN c.offeredResources o JOIN o.contracts ct "
+            + "WHERE ct.id = :contractId "
+            + "AND c.deleted = false")
+    List<UUID> findIdsByContract(UUID contractId);
+
+    /**
+     * Finds the ids of all catalogs offering resources under a contract containing a rule.
+     *
+     * @param ruleId The id of the rule.
+     * @return The catalog ids.
+     */
+    @Query("SELECT DISTINCT c.id "
+            + "FROM Catalog c JOIN c.offeredResources o JOIN o.contracts ct "
+            + "JOIN ct.rules ru "
+            + "WHERE ru.id = :ruleId "
+            + "AND c.deleted = false")
+    List<UUID> findIdsByRule(UUID ruleId);
 }
@@ -22,6 +22,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * The repository containing all objects of type {@link Data}.
  */
@@ -36,7 +38,55 @@ public interface DataRepository extends JpaRepository<Data, Long> {
     @Transactional
     @Modifying
     @Query("UPDATE LocalData a "
-            + "SET a.value = :data "
+            + "SET a.value = :data, a.storageKey = null "
             + "WHERE a.id = :entityId")
     void setLocalData(Long entityId, byte[] data);
+
+    /**
+     * Point local data of an entity to data in the external blob store. The data stored in the
+     * database is removed.
+     *
+     * @param entityId   The entity id.
+     * @param storageKey The key of the data in the blob store.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LocalData a "
+            + "SET a.value = null, a.storageKey = :storageKey "
+            + "WHERE a.id = :entityId")
+    void setLocalDataReference(Long entityId, String storageKey);
+
+    /**
+     * Count the local data entries that point to the same data in the external blob store.
+     *
+     * @param storageKey The key of the data in the blob store.
+     * @return The number of referencing entries.
+     */
+    @Query("SELECT COUNT(a) "
+            + "FROM LocalData a "
+            + "WHERE a.storageKey = :storageKey")
+    long countByStorageKey(String storageKey);
+
+    /**
+     * Find the keys of data in the external blob store that deleted entries point to. Deleted
+     * entries are not visible to queries on the entities, so the table is queried directly.
+     *
+     * @return The storage keys.
+     */
+    @Query(value = "SELECT DISTINCT d.storage_key "
+            + "FROM data d "
+            + "WHERE d.deleted = true AND d.storage_key IS NOT NULL", nativeQuery = true)
+    List<String> findStorageKeysOfDeletedData();
+
+    /**
+     * Remove the reference to data in the external blob store from all deleted entries.
+     *
+     * @param storageKey The key of the data in the blob store.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE data "
+            + "SET storage_key = null "
+            + "WHERE deleted = true AND storage_key = :storageKey", nativeQuery = true)
+    void clearStorageKeyOfDeletedData(String storageKey);
 }
@@ -16,11 +16,27 @@
 package io.dataspaceconnector.repository;
 
 import io.dataspaceconnector.model.resource.OfferedResource;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.UUID;
+
 /**
  * The repository containing all objects of type {@link OfferedResource}.
  */
 @Repository
 public interface OfferedResourcesRepository extends BaseEntityRepository<OfferedResource> {
+
+    /**
+     * Find an offered resource by its id and load its representations with the same query.
+     *
+     * @param resourceId The id of the offered resource.
+     * @return The offered resource.
+     */
+    @Query("SELECT DISTINCT r "
+            + "FROM OfferedResource r LEFT JOIN FETCH r.representations "
+            + "WHERE r.id = :resourceId "
+            + "AND r.deleted = false")
+    Optional<OfferedResource> findByIdWithRepresentations(UUID resourceId);
 }
@@ -22,21 +22,36 @@ import io.dataspaceconnector.common.exception.UnexpectedResponseException;
 import io.dataspaceconnector.service.message.builder.type.ArtifactRequestService;
 import io.dataspaceconnector.service.resource.type.AgreementService;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.persistence.PersistenceException;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Downloads artifacts data.
  */
 @Log4j2
-@RequiredArgsConstructor
 @Component
 public class ArtifactDataDownloader {
 
@@ -56,22 +71,149 @@ public class ArtifactDataDownloader {
     private final @NonNull EntityPersistenceService persistenceSvc;
 
     /**
-     * Download artifact data.
+     * The maximum number of artifact requests sent to the same connector at once.
+     */
+    private final int parallelism;
+
+    /**
+     * The threads downloading artifacts in parallel to the calling threads. Idle threads are
+     * released after a minute.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The permits for sending requests by recipient connector.
+     */
+    private final Map<URI, Semaphore> permits = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param artifactRequestService  The service for artifact request messages.
+     * @param agreementSvc            The service for agreements.
+     * @param entityPersistenceSvc    The service for persisting entities.
+     * @param requestsPerConnector    The maximum number of requests to the same connector.
+     * @param poolSize                The maximum number of threads shared by all downloads.
+     */
+    public ArtifactDataDownloader(
+            final @NonNull ArtifactRequestService artifactRequestService,
+            final @NonNull AgreementService agreementSvc,
+            final @NonNull EntityPersistenceService entityPersistenceSvc,
+            @Value("${artifact.download.parallelism:4}") final int requestsPerConnector,
+            @Value("${artifact.download.pool-size:16}") final int poolSize) {
+        this.artifactReqSvc = artifactRequestService;
+        this.agreementService = agreementSvc;
+        this.persistenceSvc = entityPersistenceSvc;
+        this.parallelism = requestsPerConnector;
+
+        final var factory = new CustomizableThreadFactory("artifact-download-");
+        factory.setDaemon(true);
+        // Without a queue, downloads are only handed to idle threads.
+        this.executor = new ThreadPoolExecutor(0, Math.max(1, poolSize), 1, TimeUnit.MINUTES,
+                new SynchronousQueue<>(), factory);
+    }
+
+    /**
+     * Download artifact data. Up to {@code artifact.download.parallelism} artifacts are
+     * requested from the same connector at once. Helper threads are taken from a pool of
+     * {@code artifact.download.pool-size} threads shared by all downloads. If none is idle, the
+     * calling thread downloads on its own. A failed download does not stop the others.
      *
      * @param recipient   The provider connector.
      * @param artifacts   The artifact whose data should be downloaded.
      * @param agreementId The agreement allowing the transfer.
+     * @return The summary of the downloads.
      * @throws UnexpectedResponseException if the response type is not as expected.
      * @throws MessageResponseException    if the response is invalid.
      * @throws MessageException            if message handling failed.
      */
-    public void download(final URI recipient, final List<URI> artifacts, final UUID agreementId)
+    public ArtifactDownloadResult download(final URI recipient, final List<URI> artifacts,
+                                           final UUID agreementId)
             throws UnexpectedResponseException, MessageResponseException, MessageException {
-        // Iterate over list of resource ids to send artifact request messages for each.
-        for (final var artifact : artifacts) {
+        final var transferContract = agreementService.get(agreementId).getRemoteId();
+
+        final var size = artifacts.size();
+        final var entries = new ArtifactDownloadResult.Entry[size];
+        final var errors = new Exception[size];
+        final var next = new AtomicInteger();
+
+        final Runnable worker = () -> {
+            for (var i = next.getAndIncrement(); i < size; i = next.getAndIncrement()) {
+                entries[i] = download(recipient, artifacts.get(i), transferContract, errors, i);
+            }
+        };
+
+        // The calling thread takes part in the download.
+        final var futures = new ArrayList<Future<?>>();
+        try {
+            for (var i = 1; i < Math.min(parallelism, size); i++) {
+                futures.add(executor.submit(worker));
+            }
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("No idle download thread. [recipient=({}), helpers=({})]",
+                        recipient, futures.size());
+            }
+        }
+        worker.run();
+        awaitAll(futures);
+
+        final var result = new ArtifactDownloadResult(Arrays.asList(entries));
+        if (!result.isSuccessful() && log.isWarnEnabled()) {
+            // The summary is logged here, because it is lost if a failed request is reported.
+            log.warn("Could not download the data of all artifacts. [recipient=({}), "
+                    + "succeeded=({}), failed=({})]", recipient, result.getSucceeded(),
+                    result.getFailedEntries());
+        }
+
+        // Report the first failed request, like a sequential download would have done.
+        for (final var error : errors) {
+            if (error instanceof UnexpectedResponseException) {
+                throw (UnexpectedResponseException) error;
+            } else if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stop downloading artifacts.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ArtifactDownloadResult.Entry download(final URI recipient, final URI artifact,
+                                                  final URI transferContract,
+                                                  final Exception[] errors, final int index) {
+        final var permit = permits.computeIfAbsent(recipient,
+                x -> new Semaphore(Math.max(1, parallelism)));
+        final var start = System.nanoTime();
+        try {
+            permit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArtifactDownloadResult.Entry(artifact, false,
+                    Duration.ofNanos(System.nanoTime() - start), "Interrupted.");
+        }
+
+        try {
             // Send and validate artifact request/response message.
-            final var response = artifactReqSvc.sendMessage(recipient, artifact,
-                    agreementService.get(agreementId).getRemoteId());
+            final Map<String, String> response;
+            try {
+                response = artifactReqSvc.sendMessage(recipient, artifact, transferContract);
+            } catch (UnexpectedResponseException | RuntimeException e) {
+                errors[index] = e;
+                if (log.isWarnEnabled()) {
+                    log.warn("Could not request data for artifact. [artifact=({}), "
+                            + "exception=({})]", artifact, e.getMessage());
+                }
+                return new ArtifactDownloadResult.Entry(artifact, false,
+                        Duration.ofNanos(System.nanoTime() - start), e.getMessage());
+            }
 
             // Read and process the response message.
             try {
@@ -83,7 +225,35 @@ public class ArtifactDataDownloader {
                     log.warn("Could not save data for artifact. [artifact=({}), "
                             + "exception=({})]", artifact, e.getMessage());
                 }
+                return new ArtifactDownloadResult.Entry(artifact, false,
+                        Duration.ofNanos(System.nanoTime() - start), e.getMessage());
             }
+
+            return new ArtifactDownloadResult.Entry(artifact, true,
+                    Duration.ofNanos(System.nanoTime() - start), null);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private static void awaitAll(final List<Future<?>> futures) {
+        var interrupted = false;
+        for (final var future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // Failures are recorded per artifact.
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Summary of downloading the data of several artifacts.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ArtifactDownloadResult {
+
+    /**
+     * The downloads in the order of the requested artifacts.
+     */
+    private final @NonNull List<Entry> entries;
+
+    /**
+     * Get the artifacts whose data has been downloaded and stored.
+     *
+     * @return The artifacts.
+     */
+    public List<URI> getSucceeded() {
+        return entries.stream().filter(Entry::isSuccess).map(Entry::getArtifact)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the artifacts whose data could not be downloaded or stored.
+     *
+     * @return The artifacts.
+     */
+    public List<URI> getFailed() {
+        return entries.stream().filter(x -> !x.isSuccess()).map(Entry::getArtifact)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the downloads that failed.
+     *
+     * @return The failed downloads.
+     */
+    public List<Entry> getFailedEntries() {
+        return entries.stream().filter(x -> !x.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * Check if the data of all artifacts has been downloaded and stored.
+     *
+     * @return True if no download failed.
+     */
+    public boolean isSuccessful() {
+        return entries.stream().allMatch(Entry::isSuccess);
+    }
+
+    /**
+     * The download of a single artifact.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Entry {
+        /**
+         * The artifact.
+         */
+        private final URI artifact;
+
+        /**
+         * Whether the data has been downloaded and stored.
+         */
+        private final boolean success;
+
+        /**
+         * The time spent on requesting and storing the data.
+         */
+        private final Duration duration;
+
+        /**
+         * The reason of the failure, null if the download succeeded.
+         */
+        private final String error;
+    }
+}
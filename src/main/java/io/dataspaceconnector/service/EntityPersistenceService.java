@@ -54,7 +54,6 @@ import io.dataspaceconnector.service.usagecontrol.ContractManager;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.jose4j.base64url.Base64;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -348,7 +347,8 @@ public class EntityPersistenceService {
         }
 
         final var artifact = artifactSvc.get(artifactId.get());
-        artifactSvc.setData(artifact.getId(), new ByteArrayInputStream(Base64.decode(base64Data)));
+        // Decode while the data is stored instead of materializing the decoded payload.
+        artifactSvc.setData(artifact.getId(), MessageUtils.decodePayload(base64Data));
         if (log.isDebugEnabled()) {
             log.debug("Updated data from artifact. [target=({})]", artifactId);
         }
@@ -33,7 +33,6 @@ import io.dataspaceconnector.model.resource.OfferedResourceDesc;
 import io.dataspaceconnector.model.resource.RequestedResource;
 import io.dataspaceconnector.model.resource.RequestedResourceDesc;
 import io.dataspaceconnector.model.rule.ContractRule;
-import io.dataspaceconnector.common.ids.DeserializationService;
 import io.dataspaceconnector.service.resource.ids.builder.IdsArtifactBuilder;
 import io.dataspaceconnector.service.resource.ids.builder.IdsCatalogBuilder;
 import io.dataspaceconnector.service.resource.ids.builder.IdsContractBuilder;
@@ -46,6 +45,7 @@ import io.dataspaceconnector.service.resource.type.ContractService;
 import io.dataspaceconnector.service.resource.type.RepresentationService;
 import io.dataspaceconnector.service.resource.type.ResourceService;
 import io.dataspaceconnector.service.resource.type.RuleService;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import io.dataspaceconnector.common.usagecontrol.AllowAccessVerifier;
 import io.dataspaceconnector.config.BasePath;
 import io.dataspaceconnector.common.net.EndpointUtils;
@@ -146,9 +146,9 @@ public class EntityResolver {
     private final @NonNull BlockingArtifactReceiver artifactReceiver;
 
     /**
-     * Service for deserialization.
+     * Cache for deserialized agreements.
      */
-    private final @NonNull DeserializationService deserializationService;
+    private final @NonNull PolicyCache policyCache;
 
     /**
      * Return any connector entity by its id.
@@ -272,9 +272,7 @@ public class EntityResolver {
         final var agreements = artifact.getAgreements();
         final var agreementList = new ArrayList<ContractAgreement>();
         for (final var agreement : agreements) {
-            final var value = agreement.getValue();
-            final var idsAgreement = deserializationService.getContractAgreement(value);
-            agreementList.add(idsAgreement);
+            agreementList.add(policyCache.getContractAgreement(agreement));
         }
         return agreementList;
     }
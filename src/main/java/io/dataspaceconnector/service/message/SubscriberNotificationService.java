@@ -31,11 +31,15 @@ import io.dataspaceconnector.model.resource.RequestedResource;
 import io.dataspaceconnector.model.subscription.Subscription;
 import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.service.message.handler.dto.Response;
+import io.dataspaceconnector.service.message.notification.Delivery;
+import io.dataspaceconnector.service.message.notification.NotificationDispatcher;
+import io.dataspaceconnector.service.message.notification.NotificationPayload;
 import io.dataspaceconnector.service.message.util.Event;
 import io.dataspaceconnector.service.resource.ids.builder.IdsResourceBuilder;
 import io.dataspaceconnector.service.resource.type.ArtifactService;
 import io.dataspaceconnector.service.resource.type.SubscriptionService;
 import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -45,7 +49,6 @@ import org.apache.camel.builder.ExchangeBuilder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -54,7 +57,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * This class provides methods for handling subscriptions to a requested resource.
+ * This class provides methods for handling subscriptions to a requested resource. The
+ * notifications are collected in the calling thread and sent by the
+ * {@link NotificationDispatcher}.
  */
 @Log4j2
 @RequiredArgsConstructor
@@ -116,6 +121,11 @@ public class SubscriberNotificationService {
      */
     private final @NonNull SelfLinkHelper selfLinkHelper;
 
+    /**
+     * Sends the notifications in the background.
+     */
+    private final @NonNull NotificationDispatcher dispatcher;
+
     /**
      * Notify subscribers on database update event.
      *
@@ -152,7 +162,7 @@ public class SubscriberNotificationService {
     public void notifyAll(final List<Subscription> subscriptions, final URI target,
                           final Entity entity) {
         notifySubscribers(subscriptions, target, entity);
-        notifyIdsSubscribers(subscriptions, entity);
+        notifyIdsSubscribers(subscriptions, target, entity);
     }
 
     private void notifySubscribers(final List<Subscription> subscriptions, final URI target,
@@ -170,82 +180,40 @@ public class SubscriberNotificationService {
                 .collect(Collectors.toList());
 
         // Update non-ids subscribers.
-        // final var notification = new Notification(new Date(), target, Event.UPDATED);
         final var notification = new HashMap<String, String>();
         notification.put("ids-target", target.toString());
         notification.put("ids-event", Event.UPDATED.toString());
         if (!recipients.isEmpty()) {
-            sendNotification(recipients, notification, InputStream.nullInputStream());
+            sendNotification(recipients, "http:" + target, NotificationPayload.of(notification));
         }
 
-        // Only send data if entity is of type artifact.
+        // Only send data if entity is of type artifact. The data is read once and shared by
+        // all recipients.
         if (!recipientsWithData.isEmpty()) {
-            if (entity instanceof Artifact) {
-                sendNotification(recipientsWithData, notification, retrieveDataByArtifact(entity));
-            } else {
-                sendNotification(recipientsWithData, notification, InputStream.nullInputStream());
-            }
+            sendNotification(recipientsWithData, "data:" + target,
+                    retrievePayload(entity, notification));
         }
     }
 
-    @SuppressFBWarnings(
-            value = "REC_CATCH_EXCEPTION",
-            justification = "caught exceptions are unchecked"
-    )
-    private void notifyIdsSubscribers(final List<Subscription> subscriptions, final Entity entity) {
+    private void notifyIdsSubscribers(final List<Subscription> subscriptions, final URI target,
+                                      final Entity entity) {
         final var idsRecipients = subscriptions.stream()
                 .filter(Subscription::isIdsProtocol)
                 .map(Subscription::getLocation)
                 .collect(Collectors.toList());
 
+        if (idsRecipients.isEmpty()) {
+            return;
+        }
+
         final var resources = getIdsResourcesFromEntity(entity);
+        if (resources.isEmpty()) {
+            return;
+        }
 
-        // Iterate over all recipients and send ids resource update messages.
+        // Queue one update for every recipient, containing all found resources.
         for (final var recipient : idsRecipients) {
-            // Send update message for every found resource.
-            for (final var resource : resources) {
-                try {
-                    if (connectorConfig.isIdscpEnabled()) {
-                        final var result = template.send("direct:resourceUpdateSender",
-                                ExchangeBuilder.anExchange(context)
-                                        .withProperty(ParameterUtils.RECIPIENT_PARAM, recipient)
-                                        .withProperty(ParameterUtils.RESOURCE_ID_PARAM,
-                                                resource.getId())
-                                        .build());
-                        final var response = result.getIn().getBody(Response.class);
-                        if (response != null) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("Successfully sent update message. [url=({})]",
-                                        recipient);
-                            }
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("{} [url=({})]", ErrorMessage.UPDATE_MESSAGE_FAILED,
-                                        recipient);
-                            }
-                        }
-                    } else {
-                        final var response = messageSvc
-                                .sendResourceUpdateMessage(recipient, resource);
-                        if (response.isPresent()) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("Successfully sent update message. [url=({})]",
-                                        recipient);
-                            }
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("{} [url=({})]", ErrorMessage.UPDATE_MESSAGE_FAILED,
-                                        recipient);
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("{} [url=({}), exception=({})]",
-                                ErrorMessage.UPDATE_MESSAGE_FAILED, recipient, e.getMessage());
-                    }
-                }
-            }
+            dispatcher.submit(new IdsDelivery(recipient, "ids:" + target, resources));
         }
     }
 
@@ -284,35 +252,146 @@ public class SubscriberNotificationService {
     /**
      * Retrieve data if the entity is of type {@link Artifact}.
      *
-     * @param entity The database entity.
-     * @return Data as input stream.
+     * @param entity       The database entity.
+     * @param notification The notification headers.
+     * @return The notification with the data, without data if none could be retrieved.
      */
-    private InputStream retrieveDataByArtifact(final Entity entity) {
+    private NotificationPayload retrievePayload(final Entity entity,
+                                                final Map<String, String> notification) {
         if (entity instanceof Artifact) {
             final var id = entity.getId();
             try {
-                return artifactSvc.getData(accessVerifier, dataReceiver, id, new QueryInput());
+                return NotificationPayload.of(notification, artifactSvc.getData(accessVerifier,
+                        dataReceiver, id, new QueryInput()));
             } catch (IOException exception) {
                 if (log.isDebugEnabled()) {
                     log.debug("Failed to retrieve data. [exception=({})]", exception.getMessage());
                 }
             }
         }
-        return InputStream.nullInputStream();
+        return NotificationPayload.of(notification);
     }
 
-    private void sendNotification(final List<URI> recipients,
-                                  final Map<String, String> notification, final InputStream data) {
-        for (final var recipient : recipients) {
+    private void sendNotification(final List<URI> recipients, final String key,
+                                  final NotificationPayload payload) {
+        try {
+            for (final var recipient : recipients) {
+                dispatcher.submit(new HttpDelivery(recipient, key, payload.retain()));
+            }
+        } finally {
+            payload.release();
+        }
+    }
+
+    /**
+     * Notification of a non-ids subscriber.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private final class HttpDelivery implements Delivery {
+        /**
+         * The subscriber.
+         */
+        private final @NonNull URI recipient;
+
+        /**
+         * The key for replacing outdated notifications.
+         */
+        private final @NonNull String key;
+
+        /**
+         * The notification.
+         */
+        private final @NonNull NotificationPayload payload;
+
+        @Override
+        public boolean send() {
             final var args = new HttpService.HttpArgs();
-            args.setHeaders(notification);
-            try {
-                httpService.post(recipient.toURL(), args, data);
+            args.setHeaders(payload.getHeaders());
+            try (var data = payload.openData()) {
+                final var response = httpService.post(recipient.toURL(), args, data);
+                return response.getCode() < 500;
             } catch (IOException exception) {
-                if (log.isWarnEnabled()) {
-                    log.warn("Could not notify subscriber. [url=({})]", recipient);
+                if (log.isDebugEnabled()) {
+                    log.debug("Could not notify subscriber. [url=({}), exception=({})]",
+                            recipient, exception.getMessage());
                 }
+                return false;
+            }
+        }
+
+        @Override
+        public void discard() {
+            payload.release();
+        }
+    }
+
+    /**
+     * Resource update messages for an ids subscriber.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private final class IdsDelivery implements Delivery {
+        /**
+         * The subscriber.
+         */
+        private final @NonNull URI recipient;
+
+        /**
+         * The key for replacing outdated notifications.
+         */
+        private final @NonNull String key;
+
+        /**
+         * The updated resources.
+         */
+        private final @NonNull List<Resource> resources;
+
+        @Override
+        public boolean send() {
+            var success = true;
+            for (final var resource : resources) {
+                success &= sendUpdate(recipient, resource);
+            }
+            return success;
+        }
+    }
+
+    @SuppressFBWarnings(
+            value = "REC_CATCH_EXCEPTION",
+            justification = "caught exceptions are unchecked"
+    )
+    private boolean sendUpdate(final URI recipient, final Resource resource) {
+        try {
+            final boolean success;
+            if (connectorConfig.isIdscpEnabled()) {
+                final var result = template.send("direct:resourceUpdateSender",
+                        ExchangeBuilder.anExchange(context)
+                                .withProperty(ParameterUtils.RECIPIENT_PARAM, recipient)
+                                .withProperty(ParameterUtils.RESOURCE_ID_PARAM, resource.getId())
+                                .withBody(resource)
+                                .build());
+                success = result.getIn().getBody(Response.class) != null;
+            } else {
+                success = messageSvc.sendResourceUpdateMessage(recipient, resource).isPresent();
+            }
+
+            if (success) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Successfully sent update message. [url=({})]", recipient);
+                }
+            } else {
+                if (log.isDebugEnabled()) {
+                    log.debug("{} [url=({})]", ErrorMessage.UPDATE_MESSAGE_FAILED, recipient);
+                }
+            }
+            return success;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("{} [url=({}), exception=({})]",
+                        ErrorMessage.UPDATE_MESSAGE_FAILED, recipient, e.getMessage());
             }
+            return false;
         }
     }
 }
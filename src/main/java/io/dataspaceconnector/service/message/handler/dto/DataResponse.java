@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.handler.dto;
+
+import de.fraunhofer.iais.eis.Message;
+import io.dataspaceconnector.common.ids.message.MessageUtils;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response whose payload is streamed from the data instead of being held as a string. The
+ * string body of this response is empty, the payload is read via {@link #getEncodedData()}.
+ * Closing the response closes the data, if it is not sent.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class DataResponse extends Response implements Closeable {
+
+    /**
+     * The data.
+     */
+    @ToString.Exclude
+    private final @NonNull InputStream data;
+
+    /**
+     * Constructs a response with the data as payload. The response takes ownership of the data.
+     *
+     * @param header The header.
+     * @param data   The data.
+     */
+    public DataResponse(final @NonNull Message header, final @NonNull InputStream data) {
+        super(header, "");
+        this.data = data;
+    }
+
+    /**
+     * Get the payload, Base64 encoded while it is read. Can only be read once.
+     *
+     * @return The encoded data.
+     */
+    public InputStream getEncodedData() {
+        return MessageUtils.encodePayload(data);
+    }
+
+    /**
+     * Close the data.
+     *
+     * @throws IOException if the data could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+}
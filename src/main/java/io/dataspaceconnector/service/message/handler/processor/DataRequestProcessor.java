@@ -24,14 +24,19 @@ import io.dataspaceconnector.common.net.QueryInput;
 import io.dataspaceconnector.model.message.ArtifactResponseMessageDesc;
 import io.dataspaceconnector.service.EntityResolver;
 import io.dataspaceconnector.service.message.builder.type.ArtifactResponseService;
+import io.dataspaceconnector.service.message.handler.dto.DataResponse;
 import io.dataspaceconnector.service.message.handler.dto.Response;
 import io.dataspaceconnector.service.message.handler.dto.RouteMsg;
 import io.dataspaceconnector.service.message.handler.processor.base.IdsProcessor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Base64Utils;
+
+import java.io.IOException;
 
 /**
  * Fetches the data of an artifact as the response to an ArtifactRequestMessage.
@@ -52,6 +57,33 @@ class DataRequestProcessor extends IdsProcessor<
      */
     private final @NonNull EntityResolver entityResolver;
 
+    /**
+     * Sets the response as the {@link Exchange}'s body. If a later step of the route replaces
+     * the response, e.g. with an error response, its data is closed once the exchange is done.
+     *
+     * @param exchange the input.
+     * @throws Exception if an error occurs.
+     */
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+        super.process(exchange);
+
+        final var body = exchange.getIn().getBody();
+        if (!(body instanceof DataResponse)) {
+            return;
+        }
+
+        final var response = (DataResponse) body;
+        exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(final Exchange done) {
+                if (done.getIn().getBody() != response) {
+                    close(response);
+                }
+            }
+        });
+    }
+
     /**
      * Fetches the data of the requested artifact as the response payload and creates an
      * ArtifactResponseMessage as the response header.
@@ -71,12 +103,13 @@ class DataRequestProcessor extends IdsProcessor<
         final var transferContract = MessageUtils.extractTransferContract(msg.getHeader());
 
         final var queryInput = getQueryInputFromPayload(msg.getBody());
-        final var data = entityResolver.getDataByArtifactId(artifact, queryInput);
-
         final var desc = new ArtifactResponseMessageDesc(issuer, messageId, transferContract);
         final var responseHeader = messageService.buildMessage(desc);
 
-        return new Response(responseHeader, Base64Utils.encodeToString(data.readAllBytes()));
+        // Open the data last, the response owns it from here on. The data is encoded while the
+        // response is sent.
+        final var data = entityResolver.getDataByArtifactId(artifact, queryInput);
+        return new DataResponse(responseHeader, data);
     }
 
     /**
@@ -105,4 +138,15 @@ class DataRequestProcessor extends IdsProcessor<
         }
     }
 
+    private static void close(final DataResponse response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to close unsent artifact data. [exception=({})]",
+                        e.getMessage());
+            }
+        }
+    }
+
 }
@@ -17,9 +17,8 @@ package io.dataspaceconnector.service.message.handler.processor;
 
 import de.fraunhofer.iais.eis.DescriptionRequestMessageImpl;
 import de.fraunhofer.ids.messaging.handler.message.MessagePayload;
-import io.dataspaceconnector.common.ids.ConnectorService;
+import io.dataspaceconnector.common.ids.SelfDescriptionCache;
 import io.dataspaceconnector.common.ids.message.MessageUtils;
-import io.dataspaceconnector.common.ids.mapping.RdfConverter;
 import io.dataspaceconnector.model.message.DescriptionResponseMessageDesc;
 import io.dataspaceconnector.service.message.builder.type.DescriptionResponseService;
 import io.dataspaceconnector.service.message.handler.dto.Response;
@@ -39,9 +38,9 @@ class SelfDescriptionProcessor extends IdsProcessor<
         RouteMsg<DescriptionRequestMessageImpl, MessagePayload>> {
 
     /**
-     * Service for the current connector configuration.
+     * The connector's current self-description.
      */
-    private final @NonNull ConnectorService connectorService;
+    private final @NonNull SelfDescriptionCache selfDescriptionCache;
 
     /**
      * Service for handling response messages.
@@ -62,13 +61,13 @@ class SelfDescriptionProcessor extends IdsProcessor<
             MessagePayload> msg) throws Exception {
         final var issuer = MessageUtils.extractIssuerConnector(msg.getHeader());
         final var messageId = MessageUtils.extractMessageId(msg.getHeader());
-        final var connector = connectorService.getConnectorWithOfferedResources();
+        final var selfDescription = selfDescriptionCache.get();
 
         // Build ids response message.
         final var desc = new DescriptionResponseMessageDesc(issuer, messageId);
         final var header = messageService.buildMessage(desc);
 
         // Send ids response message.
-        return new Response(header, RdfConverter.toRdf(connector));
+        return new Response(header, selfDescription.getRdf());
     }
 }
@@ -23,6 +23,7 @@ import de.fraunhofer.ids.messaging.response.BodyResponse;
 import de.fraunhofer.ids.messaging.response.ErrorResponse;
 import de.fraunhofer.ids.messaging.response.MessageResponse;
 import io.dataspaceconnector.common.ids.ConnectorService;
+import io.dataspaceconnector.service.message.handler.dto.DataResponse;
 import io.dataspaceconnector.service.message.handler.dto.Request;
 import io.dataspaceconnector.service.message.handler.dto.Response;
 import io.jsonwebtoken.Claims;
@@ -33,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.ExchangeBuilder;
+import org.springframework.core.io.InputStreamResource;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -82,7 +84,11 @@ public abstract class AbstractMessageHandler<T extends Message>
                         .build());
 
         final var response = result.getIn().getBody(Response.class);
-        if (response != null) {
+        if (response instanceof DataResponse) {
+            // Stream the payload, the response is sent with chunked transfer encoding.
+            return BodyResponse.create(response.getHeader(),
+                    new InputStreamResource(((DataResponse) response).getEncodedData()));
+        } else if (response != null) {
             return BodyResponse.create(response.getHeader(), response.getBody());
         } else {
             final var errorResponse = result.getIn().getBody(ErrorResponse.class);
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.notification;
+
+import java.net.URI;
+
+/**
+ * A notification for one subscriber about one updated target.
+ */
+public interface Delivery {
+
+    /**
+     * Get the subscriber. Deliveries to the same subscriber are sent one after another.
+     *
+     * @return The location of the subscriber.
+     */
+    URI getRecipient();
+
+    /**
+     * Get the key that identifies notifications replaced by newer ones. A pending delivery is
+     * dropped when a delivery with the same recipient and key is submitted.
+     *
+     * @return The key.
+     */
+    String getKey();
+
+    /**
+     * Send the notification.
+     *
+     * @return True if the notification has been delivered, false if it should be retried.
+     */
+    boolean send();
+
+    /**
+     * Release all resources held by this delivery. Called once when the delivery has been sent,
+     * replaced or given up.
+     */
+    default void discard() {
+    }
+}
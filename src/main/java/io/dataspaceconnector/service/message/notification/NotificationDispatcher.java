@@ -0,0 +1,423 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends notifications to subscribers on a bounded thread pool. Every subscriber has its own
+ * queue that is processed by at most one thread at a time. A pending notification is replaced
+ * when a newer one for the same target arrives. Failed notifications are retried with
+ * exponential backoff, unless a newer notification for the same target has been submitted in the
+ * meantime.
+ */
+@Log4j2
+@Component
+public class NotificationDispatcher {
+
+    /**
+     * The threads sending notifications.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The thread scheduling retries.
+     */
+    private final ScheduledExecutorService retryScheduler;
+
+    /**
+     * The queues by subscriber.
+     */
+    private final Map<URI, SubscriberQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of notifications waiting to be sent or retried.
+     */
+    private final int maxPending;
+
+    /**
+     * The maximum number of attempts per notification.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay in milliseconds before the first retry.
+     */
+    private final long initialDelay;
+
+    /**
+     * The maximum delay in milliseconds between two attempts.
+     */
+    private final long maxDelay;
+
+    /**
+     * The number of notifications waiting to be sent or retried.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The sequence number of the last submitted notification.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * The number of delivered notifications.
+     */
+    @Getter
+    private final LongAdder delivered = new LongAdder();
+
+    /**
+     * The number of notifications given up after the last attempt.
+     */
+    @Getter
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * The number of notifications replaced by newer ones.
+     */
+    @Getter
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * The number of notifications rejected because too many were pending.
+     */
+    @Getter
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * The number of retries.
+     */
+    @Getter
+    private final LongAdder retried = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param poolSize      The number of threads sending notifications.
+     * @param pendingLimit  The maximum number of waiting notifications.
+     * @param attempts      The maximum number of attempts per notification.
+     * @param retryDelay    The delay in milliseconds before the first retry.
+     * @param maxRetryDelay The maximum delay in milliseconds between two attempts.
+     */
+    public NotificationDispatcher(
+            @Value("${notification.pool-size:4}") final int poolSize,
+            @Value("${notification.max-pending:10000}") final int pendingLimit,
+            @Value("${notification.retry.max-attempts:5}") final int attempts,
+            @Value("${notification.retry.initial-delay:1000}") final long retryDelay,
+            @Value("${notification.retry.max-delay:60000}") final long maxRetryDelay) {
+        this.executor = Executors.newFixedThreadPool(poolSize,
+                createThreadFactory("notification-"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                createThreadFactory("notification-retry-"));
+        this.maxPending = pendingLimit;
+        this.maxAttempts = attempts;
+        this.initialDelay = retryDelay;
+        this.maxDelay = maxRetryDelay;
+    }
+
+    /**
+     * Queue a notification.
+     *
+     * @param delivery The notification.
+     * @return True if the notification has been queued, false if it was rejected.
+     */
+    public boolean submit(final Delivery delivery) {
+        return enqueue(new Attempt(delivery, sequence.incrementAndGet(), 1), false);
+    }
+
+    /**
+     * Get the number of notifications waiting to be sent or retried.
+     *
+     * @return The number of notifications.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Get the number of queued notifications by subscriber. Subscribers with empty queues are
+     * left out.
+     *
+     * @return The queue depths.
+     */
+    public Map<URI, Integer> getQueueDepths() {
+        final var depths = new HashMap<URI, Integer>();
+        for (final var entry : queues.entrySet()) {
+            final var depth = entry.getValue().size();
+            if (depth > 0) {
+                depths.put(entry.getKey(), depth);
+            }
+        }
+
+        return depths;
+    }
+
+    /**
+     * Stop sending notifications. Queued notifications are dropped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static CustomizableThreadFactory createThreadFactory(final String prefix) {
+        final var factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private boolean enqueue(final Attempt attempt, final boolean isRetry) {
+        final var delivery = attempt.getDelivery();
+        final var queue = queues.computeIfAbsent(delivery.getRecipient(),
+                x -> new SubscriberQueue());
+
+        final Attempt replaced;
+        synchronized (queue) {
+            final var key = delivery.getKey();
+            final var existing = queue.pending.get(key);
+            if (existing == null && !isRetry && pending.get() >= maxPending) {
+                rejected.increment();
+                delivery.discard();
+                if (log.isWarnEnabled()) {
+                    log.warn("Too many pending notifications, dropping notification. "
+                            + "[url=({}), pending=({})]", delivery.getRecipient(), pending.get());
+                }
+                return false;
+            }
+
+            final var state = queue.targets.computeIfAbsent(key, x -> new TargetState());
+            if (isRetry) {
+                if (existing != null || attempt.getSequence() < state.latest) {
+                    // A newer notification for the same target has been submitted.
+                    replaced = attempt;
+                } else {
+                    replaced = null;
+                    queue.pending.put(key, attempt);
+                }
+            } else {
+                state.latest = attempt.getSequence();
+                state.outstanding++;
+                replaced = queue.pending.remove(key);
+                queue.pending.put(key, attempt);
+                if (replaced == null) {
+                    pending.incrementAndGet();
+                }
+            }
+
+            if (replaced != null) {
+                queue.finish(replaced);
+            }
+        }
+
+        if (replaced != null) {
+            coalesced.increment();
+            replaced.getDelivery().discard();
+            if (isRetry && replaced == attempt) {
+                pending.decrementAndGet();
+            }
+        }
+
+        schedule(delivery.getRecipient(), queue);
+        return true;
+    }
+
+    private void schedule(final URI recipient, final SubscriberQueue queue) {
+        synchronized (queue) {
+            if (queue.running || queue.pending.isEmpty()) {
+                return;
+            }
+            queue.running = true;
+        }
+
+        try {
+            executor.execute(() -> drain(recipient, queue));
+        } catch (RejectedExecutionException exception) {
+            synchronized (queue) {
+                queue.running = false;
+            }
+        }
+    }
+
+    private void drain(final URI recipient, final SubscriberQueue queue) {
+        while (true) {
+            final Attempt attempt;
+            synchronized (queue) {
+                final var iterator = queue.pending.values().iterator();
+                if (!iterator.hasNext()) {
+                    queue.running = false;
+                    return;
+                }
+                attempt = iterator.next();
+                iterator.remove();
+            }
+
+            process(queue, attempt);
+        }
+    }
+
+    private void process(final SubscriberQueue queue, final Attempt attempt) {
+        final var delivery = attempt.getDelivery();
+
+        boolean success;
+        try {
+            success = delivery.send();
+        } catch (RuntimeException exception) {
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to send notification. [url=({}), exception=({})]",
+                        delivery.getRecipient(), exception.getMessage());
+            }
+            success = false;
+        }
+
+        if (success) {
+            delivered.increment();
+            pending.decrementAndGet();
+            finish(queue, attempt);
+        } else if (attempt.getNumber() < maxAttempts) {
+            retried.increment();
+            final var delay = getDelay(attempt.getNumber());
+            try {
+                retryScheduler.schedule(() -> enqueue(attempt.next(), true), delay,
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException exception) {
+                pending.decrementAndGet();
+                finish(queue, attempt);
+            }
+        } else {
+            failed.increment();
+            pending.decrementAndGet();
+            finish(queue, attempt);
+            if (log.isWarnEnabled()) {
+                log.warn("Could not notify subscriber. [url=({}), attempts=({})]",
+                        delivery.getRecipient(), attempt.getNumber());
+            }
+        }
+    }
+
+    private static void finish(final SubscriberQueue queue, final Attempt attempt) {
+        synchronized (queue) {
+            queue.finish(attempt);
+        }
+        attempt.getDelivery().discard();
+    }
+
+    private long getDelay(final int attemptNumber) {
+        final var factor = 1L << Math.min(attemptNumber - 1, 30);
+        return Math.min(maxDelay, initialDelay * factor);
+    }
+
+    /**
+     * The waiting notifications of one subscriber.
+     */
+    private static final class SubscriberQueue {
+        /**
+         * The notifications by key, oldest first.
+         */
+        private final Map<String, Attempt> pending = new LinkedHashMap<>();
+
+        /**
+         * The state of the targets with notifications that are waiting, being sent or
+         * scheduled for a retry.
+         */
+        private final Map<String, TargetState> targets = new HashMap<>();
+
+        /**
+         * Whether a thread is processing this queue.
+         */
+        private boolean running;
+
+        synchronized int size() {
+            return pending.size();
+        }
+
+        /**
+         * Forget a notification that will not be sent again. Must be called while holding the
+         * lock of this queue.
+         *
+         * @param attempt The last attempt of the notification.
+         */
+        void finish(final Attempt attempt) {
+            final var key = attempt.getDelivery().getKey();
+            final var state = targets.get(key);
+            if (state != null && --state.outstanding <= 0) {
+                targets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * The notifications of one target of a subscriber.
+     */
+    private static final class TargetState {
+        /**
+         * The sequence number of the newest submitted notification. Retries of older ones are
+         * dropped.
+         */
+        private long latest;
+
+        /**
+         * The number of notifications that are waiting, being sent or scheduled for a retry.
+         */
+        private int outstanding;
+    }
+
+    /**
+     * A notification and the number of its next attempt.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Attempt {
+        /**
+         * The notification.
+         */
+        private final Delivery delivery;
+
+        /**
+         * The sequence number of the notification, increasing with every submission.
+         */
+        private final long sequence;
+
+        /**
+         * The number of the attempt, starting at one.
+         */
+        private final int number;
+
+        Attempt next() {
+            return new Attempt(delivery, sequence, number + 1);
+        }
+    }
+}
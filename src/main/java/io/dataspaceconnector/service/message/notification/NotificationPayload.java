@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.notification;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headers and data of a notification, shared by all deliveries of the same update. The data is
+ * read once into a temporary file and removed when the last delivery has released it.
+ */
+public final class NotificationPayload {
+
+    /**
+     * The notification headers.
+     */
+    @Getter
+    private final Map<String, String> headers;
+
+    /**
+     * The file containing the data, null if the notification has no data.
+     */
+    private final Path data;
+
+    /**
+     * The number of deliveries using this payload.
+     */
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private NotificationPayload(final Map<String, String> notification, final Path file) {
+        this.headers = Map.copyOf(notification);
+        this.data = file;
+    }
+
+    /**
+     * Create a payload without data.
+     *
+     * @param headers The notification headers.
+     * @return The payload.
+     */
+    public static NotificationPayload of(final Map<String, String> headers) {
+        return new NotificationPayload(headers, null);
+    }
+
+    /**
+     * Create a payload with data. The stream is read completely and closed.
+     *
+     * @param headers The notification headers.
+     * @param data    The data.
+     * @return The payload.
+     * @throws IOException if the data could not be read.
+     */
+    public static NotificationPayload of(final Map<String, String> headers,
+                                         final InputStream data) throws IOException {
+        final var file = Files.createTempFile("notification", ".data");
+        try (data) {
+            Files.copy(data, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            Files.deleteIfExists(file);
+            throw exception;
+        }
+
+        return new NotificationPayload(headers, file);
+    }
+
+    /**
+     * Open the data. Every call returns a new stream.
+     *
+     * @return The data, empty if the payload has no data.
+     * @throws IOException if the data could not be opened.
+     */
+    public InputStream openData() throws IOException {
+        return data == null ? InputStream.nullInputStream() : Files.newInputStream(data);
+    }
+
+    /**
+     * Register another user of this payload.
+     *
+     * @return This payload.
+     */
+    public NotificationPayload retain() {
+        references.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Unregister a user of this payload. The data is removed when no user is left.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0 && data != null) {
+            try {
+                Files.deleteIfExists(data);
+            } catch (IOException ignored) {
+                data.toFile().deleteOnExit();
+            }
+        }
+    }
+}
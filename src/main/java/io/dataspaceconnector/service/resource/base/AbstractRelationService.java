@@ -23,13 +23,15 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.Function;
 
 /**
  * Creates a parent-children relationship between two types of resources.
@@ -66,6 +68,27 @@ public abstract class AbstractRelationService<K extends Entity, W extends Entity
     @Autowired
     private X manyService;
 
+    /**
+     * Used for reading pages of children from the database. Null if there is no persistence
+     * context, then pages are cut from the list of all children.
+     **/
+    @Autowired(required = false)
+    @Getter(AccessLevel.NONE)
+    private EntityManager entityManager;
+
+    /**
+     * The queries for reading pages of children. Null if the relation cannot be mapped to a
+     * single attribute of the parent.
+     **/
+    @Getter(AccessLevel.NONE)
+    private volatile RelationQueries relationQueries;
+
+    /**
+     * Whether {@link #relationQueries} has been resolved.
+     **/
+    @Getter(AccessLevel.NONE)
+    private volatile boolean relationResolved;
+
     /**
      * {@inheritDoc}
      */
@@ -87,15 +110,72 @@ public abstract class AbstractRelationService<K extends Entity, W extends Entity
     protected abstract List<W> getInternal(K owner);
 
     /**
-     * Receives a page of children assigned to the entity.
+     * Receives a page of children assigned to the entity. If the children are held by a single
+     * attribute of the entity, only the requested page is read from the database, ordered by
+     * creation date. Otherwise the page is cut from the list of all children.
      *
      * @param owner    The entity whose children should be received.
      * @param pageable The children assigned to the entity.
      * @return The page of the children entities.
      */
+    @SuppressWarnings("unchecked")
     protected Page<W> getInternal(final K owner, final Pageable pageable) {
-        final var entities = getInternal(owner);
-        return Utils.toPage(entities, pageable);
+        final var queries = getRelationQueries();
+        if (queries == null || pageable.isUnpaged()) {
+            final var entities = getInternal(owner);
+            return Utils.toPage(entities, pageable);
+        }
+
+        final long total = entityManager.createQuery(queries.getCount(), Long.class)
+                .setParameter("ownerId", owner.getId())
+                .getSingleResult();
+        if (total <= pageable.getOffset()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        final var content = (List<W>) entityManager.createQuery(queries.getSelect())
+                .setParameter("ownerId", owner.getId())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private RelationQueries getRelationQueries() {
+        if (!relationResolved) {
+            relationQueries = entityManager == null ? null : resolveRelationQueries();
+            relationResolved = true;
+        }
+
+        return relationQueries;
+    }
+
+    private RelationQueries resolveRelationQueries() {
+        final var types =
+                GenericTypeResolver.resolveTypeArguments(getClass(), AbstractRelationService.class);
+        if (types == null) {
+            return null;
+        }
+
+        try {
+            final var ownerType = entityManager.getMetamodel().entity(types[0]);
+            String attribute = null;
+            for (final var candidate : ownerType.getPluralAttributes()) {
+                final var elementType = candidate.getElementType().getJavaType();
+                if (elementType.isAssignableFrom(types[1])) {
+                    if (attribute != null) {
+                        // The relation cannot be identified by its type.
+                        return null;
+                    }
+                    attribute = candidate.getName();
+                }
+            }
+
+            return attribute == null ? null : new RelationQueries(ownerType.getName(), attribute);
+        } catch (IllegalArgumentException exception) {
+            // The owner is not a managed entity.
+            return null;
+        }
     }
 
     /**
@@ -153,29 +233,11 @@ public abstract class AbstractRelationService<K extends Entity, W extends Entity
      * @throws ResourceNotFoundException if any of the entities is unknown.
      */
     private void throwIfEntityDoesNotExist(final Set<UUID> entities) {
-        if (!doesExist(entities, (x) -> manyService.doesExist(x))) {
+        if (!manyService.doAllExist(entities)) {
             throw new ResourceNotFoundException("Could not find resource.");
         }
     }
 
-    /**
-     * Check if all entities in a set are known.
-     *
-     * @param entities         The set of entities to be checked.
-     * @param doesElementExist The function that evaluates if an entity does exist.
-     * @return true if all entities are known.
-     */
-    private boolean doesExist(
-            final Set<UUID> entities, final Function<UUID, Boolean> doesElementExist) {
-        for (final var entity : entities) {
-            if (!doesElementExist.apply(entity)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     /**
      * Adds a list of children to an entity.
      *
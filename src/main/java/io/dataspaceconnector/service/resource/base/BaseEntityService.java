@@ -27,9 +27,14 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.UUID;
 
 /**
@@ -42,7 +47,7 @@ import java.util.UUID;
 @Setter(AccessLevel.NONE)
 @RequiredArgsConstructor
 public class BaseEntityService<T extends Entity, D extends Description>
-    implements EntityService<T, D> {
+    implements EntityService<T, D>, ApplicationEventPublisherAware {
     /**
      * Persists all entities of type T.
      **/
@@ -53,6 +58,30 @@ public class BaseEntityService<T extends Entity, D extends Description>
      **/
     private final @NonNull AbstractFactory<T, D> factory;
 
+    /**
+     * Publishes changes of entities. Null if the service is not managed by spring.
+     */
+    @Getter(AccessLevel.NONE)
+    private ApplicationEventPublisher publisher;
+
+    /**
+     * The type of the entities, null if it cannot be resolved.
+     */
+    @Getter(AccessLevel.NONE)
+    private Class<?> entityType;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setApplicationEventPublisher(final ApplicationEventPublisher eventPublisher) {
+        this.publisher = eventPublisher;
+
+        final var resolved =
+                GenericTypeResolver.resolveTypeArguments(getClass(), BaseEntityService.class);
+        this.entityType = resolved == null ? null : resolved[0];
+    }
+
     /**
      * Creates a new persistent entity.
      *
@@ -138,6 +167,28 @@ public class BaseEntityService<T extends Entity, D extends Description>
         return repository.findById(entityId).isPresent();
     }
 
+    /**
+     * Checks if all entities exist, using a single query.
+     *
+     * @param entityIds The ids of the entities.
+     * @return True if all entities exist.
+     * @throws IllegalArgumentException if the passed ids or any of them are null.
+     */
+    @Override
+    public boolean doAllExist(final Collection<UUID> entityIds) {
+        Utils.requireNonNull(entityIds, ErrorMessage.ENTITYSET_NULL);
+        if (entityIds.isEmpty()) {
+            return true;
+        }
+
+        final var ids = new HashSet<UUID>(entityIds.size());
+        for (final var entityId : entityIds) {
+            ids.add(Utils.requireNonNull(entityId, ErrorMessage.ENTITYID_NULL));
+        }
+
+        return repository.countByIdIn(ids) == ids.size();
+    }
+
     /**
      * Delete an entity with the given id.
      *
@@ -148,6 +199,7 @@ public class BaseEntityService<T extends Entity, D extends Description>
     public void delete(final UUID entityId) {
         Utils.requireNonNull(entityId, ErrorMessage.ENTITYID_NULL);
         repository.deleteById(entityId);
+        publishChange(entityId, true);
     }
 
     /**
@@ -157,6 +209,23 @@ public class BaseEntityService<T extends Entity, D extends Description>
      * @return The persisted entity.
      */
     protected T persist(final T entity) {
-        return repository.saveAndFlush(entity);
+        final var persisted = repository.saveAndFlush(entity);
+        if (persisted != null) {
+            publishChange(persisted.getId(), false);
+        }
+        return persisted;
+    }
+
+    /**
+     * Notify listeners about a change of an entity. Changes made through {@link #persist(Entity)}
+     * and {@link #delete(UUID)} are published automatically.
+     *
+     * @param entityId The id of the entity.
+     * @param deleted  Whether the entity has been deleted.
+     */
+    protected void publishChange(final UUID entityId, final boolean deleted) {
+        if (publisher != null) {
+            publisher.publishEvent(new EntityChangeEvent(entityType, entityId, deleted));
+        }
     }
 }
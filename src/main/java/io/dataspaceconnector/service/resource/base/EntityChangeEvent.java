@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.base;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published by entity services after an entity has been persisted or deleted.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class EntityChangeEvent {
+
+    /**
+     * The type of the entity.
+     */
+    private final Class<?> entityType;
+
+    /**
+     * The id of the entity.
+     */
+    private final UUID entityId;
+
+    /**
+     * Whether the entity has been deleted.
+     */
+    private final boolean deleted;
+
+    /**
+     * Check whether the entity is of the given type.
+     *
+     * @param type The type.
+     * @return True if the entity is an instance of the type.
+     */
+    public boolean isOfType(final Class<?> type) {
+        return entityType != null && type.isAssignableFrom(entityType);
+    }
+
+    /**
+     * Check whether the entity is of any of the given types.
+     *
+     * @param types The types.
+     * @return True if the entity is an instance of at least one type.
+     */
+    public boolean isOfAnyType(final Class<?>... types) {
+        for (final var type : types) {
+            if (isOfType(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
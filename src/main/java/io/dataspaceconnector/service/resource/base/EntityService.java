@@ -20,6 +20,7 @@ import io.dataspaceconnector.model.base.Entity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -59,6 +60,20 @@ public interface EntityService<T extends Entity, D extends Description> {
      */
     boolean doesExist(UUID entityId);
 
+    /**
+     * @param entityIds The ids of the entities.
+     * @return true, if all entities do exist.
+     */
+    default boolean doAllExist(final Collection<UUID> entityIds) {
+        for (final var entityId : entityIds) {
+            if (!doesExist(entityId)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * @param entityId The id of the entity.
      */
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.base;
+
+import lombok.Getter;
+
+/**
+ * The JPQL queries reading the children held by an attribute of a parent entity. Both take the
+ * id of the parent as parameter {@code ownerId}.
+ */
+@Getter
+final class RelationQueries {
+
+    /**
+     * Counts the children.
+     */
+    private final String count;
+
+    /**
+     * Selects the children, ordered by creation date.
+     */
+    private final String select;
+
+    /**
+     * Constructor.
+     *
+     * @param ownerEntity The entity name of the parent.
+     * @param attribute   The attribute of the parent holding the children.
+     */
+    RelationQueries(final String ownerEntity, final String attribute) {
+        final var from = "FROM " + ownerEntity + " o JOIN o." + attribute + " c "
+                + "WHERE o.id = :ownerId "
+                + "AND c.deleted = false";
+        this.count = "SELECT COUNT(c) " + from;
+        this.select = "SELECT c " + from + " ORDER BY c.creationDate, c.id";
+    }
+}
@@ -16,6 +16,7 @@
 package io.dataspaceconnector.service.resource.spring;
 
 import io.dataspaceconnector.common.net.HttpService;
+import io.dataspaceconnector.common.storage.BlobStore;
 import io.dataspaceconnector.config.ConnectorConfig;
 import io.dataspaceconnector.model.agreement.AgreementFactory;
 import io.dataspaceconnector.model.app.AppFactory;
@@ -60,6 +61,7 @@ import io.dataspaceconnector.service.resource.type.AgreementService;
 import io.dataspaceconnector.service.resource.type.AppEndpointService;
 import io.dataspaceconnector.service.resource.type.AppService;
 import io.dataspaceconnector.service.resource.type.AppStoreService;
+import io.dataspaceconnector.service.resource.type.ArtifactAccessCounter;
 import io.dataspaceconnector.service.resource.type.ArtifactService;
 import io.dataspaceconnector.service.resource.type.BrokerService;
 import io.dataspaceconnector.service.resource.type.CatalogService;
@@ -74,10 +76,14 @@ import io.dataspaceconnector.service.resource.type.RequestedResourceService;
 import io.dataspaceconnector.service.resource.type.RouteService;
 import io.dataspaceconnector.service.resource.type.RuleService;
 import io.dataspaceconnector.service.routing.RouteHelper;
+import io.dataspaceconnector.service.usagecontrol.DataRemovalIndex;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Optional;
+
 /**
  * Publish resource service to spring.
  */
@@ -87,13 +93,16 @@ public class ResourceConfig {
     /**
      * Create an agreement service bean.
      *
-     * @param repo The agreement repo.
+     * @param repo         The agreement repo.
+     * @param policyCache  The cache for deserialized agreements.
+     * @param removalIndex The index of deletion dates.
      * @return The agreement service.
      */
     @Bean("agreementService")
     public AgreementService createAgreementService(
-            @Qualifier("agreementRepository") final AgreementRepository repo) {
-        return new AgreementService(repo, new AgreementFactory());
+            @Qualifier("agreementRepository") final AgreementRepository repo,
+            final PolicyCache policyCache, final DataRemovalIndex removalIndex) {
+        return new AgreementService(repo, new AgreementFactory(), policyCache, removalIndex);
     }
 
     /**
@@ -103,6 +112,8 @@ public class ResourceConfig {
      * @param dataRepository The data repository.
      * @param httpService    The http service.
      * @param authRepo       The auth repo.
+     * @param blobStore      The blob store, if enabled.
+     * @param accessCounter  The counter for data accesses.
      * @return The artifact service bean.
      */
     @Bean("artifactService")
@@ -110,9 +121,11 @@ public class ResourceConfig {
             @Qualifier("artifactRepository") final ArtifactRepository repository,
             final DataRepository dataRepository,
             final HttpService httpService,
-            final AuthenticationRepository authRepo) {
+            final AuthenticationRepository authRepo,
+            final Optional<BlobStore> blobStore,
+            final ArtifactAccessCounter accessCounter) {
         return new ArtifactService(repository, new ArtifactFactory(),
-                dataRepository, httpService, authRepo);
+                dataRepository, httpService, authRepo, blobStore, accessCounter);
     }
 
     /**
@@ -303,12 +316,14 @@ public class ResourceConfig {
     /**
      * Create a rule service bean.
      *
-     * @param repo The rule repository.
+     * @param repo        The rule repository.
+     * @param policyCache The cache for deserialized rules.
      * @return The rule service bean.
      */
     @Bean("ruleService")
-    public RuleService createRuleService(final RuleRepository repo) {
-        return new RuleService(repo, new ContractRuleFactory());
+    public RuleService createRuleService(final RuleRepository repo,
+                                         final PolicyCache policyCache) {
+        return new RuleService(repo, new ContractRuleFactory(), policyCache);
     }
 
     /**
@@ -21,22 +21,74 @@ import io.dataspaceconnector.model.base.AbstractFactory;
 import io.dataspaceconnector.repository.AgreementRepository;
 import io.dataspaceconnector.repository.BaseEntityRepository;
 import io.dataspaceconnector.service.resource.base.BaseEntityService;
+import io.dataspaceconnector.service.usagecontrol.DataRemovalIndex;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
+import lombok.NonNull;
+
+import java.util.UUID;
 
 /**
  * Handles the basic logic for contracts.
  */
 public class AgreementService extends BaseEntityService<Agreement, AgreementDesc> {
 
+    /**
+     * Cache for deserialized agreements.
+     */
+    private final @NonNull PolicyCache policyCache;
+
+    /**
+     * The deletion dates of all agreements.
+     */
+    private final @NonNull DataRemovalIndex removalIndex;
+
     /**
      * Constructor.
      *
      * @param repository The underlying agreement repo.
      * @param factory    The factory for the agreement logic.
+     * @param cache      The cache for deserialized agreements.
+     * @param index      The index of deletion dates.
      */
     public AgreementService(
             final BaseEntityRepository<Agreement> repository,
-            final AbstractFactory<Agreement, AgreementDesc> factory) {
+            final AbstractFactory<Agreement, AgreementDesc> factory,
+            final @NonNull PolicyCache cache,
+            final @NonNull DataRemovalIndex index) {
         super(repository, factory);
+        this.policyCache = cache;
+        this.removalIndex = index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Agreement create(final AgreementDesc desc) {
+        final var agreement = super.create(desc);
+        removalIndex.index(agreement);
+        return agreement;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Agreement update(final UUID entityId, final AgreementDesc desc) {
+        final var agreement = super.update(entityId, desc);
+        policyCache.invalidate(entityId);
+        removalIndex.index(agreement);
+        return agreement;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(final UUID entityId) {
+        super.delete(entityId);
+        policyCache.invalidate(entityId);
+        removalIndex.remove(entityId);
     }
 
     /**
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.type;
+
+import io.dataspaceconnector.model.artifact.Artifact;
+import io.dataspaceconnector.repository.ArtifactRepository;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts data accesses of artifacts in memory and periodically adds them to the counters stored
+ * in the database. This keeps database writes out of the data access path.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ArtifactAccessCounter {
+
+    /**
+     * The artifact repository.
+     */
+    private final @NonNull ArtifactRepository artifactRepo;
+
+    /**
+     * The accesses per artifact that have not been written to the database yet. Artifacts
+     * without pending accesses have no entry.
+     */
+    private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Count a data access.
+     *
+     * @param artifactId The id of the accessed artifact.
+     */
+    public void increment(final UUID artifactId) {
+        pending.merge(artifactId, 1L, Long::sum);
+    }
+
+    /**
+     * Get the number of accesses that have not been written to the database yet.
+     *
+     * @param artifactId The id of the artifact.
+     * @return The number of pending accesses.
+     */
+    public long getPending(final UUID artifactId) {
+        final var counter = pending.get(artifactId);
+        return counter == null ? 0 : counter;
+    }
+
+    /**
+     * Get the number of artifacts with pending accesses.
+     *
+     * @return The number of artifacts.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending accesses to the database. The accesses stay pending until they have been
+     * written, so the sum of stored and pending accesses never falls below the real number.
+     * Entries are removed once all of their accesses have been written.
+     */
+    @Scheduled(fixedDelayString = "${artifact.access-counter.flush-interval:5000}")
+    @PreDestroy
+    public void flush() {
+        for (final var entry : pending.entrySet()) {
+            final long delta = entry.getValue();
+            try {
+                artifactRepo.addToAccessCounter(entry.getKey(), delta);
+                // Accesses counted in the meantime stay pending.
+                pending.computeIfPresent(entry.getKey(),
+                        (id, count) -> count == delta ? null : count - delta);
+            } catch (DataAccessException exception) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Failed to store access counter. Retrying with next flush. "
+                            + "[artifactId=({}), exception=({})]", entry.getKey(),
+                            exception.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the pending accesses of deleted artifacts.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void handleEntityChange(final EntityChangeEvent event) {
+        if (event.isDeleted() && event.isOfType(Artifact.class)) {
+            pending.remove(event.getEntityId());
+        }
+    }
+}
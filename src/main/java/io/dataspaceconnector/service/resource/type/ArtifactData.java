@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.type;
+
+import io.dataspaceconnector.model.artifact.Artifact;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.InputStream;
+
+/**
+ * The data of an artifact together with the state of the artifact it was read from, so that the
+ * byte size and checksum describe exactly the returned data.
+ */
+@Getter
+@AllArgsConstructor
+public class ArtifactData {
+    /**
+     * The artifact the data belongs to.
+     */
+    private final @NonNull Artifact artifact;
+
+    /**
+     * The data, null if it has not been read.
+     */
+    private final InputStream data;
+}
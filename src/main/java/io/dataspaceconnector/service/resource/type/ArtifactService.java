@@ -18,10 +18,12 @@ package io.dataspaceconnector.service.resource.type;
 import io.dataspaceconnector.common.exception.ErrorMessage;
 import io.dataspaceconnector.common.exception.NotImplemented;
 import io.dataspaceconnector.common.exception.PolicyRestrictionException;
+import io.dataspaceconnector.common.exception.ResourceNotFoundException;
 import io.dataspaceconnector.common.exception.UnreachableLineException;
 import io.dataspaceconnector.common.net.HttpService;
 import io.dataspaceconnector.common.net.QueryInput;
 import io.dataspaceconnector.common.net.RetrievalInformation;
+import io.dataspaceconnector.common.storage.BlobStore;
 import io.dataspaceconnector.common.usagecontrol.AccessVerificationInput;
 import io.dataspaceconnector.common.usagecontrol.PolicyVerifier;
 import io.dataspaceconnector.common.usagecontrol.VerificationResult;
@@ -45,6 +47,8 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -53,6 +57,8 @@ import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.CheckedInputStream;
 
 /**
  * Handles the basic logic for artifacts.
@@ -63,6 +69,11 @@ import java.util.UUID;
 public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         implements RemoteResolver {
 
+    /**
+     * The number of locks for keys of the blob store.
+     */
+    private static final int BLOB_LOCK_COUNT = 64;
+
     /**
      * Repository for storing data.
      **/
@@ -78,6 +89,22 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      */
     private final @NonNull AuthenticationRepository authRepo;
 
+    /**
+     * Store for local data kept outside of the database. Null if local data is stored in the
+     * database.
+     */
+    private final BlobStore blobStore;
+
+    /**
+     * Counts the data accesses of artifacts.
+     */
+    private final @NonNull ArtifactAccessCounter accessCounter;
+
+    /**
+     * Locks for the keys of the blob store. Keys are mapped onto a fixed number of locks.
+     */
+    private final Object[] blobLocks = new Object[BLOB_LOCK_COUNT];
+
     /**
      * Constructor for ArtifactService.
      *
@@ -86,16 +113,26 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      * @param dataRepository           The data repository.
      * @param httpService              The HTTP service for fetching remote data.
      * @param authenticationRepository The AuthType repository.
+     * @param blobStorage              The store for local data, if it should not be kept in the
+     *                                 database.
+     * @param artifactAccessCounter    The counter for data accesses.
      */
     public ArtifactService(final BaseEntityRepository<Artifact> repository,
                            final AbstractFactory<Artifact, ArtifactDesc> factory,
                            final @NonNull DataRepository dataRepository,
                            final @NonNull HttpService httpService,
-                           final @NonNull AuthenticationRepository authenticationRepository) {
+                           final @NonNull AuthenticationRepository authenticationRepository,
+                           final @NonNull Optional<BlobStore> blobStorage,
+                           final @NonNull ArtifactAccessCounter artifactAccessCounter) {
         super(repository, factory);
         this.dataRepo = dataRepository;
         this.httpSvc = httpService;
         this.authRepo = authenticationRepository;
+        this.blobStore = blobStorage.orElse(null);
+        this.accessCounter = artifactAccessCounter;
+        for (var i = 0; i < blobLocks.length; i++) {
+            blobLocks[i] = new Object();
+        }
     }
 
     /**
@@ -124,7 +161,9 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
                 }
             }
 
-            if (tmp.getData() instanceof LocalData) {
+            if (tmp.getData() instanceof LocalData
+                    && ((LocalData) tmp.getData()).getStorageKey() == null) {
+                // Byte size and checksum of externally stored data are set when storing it.
                 final var factory = (ArtifactFactory) getFactory();
                 factory.updateByteSize(artifact, ((LocalData) tmp.getData()).getValue());
             }
@@ -154,21 +193,43 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
                                final ArtifactRetriever retriever, final UUID artifactId,
                                final QueryInput queryInput)
             throws PolicyRestrictionException, IOException {
+        return getData(accessVerifier, retriever, artifactId, queryInput, x -> true).getData();
+    }
+
+    /**
+     * Get the artifacts data if a condition on the artifact holds. The condition is checked
+     * against the artifact the data would be read from. If it does not hold, the data is
+     * neither read nor counted as accessed.
+     *
+     * @param accessVerifier Checks if the data access should be allowed.
+     * @param retriever      Retrieves the data from an external source.
+     * @param artifactId     The id of the artifact.
+     * @param queryInput     The query for the backend.
+     * @param condition      Decides whether the data has to be read.
+     * @return The artifact and its data, without data if the condition does not hold.
+     * @throws PolicyRestrictionException if the data access has been denied.
+     * @throws IOException                if IO errors occur.
+     */
+    public ArtifactData getData(final PolicyVerifier<AccessVerificationInput> accessVerifier,
+                                final ArtifactRetriever retriever, final UUID artifactId,
+                                final QueryInput queryInput,
+                                final Predicate<Artifact> condition)
+            throws PolicyRestrictionException, IOException {
         final var agreements =
                 ((ArtifactRepository) getRepository()).findRemoteOriginAgreements(artifactId);
         if (agreements.size() > 0) {
             return tryToAccessDataByUsingAnyAgreement(accessVerifier, retriever, artifactId,
-                    queryInput, agreements);
+                    queryInput, agreements, condition);
         }
 
         // The artifact is not assigned to any requested resources. It must be offered if it exists.
-        return getDataFromInternalDB((ArtifactImpl) get(artifactId), queryInput);
+        return getDataFromInternalDB((ArtifactImpl) get(artifactId), queryInput, condition);
     }
 
-    private InputStream tryToAccessDataByUsingAnyAgreement(
+    private ArtifactData tryToAccessDataByUsingAnyAgreement(
             final PolicyVerifier<AccessVerificationInput> accessVerifier,
             final ArtifactRetriever retriever, final UUID artifactId, final QueryInput queryInput,
-            final List<URI> agreements) throws IOException {
+            final List<URI> agreements, final Predicate<Artifact> condition) throws IOException {
         /*
          * NOTE: Check if agreements with remoteIds are set for this artifact. If such agreements
          * exist the artifact must be assigned to a requested resource. The data access should
@@ -182,7 +243,7 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         for (final var agRemoteId : agreements) {
             try {
                 final var info = new RetrievalInformation(agRemoteId, null, queryInput);
-                return getData(accessVerifier, retriever, artifactId, info);
+                return getData(accessVerifier, retriever, artifactId, info, condition);
             } catch (PolicyRestrictionException exception) {
                 // Access denied, log it and try the next agreement.
                 if (log.isDebugEnabled()) {
@@ -225,6 +286,28 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
                                final ArtifactRetriever retriever, final UUID artifactId,
                                final RetrievalInformation information)
             throws PolicyRestrictionException, IOException {
+        return getData(accessVerifier, retriever, artifactId, information, x -> true).getData();
+    }
+
+    /**
+     * Get data restricted by a contract if a condition on the artifact holds. The condition is
+     * checked against the artifact the data would be read from. If it does not hold, the data is
+     * neither read nor counted as accessed. Data that has to be downloaded first is always read.
+     *
+     * @param accessVerifier Checks if the data access should be allowed.
+     * @param retriever      Retrieves the data from an external source.
+     * @param artifactId     The id of the artifact.
+     * @param information    Information for pulling the data from a remote source.
+     * @param condition      Decides whether the data has to be read.
+     * @return The artifact and its data, without data if the condition does not hold.
+     * @throws PolicyRestrictionException if the data access has been denied.
+     * @throws IOException                if IO errors occur.
+     */
+    public ArtifactData getData(final PolicyVerifier<AccessVerificationInput> accessVerifier,
+                                final ArtifactRetriever retriever, final UUID artifactId,
+                                final RetrievalInformation information,
+                                final Predicate<Artifact> condition)
+            throws PolicyRestrictionException, IOException {
         // Check the artifact exists and access is granted.
         final var artifact = get(artifactId);
         verifyDataAccess(accessVerifier,
@@ -238,7 +321,7 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         }
 
         // Artifact exists, access granted, data exists and data up to date.
-        return getDataFromInternalDB((ArtifactImpl) artifact, null);
+        return getDataFromInternalDB((ArtifactImpl) artifact, null, condition);
     }
 
     private void verifyDataAccess(final PolicyVerifier<AccessVerificationInput> accessVerifier,
@@ -253,16 +336,16 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         }
     }
 
-    private InputStream downloadAndUpdateData(final ArtifactRetriever retriever,
-                                              final UUID artifactId,
-                                              final RetrievalInformation information,
-                                              final Artifact artifact)
+    private ArtifactData downloadAndUpdateData(final ArtifactRetriever retriever,
+                                               final UUID artifactId,
+                                               final RetrievalInformation information,
+                                               final Artifact artifact)
             throws IOException {
         final var dataStream = retriever.retrieve(artifactId,
                 artifact.getRemoteAddress(),
                 information.getTransferContract(),
                 information.getQueryInput());
-        return setData(artifactId, dataStream);
+        return storeData(artifactId, dataStream);
     }
 
     /**
@@ -270,11 +353,18 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      *
      * @param artifact   The artifact which data should be returned.
      * @param queryInput The query for the data backend. May be null.
-     * @return The artifact's data.
+     * @param condition  Decides whether the data has to be read.
+     * @return The artifact and its data, without data if the condition does not hold.
      * @throws IOException if the data cannot be received.
      */
-    private InputStream getDataFromInternalDB(final ArtifactImpl artifact,
-                                              final QueryInput queryInput) throws IOException {
+    private ArtifactData getDataFromInternalDB(final ArtifactImpl artifact,
+                                               final QueryInput queryInput,
+                                               final Predicate<Artifact> condition)
+            throws IOException {
+        if (!condition.test(artifact)) {
+            return new ArtifactData(artifact, null);
+        }
+
         final var data = artifact.getData();
 
         InputStream rawData;
@@ -288,12 +378,28 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
 
         incrementAccessCounter(artifact);
 
-        return rawData;
+        return new ArtifactData(artifact, rawData);
     }
 
     private void incrementAccessCounter(final Artifact artifact) {
-        artifact.incrementAccessCounter();
-        persist(artifact);
+        accessCounter.increment(artifact.getId());
+    }
+
+    /**
+     * Get the exact number of data accesses of an artifact, including accesses that have not
+     * been written to the database yet.
+     *
+     * @param artifactId The id of the artifact.
+     * @return The number of data accesses.
+     * @throws ResourceNotFoundException if the artifact does not exist.
+     */
+    public long getAccessNumber(final UUID artifactId) {
+        Utils.requireNonNull(artifactId, ErrorMessage.ENTITYID_NULL);
+        final var stored = ((ArtifactRepository) getRepository()).findNumAccessed(artifactId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        this.getClass().getSimpleName() + ": " + artifactId));
+
+        return stored + accessCounter.getPending(artifactId);
     }
 
     private boolean shouldDownload(final Artifact artifact,
@@ -321,11 +427,29 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      *
      * @param data The data container.
      * @return The stored data.
+     * @throws IOException if the data cannot be read from the blob store.
      */
-    private InputStream getData(final LocalData data) {
+    private InputStream getData(final LocalData data) throws IOException {
+        if (data.getStorageKey() != null) {
+            return getBlobStore(data).open(data.getStorageKey());
+        }
+
         return toInputStream(data.getValue());
     }
 
+    private BlobStore getBlobStore(final LocalData data) throws IOException {
+        if (blobStore == null) {
+            if (log.isErrorEnabled()) {
+                log.error("Data is kept in the blob store, but the blob store is disabled. "
+                        + "[storageKey=({})]", data.getStorageKey());
+            }
+
+            throw new IOException("Blob store is disabled.");
+        }
+
+        return blobStore;
+    }
+
     /**
      * Get remote data.
      *
@@ -391,6 +515,11 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
      */
     @NonNull
     public InputStream setData(final UUID artifactId, final InputStream data) throws IOException {
+        return storeData(artifactId, data).getData();
+    }
+
+    private ArtifactData storeData(final UUID artifactId, final InputStream data)
+            throws IOException {
         final var artifact = get(artifactId);
         final var currentData = ((ArtifactImpl) artifact).getData();
         if (currentData instanceof LocalData) {
@@ -401,23 +530,52 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
     }
 
     @NonNull
-    private ByteArrayInputStream setLocalData(final UUID artifactId,
-                                              final InputStream data,
-                                              final Artifact artifact,
-                                              final LocalData localData)
+    private ArtifactData setLocalData(final UUID artifactId,
+                                      final InputStream data,
+                                      final Artifact artifact,
+                                      final LocalData localData)
             throws IOException {
-        try {
-            // Update the internal database and return the new data.
-            final var bytes = data.readAllBytes();
-            data.close();
-            dataRepo.setLocalData(localData.getId(), bytes);
-            if (((ArtifactFactory) getFactory()).updateByteSize(artifact, bytes)) {
+        final var factory = (ArtifactFactory) getFactory();
+        try (data) {
+            // The checksum is calculated while the data is read, no second pass is required.
+            final var checkedData = new CheckedInputStream(data, factory.createChecksum());
+
+            final InputStream storedData;
+            final long byteSize;
+            if (blobStore == null) {
+                // Update the internal database and return the new data.
+                final var bytes = checkedData.readAllBytes();
+                dataRepo.setLocalData(localData.getId(), bytes);
+                storedData = new ByteArrayInputStream(bytes);
+                byteSize = bytes.length;
+            } else {
+                try (var blob = blobStore.stage(checkedData)) {
+                    if (blob.getSize() == 0) {
+                        // Keep removed data in the database, there is nothing to store.
+                        dataRepo.setLocalData(localData.getId(), new byte[0]);
+                        storedData = InputStream.nullInputStream();
+                    } else {
+                        // A concurrent removal of the same key must not happen in between.
+                        synchronized (getBlobLock(blob.getKey())) {
+                            blob.commit();
+                            dataRepo.setLocalDataReference(localData.getId(), blob.getKey());
+                            storedData = blobStore.open(blob.getKey());
+                        }
+                    }
+                    byteSize = blob.getSize();
+                    removeUnreferencedBlob(localData.getStorageKey(), blob.getKey());
+                }
+            }
+
+            if (factory.updateByteSize(artifact, byteSize,
+                    checkedData.getChecksum().getValue())) {
                 ((ArtifactRepository) getRepository()).setArtifactData(artifactId,
                         artifact.getCheckSum(),
                         artifact.getByteSize());
+                publishChange(artifactId, false);
             }
 
-            return new ByteArrayInputStream(bytes);
+            return new ArtifactData(artifact, storedData);
         } catch (IOException e) {
             if (log.isErrorEnabled()) {
                 log.error("Failed to store data. [artifactId=({}), exception=({})]",
@@ -428,6 +586,128 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         }
     }
 
+    /**
+     * Remove replaced data from the blob store. Identical data is stored only once, so the data
+     * is kept as long as other entries point to it.
+     *
+     * @param oldKey The key of the replaced data. May be null.
+     * @param newKey The key of the new data.
+     */
+    private void removeUnreferencedBlob(final String oldKey, final String newKey) {
+        if (oldKey == null || oldKey.equals(newKey)) {
+            return;
+        }
+
+        runAfterCommit(() -> removeBlobIfUnreferenced(oldKey));
+    }
+
+    /**
+     * Remove data from the blob store if no entry points to it anymore. The references are
+     * checked and the data is removed while holding the lock of the key, so that storing the same
+     * data concurrently cannot lose it.
+     *
+     * @param key The key of the data.
+     * @return True if the data is not referenced anymore.
+     */
+    private boolean removeBlobIfUnreferenced(final String key) {
+        synchronized (getBlobLock(key)) {
+            if (dataRepo.countByStorageKey(key) > 0) {
+                return false;
+            }
+
+            try {
+                blobStore.remove(key);
+                return true;
+            } catch (IOException exception) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Failed to remove replaced data. [storageKey=({}), exception=({})]",
+                            key, exception.getMessage());
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Remove data from the blob store that is only referenced by deleted entries. Deleted
+     * entries are kept in the database, so their data is not removed when they are deleted.
+     *
+     * @return The number of removed blobs.
+     */
+    public int removeBlobsOfDeletedData() {
+        if (blobStore == null) {
+            return 0;
+        }
+
+        var removed = 0;
+        for (final var key : dataRepo.findStorageKeysOfDeletedData()) {
+            final var isRemoved = removeBlobIfUnreferenced(key);
+            if (isRemoved) {
+                removed++;
+            }
+
+            // Once the data is gone or owned by other entries, the deleted entries are done.
+            if (isRemoved || dataRepo.countByStorageKey(key) > 0) {
+                dataRepo.clearStorageKeyOfDeletedData(key);
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(final UUID entityId) {
+        final var storageKey = blobStore == null ? null : getStorageKey(entityId);
+        super.delete(entityId);
+        if (storageKey != null) {
+            runAfterCommit(() -> {
+                if (removeBlobIfUnreferenced(storageKey)) {
+                    dataRepo.clearStorageKeyOfDeletedData(storageKey);
+                }
+            });
+        }
+    }
+
+    private String getStorageKey(final UUID artifactId) {
+        if (artifactId == null) {
+            return null;
+        }
+
+        return getRepository().findById(artifactId)
+                .map(x -> ((ArtifactImpl) x).getData())
+                .filter(x -> x instanceof LocalData)
+                .map(x -> ((LocalData) x).getStorageKey())
+                .orElse(null);
+    }
+
+    private Object getBlobLock(final String key) {
+        return blobLocks[Math.floorMod(key.hashCode(), blobLocks.length)];
+    }
+
+    /**
+     * Run an action once the current transaction has been committed, so that it sees all
+     * changes made in it. Without a transaction, the action is run immediately.
+     *
+     * @param action The action.
+     */
+    private static void runAfterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
     private InputStream toInputStream(final byte[] data) {
         if (data == null) {
             return ByteArrayInputStream.nullInputStream();
@@ -437,6 +717,17 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         }
     }
 
+    /**
+     * Checks whether the data of an artifact is kept by this connector. Only then the byte size
+     * and checksum of the artifact describe the data returned on access.
+     *
+     * @param artifact The artifact.
+     * @return True if the data is stored locally.
+     */
+    public boolean isDataStoredLocally(final Artifact artifact) {
+        return ((ArtifactImpl) artifact).getData() instanceof LocalData;
+    }
+
     /**
      * Gets the deleted status of the artifacts data.
      *
@@ -447,6 +738,11 @@ public class ArtifactService extends BaseEntityService<Artifact, ArtifactDesc>
         final var artifact = get(artifactId);
         final var currentData = ((ArtifactImpl) artifact).getData();
         if (currentData instanceof LocalData) {
+            if (((LocalData) currentData).getStorageKey() != null) {
+                // Removed data is never kept in the blob store.
+                return false;
+            }
+
             final var value = ((LocalData) currentData).getValue();
             return (value == null || !(value.length > 0));
         } else {
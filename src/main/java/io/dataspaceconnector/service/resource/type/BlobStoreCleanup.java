@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.type;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically removes data from the blob store that is only kept by deleted artifacts.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "storage.blob.enabled", havingValue = "true")
+public class BlobStoreCleanup {
+
+    /**
+     * The service for artifacts.
+     */
+    private final @NonNull ArtifactService artifactService;
+
+    /**
+     * Remove the data of deleted artifacts.
+     */
+    @Scheduled(fixedDelayString = "${storage.blob.cleanup-interval:3600000}")
+    public void cleanup() {
+        try {
+            final var removed = artifactService.removeBlobsOfDeletedData();
+            if (removed > 0 && log.isInfoEnabled()) {
+                log.info("Removed data of deleted artifacts. [count=({})]", removed);
+            }
+        } catch (DataAccessException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to remove data of deleted artifacts. [exception=({})]",
+                        exception.getMessage());
+            }
+        }
+    }
+}
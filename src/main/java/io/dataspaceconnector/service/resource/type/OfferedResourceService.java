@@ -20,6 +20,10 @@ import io.dataspaceconnector.model.resource.OfferedResource;
 import io.dataspaceconnector.model.resource.OfferedResourceDesc;
 import io.dataspaceconnector.model.resource.OfferedResourceFactory;
 import io.dataspaceconnector.repository.BaseEntityRepository;
+import io.dataspaceconnector.repository.OfferedResourcesRepository;
+
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Handles the basic logic for offered resources.
@@ -47,4 +51,15 @@ public class OfferedResourceService extends ResourceService<OfferedResource, Off
             final AbstractFactory<OfferedResource, OfferedResourceDesc> factory) {
         super(repository, factory);
     }
+
+    /**
+     * Get an offered resource together with its representations.
+     *
+     * @param resourceId The id of the offered resource.
+     * @return The offered resource, empty if it does not exist.
+     */
+    public Optional<OfferedResource> findWithRepresentations(final UUID resourceId) {
+        return ((OfferedResourcesRepository) getRepository())
+                .findByIdWithRepresentations(resourceId);
+    }
 }
@@ -23,6 +23,8 @@ import io.dataspaceconnector.model.rule.ContractRuleDesc;
 import io.dataspaceconnector.repository.BaseEntityRepository;
 import io.dataspaceconnector.repository.RuleRepository;
 import io.dataspaceconnector.service.resource.base.BaseEntityService;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
+import lombok.NonNull;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,15 +34,42 @@ import java.util.UUID;
  */
 public class RuleService extends BaseEntityService<ContractRule, ContractRuleDesc> {
 
+    /**
+     * Cache for deserialized rules.
+     */
+    private final @NonNull PolicyCache policyCache;
+
     /**
      * Constructor.
      *
      * @param repository The rule repository.
      * @param factory    The rule factory.
+     * @param cache      The cache for deserialized rules.
      */
     public RuleService(final BaseEntityRepository<ContractRule> repository,
-                       final AbstractFactory<ContractRule, ContractRuleDesc> factory) {
+                       final AbstractFactory<ContractRule, ContractRuleDesc> factory,
+                       final @NonNull PolicyCache cache) {
         super(repository, factory);
+        this.policyCache = cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ContractRule update(final UUID entityId, final ContractRuleDesc desc) {
+        final var rule = super.update(entityId, desc);
+        policyCache.invalidate(entityId);
+        return rule;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(final UUID entityId) {
+        super.delete(entityId);
+        policyCache.invalidate(entityId);
     }
 
     /**
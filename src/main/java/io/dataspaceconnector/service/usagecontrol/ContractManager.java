@@ -59,6 +59,11 @@ public class ContractManager {
      */
     private final @NonNull DeserializationService deserializationService;
 
+    /**
+     * Cache for deserialized agreements.
+     */
+    private final @NonNull PolicyCache policyCache;
+
     /**
      * Service for resolving elements and its parents/children.
      */
@@ -107,7 +112,7 @@ public class ContractManager {
                     + "agreement message to finish the negotiation sequence.");
         }
 
-        final var idsAgreement = deserializationService.getContractAgreement(agreement.getValue());
+        final var idsAgreement = policyCache.getContractAgreement(agreement);
 
         // Validation of issuer connector.
         if (!idsAgreement.getConsumer().equals(issuer)) {
@@ -15,15 +15,12 @@
  */
 package io.dataspaceconnector.service.usagecontrol;
 
-import io.dataspaceconnector.common.ids.policy.ContractUtils;
 import io.dataspaceconnector.common.ids.policy.PolicyPattern;
-import io.dataspaceconnector.common.ids.policy.RuleUtils;
 import io.dataspaceconnector.common.net.SelfLinkHelper;
 import io.dataspaceconnector.common.exception.PolicyExecutionException;
 import io.dataspaceconnector.common.exception.PolicyRestrictionException;
 import io.dataspaceconnector.config.ConnectorConfig;
 import io.dataspaceconnector.model.artifact.Artifact;
-import io.dataspaceconnector.service.EntityResolver;
 import io.dataspaceconnector.common.usagecontrol.AccessVerificationInput;
 import io.dataspaceconnector.common.usagecontrol.PolicyVerifier;
 import io.dataspaceconnector.common.usagecontrol.VerificationResult;
@@ -33,9 +30,10 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * A {@link PolicyVerifier} implementation that checks whether data access should be allowed.
@@ -45,6 +43,18 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public final class DataAccessVerifier implements PolicyVerifier<AccessVerificationInput> {
 
+    /**
+     * The patterns enforced on data access.
+     */
+    private static final Set<PolicyPattern> PATTERNS_TO_CHECK = EnumSet.of(
+            PolicyPattern.PROVIDE_ACCESS,
+            PolicyPattern.USAGE_DURING_INTERVAL,
+            PolicyPattern.USAGE_UNTIL_DELETION,
+            PolicyPattern.DURATION_USAGE,
+            PolicyPattern.USAGE_LOGGING,
+            PolicyPattern.N_TIMES_USAGE,
+            PolicyPattern.USAGE_NOTIFICATION);
+
     /**
      * The policy execution point.
      */
@@ -56,9 +66,9 @@ public final class DataAccessVerifier implements PolicyVerifier<AccessVerificati
     private final @NonNull ConnectorConfig connectorConfig;
 
     /**
-     * Service for resolving entities.
+     * Provides the compiled rules of artifacts.
      */
-    private final @NonNull EntityResolver entityResolver;
+    private final @NonNull PolicyDecisionPlanner planner;
 
     /**
      * Helper for creating self links.
@@ -74,18 +84,9 @@ public final class DataAccessVerifier implements PolicyVerifier<AccessVerificati
      */
     public void checkPolicy(final Artifact target, final URI agreementId) throws
             PolicyRestrictionException {
-        final var patternsToCheck = Arrays.asList(
-                PolicyPattern.PROVIDE_ACCESS,
-                PolicyPattern.USAGE_DURING_INTERVAL,
-                PolicyPattern.USAGE_UNTIL_DELETION,
-                PolicyPattern.DURATION_USAGE,
-                PolicyPattern.USAGE_LOGGING,
-                PolicyPattern.N_TIMES_USAGE,
-                PolicyPattern.USAGE_NOTIFICATION);
-
         try {
             final var artifactId = selfLinkHelper.getSelfLink(target);
-            checkForAccess(patternsToCheck, artifactId, target.getRemoteId(), agreementId);
+            checkForAccess(PATTERNS_TO_CHECK, artifactId, target.getRemoteId(), agreementId);
         } catch (PolicyRestrictionException exception) {
             // Unknown patterns cause an exception. Ignore if unsupported patterns are allowed.
             if (!connectorConfig.isAllowUnsupported()) {
@@ -97,28 +98,22 @@ public final class DataAccessVerifier implements PolicyVerifier<AccessVerificati
     /**
      * Checks the contract content for data access (on consumer side).
      *
-     * @param patterns    List of patterns that should be enforced.
+     * @param patterns    Patterns that should be enforced.
      * @param artifactId  The requested artifact.
      * @param remoteId    The remote id of the requested artifact.
      * @param agreementId The id of the transfer contract (agreement).
      * @throws io.dataspaceconnector.common.exception.UnsupportedPatternException if no suitable
      * pattern could be found.
      */
-    public void checkForAccess(final List<PolicyPattern> patterns, final URI artifactId,
+    public void checkForAccess(final Collection<PolicyPattern> patterns, final URI artifactId,
                                final URI remoteId, final URI agreementId) {
-        // Get the contract agreement's rules for the target.
-        final var agreements = entityResolver.getContractAgreementsByTarget(artifactId);
-        for (final var agreement : agreements) {
-            final var rules = ContractUtils.getRulesForTargetId(agreement, remoteId);
-
-            // Check the policy of each rule.
-            for (final var rule : rules) {
-                final var pattern = RuleUtils.getPatternByRule(rule);
-                // Enforce only a set of patterns.
-                if (patterns.contains(pattern)) {
-                    ruleValidator.validatePolicy(pattern, rule, artifactId, null,
-                            Optional.empty(), agreementId);
-                }
+        // Get the compiled rules of the contract agreements for the target.
+        final var plan = planner.getAccessPlan(artifactId, remoteId);
+        for (final var decision : plan.getDecisions()) {
+            // Enforce only a set of patterns.
+            if (patterns.contains(decision.getPattern())) {
+                ruleValidator.validateDecision(decision, artifactId, null, Optional.empty(),
+                        agreementId);
             }
         }
     }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.Permission;
+import de.fraunhofer.iais.eis.Rule;
+import io.dataspaceconnector.common.ids.policy.ContractUtils;
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
+import io.dataspaceconnector.model.agreement.Agreement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the deletion dates of all agreements ordered by date, so that only rules that are due
+ * have to be processed by {@link ScheduledDataRemoval}.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class DataRemovalIndex {
+
+    /**
+     * Cache for deserialized agreements.
+     */
+    private final @NonNull PolicyCache policyCache;
+
+    /**
+     * The deletion deadlines, earliest first.
+     */
+    private final PriorityQueue<Deadline> deadlines
+            = new PriorityQueue<>(Comparator.comparing(Deadline::getDate));
+
+    /**
+     * The deletion deadlines that have been taken but not completed or released yet.
+     */
+    private final Set<Deadline> taken = new HashSet<>();
+
+    /**
+     * Add the deletion dates of an agreement. Dates added for an older state of the agreement are
+     * replaced.
+     *
+     * @param agreement The agreement.
+     */
+    public void index(final Agreement agreement) {
+        final var value = agreement.getValue();
+        if (agreement.getId() == null || value == null || value.isBlank()) {
+            return;
+        }
+
+        final var found = new ArrayList<Deadline>();
+        try {
+            final var idsAgreement = policyCache.getContractAgreement(agreement);
+            for (final var rule : ContractUtils.extractRulesFromContract(idsAgreement)) {
+                final var date = getDeletionDate(rule);
+                if (date != null) {
+                    found.add(new Deadline(date, rule.getTarget(), agreement.getId()));
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Failed to read deletion dates of agreement. [agreement=({}), "
+                        + "exception=({})]", agreement.getId(), e.getMessage());
+            }
+        }
+
+        synchronized (deadlines) {
+            deadlines.removeIf(x -> x.getAgreementId().equals(agreement.getId()));
+            taken.removeIf(x -> x.getAgreementId().equals(agreement.getId()));
+            deadlines.addAll(found);
+        }
+    }
+
+    /**
+     * Remove the deletion dates of an agreement.
+     *
+     * @param agreementId The id of the agreement.
+     */
+    public void remove(final UUID agreementId) {
+        synchronized (deadlines) {
+            deadlines.removeIf(x -> x.getAgreementId().equals(agreementId));
+            taken.removeIf(x -> x.getAgreementId().equals(agreementId));
+        }
+    }
+
+    /**
+     * Remove all deletion dates.
+     */
+    public void clear() {
+        synchronized (deadlines) {
+            deadlines.clear();
+            taken.clear();
+        }
+    }
+
+    /**
+     * Take the deletion dates that have passed. Each taken date has to be either completed or
+     * released again.
+     *
+     * @param now      The current date.
+     * @param maxCount The maximum number of dates to take.
+     * @return The passed deletion dates, earliest first.
+     */
+    public List<Deadline> pollDue(final ZonedDateTime now, final int maxCount) {
+        final var due = new ArrayList<Deadline>();
+        synchronized (deadlines) {
+            while (due.size() < maxCount && !deadlines.isEmpty()
+                    && now.isAfter(deadlines.peek().getDate())) {
+                final var deadline = deadlines.poll();
+                taken.add(deadline);
+                due.add(deadline);
+            }
+        }
+
+        return due;
+    }
+
+    /**
+     * Drop a taken deletion date after the data of its target has been deleted.
+     *
+     * @param deadline The deletion date.
+     */
+    public void complete(final Deadline deadline) {
+        synchronized (deadlines) {
+            taken.remove(deadline);
+        }
+    }
+
+    /**
+     * Put taken deletion dates back, so that they are processed again. Dates whose agreement has
+     * been updated or removed in the meantime are dropped.
+     *
+     * @param released The deletion dates.
+     */
+    public void release(final Collection<Deadline> released) {
+        synchronized (deadlines) {
+            for (final var deadline : released) {
+                if (taken.remove(deadline)) {
+                    deadlines.add(deadline);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of deletion dates that have not been processed yet.
+     *
+     * @return The number of dates.
+     */
+    public int getSize() {
+        synchronized (deadlines) {
+            return deadlines.size();
+        }
+    }
+
+    /**
+     * Get the number of deletion dates that have passed but were not processed yet.
+     *
+     * @param now The current date.
+     * @return The number of passed dates.
+     */
+    public long countDue(final ZonedDateTime now) {
+        synchronized (deadlines) {
+            return deadlines.stream().filter(x -> now.isAfter(x.getDate())).count();
+        }
+    }
+
+    /**
+     * Get how long the earliest unprocessed deletion date has passed.
+     *
+     * @param now The current date.
+     * @return The lag, zero if no date has passed.
+     */
+    public Duration getLag(final ZonedDateTime now) {
+        synchronized (deadlines) {
+            final var next = deadlines.peek();
+            if (next == null || !now.isAfter(next.getDate())) {
+                return Duration.ZERO;
+            }
+
+            return Duration.between(next.getDate(), now);
+        }
+    }
+
+    private static ZonedDateTime getDeletionDate(final Rule rule) throws DateTimeParseException {
+        if (!(rule instanceof Permission)) {
+            return null;
+        }
+
+        final var postDuties = ((Permission) rule).getPostDuty();
+        if (postDuties == null) {
+            return null;
+        }
+
+        for (final var duty : postDuties) {
+            for (final var action : duty.getAction()) {
+                if (action == Action.DELETE) {
+                    return RuleUtils.getDate(duty);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The date after which the data of a target has to be deleted.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static final class Deadline {
+        /**
+         * The deletion date.
+         */
+        private final ZonedDateTime date;
+
+        /**
+         * The remote id of the artifact.
+         */
+        private final URI target;
+
+        /**
+         * The agreement containing the rule.
+         */
+        private final UUID agreementId;
+    }
+}
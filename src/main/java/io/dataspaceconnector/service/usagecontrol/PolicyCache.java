@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.Rule;
+import io.dataspaceconnector.common.exception.ErrorMessage;
+import io.dataspaceconnector.common.ids.DeserializationService;
+import io.dataspaceconnector.common.util.Utils;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.base.Entity;
+import io.dataspaceconnector.model.rule.ContractRule;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches the deserialized ids objects of agreements and contract rules. Entries are identified
+ * by the entity id and its modification date, so a changed entity is never served from an old
+ * entry. The cache is bounded by the summed length of the serialized values and evicts the least
+ * recently used entries first.
+ */
+@Log4j2
+@Component
+public class PolicyCache {
+
+    /**
+     * Service for deserialization.
+     */
+    private final @NonNull DeserializationService deserializationService;
+
+    /**
+     * The maximum summed length of all cached serialized values. Zero disables the cache.
+     */
+    private final long maxSize;
+
+    /**
+     * The cached objects in least recently used order.
+     */
+    private final Map<UUID, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The summed length of all cached serialized values.
+     */
+    private long size;
+
+    /**
+     * The number of lookups served from the cache.
+     */
+    @Getter
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of lookups that required deserialization.
+     */
+    @Getter
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param deserializer The service for deserialization.
+     * @param cacheSize    The maximum summed length of all cached serialized values.
+     */
+    @Autowired
+    public PolicyCache(final @NonNull DeserializationService deserializer,
+                       final @Value("${policy.cache.max-size:16777216}") long cacheSize) {
+        this.deserializationService = deserializer;
+        this.maxSize = cacheSize;
+    }
+
+    /**
+     * Get the ids contract agreement of an agreement.
+     *
+     * @param agreement The agreement.
+     * @return The deserialized contract agreement.
+     * @throws IllegalArgumentException if deserialization fails.
+     */
+    public ContractAgreement getContractAgreement(final Agreement agreement) {
+        Utils.requireNonNull(agreement, ErrorMessage.ENTITY_NULL);
+        return get(agreement, agreement.getValue(), ContractAgreement.class,
+                deserializationService::getContractAgreement);
+    }
+
+    /**
+     * Get the ids rule of a contract rule.
+     *
+     * @param rule The contract rule.
+     * @return The deserialized rule.
+     * @throws IllegalArgumentException if deserialization fails.
+     */
+    public Rule getRule(final ContractRule rule) {
+        Utils.requireNonNull(rule, ErrorMessage.ENTITY_NULL);
+        return get(rule, rule.getValue(), Rule.class, deserializationService::getRule);
+    }
+
+    /**
+     * Remove the cached object of an entity.
+     *
+     * @param entityId The id of the agreement or contract rule.
+     */
+    public void invalidate(final UUID entityId) {
+        if (entityId == null) {
+            return;
+        }
+
+        synchronized (entries) {
+            final var entry = entries.remove(entityId);
+            if (entry != null) {
+                size -= entry.getSize();
+            }
+        }
+    }
+
+    /**
+     * Get the number of cached objects.
+     *
+     * @return The number of entries.
+     */
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the summed length of all cached serialized values.
+     *
+     * @return The size of the cache.
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    private <T> T get(final Entity entity, final String value, final Class<T> type,
+                      final Function<String, T> deserializer) {
+        final var entityId = entity.getId();
+        if (entityId == null || value == null || value.length() > maxSize) {
+            misses.increment();
+            return deserializer.apply(value);
+        }
+
+        final var version = entity.getModificationDate();
+        synchronized (entries) {
+            final var entry = entries.get(entityId);
+            if (entry != null && entry.isVersion(version) && type.isInstance(entry.getObject())) {
+                hits.increment();
+                return type.cast(entry.getObject());
+            }
+        }
+
+        misses.increment();
+        // Deserialize outside the lock, concurrent misses for one entity may parse it twice.
+        final var object = deserializer.apply(value);
+        put(entityId, new CacheEntry(version, object, value.length()));
+
+        return object;
+    }
+
+    private void put(final UUID entityId, final CacheEntry entry) {
+        synchronized (entries) {
+            final var old = entries.put(entityId, entry);
+            if (old != null) {
+                size -= old.getSize();
+            }
+            size += entry.getSize();
+
+            final Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= iterator.next().getSize();
+                iterator.remove();
+            }
+        }
+
+        if (log.isTraceEnabled()) {
+            log.trace("Cached deserialized policy. [entityId=({})]", entityId);
+        }
+    }
+
+    /**
+     * A deserialized object together with the entity version it was created from.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class CacheEntry {
+        /**
+         * The modification date of the entity.
+         */
+        private final ZonedDateTime version;
+
+        /**
+         * The deserialized object.
+         */
+        private final Object object;
+
+        /**
+         * The length of the serialized value.
+         */
+        private final int size;
+
+        boolean isVersion(final ZonedDateTime other) {
+            return version == null ? other == null : version.equals(other);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Rule;
+import io.dataspaceconnector.common.ids.policy.PolicyPattern;
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
+import io.dataspaceconnector.common.time.TimeInterval;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * An ids rule together with its policy pattern and the constraint values needed to enforce it.
+ * Values that could not be read stay empty, the {@link RuleValidator} then falls back to reading
+ * them from the rule and reports the error.
+ */
+@Log4j2
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PolicyDecision {
+
+    /**
+     * The policy pattern of the rule.
+     */
+    private final PolicyPattern pattern;
+
+    /**
+     * The ids rule.
+     */
+    private final Rule rule;
+
+    /**
+     * The allowed time interval.
+     */
+    private final TimeInterval interval;
+
+    /**
+     * The allowed usage duration.
+     */
+    private final Duration duration;
+
+    /**
+     * The date after which the usage duration has been exceeded.
+     */
+    private final ZonedDateTime expiration;
+
+    /**
+     * The allowed number of accesses.
+     */
+    private final Integer maxAccess;
+
+    /**
+     * The connector allowed to access the data.
+     */
+    private final URI allowedConsumer;
+
+    /**
+     * The required security profile.
+     */
+    private final String securityProfile;
+
+    /**
+     * Compile a rule without knowing the creation date of the target.
+     *
+     * @param pattern The policy pattern of the rule.
+     * @param rule    The ids rule.
+     * @return The compiled rule.
+     */
+    public static PolicyDecision compile(final PolicyPattern pattern, final Rule rule) {
+        return compile(pattern, rule, null);
+    }
+
+    /**
+     * Compile a rule.
+     *
+     * @param pattern The policy pattern of the rule, null if no pattern was recognized.
+     * @param rule    The ids rule.
+     * @param created The creation date of the target, used to precalculate the end of a usage
+     *                duration. May be null.
+     * @return The compiled rule.
+     */
+    public static PolicyDecision compile(final PolicyPattern pattern, final Rule rule,
+                                         final ZonedDateTime created) {
+        TimeInterval interval = null;
+        Duration duration = null;
+        ZonedDateTime expiration = null;
+        Integer maxAccess = null;
+        URI allowedConsumer = null;
+        String securityProfile = null;
+
+        if (pattern == null) {
+            return new PolicyDecision(null, rule, null, null, null, null, null, null);
+        }
+
+        try {
+            switch (pattern) {
+                case USAGE_DURING_INTERVAL:
+                case USAGE_UNTIL_DELETION:
+                    interval = RuleUtils.getTimeInterval(rule);
+                    break;
+                case DURATION_USAGE:
+                    duration = RuleUtils.getDuration(rule);
+                    if (duration != null && created != null) {
+                        expiration = RuleUtils.getCalculatedDate(created, duration);
+                    }
+                    break;
+                case N_TIMES_USAGE:
+                    maxAccess = RuleUtils.getMaxAccess(rule);
+                    break;
+                case CONNECTOR_RESTRICTED_USAGE:
+                    allowedConsumer = URI.create(RuleUtils.getEndpoint(rule));
+                    break;
+                case SECURITY_PROFILE_RESTRICTED_USAGE:
+                    securityProfile = RuleUtils.getSecurityProfile(rule);
+                    break;
+                default:
+                    break;
+            }
+        } catch (RuntimeException exception) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not read the constraints of a rule, they are read again during "
+                        + "validation. [pattern=({}), rule=({}), exception=({})]", pattern,
+                        rule.getId(), exception.getMessage());
+            }
+
+            // Keep no values, the validator reads the rule again and reports the error.
+            return new PolicyDecision(pattern, rule, null, null, null, null, null, null);
+        }
+
+        return new PolicyDecision(pattern, rule, interval, duration, expiration, maxAccess,
+                allowedConsumer, securityProfile);
+    }
+}
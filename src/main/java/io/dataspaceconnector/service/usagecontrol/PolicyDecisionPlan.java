@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The compiled rules that apply to an artifact, together with the state of the artifact's
+ * agreements they were compiled from.
+ */
+@Getter
+@AllArgsConstructor
+public final class PolicyDecisionPlan {
+
+    /**
+     * Identifies the agreements the plan was compiled from.
+     */
+    private final List<Object> version;
+
+    /**
+     * The compiled rules.
+     */
+    private final List<PolicyDecision> decisions;
+
+    /**
+     * Check whether the plan was compiled from the given agreements.
+     *
+     * @param other The identifier of the current agreements.
+     * @return True if the plan is up to date.
+     */
+    public boolean isVersion(final List<Object> other) {
+        return version.equals(other);
+    }
+
+    /**
+     * Check whether the plan was compiled from an agreement.
+     *
+     * @param agreementId The id of the agreement.
+     * @return True if the agreement is part of the plan's version.
+     */
+    public boolean isCompiledFrom(final UUID agreementId) {
+        return version.contains(agreementId);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import io.dataspaceconnector.common.ids.policy.ContractUtils;
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
+import io.dataspaceconnector.common.net.EndpointUtils;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.artifact.Artifact;
+import io.dataspaceconnector.model.contract.Contract;
+import io.dataspaceconnector.model.rule.ContractRule;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
+import io.dataspaceconnector.service.resource.type.ArtifactService;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compiles the rules that apply to an artifact into a {@link PolicyDecisionPlan} and keeps it
+ * until the agreements of the artifact change.
+ */
+@Log4j2
+@Component
+public class PolicyDecisionPlanner {
+
+    /**
+     * Service for artifacts.
+     */
+    private final @NonNull ArtifactService artifactService;
+
+    /**
+     * Cache for deserialized agreements.
+     */
+    private final @NonNull PolicyCache policyCache;
+
+    /**
+     * The maximum number of plans. Zero disables caching plans.
+     */
+    private final int maxEntries;
+
+    /**
+     * The compiled plans by artifact id in least recently used order.
+     */
+    private final Map<UUID, PolicyDecisionPlan> plans = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructor.
+     *
+     * @param artifacts The service for artifacts.
+     * @param cache     The cache for deserialized agreements.
+     * @param maxPlans  The maximum number of plans.
+     */
+    @Autowired
+    public PolicyDecisionPlanner(final @NonNull ArtifactService artifacts,
+                                 final @NonNull PolicyCache cache,
+                                 final @Value("${policy.plan.max-entries:1024}") int maxPlans) {
+        this.artifactService = artifacts;
+        this.policyCache = cache;
+        this.maxEntries = maxPlans;
+    }
+
+    /**
+     * Get the plan for accessing an artifact on consumer side.
+     *
+     * @param artifactId The self link of the artifact.
+     * @param remoteId   The remote id of the artifact, used as rule target.
+     * @return The plan.
+     * @throws io.dataspaceconnector.common.exception.ResourceNotFoundException if the artifact
+     * does not exist.
+     */
+    public PolicyDecisionPlan getAccessPlan(final URI artifactId, final URI remoteId) {
+        final var id = EndpointUtils.getUUIDFromPath(artifactId);
+        final var artifact = artifactService.get(id);
+        final var version = getVersion(artifact, remoteId);
+
+        synchronized (plans) {
+            final var plan = plans.get(id);
+            if (plan != null && plan.isVersion(version)) {
+                return plan;
+            }
+        }
+
+        final var compiled = compile(artifact, remoteId, version);
+        put(id, compiled);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Compiled policy decision plan. [artifact=({}), rules=({})]", artifactId,
+                    compiled.getDecisions().size());
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Remove the plan of an artifact.
+     *
+     * @param artifactId The self link of the artifact.
+     */
+    public void invalidate(final URI artifactId) {
+        final var id = EndpointUtils.getUUIDFromPath(artifactId);
+        synchronized (plans) {
+            plans.remove(id);
+        }
+    }
+
+    /**
+     * Remove the plans affected by a change of an artifact, agreement, contract or rule.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void handleEntityChange(final EntityChangeEvent event) {
+        if (!event.isOfAnyType(Artifact.class, Agreement.class, Contract.class,
+                ContractRule.class)) {
+            return;
+        }
+
+        invalidate(event);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A plan may be compiled from the old state before the change is committed.
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(final int status) {
+                            invalidate(event);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Get the number of cached plans.
+     *
+     * @return The number of plans.
+     */
+    public int getPlanCount() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    private void invalidate(final EntityChangeEvent event) {
+        final var id = event.getEntityId();
+        synchronized (plans) {
+            if (event.isOfType(Artifact.class)) {
+                plans.remove(id);
+            } else if (event.isOfType(Agreement.class)) {
+                plans.values().removeIf(plan -> plan.isCompiledFrom(id));
+            } else {
+                // Contracts and rules are not linked to the plans, drop all of them.
+                plans.clear();
+            }
+        }
+    }
+
+    private void put(final UUID artifactId, final PolicyDecisionPlan plan) {
+        if (maxEntries <= 0) {
+            return;
+        }
+
+        synchronized (plans) {
+            plans.put(artifactId, plan);
+            final var iterator = plans.values().iterator();
+            while (plans.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private PolicyDecisionPlan compile(final Artifact artifact, final URI remoteId,
+                                       final List<Object> version) {
+        final var decisions = new ArrayList<PolicyDecision>();
+        for (final var agreement : artifact.getAgreements()) {
+            final var idsAgreement = policyCache.getContractAgreement(agreement);
+            for (final var rule : ContractUtils.getRulesForTargetId(idsAgreement, remoteId)) {
+                decisions.add(PolicyDecision.compile(RuleUtils.getPatternByRule(rule), rule,
+                        artifact.getCreationDate()));
+            }
+        }
+
+        return new PolicyDecisionPlan(version, Collections.unmodifiableList(decisions));
+    }
+
+    private static List<Object> getVersion(final Artifact artifact, final URI remoteId) {
+        final var agreements = artifact.getAgreements();
+        final var version = new ArrayList<>(2 * agreements.size() + 2);
+        version.add(remoteId);
+        version.add(artifact.getCreationDate());
+        for (final var agreement : agreements) {
+            version.add(agreement.getId());
+            version.add(agreement.getModificationDate());
+        }
+
+        return version;
+    }
+}
@@ -24,7 +24,6 @@ import io.dataspaceconnector.common.time.TimeInterval;
 import io.dataspaceconnector.common.exception.PolicyRestrictionException;
 import io.dataspaceconnector.model.contract.Contract;
 import io.dataspaceconnector.model.rule.ContractRule;
-import io.dataspaceconnector.common.ids.DeserializationService;
 import io.dataspaceconnector.service.EntityDependencyResolver;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +32,7 @@ import org.springframework.stereotype.Service;
 
 import java.net.URI;
 import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
@@ -65,9 +65,9 @@ public class RuleValidator {
     private final @NonNull EntityDependencyResolver dependencyResolver;
 
     /**
-     * Service for deserialization.
+     * Cache for deserialized rules.
      */
-    private final @NonNull DeserializationService deserializationService;
+    private final @NonNull PolicyCache policyCache;
 
     /**
      * Validates the data access for a given rule.
@@ -83,30 +83,48 @@ public class RuleValidator {
     public void validatePolicy(final PolicyPattern pattern, final Rule rule, final URI target,
                                final URI issuerConnector, final Optional<SecurityProfile> profile,
                                final URI agreementId) throws PolicyRestrictionException {
-        switch (pattern) {
+        validateDecision(PolicyDecision.compile(pattern, rule), target, issuerConnector, profile,
+                agreementId);
+    }
+
+    /**
+     * Validates the data access for a compiled rule.
+     *
+     * @param decision        The compiled ids rule.
+     * @param target          The requested/accessed element.
+     * @param issuerConnector The issuer connector.
+     * @param profile         The security profile.
+     * @param agreementId     The id of the transfer contract (agreement).
+     * @throws PolicyRestrictionException If a policy restriction was detected.
+     */
+    public void validateDecision(final PolicyDecision decision, final URI target,
+                                 final URI issuerConnector,
+                                 final Optional<SecurityProfile> profile,
+                                 final URI agreementId) throws PolicyRestrictionException {
+        switch (decision.getPattern()) {
             case PROVIDE_ACCESS:
                 break;
             case USAGE_DURING_INTERVAL:
             case USAGE_UNTIL_DELETION:
-                validateInterval(rule);
+                validateInterval(decision);
                 break;
             case DURATION_USAGE:
-                validateDuration(rule, target);
+                validateDuration(decision, target);
                 break;
             case USAGE_LOGGING:
                 executionService.logDataAccess(target, agreementId);
                 break;
             case N_TIMES_USAGE:
-                validateAccessNumber(rule, target);
+                validateAccessNumber(decision, target);
                 break;
             case USAGE_NOTIFICATION:
-                executionService.reportDataAccess(rule, target);
+                executionService.reportDataAccess(decision.getRule(), target);
                 break;
             case CONNECTOR_RESTRICTED_USAGE:
-                validateIssuerConnector(rule, issuerConnector);
+                validateIssuerConnector(decision, issuerConnector);
                 break;
             case SECURITY_PROFILE_RESTRICTED_USAGE:
-                validateSecurityProfile(rule, profile);
+                validateSecurityProfile(decision, profile);
                 break;
             case PROHIBIT_ACCESS:
                 throw new PolicyRestrictionException(ErrorMessage.NOT_ALLOWED);
@@ -155,7 +173,7 @@ public class RuleValidator {
                                                  final List<Rule> requestRules) {
         final var idsRuleList = new ArrayList<Rule>();
         for (final var rule : offerRules) {
-            idsRuleList.add(deserializationService.getRule(rule.getValue()));
+            idsRuleList.add(policyCache.getRule(rule));
         }
 
         if (!RuleUtils.compareRules(idsRuleList, requestRules)) {
@@ -172,14 +190,17 @@ public class RuleValidator {
     /**
      * Checks if the requested data access is in the allowed time interval.
      *
-     * @param rule The ids rule.
+     * @param decision The compiled ids rule.
      * @throws PolicyRestrictionException If the policy could not be read or a restriction is
      *                                    detected.
      */
-    private void validateInterval(final Rule rule) throws PolicyRestrictionException {
-        TimeInterval timeInterval;
+    private void validateInterval(final PolicyDecision decision)
+            throws PolicyRestrictionException {
+        TimeInterval timeInterval = decision.getInterval();
         try {
-            timeInterval = RuleUtils.getTimeInterval(rule);
+            if (timeInterval == null) {
+                timeInterval = RuleUtils.getTimeInterval(decision.getRule());
+            }
         } catch (DateTimeParseException e) {
             if (log.isWarnEnabled()) {
                 log.warn("Could not read time interval. [exception=({})]", e.getMessage());
@@ -199,18 +220,25 @@ public class RuleValidator {
     /**
      * Adds a duration to a given date and checks if the duration has already been exceeded.
      *
-     * @param rule   The ids rule.
-     * @param target The accessed element.
+     * @param decision The compiled ids rule.
+     * @param target   The accessed element.
      * @throws PolicyRestrictionException If the policy could not be read or a restriction is
      *                                    detected.
      */
-    private void validateDuration(final Rule rule, final URI target)
+    private void validateDuration(final PolicyDecision decision, final URI target)
             throws PolicyRestrictionException {
+        if (decision.getExpiration() != null) {
+            validateExpiration(decision.getExpiration(), target);
+            return;
+        }
+
         final var created = informationService.getCreationDate(target);
 
-        final Duration duration;
+        Duration duration = decision.getDuration();
         try {
-            duration = RuleUtils.getDuration(rule);
+            if (duration == null) {
+                duration = RuleUtils.getDuration(decision.getRule());
+            }
         } catch (DateTimeParseException e) {
             if (log.isWarnEnabled()) {
                 log.warn("Could not read duration. [target=({}), exception=({})]",
@@ -226,7 +254,12 @@ public class RuleValidator {
             throw new PolicyRestrictionException(ErrorMessage.DATA_ACCESS_INVALID_INTERVAL);
         }
 
-        if (RuleUtils.isExpired(RuleUtils.getCalculatedDate(created, duration))) {
+        validateExpiration(RuleUtils.getCalculatedDate(created, duration), target);
+    }
+
+    private void validateExpiration(final ZonedDateTime expiration, final URI target)
+            throws PolicyRestrictionException {
+        if (RuleUtils.isExpired(expiration)) {
             if (log.isDebugEnabled()) {
                 log.debug("Invalid date time. [target=({})]", target);
             }
@@ -237,13 +270,14 @@ public class RuleValidator {
     /**
      * Checks whether the maximum number of accesses has already been reached.
      *
-     * @param rule   The ids rule.
-     * @param target The accessed element.
+     * @param decision The compiled ids rule.
+     * @param target   The accessed element.
      * @throws PolicyRestrictionException If the access number has been reached.
      */
-    private void validateAccessNumber(final Rule rule, final URI target)
+    private void validateAccessNumber(final PolicyDecision decision, final URI target)
             throws PolicyRestrictionException {
-        final var max = RuleUtils.getMaxAccess(rule);
+        final var max = decision.getMaxAccess() != null
+                ? decision.getMaxAccess() : RuleUtils.getMaxAccess(decision.getRule());
         final var accessed = informationService.getAccessNumber(target);
         if (accessed >= max) {
             if (log.isDebugEnabled()) {
@@ -256,14 +290,16 @@ public class RuleValidator {
     /**
      * Checks whether the requesting connector corresponds to the allowed connector.
      *
-     * @param rule            The ids rule.
+     * @param decision        The compiled ids rule.
      * @param issuerConnector The issuer connector.
      * @throws PolicyRestrictionException If the connector ids do no match.
      */
-    private void validateIssuerConnector(final Rule rule, final URI issuerConnector)
+    private void validateIssuerConnector(final PolicyDecision decision,
+                                         final URI issuerConnector)
             throws PolicyRestrictionException {
-        final var allowedConsumer = RuleUtils.getEndpoint(rule);
-        final var allowedConsumerAsUri = URI.create(allowedConsumer);
+        final var allowedConsumerAsUri = decision.getAllowedConsumer() != null
+                ? decision.getAllowedConsumer()
+                : URI.create(RuleUtils.getEndpoint(decision.getRule()));
         if (!allowedConsumerAsUri.equals(issuerConnector)) {
             if (log.isDebugEnabled()) {
                 log.debug("Invalid consumer connector. [issuer=({})]", issuerConnector);
@@ -275,18 +311,21 @@ public class RuleValidator {
     /**
      * Checks whether the requesting connector has the right security level.
      *
-     * @param rule    The ids rule.
-     * @param profile The security profile.
+     * @param decision The compiled ids rule.
+     * @param profile  The security profile.
      * @throws PolicyRestrictionException If the connector ids do no match.
      */
-    private void validateSecurityProfile(final Rule rule, final Optional<SecurityProfile> profile)
+    private void validateSecurityProfile(final PolicyDecision decision,
+                                         final Optional<SecurityProfile> profile)
             throws PolicyRestrictionException {
         if (profile.isEmpty()) {
             throw new PolicyRestrictionException(ErrorMessage.MISSING_SECURITY_PROFILE_CLAIM);
         }
 
         try {
-            final var allowedProfile = RuleUtils.getSecurityProfile(rule);
+            final var allowedProfile = decision.getSecurityProfile() != null
+                    ? decision.getSecurityProfile()
+                    : RuleUtils.getSecurityProfile(decision.getRule());
             final var securityProfile = profile.get();
             if (!allowedProfile.equals(securityProfile.toString())) {
                 throw new PolicyRestrictionException(
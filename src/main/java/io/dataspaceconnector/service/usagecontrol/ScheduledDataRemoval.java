@@ -15,25 +15,29 @@
  */
 package io.dataspaceconnector.service.usagecontrol;
 
-import io.dataspaceconnector.common.ids.policy.ContractUtils;
-import io.dataspaceconnector.common.ids.policy.RuleUtils;
 import io.dataspaceconnector.common.exception.ResourceNotFoundException;
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
 import io.dataspaceconnector.common.ids.policy.UsageControlFramework;
 import io.dataspaceconnector.config.ConnectorConfig;
-import io.dataspaceconnector.common.ids.DeserializationService;
 import io.dataspaceconnector.service.resource.type.AgreementService;
 import io.dataspaceconnector.service.resource.type.ArtifactService;
+import io.dataspaceconnector.service.usagecontrol.DataRemovalIndex.Deadline;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.HashSet;
 import java.util.UUID;
 
 /**
@@ -56,12 +60,12 @@ public class ScheduledDataRemoval {
     private final @NonNull ConnectorConfig connectorConfig;
 
     /**
-     * Service for ids deserialization.
+     * The deletion dates of all agreements.
      */
-    private final @NonNull DeserializationService deserializationService;
+    private final @NonNull DataRemovalIndex removalIndex;
 
     /**
-     * Service for ids deserialization.
+     * Service for agreements.
      */
     private final @NonNull AgreementService agreementService;
 
@@ -70,6 +74,29 @@ public class ScheduledDataRemoval {
      */
     private final @NonNull ArtifactService artifactService;
 
+    /**
+     * The number of agreements or deletion dates processed at once.
+     */
+    @Value("${policy.removal.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * The interval in milliseconds after which the index is rebuilt from all agreements.
+     */
+    @Value("${policy.removal.rebuild-interval:3600000}")
+    private long rebuildInterval;
+
+    /**
+     * The time of the last index rebuild, null if the index has not been built yet.
+     */
+    private ZonedDateTime lastRebuild;
+
+    /**
+     * How late the last processed deletion date was handled.
+     */
+    @Getter
+    private volatile Duration lastLag = Duration.ZERO;
+
     /**
      * Periodically checks agreements for data deletion.
      */
@@ -77,10 +104,13 @@ public class ScheduledDataRemoval {
     public void schedule() {
         try {
             if (connectorConfig.getUcFramework() == UsageControlFramework.INTERNAL) {
-                if (log.isInfoEnabled()) {
-                    log.info("Scanning agreements...");
+                if (isRebuildRequired()) {
+                    if (log.isInfoEnabled()) {
+                        log.info("Scanning agreements...");
+                    }
+                    rebuildIndex();
                 }
-                scanAgreements();
+                removeDueData();
             }
         } catch (IllegalArgumentException | DateTimeParseException | ResourceNotFoundException e) {
             if (log.isWarnEnabled()) {
@@ -89,29 +119,78 @@ public class ScheduledDataRemoval {
         }
     }
 
+    private boolean isRebuildRequired() {
+        return lastRebuild == null || RuleUtils.getCurrentDate()
+                .isAfter(lastRebuild.plus(Duration.ofMillis(rebuildInterval)));
+    }
+
+    /**
+     * Rebuilds the index from all known agreements, reading them page by page. This also covers
+     * agreements that were not stored through the {@link AgreementService}.
+     */
+    private void rebuildIndex() {
+        removalIndex.clear();
+
+        var page = agreementService.getAll(PageRequest.of(0, batchSize));
+        while (true) {
+            page.forEach(removalIndex::index);
+            if (!page.hasNext()) {
+                break;
+            }
+            page = agreementService.getAll(page.nextPageable());
+        }
+
+        lastRebuild = RuleUtils.getCurrentDate();
+    }
+
     /**
-     * Checks all known agreements for artifacts that have to be deleted.
+     * Removes the data of all artifacts whose deletion date has passed. Deletion dates whose
+     * artifact is not known yet or whose data could not be deleted are kept for the next run.
      *
-     * @throws DateTimeParseException    If a date from a policy cannot be parsed.
-     * @throws IllegalArgumentException  If the rule could not be deserialized.
      * @throws ResourceNotFoundException If the data could not be deleted.
      */
-    private void scanAgreements() throws DateTimeParseException, IllegalArgumentException,
-            ResourceNotFoundException {
-        for (final var agreement : agreementService.getAll(Pageable.unpaged())) {
-            final var value = agreement.getValue();
-            final var idsAgreement = deserializationService.getContractAgreement(value);
-            for (final var rule : ContractUtils.extractRulesFromContract(idsAgreement)) {
-                if (RuleUtils.checkRuleForPostDuties(rule)) {
-                    final var artifactId = artifactService.identifyByRemoteId(rule.getTarget());
-                    if (artifactId.isPresent() && !isDataDeleted(artifactId.get())) {
-                        removeDataFromArtifact(artifactId.get());
+    private void removeDueData() throws ResourceNotFoundException {
+        final var now = RuleUtils.getCurrentDate();
+        lastLag = removalIndex.getLag(now);
+
+        final var retained = new HashSet<Deadline>();
+        try {
+            var due = removalIndex.pollDue(now, batchSize);
+            while (!due.isEmpty()) {
+                retained.addAll(due);
+                for (final var deadline : due) {
+                    if (removeData(deadline)) {
+                        retained.remove(deadline);
+                        removalIndex.complete(deadline);
                     }
                 }
+                due = removalIndex.pollDue(now, batchSize);
             }
+        } finally {
+            removalIndex.release(retained);
         }
     }
 
+    /**
+     * Delete the data of the target of a deletion date.
+     *
+     * @param deadline The deletion date.
+     * @return True if the data is deleted, false if the artifact is not known yet or the data
+     *         could not be deleted.
+     */
+    private boolean removeData(final Deadline deadline) {
+        final var artifactId = artifactService.identifyByRemoteId(deadline.getTarget());
+        if (artifactId.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Artifact of passed deletion date not found, keeping it. "
+                        + "[target=({})]", deadline.getTarget());
+            }
+            return false;
+        }
+
+        return isDataDeleted(artifactId.get()) || removeDataFromArtifact(artifactId.get());
+    }
+
     /**
      * Check if an artifact already has the status deleted.
      *
@@ -126,18 +205,21 @@ public class ScheduledDataRemoval {
      * Delete data by artifact id.
      *
      * @param artifactId The artifact uuid.
+     * @return True if the data has been removed.
      */
-    private void removeDataFromArtifact(final UUID artifactId) {
+    private boolean removeDataFromArtifact(final UUID artifactId) {
         try {
             artifactService.setData(artifactId, InputStream.nullInputStream());
             if (log.isDebugEnabled()) {
                 log.debug("Removed data from artifact [artifact=({})]", artifactId);
             }
+            return true;
         } catch (IOException | ResourceNotFoundException e) {
             if (log.isWarnEnabled()) {
                 log.warn("Failed to remove data from artifact. [artifact=({}), exception=({})]",
                         artifactId, e.getMessage());
             }
+            return false;
         }
     }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx;
+
+import io.dataspaceconnector.arx.AttributeType.Hierarchy;
+import io.dataspaceconnector.arx.AttributeType.Hierarchy.DefaultHierarchy;
+import io.dataspaceconnector.arx.criteria.DistinctLDiversity;
+import io.dataspaceconnector.arx.criteria.KAnonymity;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ARXAnonymizerTest {
+
+    /**
+     * Mirrors the minimal partition size of the transformer.
+     */
+    private static final int PARTITION_SIZE = 10_000;
+
+    private static final int ROWS = 4 * PARTITION_SIZE;
+
+    @Test
+    public void anonymize_offHeapBuffer_returnSameResultAsHeapBuffer() throws IOException {
+        /* ARRANGE */
+        final var heapConfig = createConfig();
+        final var offHeapConfig = createConfig();
+        offHeapConfig.setUseOffHeapBuffer(true);
+
+        /* ACT */
+        final var heap = new ARXAnonymizer().anonymize(createData(), heapConfig);
+        final var offHeap = new ARXAnonymizer().anonymize(createData(), offHeapConfig);
+
+        /* ASSERT */
+        assertTrue(offHeapConfig.clone().isUseOffHeapBuffer());
+        assertArrayEquals(heap.getGlobalOptimum().getTransformation(),
+                offHeap.getGlobalOptimum().getTransformation());
+        assertEquals(getRows(heap.getOutput()), getRows(offHeap.getOutput()));
+    }
+
+    @Test
+    public void anonymize_fourThreads_returnSameResultAsSingleThread() throws IOException {
+        /* ARRANGE */
+        final var sequentialConfig = createLargeConfig(false);
+        final var parallelConfig = createLargeConfig(false);
+        parallelConfig.setNumberOfThreads(4);
+
+        /* ACT */
+        final var sequential = new ARXAnonymizer().anonymize(createLargeData(), sequentialConfig);
+        final var parallel = new ARXAnonymizer().anonymize(createLargeData(), parallelConfig);
+
+        /* ASSERT */
+        assertEquals(4, parallelConfig.clone().getNumberOfThreads());
+        assertSameResult(sequential, parallel);
+    }
+
+    @Test
+    public void anonymize_fourThreadsWithLDiversity_returnSameResultAsSingleThread()
+            throws IOException {
+        /* ARRANGE */
+        final var sequentialConfig = createLargeConfig(true);
+        final var parallelConfig = createLargeConfig(true);
+        parallelConfig.setNumberOfThreads(4);
+
+        /* ACT */
+        final var sequential = new ARXAnonymizer().anonymize(createLargeData(), sequentialConfig);
+        final var parallel = new ARXAnonymizer().anonymize(createLargeData(), parallelConfig);
+
+        /* ASSERT */
+        assertSameResult(sequential, parallel);
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private static ARXConfiguration createConfig() {
+        final var config = ARXConfiguration.create();
+        config.addPrivacyModel(new KAnonymity(2));
+        config.setSuppressionLimit(0.5d);
+        return config;
+    }
+
+    private static ARXConfiguration createLargeConfig(final boolean distribution) {
+        final var config = ARXConfiguration.create();
+        config.addPrivacyModel(new KAnonymity(5));
+        if (distribution) {
+            config.addPrivacyModel(new DistinctLDiversity("disease", 2));
+        }
+        config.setSuppressionLimit(0.05d);
+        return config;
+    }
+
+    private static Data createData() {
+        final var data = Data.create();
+        data.add("age", "gender", "zipcode");
+        data.add("34", "male", "81667");
+        data.add("45", "female", "81675");
+        data.add("66", "male", "81925");
+        data.add("70", "female", "81931");
+        data.add("34", "female", "81931");
+        data.add("70", "male", "81931");
+        data.add("45", "male", "81931");
+
+        final var definition = data.getDefinition();
+        definition.setAttributeType("age", createHierarchy(
+                new String[] {"34", "<50", "*"},
+                new String[] {"45", "<50", "*"},
+                new String[] {"66", ">=50", "*"},
+                new String[] {"70", ">=50", "*"}));
+        definition.setAttributeType("gender", createHierarchy(
+                new String[] {"male", "*"},
+                new String[] {"female", "*"}));
+        definition.setAttributeType("zipcode", createHierarchy(
+                new String[] {"81667", "8166*", "816**", "81***", "8****", "*****"},
+                new String[] {"81675", "8167*", "816**", "81***", "8****", "*****"},
+                new String[] {"81925", "8192*", "819**", "81***", "8****", "*****"},
+                new String[] {"81931", "8193*", "819**", "81***", "8****", "*****"}));
+        return data;
+    }
+
+    private static Data createLargeData() {
+        final var random = new Random(0);
+        final var diseases = new String[] {"flu", "gastritis", "bronchitis", "pneumonia", "ulcer"};
+        final var data = Data.create();
+        data.add("age", "gender", "zipcode", "disease");
+        for (var row = 0; row < ROWS; row++) {
+            data.add(String.valueOf(random.nextInt(80)),
+                    random.nextBoolean() ? "male" : "female",
+                    String.valueOf(81_600 + 7 * random.nextInt(20)),
+                    diseases[random.nextInt(diseases.length)]);
+        }
+
+        final var age = Hierarchy.create();
+        for (var value = 0; value < 80; value++) {
+            final var decade = value / 10 * 10;
+            age.add(String.valueOf(value), "[" + decade + "-" + (decade + 10) + "[", "*");
+        }
+        final var zipcode = Hierarchy.create();
+        for (var code = 0; code < 20; code++) {
+            final var value = String.valueOf(81_600 + 7 * code);
+            zipcode.add(value, value.substring(0, 4) + "*", value.substring(0, 3) + "**",
+                    "*****");
+        }
+
+        final var definition = data.getDefinition();
+        definition.setAttributeType("age", age);
+        definition.setAttributeType("gender", createHierarchy(
+                new String[] {"male", "*"},
+                new String[] {"female", "*"}));
+        definition.setAttributeType("zipcode", zipcode);
+        definition.setAttributeType("disease", AttributeType.SENSITIVE_ATTRIBUTE);
+        return data;
+    }
+
+    private static Hierarchy createHierarchy(final String[]... rows) {
+        final DefaultHierarchy hierarchy = Hierarchy.create();
+        for (final var row : rows) {
+            hierarchy.add(row);
+        }
+        return hierarchy;
+    }
+
+    private static void assertSameResult(final ARXResult expected, final ARXResult actual) {
+        assertArrayEquals(expected.getGlobalOptimum().getTransformation(),
+                actual.getGlobalOptimum().getTransformation());
+        assertEquals(0, expected.getGlobalOptimum().getHighestScore()
+                .compareTo(actual.getGlobalOptimum().getHighestScore()));
+
+        final var expectedOutput = expected.getOutput();
+        final var actualOutput = actual.getOutput();
+        assertEquals(getRows(expectedOutput), getRows(actualOutput));
+
+        final var expectedClasses =
+                expectedOutput.getStatistics().getEquivalenceClassStatistics();
+        final var actualClasses = actualOutput.getStatistics().getEquivalenceClassStatistics();
+        assertEquals(expectedClasses.getNumberOfEquivalenceClasses(),
+                actualClasses.getNumberOfEquivalenceClasses());
+        assertEquals(expectedClasses.getMinimalEquivalenceClassSize(),
+                actualClasses.getMinimalEquivalenceClassSize());
+        assertEquals(expectedClasses.getMaximalEquivalenceClassSize(),
+                actualClasses.getMaximalEquivalenceClassSize());
+        assertEquals(expectedClasses.getAverageEquivalenceClassSize(),
+                actualClasses.getAverageEquivalenceClassSize());
+        assertEquals(expectedClasses.getNumberOfSuppressedRecords(),
+                actualClasses.getNumberOfSuppressedRecords());
+    }
+
+    private static List<List<String>> getRows(final DataHandle handle) {
+        final var rows = new ArrayList<List<String>>();
+        for (var row = 0; row < handle.getNumRows(); row++) {
+            final var values = new String[handle.getNumColumns()];
+            for (var column = 0; column < values.length; column++) {
+                values[column] = handle.getValue(row, column);
+            }
+            rows.add(Arrays.asList(values));
+        }
+        return rows;
+    }
+}
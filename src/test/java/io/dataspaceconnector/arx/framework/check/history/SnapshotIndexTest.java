@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.check.history;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SnapshotIndexTest {
+
+    @Test
+    public void find_ancestorsOnLowerLevels_returnSmallestSnapshot() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        index.add(metadata(1, 0), 100);
+        index.add(metadata(0, 1), 50);
+        final var smallest = metadata(2, 0);
+        index.add(smallest, 5);
+        index.add(metadata(1, 1), 10);
+
+        /* ACT */
+        final var result = index.find(new int[] {2, 1}, 3);
+
+        /* ASSERT */
+        assertSame(smallest, result);
+    }
+
+    @Test
+    public void find_noAncestorOnLowerLevel_returnNull() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        index.add(metadata(3, 0), 1);
+        index.add(metadata(0, 2), 1);
+        index.add(metadata(2, 1), 1);
+
+        /* ACT */
+        final var result = index.find(new int[] {2, 1}, 3);
+
+        /* ASSERT */
+        assertNull(result);
+    }
+
+    @Test
+    public void find_snapshotsOfEqualSize_returnFirstAdded() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        final var first = metadata(1, 0);
+        index.add(first, 10);
+        index.add(metadata(0, 1), 10);
+
+        /* ACT */
+        final var result = index.find(new int[] {1, 1}, 2);
+
+        /* ASSERT */
+        assertSame(first, result);
+    }
+
+    @Test
+    public void find_bucketWithoutAncestor_skipBucket() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        index.add(metadata(0, 2), 10);
+        index.add(metadata(0, 3), 20);
+
+        /* ACT */
+        final var result = index.find(new int[] {4, 1}, 5);
+
+        /* ASSERT */
+        assertNull(result);
+        assertEquals(0, index.getExamined());
+    }
+
+    @Test
+    public void find_removedSnapshot_returnNextSmallestAncestor() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        final var evicted = metadata(1, 0);
+        final var remaining = metadata(0, 1);
+        index.add(evicted, 10);
+        index.add(remaining, 20);
+
+        /* ACT */
+        index.remove(evicted);
+        final var result = index.find(new int[] {1, 1}, 2);
+
+        /* ASSERT */
+        assertSame(remaining, result);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void find_lastAncestorOfBucketRemoved_skipBucket() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        final var evicted = metadata(2, 0);
+        index.add(evicted, 10);
+        index.add(metadata(0, 2), 20);
+        index.find(new int[] {2, 1}, 3);
+        final var examined = index.getExamined();
+
+        /* ACT */
+        index.remove(evicted);
+        final var result = index.find(new int[] {2, 1}, 3);
+
+        /* ASSERT */
+        assertNull(result);
+        assertEquals(examined, index.getExamined());
+    }
+
+    @Test
+    public void remove_unknownSnapshot_keepSnapshots() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        final var stored = metadata(1, 0);
+        index.add(stored, 10);
+
+        /* ACT */
+        index.remove(metadata(1, 0));
+
+        /* ASSERT */
+        assertEquals(1, index.size());
+        assertSame(stored, index.find(new int[] {1, 1}, 2));
+    }
+
+    @Test
+    public void clear_storedSnapshots_removeAll() {
+        /* ARRANGE */
+        final var index = new SnapshotIndex();
+        index.add(metadata(1, 0), 10);
+        index.add(metadata(1, 1), 20);
+
+        /* ACT */
+        index.clear();
+
+        /* ASSERT */
+        assertEquals(0, index.size());
+        assertNull(index.find(new int[] {2, 2}, 4));
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private static MRUCacheEntryMetadata metadata(final int... transformation) {
+        var level = 0;
+        for (final var generalization : transformation) {
+            level += generalization;
+        }
+        return new MRUCacheEntryMetadata(transformation, level, new Object());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.check.history;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotStoreTest {
+
+    private static final int RECORD_LENGTH = 3;
+
+    @Test
+    public void get_encodedSnapshot_returnDecodedSnapshot() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        final var snapshot = new int[] {
+                5, 1, 0,
+                3, 127, -1,
+                Integer.MAX_VALUE, 128, Integer.MIN_VALUE,
+                Integer.MIN_VALUE, -64, 64};
+        final var encoded = store.encode(snapshot);
+
+        /* ACT */
+        store.put("id", encoded, snapshot.length);
+        final var result = store.get("id");
+
+        /* ASSERT */
+        assertArrayEquals(snapshot, result);
+        assertEquals(snapshot.length, store.getLength("id"));
+        assertEquals(encoded.length, store.getSize("id"));
+        assertEquals(encoded.length, store.getBytes());
+    }
+
+    @Test
+    public void get_offHeapSnapshot_returnDecodedSnapshot() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        store.setOffHeap(true);
+        final var snapshot = new int[] {1000, 2, 3, 1001, 2, 3, 5000, 1, 1};
+
+        /* ACT */
+        store.put("id", store.encode(snapshot), snapshot.length);
+
+        /* ASSERT */
+        assertArrayEquals(snapshot, store.get("id"));
+    }
+
+    @Test
+    public void encode_ascendingRepresentatives_useFewerBytesThanInts() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        final var snapshot = new int[3000];
+        for (var i = 0; i < snapshot.length; i += RECORD_LENGTH) {
+            snapshot[i] = 100_000 + i;
+            snapshot[i + 1] = 1 + i % 7;
+        }
+
+        /* ACT */
+        final var result = store.encode(snapshot);
+
+        /* ASSERT */
+        assertEquals(store.getEncodedSize(snapshot), result.length);
+        assertTrue(result.length < SnapshotStore.getSize(snapshot) / 3);
+    }
+
+    @Test
+    public void put_uncompressedSnapshot_returnSameSnapshot() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        final var snapshot = new int[] {1, 2, 3, 4, 5, 6};
+
+        /* ACT */
+        store.put("id", snapshot);
+
+        /* ASSERT */
+        assertSame(snapshot, store.get("id"));
+        assertEquals(snapshot.length * Integer.BYTES, store.getBytes());
+    }
+
+    @Test
+    public void remove_storedSnapshots_releaseBytes() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        final var snapshot = new int[] {1, 2, 3};
+        store.put("raw", snapshot);
+        store.put("encoded", store.encode(snapshot), snapshot.length);
+
+        /* ACT */
+        final var raw = store.remove("raw");
+        final var encoded = store.remove("encoded");
+
+        /* ASSERT */
+        assertSame(snapshot, raw);
+        assertArrayEquals(snapshot, encoded);
+        assertEquals(0, store.getBytes());
+        assertNull(store.get("raw"));
+    }
+
+    @Test
+    public void getBenefitPerByte_usedSnapshot_preferOverUnusedSnapshot() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        store.put("used", new int[] {1, 2, 3, 4, 5, 6});
+        store.put("unused", new int[] {1, 2, 3, 4, 5, 6});
+
+        /* ACT */
+        store.use("used");
+
+        /* ASSERT */
+        assertTrue(store.getBenefitPerByte("used", 100) > store.getBenefitPerByte("unused", 100));
+    }
+
+    @Test
+    public void getBenefitPerByte_largerSnapshot_evictFirst() {
+        /* ARRANGE */
+        final var store = new SnapshotStore(RECORD_LENGTH);
+        store.put("small", new int[] {1, 2, 3});
+        store.put("large", new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        /* ACT */
+        final var small = store.getBenefitPerByte("small", 100);
+        final var large = store.getBenefitPerByte("large", 100);
+
+        /* ASSERT */
+        assertTrue(large < small);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares row comparisons and hashing of the int-based {@link DataMatrix}, including its
+ * switch-unrolled equalsIgnore, with the bit-packed {@link DataMatrixPacked}. Rows are
+ * compared with their neighbours, half of which are duplicates, as in the groupify loops.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.dataspaceconnector.arx.framework.data.DataMatrixBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataMatrixBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"4", "8", "16"})
+    private int columns;
+
+    @Param({"16", "256", "65536"})
+    private int cardinality;
+
+    private DataMatrix plain;
+
+    private DataMatrix packed;
+
+    @Setup
+    public void setup() {
+        final var cardinalities = new int[columns];
+        Arrays.fill(cardinalities, cardinality);
+        plain = new DataMatrix(ROWS, columns);
+        packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(cardinalities, true));
+
+        final var random = new Random(0);
+        for (var row = 0; row < ROWS; row++) {
+            for (var column = 0; column < columns; column++) {
+                final var value = row % 2 == 1 ? plain.get(row - 1, column)
+                        : random.nextInt(cardinality);
+                plain.set(row, column, value);
+                packed.set(row, column, value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void equalsIgnorePlain(final Blackhole blackhole) {
+        equalsIgnore(plain, blackhole);
+    }
+
+    @Benchmark
+    public void equalsIgnorePacked(final Blackhole blackhole) {
+        equalsIgnore(packed, blackhole);
+    }
+
+    @Benchmark
+    public void equalsPlain(final Blackhole blackhole) {
+        equals(plain, blackhole);
+    }
+
+    @Benchmark
+    public void equalsPacked(final Blackhole blackhole) {
+        equals(packed, blackhole);
+    }
+
+    @Benchmark
+    public void hashCodePlain(final Blackhole blackhole) {
+        hashCode(plain, blackhole);
+    }
+
+    @Benchmark
+    public void hashCodePacked(final Blackhole blackhole) {
+        hashCode(packed, blackhole);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DataMatrixBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private void equalsIgnore(final DataMatrix matrix, final Blackhole blackhole) {
+        final var ignore = columns - 1;
+        for (var row = 1; row < ROWS; row++) {
+            blackhole.consume(matrix.equalsIgnore(row - 1, row, ignore));
+        }
+    }
+
+    private void equals(final DataMatrix matrix, final Blackhole blackhole) {
+        for (var row = 1; row < ROWS; row++) {
+            blackhole.consume(matrix.equals(row - 1, row));
+        }
+    }
+
+    private void hashCode(final DataMatrix matrix, final Blackhole blackhole) {
+        for (var row = 0; row < ROWS; row++) {
+            blackhole.consume(matrix.hashCode(row));
+        }
+    }
+}
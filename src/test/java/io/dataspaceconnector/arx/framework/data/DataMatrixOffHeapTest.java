@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataMatrixOffHeapTest {
+
+    private static final int ROWS = 500;
+
+    private static final int[] CARDINALITIES = {2, 17, 300, 70_000, 5, 1_000_000};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void get_directBuffers_matchHeapMatrix() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, CARDINALITIES.length);
+        final var offHeap = new DataMatrixOffHeap(ROWS, new DataMatrixLayout(CARDINALITIES, true));
+
+        /* ACT */
+        fill(heap, offHeap);
+
+        /* ASSERT */
+        assertSameRows(heap, offHeap);
+    }
+
+    @Test
+    public void get_mappedFile_matchHeapMatrix() throws IOException {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, CARDINALITIES.length);
+        final var offHeap = new DataMatrixOffHeap(dir.resolve("matrix"), ROWS,
+                new DataMatrixLayout(CARDINALITIES, true));
+
+        /* ACT */
+        fill(heap, offHeap);
+
+        /* ASSERT */
+        assertSameRows(heap, offHeap);
+    }
+
+    @Test
+    public void swap_rowsSwapped_matchHeapMatrix() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, CARDINALITIES.length);
+        final var offHeap = new DataMatrixOffHeap(ROWS, new DataMatrixLayout(CARDINALITIES, true));
+        fill(heap, offHeap);
+
+        /* ACT */
+        for (var row = 0; row < ROWS - 1; row += 2) {
+            heap.swap(row, row + 1);
+            offHeap.swap(row, row + 1);
+        }
+
+        /* ASSERT */
+        assertSameRows(heap, offHeap);
+    }
+
+    @Test
+    public void clone_filledMatrix_returnIndependentCopy() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, CARDINALITIES.length);
+        final var offHeap = new DataMatrixOffHeap(ROWS, new DataMatrixLayout(CARDINALITIES, true));
+        fill(heap, offHeap);
+
+        /* ACT */
+        final var result = offHeap.clone();
+        offHeap.set(0, 1, (offHeap.get(0, 1) + 1) % CARDINALITIES[1]);
+
+        /* ASSERT */
+        assertSameRows(heap, result);
+    }
+
+    @Test
+    public void copyFrom_heapMatrix_copyValues() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, CARDINALITIES.length);
+        final var offHeap = new DataMatrixOffHeap(ROWS, new DataMatrixLayout(CARDINALITIES, true));
+        fill(heap, new DataMatrix(ROWS, CARDINALITIES.length));
+
+        /* ACT */
+        for (var row = 0; row < ROWS; row++) {
+            offHeap.copyFrom(row, heap, row);
+        }
+
+        /* ASSERT */
+        assertSameRows(heap, offHeap);
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private static void fill(final DataMatrix first, final DataMatrix second) {
+        final var random = new Random(0);
+        final var row = new int[CARDINALITIES.length];
+        for (var index = 0; index < ROWS; index++) {
+            // Every other row repeats its predecessor, so that equal rows are compared as well.
+            if (index % 2 == 0) {
+                for (var column = 0; column < row.length; column++) {
+                    row[column] = random.nextInt(CARDINALITIES[column]);
+                }
+            }
+            first.setRow(index, row);
+            second.setRow(index, row);
+            if (random.nextInt(4) == 0) {
+                first.or(index, Data.OUTLIER_MASK);
+                second.or(index, Data.OUTLIER_MASK);
+            }
+        }
+    }
+
+    private static int[] getRow(final DataMatrix matrix, final int row) {
+        final var result = new int[matrix.getNumColumns()];
+        for (var column = 0; column < result.length; column++) {
+            result[column] = matrix.get(row, column);
+        }
+        return result;
+    }
+
+    private static void assertSameRows(final DataMatrix expected, final DataMatrix actual) {
+        assertEquals(expected.getNumRows(), actual.getNumRows());
+        assertEquals(expected.getNumColumns(), actual.getNumColumns());
+        for (var row = 0; row < expected.getNumRows(); row++) {
+            for (var column = 0; column < expected.getNumColumns(); column++) {
+                assertEquals(expected.get(row, column), actual.get(row, column));
+            }
+            assertEquals(actual.hashCode(row), actual.hashCode(getRow(expected, row)));
+
+            final var other = (row + 1) % expected.getNumRows();
+            assertEquals(expected.equals(row, other), actual.equals(row, other));
+            assertEquals(expected.equalsIgnoringOutliers(row, other),
+                    actual.equalsIgnoringOutliers(row, other));
+            for (var ignore = 0; ignore < expected.getNumColumns(); ignore++) {
+                assertEquals(expected.equalsIgnore(row, other, ignore),
+                        actual.equalsIgnore(row, other, ignore));
+            }
+        }
+    }
+}
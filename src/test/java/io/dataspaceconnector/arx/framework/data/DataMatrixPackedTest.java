@@ -0,0 +1,317 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.framework.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataMatrixPackedTest {
+
+    private static final int ROWS = 500;
+
+    /**
+     * The first four columns fill 62 bits, so the fifth column starts the second word.
+     */
+    private static final int[] TWO_WORDS = {2, 1 << 20, 1 << 20, 1 << 20, 300, 17};
+
+    /**
+     * The first three columns fill the first word exactly, the last column starts a third word.
+     */
+    private static final int[] THREE_WORDS = {5, 1 << 30, 1 << 30, 1 << 30, 1 << 30, 1_000};
+
+    @Test
+    public void layout_columnsExceedWord_startNextWord() {
+        /* ARRANGE */
+        final var twoWords = new DataMatrixLayout(TWO_WORDS, true);
+        final var threeWords = new DataMatrixLayout(THREE_WORDS, true);
+
+        /* ACT && ASSERT */
+        assertEquals(2, twoWords.getNumWords());
+        assertEquals(0, twoWords.getWord(3));
+        assertEquals(1, twoWords.getWord(4));
+        assertEquals(3, threeWords.getNumWords());
+        assertEquals(0, threeWords.getWord(2));
+        assertEquals(1, threeWords.getWord(3));
+        assertEquals(2, threeWords.getWord(5));
+    }
+
+    @Test
+    public void get_twoWords_matchHeapMatrix() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(TWO_WORDS, true));
+
+        /* ACT */
+        fill(TWO_WORDS, heap, packed);
+
+        /* ASSERT */
+        assertSameRows(heap, packed);
+    }
+
+    @Test
+    public void get_threeWords_matchHeapMatrix() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, THREE_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(THREE_WORDS, true));
+
+        /* ACT */
+        fill(THREE_WORDS, heap, packed);
+
+        /* ASSERT */
+        assertSameRows(heap, packed);
+    }
+
+    @Test
+    public void hashCode_tupleOfRow_matchRowHash() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(TWO_WORDS, true));
+        final var packed3 = new DataMatrixPacked(ROWS, new DataMatrixLayout(THREE_WORDS, true));
+        fill(TWO_WORDS, heap, packed);
+        fill(THREE_WORDS, new DataMatrix(ROWS, THREE_WORDS.length), packed3);
+
+        /* ACT && ASSERT */
+        for (var row = 0; row < ROWS; row++) {
+            assertEquals(packed.hashCode(row), packed.hashCode(getRow(heap, row)));
+            assertEquals(packed3.hashCode(row), packed3.hashCode(getRow(packed3, row)));
+        }
+    }
+
+    @Test
+    public void equalsIgnoringOutliers_onlyOutlierFlagDiffers_returnTrue() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(2, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(2, new DataMatrixLayout(TWO_WORDS, true));
+        final var row = new int[]{1, 12_345, 0, (1 << 20) - 1, 299, 16};
+        for (final var matrix : new DataMatrix[]{heap, packed}) {
+            matrix.setRow(0, row);
+            matrix.setRow(1, row);
+
+            /* ACT */
+            matrix.or(1, Data.OUTLIER_MASK);
+
+            /* ASSERT */
+            assertEquals(1 | Data.OUTLIER_MASK, matrix.get(1, 0));
+            assertFalse(matrix.equals(0, 1));
+            assertTrue(matrix.equalsIgnoringOutliers(0, 1));
+        }
+        assertTrue(packed.equals(1, getRow(heap, 1)));
+        assertEquals(packed.hashCode(1), packed.hashCode(getRow(heap, 1)));
+
+        packed.and(1, Data.REMOVE_OUTLIER_MASK);
+        assertTrue(packed.equals(0, 1));
+        assertEquals(packed.hashCode(0), packed.hashCode(1));
+    }
+
+    @Test
+    public void equalsIgnore_onlyIgnoredColumnDiffers_returnTrue() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(2, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(2, new DataMatrixLayout(TWO_WORDS, true));
+        final var row = new int[]{0, 1, 2, 3, 4, 5};
+        for (final var matrix : new DataMatrix[]{heap, packed}) {
+            matrix.setRow(0, row);
+            matrix.setRow(1, row);
+
+            /* ACT */
+            matrix.set(1, 4, 200);
+
+            /* ASSERT */
+            assertFalse(matrix.equals(0, 1));
+            assertTrue(matrix.equalsIgnore(0, 1, 4));
+            assertFalse(matrix.equalsIgnore(0, 1, 3));
+            assertEquals(matrix.hashCodeIgnore(0, 4), matrix.hashCodeIgnore(1, 4));
+        }
+    }
+
+    @Test
+    public void swap_rowsSwapped_matchHeapMatrix() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(TWO_WORDS, true));
+        fill(TWO_WORDS, heap, packed);
+
+        /* ACT */
+        for (var row = 0; row < ROWS - 3; row += 3) {
+            heap.swap(row, row + 3);
+            packed.swap(row, row + 3);
+        }
+
+        /* ASSERT */
+        assertSameRows(heap, packed);
+    }
+
+    @Test
+    public void copyFrom_heapMatrix_copyValues() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(TWO_WORDS, true));
+        fill(TWO_WORDS, heap, new DataMatrix(ROWS, TWO_WORDS.length));
+
+        /* ACT */
+        for (var row = 0; row < ROWS; row++) {
+            packed.copyFrom(ROWS - 1 - row, heap, row);
+        }
+
+        /* ASSERT */
+        for (var row = 0; row < ROWS; row++) {
+            assertTrue(packed.equals(ROWS - 1 - row, getRow(heap, row)));
+        }
+    }
+
+    @Test
+    public void copyFrom_packedMatrixWithSameLayout_copyValues() {
+        /* ARRANGE */
+        final var layout = new DataMatrixLayout(TWO_WORDS, true);
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var source = new DataMatrixPacked(ROWS, layout);
+        final var packed = new DataMatrixPacked(ROWS, layout);
+        fill(TWO_WORDS, heap, source);
+
+        /* ACT */
+        for (var row = 0; row < ROWS; row++) {
+            packed.copyFrom(row, source, row);
+        }
+
+        /* ASSERT */
+        assertSameRows(heap, packed);
+    }
+
+    @Test
+    public void clone_filledMatrix_returnIndependentCopy() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(TWO_WORDS, true));
+        fill(TWO_WORDS, heap, packed);
+
+        /* ACT */
+        final var result = packed.clone();
+        packed.set(0, 4, (packed.get(0, 4) + 1) % TWO_WORDS[4]);
+
+        /* ASSERT */
+        assertTrue(result instanceof DataMatrixPacked);
+        assertSameRows(heap, result);
+    }
+
+    @Test
+    public void clone_subset_copySelectedRows() {
+        /* ARRANGE */
+        final var heap = new DataMatrix(ROWS, TWO_WORDS.length);
+        final var packed = new DataMatrixPacked(ROWS, new DataMatrixLayout(TWO_WORDS, true));
+        fill(TWO_WORDS, heap, packed);
+        final var subset = new int[]{ROWS - 1, 0, 7, 7, 250};
+
+        /* ACT */
+        final var result = packed.clone(subset);
+
+        /* ASSERT */
+        assertTrue(result instanceof DataMatrixPacked);
+        assertSameRows(heap.clone(subset), result);
+    }
+
+    @Test
+    public void set_valueExceedsColumnWidth_throwIllegalArgumentException() {
+        /* ARRANGE */
+        final var packed = new DataMatrixPacked(1, new DataMatrixLayout(TWO_WORDS, true));
+        final var row = new int[]{1, 2, 3, 4, 5, 6};
+        packed.setRow(0, row);
+
+        /* ACT && ASSERT */
+        // Column 4 has 9 bits, so 512 does not fit.
+        assertThrows(IllegalArgumentException.class, () -> packed.set(0, 4, 512));
+        // The second bit of the first column is reserved for the outlier flag.
+        assertThrows(IllegalArgumentException.class, () -> packed.set(0, 0, 2));
+        assertTrue(packed.equals(0, row));
+    }
+
+    @Test
+    public void hashCode_valueExceedsColumnWidth_truncateButNotEqual() {
+        /* ARRANGE */
+        final var packed = new DataMatrixPacked(1, new DataMatrixLayout(TWO_WORDS, true));
+        packed.setRow(0, new int[]{1, 2, 3, 4, 5, 6});
+        // The value is truncated to the width of the column when hashing.
+        final var tuple = new int[]{1, 2, 3, 4, 512 + 5, 6};
+
+        /* ACT */
+        final var hash = packed.hashCode(tuple);
+
+        /* ASSERT */
+        assertEquals(packed.hashCode(0), hash);
+        assertFalse(packed.equals(0, tuple));
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private static void fill(final int[] cardinalities, final DataMatrix first,
+                             final DataMatrix second) {
+        final var random = new Random(0);
+        final var row = new int[cardinalities.length];
+        for (var index = 0; index < first.getNumRows(); index++) {
+            // Every other row repeats its predecessor, so that equal rows are compared as well.
+            if (index % 2 == 0) {
+                for (var column = 0; column < row.length; column++) {
+                    row[column] = random.nextInt(cardinalities[column]);
+                }
+            }
+            first.setRow(index, row);
+            second.setRow(index, row);
+            if (random.nextInt(4) == 0) {
+                first.or(index, Data.OUTLIER_MASK);
+                second.or(index, Data.OUTLIER_MASK);
+            }
+        }
+    }
+
+    private static int[] getRow(final DataMatrix matrix, final int row) {
+        final var result = new int[matrix.getNumColumns()];
+        for (var column = 0; column < result.length; column++) {
+            result[column] = matrix.get(row, column);
+        }
+        return result;
+    }
+
+    private static void assertSameRows(final DataMatrix expected, final DataMatrix actual) {
+        assertEquals(expected.getNumRows(), actual.getNumRows());
+        assertEquals(expected.getNumColumns(), actual.getNumColumns());
+        for (var row = 0; row < expected.getNumRows(); row++) {
+            for (var column = 0; column < expected.getNumColumns(); column++) {
+                assertEquals(expected.get(row, column), actual.get(row, column));
+            }
+            assertEquals(actual.hashCode(row), actual.hashCode(getRow(expected, row)));
+
+            final var other = (row + 1) % expected.getNumRows();
+            assertEquals(expected.equals(row, other), actual.equals(row, other));
+            assertEquals(expected.equalsIgnoringOutliers(row, other),
+                    actual.equalsIgnoringOutliers(row, other));
+            for (var ignore = 0; ignore < expected.getNumColumns(); ignore++) {
+                final var equal = expected.equalsIgnore(row, other, ignore);
+                assertEquals(equal, actual.equalsIgnore(row, other, ignore));
+                if (equal) {
+                    assertEquals(actual.hashCodeIgnore(row, ignore),
+                            actual.hashCodeIgnore(other, ignore));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.arx.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.dataspaceconnector.arx.DataType;
+import io.dataspaceconnector.arx.framework.data.Dictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportAdapterCSVParallelTest {
+
+    /**
+     * Mirrors the minimal chunk size of the parallel adapter.
+     */
+    private static final int CHUNK_SIZE = 1 << 22;
+
+    private static final int COLUMNS = 3;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void next_multipleChunks_returnSameRecordsAsSequentialImport() throws IOException {
+        /* ARRANGE */
+        final var file = writeFile(tempDir.resolve("large.csv"), 3 * CHUNK_SIZE / 2);
+        final var sequential = read(ImportAdapter.create(createConfig(file, 1)));
+
+        /* ACT */
+        final var adapter = ImportAdapter.create(createConfig(file, 4));
+        final var result = read(adapter);
+
+        /* ASSERT */
+        assertTrue(adapter instanceof ImportAdapterCSVParallel);
+        assertEquals(sequential.size(), result.size());
+        for (var i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), result.get(i), "Record " + i);
+        }
+        assertTrue(sequential.stream().anyMatch(record -> record[1].contains("\n")));
+        assertTrue(sequential.stream().anyMatch(record -> record[1].contains("\"")));
+    }
+
+    @Test
+    public void getData_multipleChunks_encodeSameDictionaryAndCodesAsSequentialImport()
+            throws IOException {
+        /* ARRANGE */
+        final var file = writeFile(tempDir.resolve("large.csv"), 3 * CHUNK_SIZE / 2);
+        final var records = read(ImportAdapter.create(createConfig(file, 1)));
+        final var expected = new Dictionary(COLUMNS);
+        final var codes = new int[records.size() - 1][COLUMNS];
+        for (var row = 0; row < codes.length; row++) {
+            for (var column = 0; column < COLUMNS; column++) {
+                codes[row][column] = expected.register(column, records.get(row + 1)[column]);
+            }
+        }
+        expected.finalizeAll();
+
+        /* ACT */
+        final var adapter = (ImportAdapterCSVParallel) ImportAdapter.create(createConfig(file, 4));
+        final var data = adapter.getData();
+        final var dictionary = adapter.getDictionary();
+        dictionary.finalizeAll();
+
+        /* ASSERT */
+        assertArrayEquals(expected.getMapping(), dictionary.getMapping());
+        assertEquals(codes.length, data.getNumRows());
+        for (var row = 0; row < codes.length; row++) {
+            for (var column = 0; column < COLUMNS; column++) {
+                assertEquals(codes[row][column], data.get(row, column), "Record " + row);
+            }
+        }
+    }
+
+    @Test
+    public void next_singleChunk_returnSameRecordsAsSequentialImport() throws IOException {
+        /* ARRANGE */
+        final var file = tempDir.resolve("small.csv");
+        Files.writeString(file, "id;text;category\n"
+                + "1;\"a;b\";x\n"
+                + "2;\"first\nsecond\";y\n"
+                + "3;\"say \"\"hi\"\"\";x\n"
+                + "4;plain;z\n", StandardCharsets.UTF_8);
+        final var sequential = read(ImportAdapter.create(createConfig(file, 1)));
+
+        /* ACT */
+        final var adapter = ImportAdapter.create(createConfig(file, 2));
+        final var result = read(adapter);
+
+        /* ASSERT */
+        assertTrue(adapter instanceof ImportAdapterCSVParallel);
+        assertEquals(5, result.size());
+        for (var i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), result.get(i), "Record " + i);
+        }
+        assertArrayEquals(new String[] {"2", "first\nsecond", "y"}, result.get(2));
+        assertArrayEquals(new String[] {"3", "say \"hi\"", "x"}, result.get(3));
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private static ImportConfigurationCSV createConfig(final Path file, final int threads) {
+        final var config = new ImportConfigurationCSV(file.toString(), StandardCharsets.UTF_8,
+                ';', true);
+        for (var column = 0; column < COLUMNS; column++) {
+            config.addColumn(new ImportColumnCSV(column, DataType.STRING));
+        }
+        config.setThreads(threads);
+        return config;
+    }
+
+    private static List<String[]> read(final ImportAdapter adapter) {
+        final var result = new ArrayList<String[]>();
+        while (adapter.hasNext()) {
+            result.add(adapter.next());
+        }
+        assertFalse(adapter.hasNext());
+        return result;
+    }
+
+    /**
+     * Writes a file with quoted delimiters, escaped quotes and linebreaks within quotes.
+     * A single record with many quoted linebreaks spans the first possible chunk
+     * boundary, so that splitting at the first linebreak would cut the record.
+     */
+    private static Path writeFile(final Path file, final int size) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            var written = write(writer, "id;text;category\n");
+            var id = 0;
+            var spanning = false;
+            while (written < size) {
+                final String text;
+                if (!spanning && written > CHUNK_SIZE - 1000) {
+                    text = "\"" + "spanning\n".repeat(1000) + "\"";
+                    spanning = true;
+                } else if (id % 5 == 0) {
+                    text = "\"line " + id + "\nnext;\"\"quoted\"\"\"";
+                } else {
+                    text = "value" + id % 1000;
+                }
+                written += write(writer, id + ";" + text + ";category" + id % 13 + "\n");
+                id++;
+            }
+        }
+        return file;
+    }
+
+    private static int write(final Writer writer, final String value) throws IOException {
+        writer.write(value);
+        return value.length();
+    }
+}
@@ -16,7 +16,9 @@
 package io.dataspaceconnector.common.ids;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import de.fraunhofer.iais.eis.BaseConnectorBuilder;
@@ -38,9 +40,10 @@ import de.fraunhofer.iais.eis.SecurityProfile;
 import de.fraunhofer.iais.eis.util.TypedLiteral;
 import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.ids.messaging.core.config.ConfigContainer;
-import de.fraunhofer.ids.messaging.core.daps.DapsTokenProvider;
 import io.dataspaceconnector.model.catalog.Catalog;
+import io.dataspaceconnector.model.representation.Representation;
 import io.dataspaceconnector.model.resource.OfferedResource;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
 import io.dataspaceconnector.service.resource.ids.builder.IdsCatalogBuilder;
 import io.dataspaceconnector.service.resource.ids.builder.IdsResourceBuilder;
 import io.dataspaceconnector.service.resource.type.CatalogService;
@@ -50,7 +53,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -75,7 +82,7 @@ public class ConnectorServiceTest {
 
     private ConnectorService connectorService = new ConnectorService(
             configContainer,
-            Mockito.mock(DapsTokenProvider.class),
+            Mockito.mock(DapsTokenCache.class),
             catalogService,
             catalogBuilder,
             resourceBuilder,
@@ -180,8 +187,8 @@ public class ConnectorServiceTest {
         final var resource = getOfferedResource(uuid);
         final var idsResource = getIdsResource();
 
-        when(offeredResourceService.getAll(Pageable.unpaged()))
-                .thenReturn(new PageImpl<>(List.of(resource)));
+        when(offeredResourceService.findWithRepresentations(uuid))
+                .thenReturn(Optional.of(resource));
         when(resourceBuilder.create(resource)).thenReturn(idsResource);
 
         /* ACT */
@@ -192,15 +199,128 @@ public class ConnectorServiceTest {
         assertEquals(idsResource, result.get());
     }
 
+    @Test
+    public void getOfferedResourceById_calledTwice_buildResourceOnce() {
+        /* ARRANGE */
+        final var uuid = UUID.randomUUID();
+        final var uri = URI.create("https://resource-id.com/" + uuid);
+        final var resource = getOfferedResource(uuid);
+        final var idsResource = getIdsResource();
+
+        when(offeredResourceService.findWithRepresentations(uuid))
+                .thenReturn(Optional.of(resource));
+        when(resourceBuilder.create(resource)).thenReturn(idsResource);
+        connectorService.getOfferedResourceById(uri);
+
+        /* ACT */
+        final var result = connectorService.getOfferedResourceById(uri);
+
+        /* ASSERT */
+        assertEquals(idsResource, result.get());
+        verify(offeredResourceService, times(1)).findWithRepresentations(uuid);
+        verify(resourceBuilder, times(1)).create(resource);
+    }
+
+    @Test
+    public void getOfferedResourceById_resourceChanged_buildResourceAgain() {
+        /* ARRANGE */
+        final var uuid = UUID.randomUUID();
+        final var uri = URI.create("https://resource-id.com/" + uuid);
+        final var resource = getOfferedResource(uuid);
+
+        when(offeredResourceService.findWithRepresentations(uuid))
+                .thenReturn(Optional.of(resource));
+        when(resourceBuilder.create(resource)).thenReturn(getIdsResource());
+        connectorService.getOfferedResourceById(uri);
+
+        /* ACT */
+        connectorService.handleEntityChange(
+                new EntityChangeEvent(OfferedResource.class, uuid, false));
+        connectorService.getOfferedResourceById(uri);
+
+        /* ASSERT */
+        verify(offeredResourceService, times(2)).findWithRepresentations(uuid);
+    }
+
+    @Test
+    public void getOfferedResourceById_representationChanged_buildResourceAgain() {
+        /* ARRANGE */
+        final var uuid = UUID.randomUUID();
+        final var uri = URI.create("https://resource-id.com/" + uuid);
+        final var resource = getOfferedResource(uuid);
+
+        when(offeredResourceService.findWithRepresentations(uuid))
+                .thenReturn(Optional.of(resource));
+        when(resourceBuilder.create(resource)).thenReturn(getIdsResource());
+        connectorService.getOfferedResourceById(uri);
+
+        /* ACT */
+        connectorService.handleEntityChange(
+                new EntityChangeEvent(Representation.class, UUID.randomUUID(), false));
+        connectorService.getOfferedResourceById(uri);
+
+        /* ASSERT */
+        verify(offeredResourceService, times(2)).findWithRepresentations(uuid);
+    }
+
+    @Test
+    public void getOfferedResourceById_uriWithSeveralUuids_returnMatchingResource() {
+        /* ARRANGE */
+        final var uuid = UUID.randomUUID();
+        final var uri = URI.create("https://resource-id.com/" + uuid + "/" + UUID.randomUUID());
+        final var resource = getOfferedResource(uuid);
+        final var idsResource = getIdsResource();
+
+        when(offeredResourceService.findWithRepresentations(uuid))
+                .thenReturn(Optional.of(resource));
+        when(resourceBuilder.create(resource)).thenReturn(idsResource);
+
+        /* ACT */
+        final var result = connectorService.getOfferedResourceById(uri);
+
+        /* ASSERT */
+        assertEquals(idsResource, result.get());
+    }
+
+    @Test
+    public void getOfferedResourceById_duringRequest_buildResourceWithoutRequestContext() {
+        /* ARRANGE */
+        final var uuid = UUID.randomUUID();
+        final var uri = URI.create("https://resource-id.com/" + uuid);
+        final var resource = getOfferedResource(uuid);
+        final var request = new MockHttpServletRequest();
+        request.setServerName("attacker.example.com");
+        final var attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        final var contexts = new ArrayList<RequestAttributes>();
+
+        when(offeredResourceService.findWithRepresentations(uuid))
+                .thenReturn(Optional.of(resource));
+        when(resourceBuilder.create(resource)).thenAnswer(invocation -> {
+            contexts.add(RequestContextHolder.getRequestAttributes());
+            return getIdsResource();
+        });
+
+        try {
+            /* ACT */
+            connectorService.getOfferedResourceById(uri);
+
+            /* ASSERT */
+            assertEquals(1, contexts.size());
+            assertNull(contexts.get(0));
+            assertEquals(attributes, RequestContextHolder.getRequestAttributes());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     public void getOfferedResourceById_resourceNotPresent_returnEmptyOptional() {
         /* ARRANGE */
         final var uuid = UUID.randomUUID();
         final var uri = URI.create("https://resource-id.com/" + uuid);
-        final var resource = getOfferedResource(UUID.randomUUID());
 
-        when(offeredResourceService.getAll(Pageable.unpaged()))
-                .thenReturn(new PageImpl<>(List.of(resource)));
+        when(offeredResourceService.findWithRepresentations(uuid)).thenReturn(Optional.empty());
 
         /* ACT */
         final var result = connectorService.getOfferedResourceById(uri);
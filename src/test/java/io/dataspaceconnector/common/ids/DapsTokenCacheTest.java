@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids;
+
+import de.fraunhofer.iais.eis.DynamicAttributeToken;
+import de.fraunhofer.iais.eis.DynamicAttributeTokenBuilder;
+import de.fraunhofer.iais.eis.TokenFormat;
+import de.fraunhofer.ids.messaging.core.daps.DapsConnectionException;
+import de.fraunhofer.ids.messaging.core.daps.DapsTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class DapsTokenCacheTest {
+
+    private DapsTokenCache cache;
+
+    @AfterEach
+    public void shutdown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    public void getDat_tokenValid_returnCachedToken() throws Exception {
+        /* ARRANGE */
+        final var daps = new LocalDaps(60_000);
+        cache = new DapsTokenCache(daps.getProvider(), 1000);
+
+        /* ACT */
+        final var first = cache.getDat();
+        final var second = cache.getDat();
+
+        /* ASSERT */
+        assertEquals(first, second);
+        assertEquals(1, daps.getIssued());
+        assertEquals(1L, cache.getHits().sum());
+        assertEquals(1L, cache.getMisses().sum());
+    }
+
+    @Test
+    public void getDat_concurrentCallsWithoutToken_fetchOnce() throws Exception {
+        /* ARRANGE */
+        final var daps = new LocalDaps(60_000);
+        daps.block();
+        cache = new DapsTokenCache(daps.getProvider(), 1000);
+        final var executor = Executors.newFixedThreadPool(8);
+
+        /* ACT */
+        final var results = new ArrayList<Future<DynamicAttributeToken>>();
+        try {
+            for (var i = 0; i < 8; i++) {
+                results.add(executor.submit(cache::getDat));
+            }
+            waitFor(() -> cache.getCoalesced().sum() == 7);
+            daps.release();
+
+            /* ASSERT */
+            final var expected = results.get(0).get(1, TimeUnit.SECONDS);
+            for (final var result : results) {
+                assertEquals(expected, result.get(1, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, daps.getIssued());
+        assertEquals(8L, cache.getMisses().sum());
+    }
+
+    @Test
+    public void getDat_tokenAboutToExpire_refreshInBackground() throws Exception {
+        /* ARRANGE */
+        final var daps = new LocalDaps(61_000);
+        cache = new DapsTokenCache(daps.getProvider(), 60_000);
+        final var first = cache.getDat();
+
+        /* ACT */
+        waitFor(() -> daps.getIssued() == 2);
+        final var second = cache.getDat();
+
+        /* ASSERT */
+        assertNotEquals(first, second);
+        assertEquals(1L, cache.getMisses().sum());
+    }
+
+    @Test
+    public void getDat_dapsNotReachable_returnNull() throws Exception {
+        /* ARRANGE */
+        final var daps = Mockito.mock(DapsTokenProvider.class);
+        when(daps.getDAT()).thenThrow(DapsConnectionException.class);
+        cache = new DapsTokenCache(daps, 1000);
+
+        /* ACT */
+        final var result = cache.getDat();
+
+        /* ASSERT */
+        assertNull(result);
+        assertEquals(1L, cache.getFailures().sum());
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private void waitFor(final BooleanSupplier condition) {
+        final var end = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Stand-in for the DAPS, issuing JWTs with an expiration claim.
+     */
+    private static final class LocalDaps {
+
+        private final long validity;
+
+        private final AtomicInteger issued = new AtomicInteger();
+
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        LocalDaps(final long validity) {
+            this.validity = validity;
+        }
+
+        void block() {
+            latch = new CountDownLatch(1);
+        }
+
+        void release() {
+            latch.countDown();
+        }
+
+        int getIssued() {
+            return issued.get();
+        }
+
+        DapsTokenProvider getProvider() throws Exception {
+            final var provider = Mockito.mock(DapsTokenProvider.class);
+            when(provider.getDAT()).thenAnswer(invocation -> issue());
+            return provider;
+        }
+
+        private DynamicAttributeToken issue() {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            final var number = issued.incrementAndGet();
+            final var exp = (System.currentTimeMillis() + validity) / 1000;
+            final var encoder = Base64.getUrlEncoder().withoutPadding();
+            final var header = encoder.encodeToString(
+                    "{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+            final var claims = encoder.encodeToString(
+                    ("{\"exp\":" + exp + ",\"jti\":\"" + number + "\"}")
+                            .getBytes(StandardCharsets.UTF_8));
+
+            return new DynamicAttributeTokenBuilder()
+                    ._tokenFormat_(TokenFormat.JWT)
+                    ._tokenValue_(header + "." + claims + ".")
+                    .build();
+        }
+    }
+}
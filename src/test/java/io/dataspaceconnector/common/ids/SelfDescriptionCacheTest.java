@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import de.fraunhofer.iais.eis.BaseConnectorBuilder;
+import de.fraunhofer.iais.eis.Connector;
+import de.fraunhofer.iais.eis.ConnectorEndpointBuilder;
+import de.fraunhofer.iais.eis.ResourceCatalog;
+import de.fraunhofer.iais.eis.ResourceCatalogBuilder;
+import de.fraunhofer.iais.eis.SecurityProfile;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.core.config.ConfigContainer;
+import io.dataspaceconnector.common.exception.ResourceNotFoundException;
+import io.dataspaceconnector.model.catalog.Catalog;
+import io.dataspaceconnector.model.endpoint.GenericEndpoint;
+import io.dataspaceconnector.model.resource.OfferedResource;
+import io.dataspaceconnector.repository.CatalogRepository;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
+import io.dataspaceconnector.service.resource.ids.builder.IdsCatalogBuilder;
+import io.dataspaceconnector.service.resource.type.CatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SelfDescriptionCacheTest {
+
+    private ConfigContainer configContainer = Mockito.mock(ConfigContainer.class);
+    private CatalogService catalogService = Mockito.mock(CatalogService.class);
+    private CatalogRepository catalogRepository = Mockito.mock(CatalogRepository.class);
+    private IdsCatalogBuilder catalogBuilder = Mockito.mock(IdsCatalogBuilder.class);
+
+    private SelfDescriptionCache cache = new SelfDescriptionCache(
+            configContainer, catalogService, catalogRepository, catalogBuilder);
+
+    private final UUID firstId = UUID.randomUUID();
+    private final UUID secondId = UUID.randomUUID();
+    private final Catalog firstCatalog = getCatalog(firstId);
+    private final Catalog secondCatalog = getCatalog(secondId);
+
+    @BeforeEach
+    void init() {
+        when(configContainer.getConnector()).thenReturn(getConnector());
+        when(catalogRepository.findAllIds()).thenReturn(List.of(firstId, secondId));
+        when(catalogService.get(firstId)).thenReturn(firstCatalog);
+        when(catalogService.get(secondId)).thenReturn(secondCatalog);
+        when(catalogBuilder.create(eq(firstCatalog), eq(0))).thenReturn(getIdsCatalog("first"));
+        when(catalogBuilder.create(eq(secondCatalog), eq(0))).thenReturn(getIdsCatalog("second"));
+    }
+
+    @Test
+    public void get_noChanges_returnSameSelfDescription() {
+        /* ARRANGE */
+        final var first = cache.get();
+
+        /* ACT */
+        final var result = cache.get();
+
+        /* ASSERT */
+        assertSame(first, result);
+        assertEquals(1, result.getVersion());
+        assertEquals(2, result.getCatalogs().size());
+        assertTrue(result.getRdf().contains("https://catalog/first"));
+        verify(catalogService, times(1)).get(firstId);
+        verify(catalogService, times(1)).get(secondId);
+    }
+
+    @Test
+    public void get_catalogChanged_rebuildOnlyChangedCatalog() {
+        /* ARRANGE */
+        final var first = cache.get();
+        when(catalogBuilder.create(eq(firstCatalog), eq(0))).thenReturn(getIdsCatalog("other"));
+
+        /* ACT */
+        cache.handleEntityChange(new EntityChangeEvent(Catalog.class, firstId, false));
+        final var result = cache.get();
+
+        /* ASSERT */
+        assertEquals(2, result.getVersion());
+        assertNotEquals(first.getEtag(), result.getEtag());
+        assertTrue(result.getRdf().contains("https://catalog/other"));
+        verify(catalogService, times(2)).get(firstId);
+        verify(catalogService, times(1)).get(secondId);
+    }
+
+    @Test
+    public void get_resourceChanged_rebuildCatalogsOfResource() {
+        /* ARRANGE */
+        final var resourceId = UUID.randomUUID();
+        when(catalogRepository.findIdsByOfferedResource(resourceId)).thenReturn(List.of(secondId));
+        cache.get();
+
+        /* ACT */
+        cache.handleEntityChange(new EntityChangeEvent(OfferedResource.class, resourceId, false));
+        final var result = cache.get();
+
+        /* ASSERT */
+        assertEquals(1, result.getVersion());
+        verify(catalogService, times(1)).get(firstId);
+        verify(catalogService, times(2)).get(secondId);
+    }
+
+    @Test
+    public void get_resourceDeleted_rebuildAllCatalogs() {
+        /* ARRANGE */
+        cache.get();
+
+        /* ACT */
+        cache.handleEntityChange(
+                new EntityChangeEvent(OfferedResource.class, UUID.randomUUID(), true));
+        cache.get();
+
+        /* ASSERT */
+        verify(catalogService, times(2)).get(firstId);
+        verify(catalogService, times(2)).get(secondId);
+    }
+
+    @Test
+    public void get_unrelatedEntityChanged_returnSameSelfDescription() {
+        /* ARRANGE */
+        final var first = cache.get();
+
+        /* ACT */
+        cache.handleEntityChange(
+                new EntityChangeEvent(GenericEndpoint.class, UUID.randomUUID(), false));
+        final var result = cache.get();
+
+        /* ASSERT */
+        assertSame(first, result);
+    }
+
+    @Test
+    public void get_catalogDeletedConcurrently_skipCatalog() {
+        /* ARRANGE */
+        when(catalogService.get(secondId)).thenThrow(ResourceNotFoundException.class);
+
+        /* ACT */
+        final var result = cache.get();
+
+        /* ASSERT */
+        assertEquals(1, result.getCatalogs().size());
+    }
+
+    @Test
+    public void get_duringRequest_buildCatalogsWithoutRequestContext() {
+        /* ARRANGE */
+        final var request = new MockHttpServletRequest();
+        request.setServerName("attacker.example.com");
+        final var attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        final var contexts = new ArrayList<RequestAttributes>();
+        when(catalogBuilder.create(eq(firstCatalog), eq(0))).thenAnswer(invocation -> {
+            contexts.add(RequestContextHolder.getRequestAttributes());
+            return getIdsCatalog("first");
+        });
+
+        try {
+            /* ACT */
+            cache.get();
+
+            /* ASSERT */
+            assertEquals(1, contexts.size());
+            assertNull(contexts.get(0));
+            assertSame(attributes, RequestContextHolder.getRequestAttributes());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private Connector getConnector() {
+        return new BaseConnectorBuilder(URI.create("https://connector-id.com"))
+                ._maintainer_(URI.create("https://example.com"))
+                ._curator_(URI.create("https://example.com"))
+                ._securityProfile_(SecurityProfile.BASE_SECURITY_PROFILE)
+                ._outboundModelVersion_("4.0.0")
+                ._inboundModelVersion_(Util.asList("4.0.0"))
+                ._hasDefaultEndpoint_(new ConnectorEndpointBuilder()
+                        ._accessURL_(URI.create("/api/ids/data"))
+                        .build())
+                .build();
+    }
+
+    private Catalog getCatalog(final UUID id) {
+        final var catalog = new Catalog();
+        ReflectionTestUtils.setField(catalog, "id", id);
+        ReflectionTestUtils.setField(catalog, "title", id.toString());
+        return catalog;
+    }
+
+    private ResourceCatalog getIdsCatalog(final String name) {
+        return new ResourceCatalogBuilder(URI.create("https://catalog/" + name)).build();
+    }
+}
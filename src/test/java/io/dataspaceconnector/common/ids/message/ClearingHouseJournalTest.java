@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids.message;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClearingHouseJournalTest {
+
+    @TempDir
+    Path root;
+
+    private final URI destination = URI.create("https://ch/messages/log/1");
+
+    @Test
+    public void recover_messagesNotCompleted_returnMessagesInOrder() throws IOException {
+        /* ARRANGE */
+        final var journal = new ClearingHouseJournal(root.toString(), 1024, 0);
+        journal.append(destination, "first\nmessage");
+        final var completed = journal.append(destination, "second");
+        journal.append(destination, "third");
+        journal.complete(completed);
+        journal.close();
+
+        /* ACT */
+        final var result = new ClearingHouseJournal(root.toString(), 1024, 0).recover();
+
+        /* ASSERT */
+        assertEquals(3, result.size());
+        assertEquals("first\nmessage", result.get(0).getPayload());
+        assertEquals(destination, result.get(0).getDestination());
+        assertEquals("third", result.get(2).getPayload());
+    }
+
+    @Test
+    public void recover_allMessagesCompleted_returnNothing() throws IOException {
+        /* ARRANGE */
+        final var journal = new ClearingHouseJournal(root.toString(), 1024, 0);
+        journal.complete(journal.append(destination, "message"));
+        journal.close();
+
+        /* ACT */
+        final var result = new ClearingHouseJournal(root.toString(), 1024, 0).recover();
+
+        /* ASSERT */
+        assertTrue(result.isEmpty());
+        try (var files = Files.list(root)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void complete_segmentFullAndAllMessagesSent_deleteSegment() throws IOException {
+        /* ARRANGE */
+        final var journal = new ClearingHouseJournal(root.toString(), 1, 0);
+        final var first = journal.append(destination, "first");
+        journal.append(destination, "second");
+
+        /* ACT */
+        journal.complete(first);
+
+        /* ASSERT */
+        try (var files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void recover_lineCutOff_skipLine() throws IOException {
+        /* ARRANGE */
+        final var journal = new ClearingHouseJournal(root.toString(), 1024, 0);
+        journal.append(destination, "message");
+        journal.close();
+        Files.writeString(root.resolve("segment-0.log"), "https://ch\tbWVz",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        /* ACT */
+        final var result = new ClearingHouseJournal(root.toString(), 1024, 0).recover();
+
+        /* ASSERT */
+        assertEquals(1, result.size());
+        assertEquals("message", result.get(0).getPayload());
+    }
+
+    @Test
+    public void recover_syncInterval_returnMessagesWrittenBeforeShutdown() throws IOException {
+        /* ARRANGE */
+        final var journal = new ClearingHouseJournal(root.toString(), 1024, 60_000);
+        journal.append(destination, "first");
+        journal.sync();
+        journal.append(destination, "second");
+        journal.shutdown();
+
+        /* ACT */
+        final var result = new ClearingHouseJournal(root.toString(), 1024, 0).recover();
+
+        /* ASSERT */
+        assertEquals(2, result.size());
+        assertEquals("second", result.get(1).getPayload());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.ids.message;
+
+import io.dataspaceconnector.common.exception.PolicyExecutionException;
+import io.dataspaceconnector.service.message.builder.type.LogMessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class ClearingHouseLogQueueTest {
+
+    @TempDir
+    Path root;
+
+    private final URI destination = URI.create("https://ch/messages/log/1");
+
+    private final LogMessageService logMessageService = Mockito.mock(LogMessageService.class);
+
+    private ClearingHouseLogQueue queue;
+
+    @AfterEach
+    public void shutdown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    public void offer_messages_sendInOrder() throws IOException {
+        /* ARRANGE */
+        queue = createQueue(10, 3);
+
+        /* ACT */
+        assertTrue(queue.offer(destination, "first"));
+        assertTrue(queue.offer(destination, "second"));
+
+        /* ASSERT */
+        final var order = inOrder(logMessageService);
+        order.verify(logMessageService, timeout(1000)).sendMessage(destination, "first");
+        order.verify(logMessageService, timeout(1000)).sendMessage(destination, "second");
+        waitForPending(0);
+        assertEquals(2L, queue.getSent().sum());
+    }
+
+    @Test
+    public void offer_sendFailsOnce_retry() throws IOException {
+        /* ARRANGE */
+        doThrow(new PolicyExecutionException("error")).doNothing()
+                .when(logMessageService).sendMessage(any(), any());
+        queue = createQueue(10, 3);
+
+        /* ACT */
+        queue.offer(destination, "message");
+
+        /* ASSERT */
+        verify(logMessageService, timeout(1000).times(2)).sendMessage(destination, "message");
+        waitForPending(0);
+        assertEquals(1L, queue.getRetried().sum());
+        assertEquals(1L, queue.getSent().sum());
+    }
+
+    @Test
+    public void offer_sendAlwaysFails_giveUpAfterMaxAttempts() throws IOException {
+        /* ARRANGE */
+        doThrow(new PolicyExecutionException("error"))
+                .when(logMessageService).sendMessage(any(), any());
+        queue = createQueue(10, 3);
+
+        /* ACT */
+        queue.offer(destination, "message");
+
+        /* ASSERT */
+        verify(logMessageService, timeout(1000).times(3)).sendMessage(destination, "message");
+        waitForPending(0);
+        assertEquals(1L, queue.getFailed().sum());
+        assertEquals(0L, queue.getSent().sum());
+    }
+
+    @Test
+    public void offer_tooManyPending_reject() throws IOException {
+        /* ARRANGE */
+        doThrow(new PolicyExecutionException("error"))
+                .when(logMessageService).sendMessage(any(), any());
+        queue = createQueue(1, 100);
+
+        /* ACT */
+        final var first = queue.offer(destination, "first");
+        final var second = queue.offer(destination, "second");
+
+        /* ASSERT */
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1L, queue.getRejected().sum());
+        verify(logMessageService, never()).sendMessage(any(), eq("second"));
+    }
+
+    @Test
+    public void new_messagesLeftFromLastRun_sendMessages() throws IOException {
+        /* ARRANGE */
+        final var journal = new ClearingHouseJournal(root.toString(), 1024, 0);
+        journal.append(destination, "message");
+        journal.close();
+        doNothing().when(logMessageService).sendMessage(any(), any());
+
+        /* ACT */
+        queue = createQueue(10, 3);
+
+        /* ASSERT */
+        verify(logMessageService, timeout(1000).times(1)).sendMessage(destination, "message");
+        waitForPending(0);
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private ClearingHouseLogQueue createQueue(final int maxPending, final int maxAttempts)
+            throws IOException {
+        final var journal = new ClearingHouseJournal(root.toString(), 1024, 0);
+        return new ClearingHouseLogQueue(journal, logMessageService, 2, 10, maxPending,
+                maxAttempts, 1);
+    }
+
+    private void waitForPending(final int expected) {
+        final var end = System.currentTimeMillis() + 1000;
+        while (queue.getPending() != expected && System.currentTimeMillis() < end) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, queue.getPending());
+    }
+}
@@ -32,11 +32,17 @@ import io.dataspaceconnector.common.exception.MessageEmptyException;
 import io.dataspaceconnector.common.exception.VersionNotSupportedException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
 
 import static de.fraunhofer.ids.messaging.util.IdsMessageUtils.getGregorianNow;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -411,6 +417,41 @@ class MessageUtilsTest {
                 .build();
     }
 
+    @Test
+    public void encodePayload_data_returnBase64() throws IOException {
+        /* ARRANGE */
+        final var data = new byte[100_000];
+        new Random(1).nextBytes(data);
+
+        /* ACT */
+        final var result = MessageUtils.encodePayload(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(Base64.getEncoder().encodeToString(data),
+                new String(result.readAllBytes(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void decodePayload_encodedData_returnData() throws IOException {
+        /* ARRANGE */
+        final var data = new byte[100_000];
+        new Random(1).nextBytes(data);
+        final var payload = new String(MessageUtils.encodePayload(
+                new ByteArrayInputStream(data)).readAllBytes(), StandardCharsets.ISO_8859_1);
+
+        /* ACT */
+        final var result = MessageUtils.decodePayload(payload);
+
+        /* ASSERT */
+        assertArrayEquals(data, result.readAllBytes());
+    }
+
+    @Test
+    public void decodePayload_null_throwIllegalArgumentException() {
+        /* ACT & ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> MessageUtils.decodePayload(null));
+    }
+
     private RejectionMessage getRejectionMessage(final RejectionReason rejectionReason) {
         return new RejectionMessageBuilder(messageId)
                 ._issued_(getGregorianNow())
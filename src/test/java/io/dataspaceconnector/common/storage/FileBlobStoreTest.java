@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.common.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileBlobStore store;
+
+    private final byte[] data = "Some data that should be stored.".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    public void init() throws IOException {
+        store = new FileBlobStore(root.toString());
+    }
+
+    @Test
+    public void store_data_returnKeyAndSize() throws IOException {
+        /* ACT */
+        final var result = store.store(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(64, result.getKey().length());
+        assertEquals(data.length, result.getSize());
+        try (var stored = store.open(result.getKey())) {
+            assertArrayEquals(data, stored.readAllBytes());
+        }
+    }
+
+    @Test
+    public void store_identicalData_storeOnce() throws IOException {
+        /* ACT */
+        final var first = store.store(new ByteArrayInputStream(data));
+        final var second = store.store(new ByteArrayInputStream(data));
+
+        /* ASSERT */
+        assertEquals(first, second);
+        try (var files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    public void store_differentData_differentKeys() throws IOException {
+        /* ACT */
+        final var first = store.store(new ByteArrayInputStream(data));
+        final var second = store.store(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        /* ASSERT */
+        assertNotEquals(first.getKey(), second.getKey());
+    }
+
+    @Test
+    public void stage_notCommitted_discardData() throws IOException {
+        /* ARRANGE */
+        final var staged = store.stage(new ByteArrayInputStream(data));
+
+        /* ACT */
+        staged.close();
+
+        /* ASSERT */
+        assertThrows(IOException.class, () -> store.open(staged.getKey()));
+        try (var files = Files.walk(root)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    public void stage_committed_returnStoredData() throws IOException {
+        /* ARRANGE */
+        final var staged = store.stage(new ByteArrayInputStream(data));
+        assertThrows(IOException.class, () -> store.open(staged.getKey()));
+
+        /* ACT */
+        final var result = staged.commit();
+        staged.close();
+
+        /* ASSERT */
+        assertEquals(staged.getKey(), result.getKey());
+        assertEquals(data.length, result.getSize());
+        try (var stored = store.open(result.getKey())) {
+            assertArrayEquals(data, stored.readAllBytes());
+        }
+    }
+
+    @Test
+    public void open_range_returnRange() throws IOException {
+        /* ARRANGE */
+        final var blob = store.store(new ByteArrayInputStream(data));
+
+        /* ACT */
+        try (var stored = store.open(blob.getKey(), 5, 4)) {
+            /* ASSERT */
+            assertEquals(4, stored.remaining());
+            assertArrayEquals("data".getBytes(StandardCharsets.UTF_8), stored.readAllBytes());
+        }
+    }
+
+    @Test
+    public void open_transferTo_copyAllData() throws IOException {
+        /* ARRANGE */
+        final var blob = store.store(new ByteArrayInputStream(data));
+        final var output = new ByteArrayOutputStream();
+
+        /* ACT */
+        try (var stored = store.open(blob.getKey(), 5, -1)) {
+            final var transferred = stored.transferTo(output);
+
+            /* ASSERT */
+            assertEquals(data.length - 5, transferred);
+        }
+        assertEquals("data that should be stored.", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void remove_storedData_cannotBeOpened() throws IOException {
+        /* ARRANGE */
+        final var blob = store.store(new ByteArrayInputStream(data));
+
+        /* ACT */
+        store.remove(blob.getKey());
+
+        /* ASSERT */
+        assertThrows(IOException.class, () -> store.open(blob.getKey()));
+    }
+
+    @Test
+    public void open_invalidKey_throwIllegalArgumentException() {
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> store.open("../../etc/passwd"));
+    }
+}
@@ -24,6 +24,8 @@ import de.fraunhofer.iais.eis.BaseConnectorBuilder;
 import de.fraunhofer.iais.eis.ConnectorEndpointBuilder;
 import de.fraunhofer.iais.eis.SecurityProfile;
 import io.dataspaceconnector.common.ids.ConnectorService;
+import io.dataspaceconnector.common.ids.SelfDescription;
+import io.dataspaceconnector.common.ids.SelfDescriptionCache;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +37,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc(addFilters = false)
@@ -44,6 +47,9 @@ public class MainControllerTest {
     @MockBean
     private ConnectorService connectorService;
 
+    @MockBean
+    private SelfDescriptionCache selfDescriptionCache;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -102,7 +108,7 @@ public class MainControllerTest {
                         ._accessURL_(URI.create("https://accessUrl"))
                         .build())
                 .build();
-        Mockito.doReturn(connector).when(connectorService).getConnectorWithOfferedResources();
+        mockSelfDescription(connector.toRdf(), "\"1\"");
 
         /* ACT */
         final var result =
@@ -110,6 +116,39 @@ public class MainControllerTest {
 
         /* ASSERT */
         assertEquals(connector.toRdf(), result.getResponse().getContentAsString());
+        assertEquals("\"1\"", result.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    @WithMockUser("ADMIN")
+    public void getPrivateSelfDescription_knownETag_returnNotModified() throws Exception {
+        /* ARRANGE */
+        mockSelfDescription("{}", "\"1\"");
+
+        /* ACT */
+        final var result = mockMvc.perform(get("/api/connector").header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andReturn();
+
+        /* ASSERT */
+        assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    @WithMockUser("ADMIN")
+    public void getPrivateSelfDescription_otherETag_returnDescription() throws Exception {
+        /* ARRANGE */
+        mockSelfDescription("{}", "\"2\"");
+
+        /* ACT */
+        final var result = mockMvc.perform(get("/api/connector").header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        /* ASSERT */
+        assertEquals("{}", result.getResponse().getContentAsString());
+        assertEquals("\"2\"", result.getResponse().getHeader("ETag"));
     }
 
 
@@ -117,7 +156,7 @@ public class MainControllerTest {
     @WithMockUser("ADMIN")
     public void getPrivateSelfDescription_serviceFails_InternalServerError() throws Exception {
         /* ARRANGE */
-        Mockito.doThrow(ConstraintViolationException.class).when(connectorService).getConnectorWithOfferedResources();
+        Mockito.doThrow(ConstraintViolationException.class).when(selfDescriptionCache).get();
 
         /* ACT */
         final var result = mockMvc.perform(get("/api/connector"))
@@ -176,4 +215,15 @@ public class MainControllerTest {
                 result.getResponse().getContentAsString());
         assertEquals("application/hal+json", result.getResponse().getContentType());
     }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private void mockSelfDescription(final String rdf, final String etag) {
+        final var selfDescription = Mockito.mock(SelfDescription.class);
+        Mockito.doReturn(rdf).when(selfDescription).getRdf();
+        Mockito.doReturn(etag).when(selfDescription).getEtag();
+        Mockito.doReturn(selfDescription).when(selfDescriptionCache).get();
+    }
 }
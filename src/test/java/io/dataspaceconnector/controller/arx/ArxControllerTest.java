@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.arx;
+
+import io.dataspaceconnector.common.exception.ResourceNotFoundException;
+import io.dataspaceconnector.controller.arx.util.FileInfo;
+import io.dataspaceconnector.controller.arx.util.FilesStorageServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArxControllerTest {
+
+    private static final Principal ALICE = () -> "alice";
+
+    private static final Principal BOB = () -> "bob";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void uploadChunk_wrongOffset_returnConflictWithOffset() throws IOException {
+        /* ARRANGE */
+        final var controller = controller();
+        final var id = controller.startUpload("data.csv", ALICE, new MockHttpServletRequest())
+                .getBody().getId();
+        controller.uploadChunk(id, 0, ALICE, request("a,b\n"));
+
+        /* ACT */
+        final var result = controller.uploadChunk(id, 0, ALICE, request("1,2\n"));
+
+        /* ASSERT */
+        assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+        assertEquals("4", result.getHeaders().getFirst("Upload-Offset"));
+        assertEquals(4, result.getBody().getOffset());
+    }
+
+    @Test
+    public void uploadChunk_resumeAtReturnedOffset_completeDataset() throws IOException {
+        /* ARRANGE */
+        final var controller = controller();
+        final var id = controller.startUpload("data.csv", ALICE, new MockHttpServletRequest())
+                .getBody().getId();
+        controller.uploadChunk(id, 0, ALICE, request("a,b\n"));
+        final var conflict = controller.uploadChunk(id, 0, ALICE, request("1,2\n"));
+        final var offset = Long.parseLong(conflict.getHeaders().getFirst("Upload-Offset"));
+
+        /* ACT */
+        final var result = controller.uploadChunk(id, offset, ALICE, request("1,2\n"));
+        controller.completeUpload(id, ALICE, new MockHttpServletRequest());
+
+        /* ASSERT */
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("8", result.getHeaders().getFirst("Upload-Offset"));
+        assertEquals(List.of("1,2"), controller.getDatasetRows(id, 1, 10, ALICE,
+                new MockHttpServletRequest()).getBody());
+    }
+
+    @Test
+    public void getListFiles_datasetsOfSeveralOwners_listOwnDatasets() throws IOException {
+        /* ARRANGE */
+        final var controller = controller();
+        final var own = upload(controller, ALICE, "own.csv");
+        upload(controller, BOB, "other.csv");
+        final var request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        /* ACT */
+        final List<FileInfo> result;
+        try {
+            result = controller.getListFiles(ALICE, request).getBody();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        /* ASSERT */
+        assertEquals(1, result.size());
+        assertEquals("own.csv", result.get(0).getName());
+        assertTrue(result.get(0).getUrl().endsWith("/files/" + own));
+    }
+
+    @Test
+    public void getFile_datasetOfOtherOwner_throwResourceNotFoundException() throws IOException {
+        /* ARRANGE */
+        final var controller = controller();
+        final var id = upload(controller, ALICE, "data.csv");
+
+        /* ACT && ASSERT */
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.getFile(id, BOB, new MockHttpServletRequest()));
+        assertEquals(HttpStatus.OK,
+                controller.getFile(id, ALICE, new MockHttpServletRequest()).getStatusCode());
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private ArxController controller() {
+        return new ArxController(new FilesStorageServiceImpl(dir.toString(), 60_000));
+    }
+
+    private static UUID upload(final ArxController controller, final Principal owner,
+                               final String filename) throws IOException {
+        final var id = controller.startUpload(filename, owner, new MockHttpServletRequest())
+                .getBody().getId();
+        controller.uploadChunk(id, 0, owner, request("a,b\n"));
+        controller.completeUpload(id, owner, new MockHttpServletRequest());
+        return id;
+    }
+
+    private static MockHttpServletRequest request(final String content) {
+        final var request = new MockHttpServletRequest();
+        request.setContent(content.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
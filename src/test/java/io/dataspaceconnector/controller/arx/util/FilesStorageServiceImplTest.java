@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.arx.util;
+
+import io.dataspaceconnector.common.exception.InvalidInputException;
+import io.dataspaceconnector.common.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilesStorageServiceImplTest {
+
+    private static final long EXPIRATION = 60_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void appendChunk_resumeAfterWrongOffset_storeAllChunks() {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var upload = service.startUpload("alice", "data.csv");
+        service.appendChunk("alice", upload.getId(), 0, data("a,b\n1,"));
+
+        /* ACT */
+        assertThrows(InvalidInputException.class,
+                () -> service.appendChunk("alice", upload.getId(), 0, data("2\n")));
+        final var offset = service.getUpload("alice", upload.getId()).getOffset();
+        service.appendChunk("alice", upload.getId(), offset, data("2\n3,4\n"));
+        final var result = service.completeUpload("alice", upload.getId());
+
+        /* ASSERT */
+        assertEquals(6, offset);
+        assertTrue(result.isComplete());
+        assertEquals(3, result.getLines());
+        assertEquals(List.of("1,2", "3,4"), service.getRows("alice", upload.getId(), 1, 10));
+        assertEquals(List.of("a,b"), service.getHeaders("alice"));
+    }
+
+    @Test
+    public void getUpload_otherOwner_throwResourceNotFoundException() {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var upload = service.startUpload("alice", "data.csv");
+
+        /* ACT && ASSERT */
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.getUpload("bob", upload.getId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.appendChunk("bob", upload.getId(), 0, data("a,b\n")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.completeUpload("bob", upload.getId()));
+    }
+
+    @Test
+    public void removeExpired_unusedUploads_removeUploadsAndFiles() throws IOException {
+        /* ARRANGE */
+        // A negative expiration time lets every upload expire immediately.
+        final var service = new FilesStorageServiceImpl(dir.toString(), -1);
+        final var pending = service.startUpload("alice", "pending.csv");
+        service.appendChunk("alice", pending.getId(), 0, data("a,b\n"));
+        final var dataset = service.startUpload("alice", "dataset.csv");
+        service.appendChunk("alice", dataset.getId(), 0, data("a,b\n"));
+        service.completeUpload("alice", dataset.getId());
+        final var orphan = Files.writeString(dir.resolve(".partial").resolve("orphan"), "a,b\n");
+
+        /* ACT */
+        service.removeExpired();
+
+        /* ASSERT */
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.getUpload("alice", pending.getId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.getUpload("alice", dataset.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> service.getHeaders("alice"));
+        assertFalse(Files.exists(orphan));
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(".partial"), files.map(x -> x.getFileName().toString())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void removeExpired_recentlyUsedUploads_keepUploads() {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var upload = service.startUpload("alice", "data.csv");
+        service.appendChunk("alice", upload.getId(), 0, data("a,b\n"));
+
+        /* ACT */
+        service.removeExpired();
+
+        /* ASSERT */
+        assertEquals(4, service.getUpload("alice", upload.getId()).getOffset());
+    }
+
+    @Test
+    public void getAllItems_completeDataset_streamAllLines() {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var upload = service.startUpload("alice", "data.csv");
+        service.appendChunk("alice", upload.getId(), 0, data("a,b\n1,2\n"));
+        service.completeUpload("alice", upload.getId());
+
+        /* ACT */
+        final List<String> result;
+        try (var lines = service.getAllItems("alice")) {
+            result = lines.collect(Collectors.toList());
+        }
+
+        /* ASSERT */
+        assertEquals(List.of("a,b", "1,2"), result);
+    }
+
+    @Test
+    public void getDatasets_uploadsOfSeveralOwners_returnCompleteDatasetsOfOwner() {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var own = service.startUpload("alice", "own.csv");
+        service.completeUpload("alice", own.getId());
+        service.startUpload("alice", "incomplete.csv");
+        final var other = service.startUpload("bob", "other.csv");
+        service.completeUpload("bob", other.getId());
+
+        /* ACT */
+        final var result = service.getDatasets("alice");
+
+        /* ASSERT */
+        assertEquals(1, result.size());
+        assertEquals(own.getId(), result.get(0).getId());
+        assertEquals("own.csv", result.get(0).getFilename());
+    }
+
+    @Test
+    public void load_datasetOfOwner_returnFile() throws IOException {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var upload = service.startUpload("alice", "data.csv");
+        service.appendChunk("alice", upload.getId(), 0, data("a,b\n"));
+        service.completeUpload("alice", upload.getId());
+
+        /* ACT */
+        final var result = service.load("alice", upload.getId());
+
+        /* ASSERT */
+        try (var content = result.getInputStream()) {
+            assertEquals("a,b\n", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void load_otherOwnerOrIncomplete_throwException() {
+        /* ARRANGE */
+        final var service = new FilesStorageServiceImpl(dir.toString(), EXPIRATION);
+        final var complete = service.startUpload("alice", "data.csv");
+        service.completeUpload("alice", complete.getId());
+        final var incomplete = service.startUpload("alice", "partial.csv");
+
+        /* ACT && ASSERT */
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.load("bob", complete.getId()));
+        assertThrows(InvalidInputException.class,
+                () -> service.load("alice", incomplete.getId()));
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private static ByteArrayInputStream data(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.arx.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void read_window_returnLinesOfWindow() throws IOException {
+        /* ARRANGE */
+        final var file = write("a,b\n1,2\n3,4\n5,6\n");
+        final var index = index(file, 4);
+
+        /* ACT */
+        final var result = index.read(file, 1, 2);
+
+        /* ASSERT */
+        assertEquals(4, index.getLineCount());
+        assertEquals(List.of("1,2", "3,4"), result);
+    }
+
+    @Test
+    public void read_crlfLineBreaks_removeLineBreaks() throws IOException {
+        /* ARRANGE */
+        final var file = write("a,b\r\n1,2\r\n");
+        final var index = index(file, 3);
+
+        /* ACT */
+        final var result = index.read(file, 0, 10);
+
+        /* ASSERT */
+        assertEquals(List.of("a,b", "1,2"), result);
+    }
+
+    @Test
+    public void read_lastLineWithoutLineBreak_returnLastLine() throws IOException {
+        /* ARRANGE */
+        final var file = write("a,b\n1,2");
+        final var index = index(file, 2);
+
+        /* ACT */
+        final var result = index.read(file, 1, 10);
+
+        /* ASSERT */
+        assertEquals(2, index.getLineCount());
+        assertEquals(List.of("1,2"), result);
+    }
+
+    @Test
+    public void scan_lineBreaksInDifferentChunks_indexAllLines() throws IOException {
+        /* ARRANGE */
+        final var file = write("first\nsecond line\nthird\n");
+
+        /* ACT */
+        final var index = index(file, 1);
+
+        /* ASSERT */
+        assertEquals(3, index.getLineCount());
+        assertEquals(List.of("second line", "third"), index.read(file, 1, 2));
+    }
+
+    @Test
+    public void read_outOfRange_returnEmpty() throws IOException {
+        /* ARRANGE */
+        final var file = write("a,b\n1,2\n");
+        final var index = index(file, 4);
+
+        /* ACT && ASSERT */
+        assertTrue(index.read(file, 2, 10).isEmpty());
+        assertTrue(index.read(file, -1, 10).isEmpty());
+        assertTrue(index.read(file, 0, 0).isEmpty());
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private Path write(final String content) throws IOException {
+        return Files.writeString(dir.resolve("data.csv"), content, StandardCharsets.UTF_8);
+    }
+
+    private static LineIndex index(final Path file, final int chunkSize) throws IOException {
+        final var bytes = Files.readAllBytes(file);
+        final var index = new LineIndex();
+        for (var i = 0; i < bytes.length; i += chunkSize) {
+            final var length = Math.min(chunkSize, bytes.length - i);
+            final var chunk = new byte[length];
+            System.arraycopy(bytes, i, chunk, 0, length);
+            index.scan(chunk, length);
+        }
+        return index;
+    }
+}
@@ -19,13 +19,17 @@ import de.fraunhofer.ids.messaging.protocol.UnexpectedResponseException;
 import io.dataspaceconnector.common.net.QueryInput;
 import io.dataspaceconnector.controller.resource.view.artifact.ArtifactViewAssembler;
 import io.dataspaceconnector.model.artifact.Artifact;
+import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.model.artifact.ArtifactFactory;
+import io.dataspaceconnector.model.artifact.LocalData;
 import io.dataspaceconnector.repository.ArtifactRepository;
 import io.dataspaceconnector.repository.AuthenticationRepository;
 import io.dataspaceconnector.repository.DataRepository;
 import io.dataspaceconnector.service.BlockingArtifactReceiver;
 import io.dataspaceconnector.common.net.HttpService;
 import io.dataspaceconnector.service.message.SubscriberNotificationService;
+import io.dataspaceconnector.service.resource.type.ArtifactAccessCounter;
+import io.dataspaceconnector.service.resource.type.ArtifactData;
 import io.dataspaceconnector.service.resource.type.ArtifactService;
 import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
 import org.junit.jupiter.api.Test;
@@ -35,13 +39,24 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -78,6 +93,9 @@ class ArtifactControllerTest {
     @MockBean
     private SubscriberNotificationService subscriberNotificationService;
 
+    @MockBean
+    private ArtifactAccessCounter accessCounter;
+
     @SpyBean
     private ArtifactService service;
 
@@ -95,7 +113,7 @@ class ArtifactControllerTest {
         Mockito.doNothing().when(subscriberNotificationService).notifyOnUpdate(any());
 
         /* ACT */
-        final var result = controller.putData(artifactId, data);
+        final var result = controller.putData(artifactId, new ByteArrayInputStream(data));
 
         /* ASSERT */
         assertEquals(HttpStatus.NO_CONTENT.value(), result.getStatusCode().value());
@@ -110,15 +128,131 @@ class ArtifactControllerTest {
         final var artifactId = UUID.randomUUID();
         final var queryInput = new QueryInput();
         final byte[] data = {0, 1, 2, 3};
-        final var dataStream = new ByteArrayInputStream(data);
-
-        Mockito.doReturn(dataStream).when(service).getData(any(), any(), eq(artifactId), eq(queryInput));
+        final var reads = mockData(artifactId, getLocalArtifact(data), data);
 
         /* ACT */
         final var result = controller.getData(artifactId, queryInput);
 
         /* ASSERT */
         assertEquals(HttpStatus.OK.value(), result.getStatusCode().value());
+        assertEquals(data.length, result.getHeaders().getContentLength());
+        assertEquals("bytes", result.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void getData_validRange_returnPartialContent() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final byte[] data = {0, 1, 2, 3, 4, 5};
+        final var request = new MockHttpServletRequest("GET", "/api/artifacts/" + artifactId + "/data");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-3");
+
+        final var reads = mockData(artifactId, getLocalArtifact(data), data);
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, new HashMap<>(),
+                new HashMap<>(), request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), result.getStatusCode().value());
+        assertEquals("bytes 2-3/6", result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(2, result.getHeaders().getContentLength());
+        assertEquals(1, reads.get());
+
+        final var output = new ByteArrayOutputStream();
+        Objects.requireNonNull(result.getBody()).writeTo(output);
+        assertArrayEquals(new byte[]{2, 3}, output.toByteArray());
+    }
+
+    @Test
+    public void getData_unsatisfiableRange_returnRangeNotSatisfiable() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final byte[] data = {0, 1, 2, 3};
+        final var request = new MockHttpServletRequest("GET", "/api/artifacts/" + artifactId + "/data");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        final var reads = mockData(artifactId, getLocalArtifact(data), data);
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, new HashMap<>(),
+                new HashMap<>(), request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(),
+                result.getStatusCode().value());
+        assertEquals("bytes */4", result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    public void getData_matchingETag_returnNotModified() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final byte[] data = {0, 1, 2, 3};
+        final var reads = mockData(artifactId, getLocalArtifact(data), data);
+
+        final var first = controller.getData(artifactId, null, null, new HashMap<>(),
+                new HashMap<>(), new MockHttpServletRequest("GET", "/api/artifacts/" + artifactId + "/data"));
+        final var request = new MockHttpServletRequest("GET", "/api/artifacts/" + artifactId + "/data");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, Objects.requireNonNull(first.getHeaders().getETag()));
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, new HashMap<>(),
+                new HashMap<>(), request);
+
+        /* ASSERT */
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), result.getStatusCode().value());
+        assertNull(result.getBody());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void getData_artifactChangedAfterLookup_useHeadersOfReadData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final byte[] data = {0, 1, 2, 3, 4, 5};
+        final var request = new MockHttpServletRequest("GET", "/api/artifacts/" + artifactId + "/data");
+
+        mockData(artifactId, getLocalArtifact(data), data);
+        Mockito.doReturn(getLocalArtifact(new byte[]{0})).when(service).get(eq(artifactId));
+
+        /* ACT */
+        final var result = controller.getData(artifactId, null, null, new HashMap<>(),
+                new HashMap<>(), request);
+
+        /* ASSERT */
+        assertEquals(data.length, result.getHeaders().getContentLength());
+        assertTrue(Objects.requireNonNull(result.getHeaders().getETag()).endsWith("-6\""));
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private AtomicInteger mockData(final UUID artifactId, final Artifact artifact,
+                                   final byte[] data) throws IOException {
+        final var reads = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            final Predicate<Artifact> condition = invocation.getArgument(4);
+            if (!condition.test(artifact)) {
+                return new ArtifactData(artifact, null);
+            }
+
+            reads.incrementAndGet();
+            return new ArtifactData(artifact, new ByteArrayInputStream(data));
+        }).when(service).getData(any(), any(), eq(artifactId), any(QueryInput.class), any());
+        return reads;
+    }
+
+    private Artifact getLocalArtifact(final byte[] data) {
+        final var artifact = new ArtifactFactory().create(new ArtifactDesc());
+        final var localData = new LocalData();
+        localData.setValue(data);
+        ReflectionTestUtils.setField(artifact, "data", localData);
+        new ArtifactFactory().updateByteSize(artifact, data);
+        return artifact;
     }
 
     //    @Test
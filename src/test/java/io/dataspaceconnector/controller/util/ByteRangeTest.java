@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.controller.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteRangeTest {
+
+    @Test
+    public void parse_null_returnEmpty() {
+        /* ACT && ASSERT */
+        assertTrue(ByteRange.parse(null, 10).isEmpty());
+    }
+
+    @Test
+    public void parse_firstAndLast_returnRange() {
+        /* ACT */
+        final var result = ByteRange.parse("bytes=2-5", 10).orElseThrow();
+
+        /* ASSERT */
+        assertTrue(result.isSatisfiable());
+        assertEquals(2, result.getFirst());
+        assertEquals(5, result.getLast());
+        assertEquals(4, result.getLength());
+        assertEquals("bytes 2-5/10", result.toContentRange());
+    }
+
+    @Test
+    public void parse_lastExceedsSize_limitToSize() {
+        /* ACT */
+        final var result = ByteRange.parse("bytes=2-100", 10).orElseThrow();
+
+        /* ASSERT */
+        assertEquals(9, result.getLast());
+        assertEquals(8, result.getLength());
+    }
+
+    @Test
+    public void parse_openEnd_returnRemainingData() {
+        /* ACT */
+        final var result = ByteRange.parse("bytes=4-", 10).orElseThrow();
+
+        /* ASSERT */
+        assertEquals(4, result.getFirst());
+        assertEquals(9, result.getLast());
+    }
+
+    @Test
+    public void parse_suffix_returnLastBytes() {
+        /* ACT */
+        final var result = ByteRange.parse("bytes=-3", 10).orElseThrow();
+
+        /* ASSERT */
+        assertEquals(7, result.getFirst());
+        assertEquals(9, result.getLast());
+    }
+
+    @Test
+    public void parse_firstBeyondSize_notSatisfiable() {
+        /* ACT */
+        final var result = ByteRange.parse("bytes=10-", 10).orElseThrow();
+
+        /* ASSERT */
+        assertFalse(result.isSatisfiable());
+        assertEquals("bytes */10", result.toContentRange());
+    }
+
+    @Test
+    public void parse_multipleRanges_returnEmpty() {
+        /* ACT && ASSERT */
+        assertTrue(ByteRange.parse("bytes=0-1,4-5", 10).isEmpty());
+    }
+
+    @Test
+    public void parse_lastBeforeFirst_returnEmpty() {
+        /* ACT && ASSERT */
+        assertTrue(ByteRange.parse("bytes=5-2", 10).isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.monitoring;
+
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = { PolicyCacheInfoContributor.class })
+class PolicyCacheInfoContributorTest {
+
+    @Autowired
+    private PolicyCacheInfoContributor contributor;
+
+    @MockBean
+    private PolicyCache policyCache;
+
+    @Test
+    public void contribute_cacheUsed_addHitsAndMisses() {
+        /* ARRANGE */
+        final var hits = new LongAdder();
+        hits.add(3);
+        final var misses = new LongAdder();
+        misses.add(1);
+
+        Mockito.doReturn(hits).when(policyCache).getHits();
+        Mockito.doReturn(misses).when(policyCache).getMisses();
+        Mockito.doReturn(1).when(policyCache).getEntryCount();
+        Mockito.doReturn(42L).when(policyCache).getSize();
+
+        final var builder = new Info.Builder();
+
+        /* ACT */
+        contributor.contribute(builder);
+        final var info = builder.build();
+
+        /* ASSERT */
+        final var details = (Map<?, ?>) info.get("policyCache");
+        assertEquals(3L, details.get("hits"));
+        assertEquals(1L, details.get("misses"));
+        assertEquals(1, details.get("entries"));
+        assertEquals(42L, details.get("size"));
+    }
+}
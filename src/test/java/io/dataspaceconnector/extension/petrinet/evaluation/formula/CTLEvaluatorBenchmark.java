@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.petrinet.evaluation.formula;
+
+import io.dataspaceconnector.extension.petrinet.model.Arc;
+import io.dataspaceconnector.extension.petrinet.model.ArcImpl;
+import io.dataspaceconnector.extension.petrinet.model.Node;
+import io.dataspaceconnector.extension.petrinet.model.PetriNetImpl;
+import io.dataspaceconnector.extension.petrinet.model.PlaceImpl;
+import io.dataspaceconnector.extension.petrinet.model.TransitionImpl;
+import io.dataspaceconnector.extension.petrinet.simulator.PetriNetSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.TrueOperator.trueOperator;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeAND.nodeAND;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeEV.nodeEV;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeExpression.nodeExpression;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeFORALLUNTIL.nodeFORALLUNTIL;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeNF.nodeNF;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodePOS.nodePOS;
+
+/**
+ * Compares the evaluation of formulas on generated PetriNets with and without labeling of the
+ * paths. The nets are chains of places, where every fourth step offers an alternative
+ * transition, so the number of paths grows with the size of the net.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.dataspaceconnector.extension.petrinet.evaluation.formula.CTLEvaluatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CTLEvaluatorBenchmark {
+
+    @Param({"8", "16", "32"})
+    private int size;
+
+    private PlaceImpl start;
+
+    private List<List<Node>> paths;
+
+    private List<Formula> formulas;
+
+    @Setup
+    public void setup() {
+        final var net = buildNet(size);
+        final var graph = PetriNetSimulator.buildStepGraph(net);
+        paths = PetriNetSimulator.getAllPaths(graph);
+
+        final var end = nodeNF(nodeExpression(place -> place.getSourceArcs().isEmpty(), "end"));
+        final var notEnd = nodeNF(nodeExpression(place -> !place.getSourceArcs().isEmpty(),
+                "not end"));
+        formulas = List.of(nodePOS(end), nodeEV(end), nodeFORALLUNTIL(trueOperator(), end),
+                nodeFORALLUNTIL(notEnd, end), nodeAND(nodePOS(end), nodeEV(notEnd)));
+    }
+
+    @Benchmark
+    public void evaluateUnlabeled(final Blackhole blackhole) {
+        for (final var formula : formulas) {
+            blackhole.consume(formula.evaluate(start, paths));
+        }
+    }
+
+    @Benchmark
+    public void evaluateLabeled(final Blackhole blackhole) {
+        blackhole.consume(CTLEvaluator.evaluateAll(formulas, start, paths));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CTLEvaluatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private PetriNetImpl buildNet(final int numPlaces) {
+        final var nodes = new HashSet<Node>();
+        final var arcs = new HashSet<Arc>();
+
+        start = new PlaceImpl(URI.create("place://0"));
+        start.setMarkers(1);
+        nodes.add(start);
+
+        var previous = start;
+        for (var i = 1; i < numPlaces; i++) {
+            final var place = new PlaceImpl(URI.create("place://" + i));
+            final var transition = new TransitionImpl(URI.create("trans://" + i));
+            nodes.add(place);
+            nodes.add(transition);
+            arcs.add(new ArcImpl(previous, transition));
+            arcs.add(new ArcImpl(transition, place));
+
+            if (i % 4 == 0) {
+                final var alternative = new TransitionImpl(URI.create("trans://alt" + i));
+                nodes.add(alternative);
+                arcs.add(new ArcImpl(previous, alternative));
+                arcs.add(new ArcImpl(alternative, place));
+            }
+            previous = place;
+        }
+
+        return new PetriNetImpl(URI.create("https://benchmark"), nodes, arcs);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.petrinet.evaluation.formula;
+
+import io.dataspaceconnector.extension.petrinet.evaluation.formula.state.StateFormula;
+import io.dataspaceconnector.extension.petrinet.model.Node;
+import io.dataspaceconnector.extension.petrinet.model.PlaceImpl;
+import io.dataspaceconnector.extension.petrinet.model.TransitionImpl;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeAND.nodeAND;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeNOT.nodeNOT;
+import static io.dataspaceconnector.extension.petrinet.evaluation.formula.state.NodeOR.nodeOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CTLEvaluatorTest {
+
+    private final PlaceImpl start = new PlaceImpl(URI.create("place://start"));
+
+    private final PlaceImpl end = new PlaceImpl(URI.create("place://end"));
+
+    private final TransitionImpl transition = new TransitionImpl(URI.create("trans://t"));
+
+    private final List<List<Node>> paths = List.of(List.of(start, transition, end));
+
+    @Test
+    public void evaluate_repeatedSubFormula_evaluateOnce() {
+        /* ARRANGE */
+        final var counter = new AtomicInteger();
+        final var counting = countingFormula(counter, true);
+
+        /* ACT */
+        final var result = CTLEvaluator.evaluate(
+                nodeAND(counting, nodeOR(nodeNOT(counting), counting)), start, paths);
+
+        /* ASSERT */
+        assertTrue(result);
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void evaluateAll_formulas_returnResultsInOrder() {
+        /* ARRANGE */
+        final var counting = countingFormula(new AtomicInteger(), false);
+        final List<StateFormula> formulas = List.of(nodeNOT(counting), counting,
+                nodeOR(counting, nodeNOT(counting)), nodeAND(counting, counting));
+
+        /* ACT */
+        final var results = CTLEvaluator.evaluateAll(formulas, start, paths);
+
+        /* ASSERT */
+        assertEquals(List.of(true, false, true, false), results);
+    }
+
+    @Test
+    public void evaluateAll_labeledPaths_reuseLabels() {
+        /* ARRANGE */
+        final var counter = new AtomicInteger();
+        final var counting = countingFormula(counter, true);
+        final var labeledPaths = LabeledPaths.of(paths);
+        CTLEvaluator.evaluateAll(List.of(nodeNOT(counting), nodeAND(counting, counting)), start,
+                labeledPaths);
+        counter.set(0);
+
+        /* ACT */
+        final var result = CTLEvaluator.evaluate(counting, start, labeledPaths);
+
+        /* ASSERT */
+        assertTrue(result);
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void evaluate_nodeNotOnPaths_evaluateWithoutLabel() {
+        /* ARRANGE */
+        final var counter = new AtomicInteger();
+        final var counting = countingFormula(counter, true);
+        final var other = new PlaceImpl(URI.create("place://other"));
+
+        /* ACT */
+        final var result = CTLEvaluator.evaluate(nodeAND(counting, counting), other, paths);
+
+        /* ASSERT */
+        assertTrue(result);
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void evaluate_stateFormulaOnTransition_returnFalse() {
+        /* ARRANGE */
+        final var counter = new AtomicInteger();
+
+        /* ACT */
+        final var result = CTLEvaluator.evaluate(countingFormula(counter, true), transition,
+                paths);
+
+        /* ASSERT */
+        assertFalse(result);
+        assertEquals(0, counter.get());
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private StateFormula countingFormula(final AtomicInteger counter, final boolean result) {
+        return new StateFormula() {
+            @Override
+            public boolean evaluate(final Node node, final List<List<Node>> paths) {
+                counter.incrementAndGet();
+                return result;
+            }
+
+            @Override
+            public String symbol() {
+                return "COUNT";
+            }
+
+            @Override
+            public String writeFormula() {
+                return symbol();
+            }
+        };
+    }
+}
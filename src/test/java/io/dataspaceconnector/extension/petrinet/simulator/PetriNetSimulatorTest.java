@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.extension.petrinet.simulator;
+
+import io.dataspaceconnector.extension.petrinet.model.Arc;
+import io.dataspaceconnector.extension.petrinet.model.ArcImpl;
+import io.dataspaceconnector.extension.petrinet.model.Node;
+import io.dataspaceconnector.extension.petrinet.model.PetriNet;
+import io.dataspaceconnector.extension.petrinet.model.PetriNetImpl;
+import io.dataspaceconnector.extension.petrinet.model.PlaceImpl;
+import io.dataspaceconnector.extension.petrinet.model.TransitionImpl;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PetriNetSimulatorTest {
+
+    @Test
+    public void buildStepGraph_forkingNet_mergeEqualMarkings() {
+        /* ARRANGE */
+        final var net = buildForkNet();
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(net);
+
+        /* ASSERT */
+        // start, forked, left done, right done, both done
+        assertEquals(5, graph.getNumSteps());
+        assertEquals(5, graph.getNumArcs());
+        assertEquals(5, graph.getSteps().size());
+        assertEquals(5, graph.getArcs().size());
+        assertEquals(Set.of(URI.create("t0"), URI.create("tl"), URI.create("tr")),
+                graph.getUsedTransitions());
+    }
+
+    @Test
+    public void buildStepGraph_forkingNet_firstStepIsInitialNet() {
+        /* ARRANGE */
+        final var net = buildForkNet();
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(net);
+
+        /* ASSERT */
+        assertTrue(graph.getSteps().contains(net));
+        assertEquals(net, graph.getSteps().iterator().next());
+        assertEquals(graph.getInitial(), graph.getArcs().iterator().next().getSource());
+    }
+
+    @Test
+    public void buildStepGraph_forkingNet_materializedStepsHaveMarkers() {
+        /* ARRANGE */
+        final var net = buildForkNet();
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(net);
+
+        /* ASSERT */
+        final var markersOnEnd = new HashSet<Integer>();
+        for (final var step : graph.getSteps()) {
+            var markers = 0;
+            for (final var node : step.getNodes()) {
+                if (node instanceof PlaceImpl) {
+                    markers += ((PlaceImpl) node).getMarkers();
+                }
+            }
+            // the fork doubles the markers, every other transition keeps them
+            assertTrue(markers == 1 || markers == 2);
+            markersOnEnd.add(markers);
+        }
+        assertEquals(Set.of(1, 2), markersOnEnd);
+    }
+
+    @Test
+    public void buildStepGraph_cyclicNet_terminates() {
+        /* ARRANGE */
+        final var p0 = new PlaceImpl(URI.create("p0"));
+        final var p1 = new PlaceImpl(URI.create("p1"));
+        final var t0 = new TransitionImpl(URI.create("t0"));
+        final var t1 = new TransitionImpl(URI.create("t1"));
+        p0.setMarkers(1);
+        final var net = buildNet(Set.of(p0, p1, t0, t1), Set.of(new ArcImpl(p0, t0),
+                new ArcImpl(t0, p1), new ArcImpl(p1, t1), new ArcImpl(t1, p0)));
+
+        /* ACT */
+        final var graph = PetriNetSimulator.buildStepGraph(net);
+
+        /* ASSERT */
+        assertEquals(2, graph.getNumSteps());
+        assertEquals(2, graph.getNumArcs());
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private PetriNet buildForkNet() {
+        final var p0 = new PlaceImpl(URI.create("p0"));
+        final var left = new PlaceImpl(URI.create("left"));
+        final var right = new PlaceImpl(URI.create("right"));
+        final var leftDone = new PlaceImpl(URI.create("leftDone"));
+        final var rightDone = new PlaceImpl(URI.create("rightDone"));
+        final var t0 = new TransitionImpl(URI.create("t0"));
+        final var tl = new TransitionImpl(URI.create("tl"));
+        final var tr = new TransitionImpl(URI.create("tr"));
+        p0.setMarkers(1);
+
+        final var arcs = Set.<Arc>of(new ArcImpl(p0, t0), new ArcImpl(t0, left),
+                new ArcImpl(t0, right), new ArcImpl(left, tl), new ArcImpl(tl, leftDone),
+                new ArcImpl(right, tr), new ArcImpl(tr, rightDone));
+        return buildNet(Set.of(p0, left, right, leftDone, rightDone, t0, tl, tr), arcs);
+    }
+
+    private PetriNet buildNet(final Set<Node> nodes, final Set<? extends Arc> arcs) {
+        return new PetriNetImpl(URI.create("https://net"), new HashSet<>(nodes),
+                new HashSet<>(arcs));
+    }
+}
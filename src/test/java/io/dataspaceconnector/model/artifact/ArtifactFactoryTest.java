@@ -15,6 +15,8 @@
  */
 package io.dataspaceconnector.model.artifact;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -22,6 +24,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
 
 import io.dataspaceconnector.model.auth.ApiKey;
 import io.dataspaceconnector.model.auth.AuthenticationDesc;
@@ -752,6 +755,33 @@ public class ArtifactFactoryTest {
         assertEquals(checksum.getValue(), artifact.getCheckSum());
     }
 
+    @Test
+    public void updateByteSize_streamedChecksum_equalsChecksumOfBytes() throws IOException {
+        /* ARRANGE */
+        final var streamed = factory.create(new ArtifactDesc());
+        final var buffered = factory.create(new ArtifactDesc());
+        final byte[] data = {1, 2, 1, 1, 23, 12, 2};
+
+        final var checkedInput = new CheckedInputStream(new ByteArrayInputStream(data),
+                factory.createChecksum());
+        final var buffer = new byte[2];
+        long byteSize = 0;
+        int read;
+        while ((read = checkedInput.read(buffer)) != -1) {
+            byteSize += read;
+        }
+
+        /* ACT */
+        final var result = factory.updateByteSize(streamed, byteSize,
+                checkedInput.getChecksum().getValue());
+        factory.updateByteSize(buffered, data);
+
+        /* ASSERT */
+        assertTrue(result);
+        assertEquals(buffered.getByteSize(), streamed.getByteSize());
+        assertEquals(buffered.getCheckSum(), streamed.getCheckSum());
+    }
+
     @Test
     public void update_allChanged_willUpdate() {
         /* ARRANGE */
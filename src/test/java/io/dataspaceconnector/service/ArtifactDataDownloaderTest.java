@@ -15,6 +15,7 @@
  */
 package io.dataspaceconnector.service;
 
+import io.dataspaceconnector.common.exception.MessageException;
 import io.dataspaceconnector.common.exception.UnexpectedResponseException;
 import io.dataspaceconnector.model.agreement.Agreement;
 import io.dataspaceconnector.service.message.builder.type.ArtifactRequestService;
@@ -30,9 +31,18 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
 @SpringBootTest(classes = { ArtifactDataDownloader.class })
@@ -92,4 +102,91 @@ class ArtifactDataDownloaderTest {
         /* ACT && ASSERT */
         assertDoesNotThrow(() -> downloader.download(recipient, artifacts, agreementId));
     }
+
+    @Test
+    public void download_multipleArtifacts_returnSummary() throws IOException, UnexpectedResponseException {
+        /* ARRANGE */
+        final var recipient = URI.create("https://recipient");
+        final var artifacts = Arrays.asList(URI.create("https://artifact1"),
+                URI.create("https://artifact2"), URI.create("https://artifact3"));
+        final var agreementId = UUID.fromString("550e8400-e29b-11d4-a716-446655440000");
+
+        final var response = new HashMap<String, String>();
+        response.put("Hi", "Bye");
+
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "remoteId", URI.create("https//remoteId"));
+
+        Mockito.when(agreementService.get(eq(agreementId))).thenReturn(agreement);
+        Mockito.when(artifactReqSvc.sendMessage(eq(recipient), any(), eq(agreement.getRemoteId()))).thenReturn(response);
+        Mockito.doThrow(IOException.class).when(persistenceSvc).saveData(eq(response), eq(artifacts.get(1)));
+
+        /* ACT */
+        final var result = downloader.download(recipient, artifacts, agreementId);
+
+        /* ASSERT */
+        assertEquals(3, result.getEntries().size());
+        assertEquals(List.of(artifacts.get(0), artifacts.get(2)), result.getSucceeded());
+        assertEquals(List.of(artifacts.get(1)), result.getFailed());
+        assertEquals(1, result.getFailedEntries().size());
+        assertEquals(artifacts.get(1), result.getFailedEntries().get(0).getArtifact());
+        assertFalse(result.isSuccessful());
+        assertNotNull(result.getEntries().get(0).getDuration());
+        assertNull(result.getEntries().get(0).getError());
+    }
+
+    @Test
+    public void download_oneRequestFails_downloadOthersAndThrow() throws IOException, UnexpectedResponseException {
+        /* ARRANGE */
+        final var recipient = URI.create("https://recipient");
+        final var artifacts = Arrays.asList(URI.create("https://artifact1"),
+                URI.create("https://artifact2"), URI.create("https://artifact3"));
+        final var agreementId = UUID.fromString("550e8400-e29b-11d4-a716-446655440000");
+
+        final var response = new HashMap<String, String>();
+        response.put("Hi", "Bye");
+
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "remoteId", URI.create("https//remoteId"));
+
+        Mockito.when(agreementService.get(eq(agreementId))).thenReturn(agreement);
+        Mockito.when(artifactReqSvc.sendMessage(eq(recipient), any(), eq(agreement.getRemoteId()))).thenReturn(response);
+        Mockito.when(artifactReqSvc.sendMessage(eq(recipient), eq(artifacts.get(0)), eq(agreement.getRemoteId()))).thenThrow(MessageException.class);
+
+        /* ACT && ASSERT */
+        assertThrows(MessageException.class, () -> downloader.download(recipient, artifacts, agreementId));
+        Mockito.verify(persistenceSvc, Mockito.times(1)).saveData(eq(response), eq(artifacts.get(1)));
+        Mockito.verify(persistenceSvc, Mockito.times(1)).saveData(eq(response), eq(artifacts.get(2)));
+    }
+
+    @Test
+    public void download_singlePoolThread_downloadAllInNamedOrCallingThreads() throws IOException, UnexpectedResponseException {
+        /* ARRANGE */
+        final var downloader = new ArtifactDataDownloader(artifactReqSvc, agreementService,
+                persistenceSvc, 4, 1);
+        final var recipient = URI.create("https://recipient");
+        final var artifacts = Arrays.asList(URI.create("https://artifact1"),
+                URI.create("https://artifact2"), URI.create("https://artifact3"),
+                URI.create("https://artifact4"), URI.create("https://artifact5"));
+        final var agreementId = UUID.fromString("550e8400-e29b-11d4-a716-446655440000");
+
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "remoteId", URI.create("https//remoteId"));
+
+        final var threads = ConcurrentHashMap.<String>newKeySet();
+        Mockito.when(agreementService.get(eq(agreementId))).thenReturn(agreement);
+        Mockito.when(artifactReqSvc.sendMessage(eq(recipient), any(), eq(agreement.getRemoteId()))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return new HashMap<String, String>();
+        });
+
+        /* ACT */
+        final var result = downloader.download(recipient, artifacts, agreementId);
+        downloader.shutdown();
+
+        /* ASSERT */
+        assertEquals(artifacts, result.getSucceeded());
+        final var caller = Thread.currentThread().getName();
+        assertTrue(threads.stream().allMatch(x -> x.equals(caller) || x.startsWith("artifact-download-")));
+    }
 }
@@ -53,6 +53,7 @@ import io.dataspaceconnector.service.resource.type.ContractService;
 import io.dataspaceconnector.service.resource.type.RepresentationService;
 import io.dataspaceconnector.service.resource.type.ResourceService;
 import io.dataspaceconnector.service.resource.type.RuleService;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import io.dataspaceconnector.common.usagecontrol.AllowAccessVerifier;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
@@ -78,7 +79,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(classes = {EntityResolver.class})
+@SpringBootTest(classes = {EntityResolver.class, PolicyCache.class})
 public class EntityResolverTest {
 
     @MockBean
@@ -15,19 +15,45 @@
  */
 package io.dataspaceconnector.service.message;
 
+import de.fraunhofer.iais.eis.ResourceBuilder;
+import io.dataspaceconnector.common.net.HttpService;
+import io.dataspaceconnector.common.net.SelfLinkHelper;
+import io.dataspaceconnector.common.routing.ParameterUtils;
+import io.dataspaceconnector.config.ConnectorConfig;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.model.artifact.ArtifactFactory;
 import io.dataspaceconnector.model.resource.OfferedResource;
 import io.dataspaceconnector.model.resource.OfferedResourceDesc;
+import io.dataspaceconnector.model.subscription.Subscription;
+import io.dataspaceconnector.service.BlockingArtifactReceiver;
+import io.dataspaceconnector.service.message.notification.Delivery;
+import io.dataspaceconnector.service.message.notification.NotificationDispatcher;
+import io.dataspaceconnector.service.resource.ids.builder.IdsResourceBuilder;
 import io.dataspaceconnector.service.resource.templatebuilder.AbstractResourceTemplateBuilder;
 import io.dataspaceconnector.service.resource.relation.AbstractResourceContractLinker;
 import io.dataspaceconnector.service.resource.relation.AbstractResourceRepresentationLinker;
+import io.dataspaceconnector.service.resource.type.ArtifactService;
+import io.dataspaceconnector.service.resource.type.SubscriptionService;
+import io.dataspaceconnector.service.usagecontrol.DataAccessVerifier;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 
+import java.net.URI;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 public class SubscriberNotificationServiceTest {
@@ -55,6 +81,45 @@ public class SubscriberNotificationServiceTest {
         assertDoesNotThrow(() -> subscriberNotificationSvc.notifyOnUpdate(artifact));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void notifyAll_idscpSubscriber_sendBuiltResourceWithoutLookup() {
+        /* ARRANGE */
+        final var template = Mockito.mock(ProducerTemplate.class);
+        final var dispatcher = Mockito.mock(NotificationDispatcher.class);
+        final var resourceBuilder = Mockito.mock(IdsResourceBuilder.class);
+        final var connectorConfig = Mockito.mock(ConnectorConfig.class);
+        final var service = new SubscriberNotificationService(
+                Mockito.mock(GlobalMessageService.class), Mockito.mock(ArtifactService.class),
+                Mockito.mock(BlockingArtifactReceiver.class),
+                Mockito.mock(DataAccessVerifier.class), Mockito.mock(SubscriptionService.class),
+                resourceBuilder, Mockito.mock(HttpService.class), connectorConfig, template,
+                new DefaultCamelContext(), Mockito.mock(SelfLinkHelper.class), dispatcher);
+
+        final var recipient = URI.create("https://subscriber.com");
+        final var subscription = Mockito.mock(Subscription.class);
+        when(subscription.isIdsProtocol()).thenReturn(true);
+        when(subscription.getLocation()).thenReturn(recipient);
+
+        final var offer = Mockito.mock(OfferedResource.class);
+        final var resource = new ResourceBuilder(URI.create("https://resource.com")).build();
+        when(resourceBuilder.create(offer)).thenReturn(resource);
+        when(connectorConfig.isIdscpEnabled()).thenReturn(true);
+
+        service.notifyAll(List.of(subscription), URI.create("https://target.com"), offer);
+        final var delivery = ArgumentCaptor.forClass(Delivery.class);
+        verify(dispatcher).submit(delivery.capture());
+
+        /* ACT */
+        delivery.getValue().send();
+
+        /* ASSERT */
+        final var exchange = ArgumentCaptor.forClass(Exchange.class);
+        verify(template).send(eq("direct:resourceUpdateSender"), exchange.capture());
+        assertSame(resource, exchange.getValue().getIn().getBody());
+        assertEquals(recipient, exchange.getValue().getProperty(ParameterUtils.RECIPIENT_PARAM));
+    }
+
 //    @Test
 //    public void notifyOnUpdate_emptyOfferedResource_throwNothing() {
 //        /* ARRANGE */
@@ -31,6 +31,7 @@ import de.fraunhofer.ids.messaging.protocol.http.IdsHttpService;
 import io.dataspaceconnector.common.exception.MessageResponseException;
 import io.dataspaceconnector.common.ids.ConnectorService;
 import io.dataspaceconnector.common.ids.DeserializationService;
+import io.dataspaceconnector.common.ids.message.ClearingHouseLogQueue;
 import io.dataspaceconnector.common.ids.message.ClearingHouseService;
 import io.dataspaceconnector.config.ConnectorConfig;
 import io.dataspaceconnector.model.message.ArtifactRequestMessageDesc;
@@ -61,6 +62,9 @@ class ArtifactRequestServiceTest {
     @MockBean
     private LogMessageService logMessageService;
 
+    @MockBean
+    private ClearingHouseLogQueue clearingHouseLogQueue;
+
     @MockBean
     private DeserializationService deserializationService;
 
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.handler.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fraunhofer.iais.eis.ArtifactRequestMessageImpl;
+import de.fraunhofer.iais.eis.ArtifactResponseMessage;
+import de.fraunhofer.ids.messaging.handler.message.MessagePayloadInputstream;
+import io.dataspaceconnector.service.EntityResolver;
+import io.dataspaceconnector.service.message.builder.type.ArtifactResponseService;
+import io.dataspaceconnector.service.message.handler.dto.DataResponse;
+import io.dataspaceconnector.service.message.handler.dto.Request;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataRequestProcessorTest {
+
+    private final ArtifactResponseService messageService = mock(ArtifactResponseService.class);
+
+    private final EntityResolver entityResolver = mock(EntityResolver.class);
+
+    private final DataRequestProcessor processor =
+            new DataRequestProcessor(messageService, entityResolver);
+
+    @Test
+    public void process_responseReplacedByLaterStep_closeData() throws Exception {
+        /* ARRANGE */
+        final var data = new TrackingInputStream("data");
+        final var exchange = exchange(data);
+
+        /* ACT */
+        processor.process(exchange);
+        exchange.getIn().setBody("error");
+        complete(exchange);
+
+        /* ASSERT */
+        assertTrue(data.isClosed());
+    }
+
+    @Test
+    public void process_responseSent_keepDataOpenUntilRead() throws Exception {
+        /* ARRANGE */
+        final var data = new TrackingInputStream("data");
+        final var exchange = exchange(data);
+
+        /* ACT */
+        processor.process(exchange);
+        complete(exchange);
+
+        /* ASSERT */
+        assertFalse(data.isClosed());
+        final var response = (DataResponse) exchange.getIn().getBody();
+        try (var encoded = response.getEncodedData()) {
+            assertEquals(base64("data"),
+                    new String(encoded.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(data.isClosed());
+    }
+
+    @Test
+    public void process_responseHeaderFails_doNotOpenData() throws Exception {
+        /* ARRANGE */
+        final var exchange = exchange(new TrackingInputStream("data"));
+        when(messageService.buildMessage(any())).thenThrow(new IllegalStateException());
+
+        /* ACT && ASSERT */
+        assertThrows(IllegalStateException.class, () -> processor.process(exchange));
+        verify(entityResolver, never()).getDataByArtifactId(any(), any());
+    }
+
+    @Test
+    public void close_dataResponse_closeData() throws Exception {
+        /* ARRANGE */
+        final var data = new TrackingInputStream("data");
+        final var response = new DataResponse(mock(ArtifactResponseMessage.class), data);
+
+        /* ACT */
+        response.close();
+
+        /* ASSERT */
+        assertTrue(data.isClosed());
+    }
+
+    /**************************************************************************
+     * Utilities.
+     *************************************************************************/
+
+    private Exchange exchange(final InputStream data) throws Exception {
+        final var message = mock(ArtifactRequestMessageImpl.class);
+        when(message.getRequestedArtifact()).thenReturn(URI.create("https://artifact"));
+        when(messageService.buildMessage(any())).thenReturn(mock(ArtifactResponseMessage.class));
+        when(entityResolver.getDataByArtifactId(any(), any())).thenReturn(data);
+
+        final var payload = new MessagePayloadInputstream(InputStream.nullInputStream(),
+                new ObjectMapper());
+        final var exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setBody(new Request<>(message, payload, Optional.empty()));
+        return exchange;
+    }
+
+    private static void complete(final Exchange exchange) {
+        for (final var synchronization
+                : exchange.adapt(ExtendedExchange.class).handoverCompletions()) {
+            synchronization.onComplete(exchange);
+        }
+    }
+
+    private static String base64(final String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        TrackingInputStream(final String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -22,21 +22,38 @@ import de.fraunhofer.iais.eis.DynamicAttributeTokenBuilder;
 import de.fraunhofer.iais.eis.RejectionReason;
 import de.fraunhofer.iais.eis.TokenFormat;
 import de.fraunhofer.ids.messaging.handler.message.MessagePayloadInputstream;
+import de.fraunhofer.ids.messaging.response.BodyResponse;
 import de.fraunhofer.ids.messaging.response.ErrorResponse;
+import io.dataspaceconnector.common.ids.ConnectorService;
 import io.dataspaceconnector.service.message.handler.ClearingHouseLoggingProcessor;
+import io.dataspaceconnector.service.message.handler.dto.DataResponse;
 import lombok.SneakyThrows;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.DefaultExchange;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
 
 import javax.xml.datatype.DatatypeFactory;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 class ArtifactRequestHandlerTest {
@@ -47,6 +64,9 @@ class ArtifactRequestHandlerTest {
     @Autowired
     ArtifactRequestHandler handler;
 
+    @Autowired
+    CamelContext camelContext;
+
     @SneakyThrows
     @Test
     public void handleMessage_nullMessage_returnBadParametersResponse() {
@@ -134,4 +154,45 @@ class ArtifactRequestHandlerTest {
         /* ASSERT */
         assertEquals(RejectionReason.BAD_PARAMETERS, result.getRejectionMessage().getRejectionReason());
     }
+
+    @SneakyThrows
+    @Test
+    public void handleMessage_dataResponse_returnStreamedBodyResponse() {
+        /* ARRANGE */
+        final var calendar = new GregorianCalendar();
+        calendar.setTime(new Date());
+        final var xmlCalendar = DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar);
+
+        final var message = new ArtifactRequestMessageBuilder()
+                ._senderAgent_(URI.create("https://localhost:8080"))
+                ._issuerConnector_(URI.create("https://localhost:8080"))
+                ._securityToken_(new DynamicAttributeTokenBuilder()._tokenFormat_(TokenFormat.OTHER)._tokenValue_("").build())
+                ._modelVersion_("4.0.0")
+                ._issued_(xmlCalendar)
+                ._correlationMessage_(URI.create("https://somecorrelationMessage"))
+                ._requestedArtifact_(URI.create("https://someArtifact"))
+                .build();
+
+        final var data = new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8));
+        final Exchange result = new DefaultExchange(camelContext);
+        result.getIn().setBody(new DataResponse(message, data));
+
+        final var template = mock(ProducerTemplate.class);
+        when(template.send(eq("direct:artifactRequestHandler"), any(Exchange.class))).thenReturn(result);
+        final var streamingHandler = new ArtifactRequestHandler(template, camelContext,
+                mock(ConnectorService.class));
+
+        /* ACT */
+        final var response = (BodyResponse<?>) streamingHandler.handleMessage(
+                (ArtifactRequestMessageImpl) message, null, Optional.empty());
+
+        /* ASSERT */
+        assertEquals(message, response.getHeader());
+        assertTrue(response.getPayload() instanceof InputStreamResource);
+        assertEquals(4, data.available());
+        try (var payload = ((InputStreamResource) response.getPayload()).getInputStream()) {
+            assertEquals(Base64.getEncoder().encodeToString("data".getBytes(StandardCharsets.UTF_8)),
+                    new String(payload.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
 }
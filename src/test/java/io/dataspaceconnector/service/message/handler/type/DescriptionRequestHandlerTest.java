@@ -38,6 +38,8 @@ import de.fraunhofer.ids.messaging.response.ErrorResponse;
 import de.fraunhofer.ids.messaging.response.MessageResponse;
 import io.dataspaceconnector.common.exception.ResourceNotFoundException;
 import io.dataspaceconnector.common.ids.ConnectorService;
+import io.dataspaceconnector.common.ids.SelfDescription;
+import io.dataspaceconnector.common.ids.SelfDescriptionCache;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.model.artifact.ArtifactFactory;
 import io.dataspaceconnector.model.message.DescriptionResponseMessageDesc;
@@ -67,6 +69,9 @@ import static org.mockito.Mockito.when;
     @MockBean
     EntityResolver resolver;
 
+    @MockBean
+    SelfDescriptionCache selfDescriptionCache;
+
     @Autowired
     DescriptionRequestHandler handler;
 
@@ -112,6 +117,10 @@ import static org.mockito.Mockito.when;
 
         Mockito.doReturn(connector).when(connectorService).getConnectorWithOfferedResources();
 
+        final var selfDescription = Mockito.mock(SelfDescription.class);
+        Mockito.doReturn(connector.toRdf()).when(selfDescription).getRdf();
+        Mockito.doReturn(selfDescription).when(selfDescriptionCache).get();
+
          /* ACT */
          final var result =
                  (BodyResponse<?>) handler.handleMessage((DescriptionRequestMessageImpl) message, null);
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDispatcherTest {
+
+    private final URI recipient = URI.create("https://subscriber");
+
+    private NotificationDispatcher dispatcher = new NotificationDispatcher(2, 10, 3, 1, 1);
+
+    @AfterEach
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void submit_deliverySucceeds_countDelivered() throws InterruptedException {
+        /* ARRANGE */
+        final var delivery = new TestDelivery(recipient, "a", 0);
+
+        /* ACT */
+        assertTrue(dispatcher.submit(delivery));
+
+        /* ASSERT */
+        assertTrue(delivery.awaitDiscard());
+        assertEquals(1, delivery.getAttempts().get());
+        assertEquals(1L, dispatcher.getDelivered().sum());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    public void submit_deliveryFailsOnce_retry() throws InterruptedException {
+        /* ARRANGE */
+        final var delivery = new TestDelivery(recipient, "a", 1);
+
+        /* ACT */
+        dispatcher.submit(delivery);
+
+        /* ASSERT */
+        assertTrue(delivery.awaitDiscard());
+        assertEquals(2, delivery.getAttempts().get());
+        assertEquals(1L, dispatcher.getRetried().sum());
+        assertEquals(1L, dispatcher.getDelivered().sum());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    public void submit_deliveryAlwaysFails_giveUpAfterMaxAttempts() throws InterruptedException {
+        /* ARRANGE */
+        final var delivery = new TestDelivery(recipient, "a", Integer.MAX_VALUE);
+
+        /* ACT */
+        dispatcher.submit(delivery);
+
+        /* ASSERT */
+        assertTrue(delivery.awaitDiscard());
+        assertEquals(3, delivery.getAttempts().get());
+        assertEquals(1L, dispatcher.getFailed().sum());
+        assertEquals(0L, dispatcher.getDelivered().sum());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    public void submit_sameKeyWhileBlocked_sendOnlyLatest() throws InterruptedException {
+        /* ARRANGE */
+        final var blocker = new BlockingDelivery(recipient);
+        final var sent = new CopyOnWriteArrayList<TestDelivery>();
+        final var first = new TestDelivery(recipient, "a", 0, sent);
+        final var second = new TestDelivery(recipient, "a", 0, sent);
+        dispatcher.submit(blocker);
+        assertTrue(blocker.started.await(5, TimeUnit.SECONDS));
+
+        /* ACT */
+        dispatcher.submit(first);
+        dispatcher.submit(second);
+        blocker.release.countDown();
+
+        /* ASSERT */
+        assertTrue(first.awaitDiscard());
+        assertTrue(second.awaitDiscard());
+        assertEquals(List.of(second), sent);
+        assertEquals(1L, dispatcher.getCoalesced().sum());
+    }
+
+    @Test
+    public void submit_newerDeliveredBeforeRetry_dropRetry() throws InterruptedException {
+        /* ARRANGE */
+        dispatcher.shutdown();
+        dispatcher = new NotificationDispatcher(2, 10, 3, 200, 200);
+        final var sent = new CopyOnWriteArrayList<TestDelivery>();
+        final var first = new TestDelivery(recipient, "a", 1, sent);
+        final var second = new TestDelivery(recipient, "a", 0, sent);
+        dispatcher.submit(first);
+        assertTrue(first.attempted.await(5, TimeUnit.SECONDS));
+
+        /* ACT */
+        dispatcher.submit(second);
+
+        /* ASSERT */
+        assertTrue(second.awaitDiscard());
+        assertTrue(first.awaitDiscard());
+        assertEquals(1, first.getAttempts().get());
+        assertEquals(List.of(second), sent);
+        assertEquals(1L, dispatcher.getCoalesced().sum());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    public void submit_tooManyPending_reject() throws InterruptedException {
+        /* ARRANGE */
+        dispatcher.shutdown();
+        dispatcher = new NotificationDispatcher(1, 1, 1, 1, 1);
+        final var blocker = new BlockingDelivery(recipient);
+        dispatcher.submit(blocker);
+        assertTrue(blocker.started.await(5, TimeUnit.SECONDS));
+        final var delivery = new TestDelivery(recipient, "a", 0);
+
+        /* ACT */
+        final var result = dispatcher.submit(delivery);
+
+        /* ASSERT */
+        assertFalse(result);
+        assertTrue(delivery.awaitDiscard());
+        assertEquals(0, delivery.getAttempts().get());
+        assertEquals(1L, dispatcher.getRejected().sum());
+        blocker.release.countDown();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class TestDelivery implements Delivery {
+        private final URI recipient;
+        private final String key;
+        private final int failures;
+        private final List<TestDelivery> sent;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final CountDownLatch discarded = new CountDownLatch(1);
+        private final CountDownLatch attempted = new CountDownLatch(1);
+
+        TestDelivery(final URI recipient, final String key, final int failures) {
+            this(recipient, key, failures, new CopyOnWriteArrayList<>());
+        }
+
+        @Override
+        public boolean send() {
+            try {
+                if (attempts.incrementAndGet() > failures) {
+                    sent.add(this);
+                    return true;
+                }
+                return false;
+            } finally {
+                attempted.countDown();
+            }
+        }
+
+        @Override
+        public void discard() {
+            discarded.countDown();
+        }
+
+        boolean awaitDiscard() throws InterruptedException {
+            return discarded.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class BlockingDelivery implements Delivery {
+        private final URI recipient;
+        private final String key = "blocker";
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean send() {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.message.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NotificationPayloadTest {
+
+    @Test
+    public void openData_openedTwice_returnSameData() throws IOException {
+        /* ARRANGE */
+        final var data = "data".getBytes(StandardCharsets.UTF_8);
+        final var payload = NotificationPayload.of(Map.of("ids-event", "UPDATED"),
+                new ByteArrayInputStream(data));
+
+        /* ACT */
+        final byte[] first;
+        final byte[] second;
+        try (var stream = payload.openData()) {
+            first = stream.readAllBytes();
+        }
+        try (var stream = payload.openData()) {
+            second = stream.readAllBytes();
+        }
+
+        /* ASSERT */
+        assertArrayEquals(data, first);
+        assertArrayEquals(data, second);
+        assertEquals("UPDATED", payload.getHeaders().get("ids-event"));
+        payload.release();
+    }
+
+    @Test
+    public void release_lastReference_removeData() throws IOException {
+        /* ARRANGE */
+        final var payload = NotificationPayload.of(Map.of(),
+                new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        payload.retain();
+
+        /* ACT */
+        payload.release();
+        try (var stream = payload.openData()) {
+            assertEquals(3, stream.readAllBytes().length);
+        }
+        payload.release();
+
+        /* ASSERT */
+        assertThrows(IOException.class, payload::openData);
+    }
+
+    @Test
+    public void openData_noData_returnEmptyStream() throws IOException {
+        /* ARRANGE */
+        final var payload = NotificationPayload.of(Map.of());
+
+        /* ACT */
+        try (var stream = payload.openData()) {
+            /* ASSERT */
+            assertEquals(0, stream.readAllBytes().length);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.ids.builder;
+
+import io.dataspaceconnector.model.artifact.ArtifactDesc;
+import io.dataspaceconnector.model.catalog.CatalogDesc;
+import io.dataspaceconnector.model.contract.ContractDesc;
+import io.dataspaceconnector.model.representation.RepresentationDesc;
+import io.dataspaceconnector.model.resource.OfferedResourceDesc;
+import io.dataspaceconnector.model.rule.ContractRuleDesc;
+import io.dataspaceconnector.service.resource.relation.CatalogOfferedResourceLinker;
+import io.dataspaceconnector.service.resource.relation.ContractRuleLinker;
+import io.dataspaceconnector.service.resource.relation.OfferedResourceContractLinker;
+import io.dataspaceconnector.service.resource.relation.OfferedResourceRepresentationLinker;
+import io.dataspaceconnector.service.resource.relation.RepresentationArtifactLinker;
+import io.dataspaceconnector.service.resource.type.ArtifactService;
+import io.dataspaceconnector.service.resource.type.CatalogService;
+import io.dataspaceconnector.service.resource.type.ContractService;
+import io.dataspaceconnector.service.resource.type.OfferedResourceService;
+import io.dataspaceconnector.service.resource.type.RepresentationService;
+import io.dataspaceconnector.service.resource.type.RuleService;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the sql statements needed for building ids catalogs of different sizes.
+ */
+@Log4j2
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class IdsCatalogBuilderIT {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private OfferedResourceService resourceService;
+
+    @Autowired
+    private RepresentationService representationService;
+
+    @Autowired
+    private ArtifactService artifactService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private RuleService ruleService;
+
+    @Autowired
+    private CatalogOfferedResourceLinker catalogResourceLinker;
+
+    @Autowired
+    private OfferedResourceRepresentationLinker resourceRepresentationLinker;
+
+    @Autowired
+    private RepresentationArtifactLinker representationArtifactLinker;
+
+    @Autowired
+    private OfferedResourceContractLinker resourceContractLinker;
+
+    @Autowired
+    private ContractRuleLinker contractRuleLinker;
+
+    @Autowired
+    private IdsCatalogBuilder catalogBuilder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void create_largerCatalog_boundedNumberOfStatements() {
+        /* ARRANGE */
+        final var smallCatalog = createCatalog(2);
+        final var largeCatalog = createCatalog(40);
+
+        /* ACT */
+        final var small = countStatements(smallCatalog, 2);
+        final var large = countStatements(largeCatalog, 40);
+
+        /* ASSERT */
+        if (log.isInfoEnabled()) {
+            log.info("Statements per catalog build. [resources=(2), statements=({})]", small);
+            log.info("Statements per catalog build. [resources=(40), statements=({})]", large);
+        }
+
+        // The collections of each depth level are loaded together, not once per entity.
+        assertTrue(large <= small + 5, "Statements grow with the catalog size.");
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private long countStatements(final UUID catalogId, final int numResources) {
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final var transaction = new TransactionTemplate(transactionManager);
+
+        return transaction.execute(status -> {
+            statistics.clear();
+            final var catalog = catalogBuilder.create(catalogService.get(catalogId));
+            assertEquals(numResources, catalog.getOfferedResource().size());
+            return statistics.getPrepareStatementCount();
+        });
+    }
+
+    private UUID createCatalog(final int numResources) {
+        final var catalogId = catalogService.create(new CatalogDesc()).getId();
+        for (var i = 0; i < numResources; i++) {
+            final var resourceId = resourceService.create(new OfferedResourceDesc()).getId();
+            catalogResourceLinker.add(catalogId, Set.of(resourceId));
+
+            for (var j = 0; j < 2; j++) {
+                final var representationId =
+                        representationService.create(new RepresentationDesc()).getId();
+                resourceRepresentationLinker.add(resourceId, Set.of(representationId));
+
+                final var artifactId = artifactService.create(new ArtifactDesc()).getId();
+                representationArtifactLinker.add(representationId, Set.of(artifactId));
+            }
+
+            final var contractId = contractService.create(new ContractDesc()).getId();
+            resourceContractLinker.add(resourceId, Set.of(contractId));
+
+            final var ruleDesc = new ContractRuleDesc();
+            ruleDesc.setValue(getRuleValue());
+            final var ruleId = ruleService.create(ruleDesc).getId();
+            contractRuleLinker.add(contractId, Set.of(ruleId));
+        }
+
+        return catalogId;
+    }
+
+    private String getRuleValue() {
+        return "{\n"
+                + "    \"@type\" : \"ids:Permission\",\n"
+                + "    \"@id\" : \"https://w3id.org/idsa/autogen/permission/ae138d4f-f01d-4358"
+                + "-89a7-73e7c560f3de\",\n"
+                + "    \"ids:action\" : [ {\n"
+                + "      \"@id\" : \"idsc:USE\"\n"
+                + "    } ]\n"
+                + "  }";
+    }
+}
@@ -35,6 +35,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
@@ -81,6 +82,11 @@ public class RepresentationArtifactLinkerTest {
         Mockito.when(artifactService.doesExist(Mockito.eq(artifactOne.getId()))).thenReturn(true);
         Mockito.when(artifactService.doesExist(Mockito.eq(artifactTwo.getId()))).thenReturn(true);
         Mockito.when(artifactService.doesExist(Mockito.eq(artifactThree.getId()))).thenReturn(true);
+        Mockito.when(artifactService.doAllExist(Mockito.any())).thenAnswer(invocation -> {
+            final Collection<?> ids = invocation.getArgument(0);
+            return Set.of(artifactOne.getId(), artifactTwo.getId(), artifactThree.getId())
+                    .containsAll(ids);
+        });
     }
 
     /***********************************************************************************************
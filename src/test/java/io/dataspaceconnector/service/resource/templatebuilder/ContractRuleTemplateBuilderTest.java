@@ -20,6 +20,7 @@ import io.dataspaceconnector.model.rule.ContractRuleFactory;
 import io.dataspaceconnector.model.template.RuleTemplate;
 import io.dataspaceconnector.repository.RuleRepository;
 import io.dataspaceconnector.service.resource.type.RuleService;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -31,7 +32,8 @@ class ContractRuleTemplateBuilderTest {
 
     private RuleRepository repository = Mockito.mock(RuleRepository.class);
     private ContractRuleTemplateBuilder builder = new ContractRuleTemplateBuilder(
-            new RuleService(repository, new ContractRuleFactory())
+            new RuleService(repository, new ContractRuleFactory(),
+                    Mockito.mock(PolicyCache.class))
     );
 
     @BeforeEach
@@ -21,6 +21,8 @@ import java.util.UUID;
 import io.dataspaceconnector.model.agreement.Agreement;
 import io.dataspaceconnector.model.agreement.AgreementFactory;
 import io.dataspaceconnector.repository.AgreementRepository;
+import io.dataspaceconnector.service.usagecontrol.DataRemovalIndex;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -45,6 +47,12 @@ public class AgreementServiceTest {
     @MockBean
     private AgreementFactory agreementFactory;
 
+    @MockBean
+    private PolicyCache policyCache;
+
+    @MockBean
+    private DataRemovalIndex removalIndex;
+
     @Autowired
     private AgreementService agreementService;
 
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.type;
+
+import io.dataspaceconnector.model.artifact.ArtifactImpl;
+import io.dataspaceconnector.model.representation.Representation;
+import io.dataspaceconnector.repository.ArtifactRepository;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {ArtifactAccessCounter.class})
+class ArtifactAccessCounterTest {
+
+    @MockBean
+    private ArtifactRepository artifactRepository;
+
+    @Autowired
+    private ArtifactAccessCounter counter;
+
+    @Test
+    public void flush_pendingAccesses_addSumToRepositoryAndClearPending() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        counter.increment(artifactId);
+        counter.increment(artifactId);
+        counter.increment(artifactId);
+
+        /* ACT */
+        counter.flush();
+
+        /* ASSERT */
+        verify(artifactRepository, times(1)).addToAccessCounter(eq(artifactId), eq(3L));
+        assertEquals(0, counter.getPending(artifactId));
+        assertEquals(0, counter.getPendingCount());
+    }
+
+    @Test
+    public void flush_noPendingAccesses_doNotWrite() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        counter.increment(artifactId);
+        counter.flush();
+
+        /* ACT */
+        counter.flush();
+
+        /* ASSERT */
+        verify(artifactRepository, times(1)).addToAccessCounter(eq(artifactId), anyLong());
+    }
+
+    @Test
+    public void flush_repositoryFails_keepPendingAccesses() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        counter.increment(artifactId);
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(artifactRepository).addToAccessCounter(eq(artifactId), anyLong());
+
+        /* ACT */
+        counter.flush();
+
+        /* ASSERT */
+        assertEquals(1, counter.getPending(artifactId));
+        assertEquals(1, counter.getPendingCount());
+    }
+
+    @Test
+    public void handleEntityChange_artifactDeleted_dropPendingAccesses() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        counter.increment(artifactId);
+
+        /* ACT */
+        counter.handleEntityChange(new EntityChangeEvent(ArtifactImpl.class, artifactId, true));
+        counter.flush();
+
+        /* ASSERT */
+        assertEquals(0, counter.getPendingCount());
+        verify(artifactRepository, never()).addToAccessCounter(eq(artifactId), anyLong());
+    }
+
+    @Test
+    public void handleEntityChange_artifactPersisted_keepPendingAccesses() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        counter.increment(artifactId);
+
+        /* ACT */
+        counter.handleEntityChange(new EntityChangeEvent(ArtifactImpl.class, artifactId, false));
+
+        /* ASSERT */
+        assertEquals(1, counter.getPending(artifactId));
+    }
+
+    @Test
+    public void handleEntityChange_otherEntityDeleted_keepPendingAccesses() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        counter.increment(artifactId);
+
+        /* ACT */
+        counter.handleEntityChange(new EntityChangeEvent(Representation.class, artifactId, true));
+
+        /* ASSERT */
+        assertEquals(1, counter.getPending(artifactId));
+    }
+
+    @Test
+    public void getPending_unknownArtifact_returnZero() {
+        /* ACT && ASSERT */
+        assertEquals(0, counter.getPending(UUID.randomUUID()));
+    }
+}
@@ -20,7 +20,6 @@ import io.dataspaceconnector.common.exception.UnexpectedResponseException;
 import io.dataspaceconnector.common.exception.UnreachableLineException;
 import io.dataspaceconnector.common.net.HttpService;
 import io.dataspaceconnector.common.net.QueryInput;
-import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactDesc;
 import io.dataspaceconnector.model.artifact.ArtifactFactory;
 import io.dataspaceconnector.model.artifact.ArtifactImpl;
@@ -57,6 +56,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -84,6 +84,9 @@ class ArtifactServiceTest {
     @MockBean
     private ArtifactFactory artifactFactory;
 
+    @MockBean
+    private ArtifactAccessCounter accessCounter;
+
     @Autowired
     private ArtifactService service;
 
@@ -256,17 +259,56 @@ class ArtifactServiceTest {
         when(artifactFactory.create(any())).thenReturn(localArtifact);
         when(dataRepository.getById(any())).thenReturn(getLocalData());
 
-        final var before = localArtifact.getNumAccessed();
-
         /* ACT */
         service.getData(null, null, localArtifact.getId(), (QueryInput) null);
 
         /* ASSERT */
-        Field numAccessedField = Artifact.class.getDeclaredField("numAccessed");
-        numAccessedField.setAccessible(true);
-        numAccessedField.set(localArtifact, before + 1);
+        verify(accessCounter, times(1)).increment(localArtifact.getId());
+        verify(artifactRepository, never()).saveAndFlush(localArtifact);
+    }
+
+    @SneakyThrows
+    @Test
+    public void getData_conditionNotMet_returnNoDataAndDoNotIncreaseAccessCounter() {
+        /* ARRANGE */
+        ArtifactImpl localArtifact = getLocalArtifact();
+
+        when(artifactRepository.findById(any())).thenReturn(Optional.of(localArtifact));
+        when(artifactFactory.create(any())).thenReturn(localArtifact);
+        when(dataRepository.getById(any())).thenReturn(getLocalData());
+
+        /* ACT */
+        final var result = service.getData(null, null, localArtifact.getId(), (QueryInput) null,
+                x -> false);
+
+        /* ASSERT */
+        assertNull(result.getData());
+        assertEquals(localArtifact, result.getArtifact());
+        verify(accessCounter, never()).increment(any());
+    }
+
+    @Test
+    public void getAccessNumber_pendingAccesses_returnStoredPlusPending() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        when(artifactRepository.findNumAccessed(artifactId)).thenReturn(Optional.of(3L));
+        when(accessCounter.getPending(artifactId)).thenReturn(2L);
+
+        /* ACT */
+        final var result = service.getAccessNumber(artifactId);
 
-        verify(artifactRepository, times(1)).saveAndFlush(localArtifact);
+        /* ASSERT */
+        assertEquals(5, result);
+    }
+
+    @Test
+    public void getAccessNumber_unknownArtifact_throwResourceNotFoundException() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        when(artifactRepository.findNumAccessed(artifactId)).thenReturn(Optional.empty());
+
+        /* ACT && ASSERT */
+        assertThrows(ResourceNotFoundException.class, () -> service.getAccessNumber(artifactId));
     }
 
     @SneakyThrows
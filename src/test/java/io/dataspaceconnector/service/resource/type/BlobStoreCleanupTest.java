@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.resource.type;
+
+import io.dataspaceconnector.common.net.HttpService;
+import io.dataspaceconnector.common.storage.FileBlobStore;
+import io.dataspaceconnector.model.artifact.ArtifactFactory;
+import io.dataspaceconnector.repository.ArtifactRepository;
+import io.dataspaceconnector.repository.AuthenticationRepository;
+import io.dataspaceconnector.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlobStoreCleanupTest {
+
+    @TempDir
+    Path root;
+
+    private final DataRepository dataRepo = Mockito.mock(DataRepository.class);
+
+    private FileBlobStore blobStore;
+
+    private ArtifactService artifactService;
+
+    private BlobStoreCleanup cleanup;
+
+    @BeforeEach
+    public void init() throws IOException {
+        blobStore = new FileBlobStore(root.toString());
+        artifactService = new ArtifactService(Mockito.mock(ArtifactRepository.class),
+                new ArtifactFactory(), dataRepo, Mockito.mock(HttpService.class),
+                Mockito.mock(AuthenticationRepository.class), Optional.of(blobStore),
+                Mockito.mock(ArtifactAccessCounter.class));
+        cleanup = new BlobStoreCleanup(artifactService);
+    }
+
+    @Test
+    public void cleanup_dataOnlyReferencedByDeletedEntries_removeData() throws IOException {
+        /* ARRANGE */
+        final var blob = blobStore.store(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        Mockito.doReturn(List.of(blob.getKey())).when(dataRepo).findStorageKeysOfDeletedData();
+        Mockito.doReturn(0L).when(dataRepo).countByStorageKey(blob.getKey());
+
+        /* ACT */
+        cleanup.cleanup();
+
+        /* ASSERT */
+        assertThrows(IOException.class, () -> blobStore.open(blob.getKey()));
+        Mockito.verify(dataRepo, Mockito.times(1)).clearStorageKeyOfDeletedData(blob.getKey());
+    }
+
+    @Test
+    public void cleanup_dataReferencedByLiveEntries_keepData() throws IOException {
+        /* ARRANGE */
+        final var blob = blobStore.store(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        Mockito.doReturn(List.of(blob.getKey())).when(dataRepo).findStorageKeysOfDeletedData();
+        Mockito.doReturn(1L).when(dataRepo).countByStorageKey(blob.getKey());
+
+        /* ACT */
+        cleanup.cleanup();
+
+        /* ASSERT */
+        assertDoesNotThrow(() -> blobStore.open(blob.getKey()).close());
+        Mockito.verify(dataRepo, Mockito.times(1)).clearStorageKeyOfDeletedData(blob.getKey());
+    }
+
+    @Test
+    public void removeBlobsOfDeletedData_noDeletedEntries_removeNothing() {
+        /* ARRANGE */
+        Mockito.doReturn(List.of()).when(dataRepo).findStorageKeysOfDeletedData();
+
+        /* ACT */
+        final var result = artifactService.removeBlobsOfDeletedData();
+
+        /* ASSERT */
+        assertEquals(0, result);
+        Mockito.verify(dataRepo, Mockito.never()).clearStorageKeyOfDeletedData(Mockito.any());
+    }
+}
@@ -271,6 +271,51 @@ class CatalogServiceTest {
         assertFalse(service.doesExist(unknownUuid));
     }
 
+    /***********************************************************************************************
+     * doAllExist                                                                                  *
+     **********************************************************************************************/
+
+    @Test
+    public void doAllExist_nullId_throwIllegalArgumentException() {
+        /* ARRANGE */
+        final var ids = new ArrayList<UUID>();
+        ids.add(null);
+
+        /* ACT && ASSERT */
+        assertThrows(IllegalArgumentException.class, () -> service.doAllExist(ids));
+    }
+
+    @Test
+    public void doAllExist_allKnown_returnTrue() {
+        /* ARRANGE */
+        final var ids = List.of(catalogOne.getId(), catalogTwo.getId(), catalogOne.getId());
+        Mockito.when(repository.countByIdIn(Mockito.anyCollection())).thenReturn(2L);
+
+        /* ACT && ASSERT */
+        assertTrue(service.doAllExist(ids));
+        Mockito.verify(repository, Mockito.times(1)).countByIdIn(Mockito.anyCollection());
+    }
+
+    @Test
+    public void doAllExist_oneUnknown_returnFalse() {
+        /* ARRANGE */
+        final var unknownUuid = UUID.fromString("550e8400-e29b-11d4-a716-446655440000");
+        Mockito.when(repository.countByIdIn(Mockito.anyCollection())).thenReturn(1L);
+
+        /* ACT && ASSERT */
+        assertFalse(service.doAllExist(List.of(catalogOne.getId(), unknownUuid)));
+    }
+
+    @Test
+    public void doAllExist_empty_returnTrueWithoutQuery() {
+        /* ARRANGE */
+        // Nothing to arrange here.
+
+        /* ACT && ASSERT */
+        assertTrue(service.doAllExist(List.of()));
+        Mockito.verify(repository, Mockito.never()).countByIdIn(Mockito.anyCollection());
+    }
+
 
     /***********************************************************************************************
      * delete
@@ -65,6 +65,9 @@ public class RestrictedArtifactServiceTest {
     @MockBean
     private BlockingArtifactReceiver artifactReceiver;
 
+    @MockBean
+    private ArtifactAccessCounter accessCounter;
+
     @SpyBean
     private ArtifactService service;
 
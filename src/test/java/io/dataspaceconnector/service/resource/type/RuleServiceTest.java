@@ -18,6 +18,7 @@ package io.dataspaceconnector.service.resource.type;
 import io.dataspaceconnector.model.rule.ContractRule;
 import io.dataspaceconnector.model.rule.ContractRuleFactory;
 import io.dataspaceconnector.repository.RuleRepository;
+import io.dataspaceconnector.service.usagecontrol.PolicyCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -28,6 +29,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = {RuleService.class})
@@ -39,6 +41,9 @@ public class RuleServiceTest {
     @MockBean
     private ContractRuleFactory factory;
 
+    @MockBean
+    private PolicyCache policyCache;
+
     @Autowired
     private RuleService service;
 
@@ -62,4 +67,17 @@ public class RuleServiceTest {
         /* ASSERT */
         assertEquals(rules, result);
     }
+
+    @Test
+    public void delete_knownRule_invalidateCachedRule() {
+        /* ARRANGE */
+        final var ruleId = UUID.randomUUID();
+
+        /* ACT */
+        service.delete(ruleId);
+
+        /* ASSERT */
+        verify(repository).deleteById(ruleId);
+        verify(policyCache).invalidate(ruleId);
+    }
 }
@@ -28,11 +28,11 @@ import de.fraunhofer.iais.eis.util.TypedLiteral;
 import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
 import io.dataspaceconnector.common.exception.PolicyRestrictionException;
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
 import io.dataspaceconnector.common.net.SelfLinkHelper;
 import io.dataspaceconnector.config.ConnectorConfig;
 import io.dataspaceconnector.model.artifact.Artifact;
 import io.dataspaceconnector.model.artifact.ArtifactImpl;
-import io.dataspaceconnector.service.EntityResolver;
 import io.dataspaceconnector.common.usagecontrol.AccessVerificationInput;
 import io.dataspaceconnector.common.usagecontrol.VerificationResult;
 import org.junit.jupiter.api.Test;
@@ -42,6 +42,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -61,7 +62,7 @@ public class DataAccessVerifierTest {
     private ConnectorConfig connectorConfig;
 
     @MockBean
-    private EntityResolver entityResolver;
+    private PolicyDecisionPlanner planner;
 
     @MockBean
     private SelfLinkHelper selfLinkHelper;
@@ -80,8 +81,8 @@ public class DataAccessVerifierTest {
         final var agreement = getContractAgreement();
         final var input = new AccessVerificationInput(agreement.getId(), artifact);
 
-        when(entityResolver.getContractAgreementsByTarget(any())).thenReturn(List.of(agreement));
-        doNothing().when(ruleValidator).validatePolicy(any(), any(), any(), any(), any(), any());
+        when(planner.getAccessPlan(any(), any())).thenReturn(getPlan(agreement));
+        doNothing().when(ruleValidator).validateDecision(any(), any(), any(), any(), any());
 
         /* ACT */
         final var result = verifier.verify(input);
@@ -97,9 +98,9 @@ public class DataAccessVerifierTest {
         final var agreement = getContractAgreement();
         final var input = new AccessVerificationInput(agreement.getId(), artifact);
 
-        when(entityResolver.getContractAgreementsByTarget(any())).thenReturn(List.of(agreement));
+        when(planner.getAccessPlan(any(), any())).thenReturn(getPlan(agreement));
         doThrow(PolicyRestrictionException.class)
-                .when(ruleValidator).validatePolicy(any(), any(), any(), any(), any(), any());
+                .when(ruleValidator).validateDecision(any(), any(), any(), any(), any());
         when(connectorConfig.isAllowUnsupported()).thenReturn(false);
 
         /* ACT */
@@ -113,6 +114,14 @@ public class DataAccessVerifierTest {
      * Utilities.                                                                                  *
      **********************************************************************************************/
 
+    private PolicyDecisionPlan getPlan(final ContractAgreement agreement) {
+        final var decisions = new ArrayList<PolicyDecision>();
+        for (final var rule : agreement.getPermission()) {
+            decisions.add(PolicyDecision.compile(RuleUtils.getPatternByRule(rule), rule));
+        }
+        return new PolicyDecisionPlan(List.of(), decisions);
+    }
+
     private ContractAgreement getContractAgreement() {
         return new ContractAgreementBuilder(URI.create("https://agreement.com"))
                 ._contractStart_(IdsMessageUtils.getGregorianNow())
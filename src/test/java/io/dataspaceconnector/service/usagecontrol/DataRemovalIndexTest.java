@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.ConstraintBuilder;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.DutyBuilder;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.util.RdfResource;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
+import io.dataspaceconnector.model.agreement.Agreement;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+class DataRemovalIndexTest {
+
+    private final PolicyCache policyCache = Mockito.mock(PolicyCache.class);
+
+    private final DataRemovalIndex index = new DataRemovalIndex(policyCache);
+
+    private final URI target = URI.create("https://remote/artifact");
+
+    private final ZonedDateTime deletion = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0,
+            ZoneOffset.UTC);
+
+    @Test
+    public void pollDue_deletionDatePassed_returnDeadline() {
+        /* ARRANGE */
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(UUID.randomUUID()));
+
+        /* ACT */
+        final var result = index.pollDue(deletion.plusDays(1), 10);
+
+        /* ASSERT */
+        assertEquals(1, result.size());
+        assertEquals(target, result.get(0).getTarget());
+        assertEquals(0, index.getSize());
+    }
+
+    @Test
+    public void pollDue_deletionDateInFuture_returnNothing() {
+        /* ARRANGE */
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(UUID.randomUUID()));
+
+        /* ACT */
+        final var result = index.pollDue(deletion.minusDays(1), 10);
+
+        /* ASSERT */
+        assertTrue(result.isEmpty());
+        assertEquals(1, index.getSize());
+        assertEquals(0, index.countDue(deletion.minusDays(1)));
+    }
+
+    @Test
+    public void index_agreementUpdated_replaceDeadlines() {
+        /* ARRANGE */
+        final var agreement = getAgreement(UUID.randomUUID());
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(agreement);
+
+        /* ACT */
+        index.index(agreement);
+
+        /* ASSERT */
+        assertEquals(1, index.getSize());
+    }
+
+    @Test
+    public void remove_agreementDeleted_removeDeadlines() {
+        /* ARRANGE */
+        final var agreementId = UUID.randomUUID();
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(agreementId));
+
+        /* ACT */
+        index.remove(agreementId);
+
+        /* ASSERT */
+        assertEquals(0, index.getSize());
+    }
+
+    @Test
+    public void release_deadlineTaken_putDeadlineBack() {
+        /* ARRANGE */
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(UUID.randomUUID()));
+        final var due = index.pollDue(deletion.plusDays(1), 10);
+
+        /* ACT */
+        index.release(due);
+
+        /* ASSERT */
+        assertEquals(1, index.getSize());
+        assertEquals(1, index.pollDue(deletion.plusDays(1), 10).size());
+    }
+
+    @Test
+    public void release_agreementRemovedMeanwhile_dropDeadline() {
+        /* ARRANGE */
+        final var agreementId = UUID.randomUUID();
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(agreementId));
+        final var due = index.pollDue(deletion.plusDays(1), 10);
+        index.remove(agreementId);
+
+        /* ACT */
+        index.release(due);
+
+        /* ASSERT */
+        assertEquals(0, index.getSize());
+    }
+
+    @Test
+    public void release_deadlineCompleted_dropDeadline() {
+        /* ARRANGE */
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(UUID.randomUUID()));
+        final var due = index.pollDue(deletion.plusDays(1), 10);
+        index.complete(due.get(0));
+
+        /* ACT */
+        index.release(due);
+
+        /* ASSERT */
+        assertEquals(0, index.getSize());
+    }
+
+    @Test
+    public void getLag_deletionDatePassed_returnTimeSinceDeadline() {
+        /* ARRANGE */
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        index.index(getAgreement(UUID.randomUUID()));
+
+        /* ACT */
+        final var result = index.getLag(deletion.plusMinutes(5));
+
+        /* ASSERT */
+        assertEquals(5, result.toMinutes());
+        assertEquals(1, index.countDue(deletion.plusMinutes(5)));
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private Agreement getAgreement(final UUID id) {
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "id", id);
+        ReflectionTestUtils.setField(agreement, "value", "AGREEMENT");
+        return agreement;
+    }
+
+    private de.fraunhofer.iais.eis.ContractAgreement getContractAgreement() {
+        return new ContractAgreementBuilder(URI.create("https://agreement"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._permission_(Util.asList(new PermissionBuilder()
+                        ._action_(Util.asList(Action.USE))
+                        ._target_(target)
+                        ._postDuty_(Util.asList(new DutyBuilder()
+                                ._action_(Util.asList(Action.DELETE))
+                                ._constraint_(Util.asList(new ConstraintBuilder()
+                                        ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                                        ._operator_(BinaryOperator.TEMPORAL_EQUALS)
+                                        ._rightOperand_(new RdfResource(
+                                                "2021-01-01T00:00:00Z",
+                                                URI.create("xsd:dateTimeStamp")))
+                                        .build()))
+                                .build()))
+                        .build()))
+                .build();
+    }
+}
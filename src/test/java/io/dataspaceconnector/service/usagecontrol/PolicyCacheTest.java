@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.Rule;
+import io.dataspaceconnector.common.ids.DeserializationService;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.rule.ContractRule;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PolicyCacheTest {
+
+    private final DeserializationService deserializationService
+            = Mockito.mock(DeserializationService.class);
+
+    @Test
+    public void getRule_sameVersion_deserializeOnce() {
+        /* ARRANGE */
+        final var cache = new PolicyCache(deserializationService, 1024);
+        final var rule = getRule(UUID.randomUUID(), "RULE", ZonedDateTime.now());
+        final var idsRule = Mockito.mock(Rule.class);
+        Mockito.doReturn(idsRule).when(deserializationService).getRule(eq("RULE"));
+
+        /* ACT */
+        final var first = cache.getRule(rule);
+        final var second = cache.getRule(rule);
+
+        /* ASSERT */
+        assertSame(idsRule, first);
+        assertSame(idsRule, second);
+        verify(deserializationService, times(1)).getRule(eq("RULE"));
+        assertEquals(1, cache.getHits().sum());
+        assertEquals(1, cache.getMisses().sum());
+    }
+
+    @Test
+    public void getContractAgreement_modifiedEntity_deserializeAgain() {
+        /* ARRANGE */
+        final var cache = new PolicyCache(deserializationService, 1024);
+        final var agreementId = UUID.randomUUID();
+        final var date = ZonedDateTime.now();
+        final var original = getAgreement(agreementId, "OLD", date);
+        final var modified = getAgreement(agreementId, "NEW", date.plusSeconds(1));
+        final var newAgreement = Mockito.mock(ContractAgreement.class);
+        Mockito.doReturn(Mockito.mock(ContractAgreement.class))
+                .when(deserializationService).getContractAgreement(eq("OLD"));
+        Mockito.doReturn(newAgreement)
+                .when(deserializationService).getContractAgreement(eq("NEW"));
+        cache.getContractAgreement(original);
+
+        /* ACT */
+        final var result = cache.getContractAgreement(modified);
+
+        /* ASSERT */
+        assertSame(newAgreement, result);
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    public void invalidate_cachedRule_deserializeAgain() {
+        /* ARRANGE */
+        final var cache = new PolicyCache(deserializationService, 1024);
+        final var rule = getRule(UUID.randomUUID(), "RULE", ZonedDateTime.now());
+        Mockito.doReturn(Mockito.mock(Rule.class)).when(deserializationService).getRule(eq("RULE"));
+        cache.getRule(rule);
+
+        /* ACT */
+        cache.invalidate(rule.getId());
+        cache.getRule(rule);
+
+        /* ASSERT */
+        verify(deserializationService, times(2)).getRule(eq("RULE"));
+    }
+
+    @Test
+    public void getRule_sizeExceeded_evictLeastRecentlyUsed() {
+        /* ARRANGE */
+        final var cache = new PolicyCache(deserializationService, 8);
+        final var date = ZonedDateTime.now();
+        final var first = getRule(UUID.randomUUID(), "AAAA", date);
+        final var second = getRule(UUID.randomUUID(), "BBBB", date);
+        final var third = getRule(UUID.randomUUID(), "CCCC", date);
+        Mockito.doReturn(Mockito.mock(Rule.class)).when(deserializationService).getRule(Mockito.anyString());
+
+        /* ACT */
+        cache.getRule(first);
+        cache.getRule(second);
+        cache.getRule(first);
+        cache.getRule(third);
+        cache.getRule(first);
+
+        /* ASSERT */
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(8, cache.getSize());
+        verify(deserializationService, times(1)).getRule(eq("AAAA"));
+    }
+
+    @Test
+    public void getRule_notPersisted_doNotCache() {
+        /* ARRANGE */
+        final var cache = new PolicyCache(deserializationService, 1024);
+        final var rule = getRule(null, "RULE", null);
+        Mockito.doReturn(Mockito.mock(Rule.class)).when(deserializationService).getRule(eq("RULE"));
+
+        /* ACT */
+        cache.getRule(rule);
+        cache.getRule(rule);
+
+        /* ASSERT */
+        assertEquals(0, cache.getEntryCount());
+        verify(deserializationService, times(2)).getRule(eq("RULE"));
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private ContractRule getRule(final UUID id, final String value, final ZonedDateTime date) {
+        final var rule = new ContractRule();
+        ReflectionTestUtils.setField(rule, "id", id);
+        ReflectionTestUtils.setField(rule, "value", value);
+        ReflectionTestUtils.setField(rule, "modificationDate", date);
+        return rule;
+    }
+
+    private Agreement getAgreement(final UUID id, final String value, final ZonedDateTime date) {
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "id", id);
+        ReflectionTestUtils.setField(agreement, "value", value);
+        ReflectionTestUtils.setField(agreement, "modificationDate", date);
+        return agreement;
+    }
+}
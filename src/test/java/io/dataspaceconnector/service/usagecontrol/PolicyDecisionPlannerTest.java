@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.ContractAgreement;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
+import io.dataspaceconnector.common.ids.policy.PolicyPattern;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.model.artifact.ArtifactImpl;
+import io.dataspaceconnector.model.rule.ContractRule;
+import io.dataspaceconnector.service.resource.base.EntityChangeEvent;
+import io.dataspaceconnector.service.resource.type.ArtifactService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {PolicyDecisionPlanner.class})
+class PolicyDecisionPlannerTest {
+
+    @MockBean
+    private ArtifactService artifactService;
+
+    @MockBean
+    private PolicyCache policyCache;
+
+    @Autowired
+    private PolicyDecisionPlanner planner;
+
+    private final URI remoteId = URI.create("https://remote/artifact");
+
+    @Test
+    public void getAccessPlan_agreementsUnchanged_reusePlan() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var selfLink = URI.create("https://localhost/api/artifacts/" + artifactId);
+        final var agreement = getAgreement(ZonedDateTime.now());
+        when(artifactService.get(artifactId)).thenReturn(getArtifact(agreement));
+        when(policyCache.getContractAgreement(any())).thenReturn(getContractAgreement());
+
+        /* ACT */
+        final var first = planner.getAccessPlan(selfLink, remoteId);
+        final var second = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ASSERT */
+        assertSame(first, second);
+        assertEquals(1, first.getDecisions().size());
+        assertEquals(PolicyPattern.PROVIDE_ACCESS, first.getDecisions().get(0).getPattern());
+        verify(policyCache, times(1)).getContractAgreement(any());
+    }
+
+    @Test
+    public void getAccessPlan_agreementModified_compileNewPlan() {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        final var selfLink = URI.create("https://localhost/api/artifacts/" + artifactId);
+        final var date = ZonedDateTime.now();
+        when(artifactService.get(artifactId))
+                .thenReturn(getArtifact(getAgreement(date)))
+                .thenReturn(getArtifact(getAgreement(date.plusSeconds(1))));
+        when(policyCache.getContractAgreement(any())).thenReturn(getContractAgreement());
+
+        /* ACT */
+        final var first = planner.getAccessPlan(selfLink, remoteId);
+        final var second = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ASSERT */
+        assertNotSame(first, second);
+        verify(policyCache, times(2)).getContractAgreement(any());
+    }
+
+    @Test
+    public void handleEntityChange_agreementOfPlanChanged_compileNewPlan() {
+        /* ARRANGE */
+        final var selfLink = arrangeArtifact();
+        final var first = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ACT */
+        planner.handleEntityChange(new EntityChangeEvent(Agreement.class, AGREEMENT_ID, false));
+        final var second = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ASSERT */
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void handleEntityChange_otherAgreementChanged_reusePlan() {
+        /* ARRANGE */
+        final var selfLink = arrangeArtifact();
+        final var first = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ACT */
+        planner.handleEntityChange(
+                new EntityChangeEvent(Agreement.class, UUID.randomUUID(), true));
+        final var second = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ASSERT */
+        assertSame(first, second);
+    }
+
+    @Test
+    public void handleEntityChange_ruleDeleted_compileNewPlan() {
+        /* ARRANGE */
+        final var selfLink = arrangeArtifact();
+        final var first = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ACT */
+        planner.handleEntityChange(
+                new EntityChangeEvent(ContractRule.class, UUID.randomUUID(), true));
+        final var second = planner.getAccessPlan(selfLink, remoteId);
+
+        /* ASSERT */
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void getAccessPlan_moreArtifactsThanMaxEntries_evictLeastRecentlyUsed() {
+        /* ARRANGE */
+        final var bounded = new PolicyDecisionPlanner(artifactService, policyCache, 1);
+        final var first = arrangeArtifact();
+        final var second = arrangeArtifact();
+        final var plan = bounded.getAccessPlan(first, remoteId);
+
+        /* ACT */
+        bounded.getAccessPlan(second, remoteId);
+
+        /* ASSERT */
+        assertEquals(1, bounded.getPlanCount());
+        assertNotSame(plan, bounded.getAccessPlan(first, remoteId));
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private static final UUID AGREEMENT_ID = UUID.randomUUID();
+
+    private URI arrangeArtifact() {
+        final var artifactId = UUID.randomUUID();
+        when(artifactService.get(artifactId))
+                .thenReturn(getArtifact(getAgreement(ZonedDateTime.now())));
+        when(policyCache.getContractAgreement(any())).thenReturn(getContractAgreement());
+        return URI.create("https://localhost/api/artifacts/" + artifactId);
+    }
+
+    private Agreement getAgreement(final ZonedDateTime modified) {
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "id", AGREEMENT_ID);
+        ReflectionTestUtils.setField(agreement, "modificationDate", modified);
+        return agreement;
+    }
+
+    private ArtifactImpl getArtifact(final Agreement agreement) {
+        final var artifact = new ArtifactImpl();
+        ReflectionTestUtils.setField(artifact, "agreements", List.of(agreement));
+        ReflectionTestUtils.setField(artifact, "creationDate", ZonedDateTime.now());
+        return artifact;
+    }
+
+    private ContractAgreement getContractAgreement() {
+        return new ContractAgreementBuilder(URI.create("https://agreement"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._permission_(Util.asList(new PermissionBuilder()
+                        ._action_(Util.asList(Action.USE))
+                        ._target_(remoteId)
+                        .build()))
+                .build();
+    }
+}
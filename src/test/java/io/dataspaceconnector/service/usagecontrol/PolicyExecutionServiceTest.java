@@ -34,6 +34,7 @@ import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
 import io.dataspaceconnector.common.ids.ConnectorService;
 import io.dataspaceconnector.common.ids.mapping.RdfConverter;
+import io.dataspaceconnector.common.ids.message.ClearingHouseLogQueue;
 import io.dataspaceconnector.common.ids.message.ClearingHouseService;
 import io.dataspaceconnector.config.ConnectorConfig;
 import io.dataspaceconnector.service.message.builder.type.LogMessageService;
@@ -69,6 +70,9 @@ public class PolicyExecutionServiceTest {
     @MockBean
     private LogMessageService logMessageService;
 
+    @MockBean
+    private ClearingHouseLogQueue clearingHouseLogQueue;
+
     @MockBean
     private ProcessCreationRequestService requestService;
 
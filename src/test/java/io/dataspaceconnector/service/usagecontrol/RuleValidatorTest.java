@@ -27,6 +27,7 @@ import io.dataspaceconnector.common.exception.ErrorMessage;
 import io.dataspaceconnector.common.ids.policy.PolicyPattern;
 import io.dataspaceconnector.controller.policy.util.PatternUtils;
 import io.dataspaceconnector.common.exception.PolicyRestrictionException;
+import io.dataspaceconnector.model.pattern.DurationDesc;
 import io.dataspaceconnector.model.pattern.SecurityRestrictionDesc;
 import io.dataspaceconnector.common.ids.DeserializationService;
 import io.dataspaceconnector.service.EntityDependencyResolver;
@@ -38,6 +39,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,7 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
 
 
-@SpringBootTest(classes = { RuleValidator.class })
+@SpringBootTest(classes = { RuleValidator.class, PolicyCache.class })
 class RuleValidatorTest {
 
     @MockBean
@@ -240,4 +243,27 @@ class RuleValidatorTest {
                 PolicyPattern.SECURITY_PROFILE_RESTRICTED_USAGE, rule, target, issuer,
                 Optional.of(profile), agreementId));
     }
+
+    @SneakyThrows
+    @Test
+    public void validateDecision_compiledDurationExceeded_throwWithoutLookingUpCreationDate() {
+        /* ARRANGE */
+        final var desc = new DurationDesc();
+        desc.setValue("PT1M");
+        final var rule = PatternUtils.buildDurationUsageRule(desc);
+        final var decision = PolicyDecision.compile(PolicyPattern.DURATION_USAGE, rule,
+                ZonedDateTime.now(ZoneOffset.UTC).minusHours(1));
+
+        final var target = URI.create("https://target");
+        final var agreementId = URI.create("https://agreementId");
+
+        /* ACT */
+        final var result = assertThrows(PolicyRestrictionException.class,
+                () -> validator.validateDecision(decision, target, null, Optional.empty(),
+                        agreementId));
+
+        /* ASSERT */
+        assertEquals(ErrorMessage.DATA_ACCESS_INVALID_INTERVAL.toString(), result.getMessage());
+        Mockito.verify(informationService, Mockito.never()).getCreationDate(Mockito.any());
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Fraunhofer Institute for Software and Systems Engineering
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.dataspaceconnector.service.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.ConstraintBuilder;
+import de.fraunhofer.iais.eis.ContractAgreementBuilder;
+import de.fraunhofer.iais.eis.DutyBuilder;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.util.RdfResource;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.ids.messaging.util.IdsMessageUtils;
+import io.dataspaceconnector.common.ids.policy.RuleUtils;
+import io.dataspaceconnector.common.ids.policy.UsageControlFramework;
+import io.dataspaceconnector.config.ConnectorConfig;
+import io.dataspaceconnector.model.agreement.Agreement;
+import io.dataspaceconnector.service.resource.type.AgreementService;
+import io.dataspaceconnector.service.resource.type.ArtifactService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class ScheduledDataRemovalTest {
+
+    private final ConnectorConfig connectorConfig = Mockito.mock(ConnectorConfig.class);
+
+    private final PolicyCache policyCache = Mockito.mock(PolicyCache.class);
+
+    private final AgreementService agreementService = Mockito.mock(AgreementService.class);
+
+    private final ArtifactService artifactService = Mockito.mock(ArtifactService.class);
+
+    private final DataRemovalIndex index = new DataRemovalIndex(policyCache);
+
+    private final ScheduledDataRemoval removal = new ScheduledDataRemoval(connectorConfig, index,
+            agreementService, artifactService);
+
+    private final URI target = URI.create("https://remote/artifact");
+
+    @BeforeEach
+    public void init() {
+        Mockito.doReturn(UsageControlFramework.INTERNAL).when(connectorConfig).getUcFramework();
+        Mockito.doReturn(getContractAgreement()).when(policyCache).getContractAgreement(any());
+        ReflectionTestUtils.setField(removal, "batchSize", 10);
+        ReflectionTestUtils.setField(removal, "rebuildInterval", 3_600_000L);
+        ReflectionTestUtils.setField(removal, "lastRebuild", RuleUtils.getCurrentDate());
+        index.index(getAgreement());
+    }
+
+    @Test
+    public void schedule_artifactNotDownloadedAtDeadline_keepDeadline() {
+        /* ARRANGE */
+        Mockito.doReturn(Optional.empty()).when(artifactService).identifyByRemoteId(target);
+
+        /* ACT */
+        removal.schedule();
+
+        /* ASSERT */
+        assertEquals(1, index.getSize());
+    }
+
+    @Test
+    public void schedule_artifactDownloadedAfterDeadline_removeData() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        Mockito.doReturn(Optional.empty()).when(artifactService).identifyByRemoteId(target);
+        removal.schedule();
+        Mockito.doReturn(Optional.of(artifactId)).when(artifactService)
+                .identifyByRemoteId(target);
+
+        /* ACT */
+        removal.schedule();
+
+        /* ASSERT */
+        Mockito.verify(artifactService, Mockito.times(1))
+                .setData(eq(artifactId), any(InputStream.class));
+        assertEquals(0, index.getSize());
+    }
+
+    @Test
+    public void schedule_deleteFails_keepDeadline() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        Mockito.doReturn(Optional.of(artifactId)).when(artifactService)
+                .identifyByRemoteId(target);
+        Mockito.doThrow(IOException.class).when(artifactService)
+                .setData(eq(artifactId), any(InputStream.class));
+
+        /* ACT */
+        removal.schedule();
+
+        /* ASSERT */
+        assertEquals(1, index.getSize());
+    }
+
+    @Test
+    public void schedule_dataAlreadyDeleted_dropDeadline() throws IOException {
+        /* ARRANGE */
+        final var artifactId = UUID.randomUUID();
+        Mockito.doReturn(Optional.of(artifactId)).when(artifactService)
+                .identifyByRemoteId(target);
+        Mockito.doReturn(true).when(artifactService).isDataDeleted(artifactId);
+
+        /* ACT */
+        removal.schedule();
+
+        /* ASSERT */
+        Mockito.verify(artifactService, Mockito.never()).setData(any(), any());
+        assertEquals(0, index.getSize());
+    }
+
+    /***********************************************************************************************
+     * Utilities.                                                                                  *
+     **********************************************************************************************/
+
+    private Agreement getAgreement() {
+        final var agreement = new Agreement();
+        ReflectionTestUtils.setField(agreement, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(agreement, "value", "AGREEMENT");
+        return agreement;
+    }
+
+    private de.fraunhofer.iais.eis.ContractAgreement getContractAgreement() {
+        return new ContractAgreementBuilder(URI.create("https://agreement"))
+                ._contractStart_(IdsMessageUtils.getGregorianNow())
+                ._permission_(Util.asList(new PermissionBuilder()
+                        ._action_(Util.asList(Action.USE))
+                        ._target_(target)
+                        ._postDuty_(Util.asList(new DutyBuilder()
+                                ._action_(Util.asList(Action.DELETE))
+                                ._constraint_(Util.asList(new ConstraintBuilder()
+                                        ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+                                        ._operator_(BinaryOperator.TEMPORAL_EQUALS)
+                                        ._rightOperand_(new RdfResource(
+                                                "2021-01-01T00:00:00Z",
+                                                URI.create("xsd:dateTimeStamp")))
+                                        .build()))
+                                .build()))
+                        .build()))
+                .build();
+    }
+}